@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.Compiler;
+import com.google.javascript.jscomp.CompilerOptions;
+import com.google.javascript.jscomp.SourceFile;
+import com.google.javascript.rhino.IR;
+import com.google.javascript.rhino.Node;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reports how much heap the AST of each corpus retains.
+ *
+ * <p>This is not a JMH benchmark. JMH measures allocation but not retained size. Run it on two
+ * commits to compare changes to the {@link Node} layout:
+ *
+ * <pre>
+ * bazel run //:ast_footprint
+ * </pre>
+ *
+ * Each corpus is parsed several times so that the AST is large compared to measurement noise.
+ */
+public final class AstFootprint {
+
+  private static final int COPIES = 20;
+
+  public static void main(String[] args) throws IOException {
+    for (Corpus corpus : Corpus.values()) {
+      report(corpus, corpus.load());
+    }
+  }
+
+  private static void report(Corpus corpus, ImmutableList<SourceFile> files) {
+    Compiler compiler = new Compiler();
+    compiler.initOptions(new CompilerOptions());
+    // Parse once before measuring so that classes and shared tables are not counted.
+    for (SourceFile file : files) {
+      compiler.parse(file);
+    }
+
+    long before = usedHeapAfterGc();
+    List<Node> roots = new ArrayList<>();
+    for (int i = 0; i < COPIES; i++) {
+      Node root = IR.root();
+      for (SourceFile file : files) {
+        root.addChildToBack(compiler.parse(file));
+      }
+      roots.add(root);
+    }
+    long retained = usedHeapAfterGc() - before;
+
+    long nodes = 0;
+    for (Node root : roots) {
+      nodes += countNodes(root);
+    }
+    System.out.printf(
+        "%-10s %,12d nodes %,14d bytes %8.1f bytes/node%n",
+        corpus, nodes, retained, (double) retained / nodes);
+  }
+
+  private static long countNodes(Node n) {
+    long count = 1;
+    for (Node child = n.getFirstChild(); child != null; child = child.getNext()) {
+      count += countNodes(child);
+    }
+    return count;
+  }
+
+  private static long usedHeapAfterGc() {
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    long used = Long.MAX_VALUE;
+    // A single request may not collect everything, so collect until the heap stops shrinking.
+    for (int i = 0; i < 10; i++) {
+      memory.gc();
+      long now = memory.getHeapMemoryUsage().getUsed();
+      if (now >= used) {
+        break;
+      }
+      used = now;
+    }
+    return used;
+  }
+
+  private AstFootprint() {}
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.benchmarks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.javascript.jscomp.AbstractCommandLineRunner;
+import com.google.javascript.jscomp.Compiler;
+import com.google.javascript.jscomp.CompilerOptions;
+import com.google.javascript.jscomp.SourceFile;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/** The JavaScript sources the benchmarks are run on. Both corpora are bundled with the compiler. */
+public enum Corpus {
+  /** The builtin externs for the browser environment. */
+  EXTERNS,
+
+  /** The polyfills and transpilation runtime libraries under {@code jscomp/js}. */
+  POLYFILLS;
+
+  /** A runtime library that is always bundled, used to locate the others. */
+  private static final String RUNTIME_LIBS_ANCHOR = "js/es6_runtime.js";
+
+  ImmutableList<SourceFile> load() throws IOException {
+    return switch (this) {
+      case EXTERNS -> builtinExterns();
+      case POLYFILLS -> runtimeLibraries();
+    };
+  }
+
+  static ImmutableList<SourceFile> builtinExterns() throws IOException {
+    return ImmutableList.copyOf(
+        AbstractCommandLineRunner.getBuiltinExterns(CompilerOptions.Environment.BROWSER));
+  }
+
+  private static ImmutableList<SourceFile> runtimeLibraries() throws IOException {
+    URL anchor = Compiler.class.getResource(RUNTIME_LIBS_ANCHOR);
+    if (anchor == null) {
+      throw new IOException("Runtime libraries not found on the classpath");
+    }
+    URI uri;
+    try {
+      uri = anchor.toURI();
+    } catch (URISyntaxException e) {
+      throw new IOException(e);
+    }
+    if (uri.getScheme().equals("jar")) {
+      try (FileSystem jar = FileSystems.newFileSystem(uri, ImmutableMap.of())) {
+        return readJsFiles(jar.provider().getPath(uri).getParent());
+      }
+    }
+    return readJsFiles(Path.of(uri).getParent());
+  }
+
+  private static ImmutableList<SourceFile> readJsFiles(Path root) throws IOException {
+    ImmutableList.Builder<SourceFile> files = ImmutableList.builder();
+    try (Stream<Path> paths = Files.walk(root)) {
+      for (Path path : paths.sorted().toList()) {
+        String name = root.relativize(path).toString();
+        if (name.endsWith(".js") && !name.equals("build_metadata_table.js")) {
+          files.add(SourceFile.fromCode(name, Files.readString(path, UTF_8)));
+        }
+      }
+    }
+    return files.build();
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.Compiler;
+import com.google.javascript.jscomp.CompilerOptions;
+import com.google.javascript.jscomp.SourceFile;
+import com.google.javascript.jscomp.WarningLevel;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the passes built on data flow analysis on one very large function.
+ *
+ * <p>The function is shaped like the state machine that generators are transpiled to: a loop
+ * around a switch with one case per state, sharing a pool of local variables. Only the passes that
+ * run {@code LiveVariablesAnalysis}, {@code MaybeReachingVariableUse} and {@code
+ * MustBeReachingVariableDef} are enabled, so most of the time is spent in the control flow graph
+ * and the data flow analyses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DataFlowBenchmark {
+
+  private static final int LOCALS = 40;
+
+  @Param({"500", "4000"})
+  public int states;
+
+  private ImmutableList<SourceFile> inputs;
+
+  @Setup
+  public void setUp() {
+    inputs = ImmutableList.of(SourceFile.fromCode("state_machine.js", stateMachine(states)));
+  }
+
+  @Benchmark
+  public String compile() {
+    CompilerOptions options = new CompilerOptions();
+    WarningLevel.QUIET.setOptionsForWarningLevel(options);
+    options.setCoalesceVariableNames(true);
+    options.setFlowSensitiveInlineVariables(true);
+    options.setDeadAssignmentElimination(true);
+    Compiler compiler = new Compiler();
+    compiler.compile(ImmutableList.of(), inputs, options);
+    return compiler.toSource();
+  }
+
+  private static String stateMachine(int states) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("function run(input) {\n  var state = 0");
+    for (int i = 0; i < LOCALS; i++) {
+      sb.append(", v").append(i);
+    }
+    sb.append(";\n  while (true) {\n    switch (state) {\n");
+    for (int i = 0; i < states; i++) {
+      String dest = "v" + (i % LOCALS);
+      String src = "v" + ((i * 7 + 3) % LOCALS);
+      sb.append("      case ").append(i).append(":\n");
+      sb.append("        ").append(dest).append(" = ").append(src).append(" + input;\n");
+      sb.append("        if (").append(dest).append(" > ").append(i).append(") {\n");
+      sb.append("          state = ").append((i * 13 + 1) % states).append(";\n");
+      sb.append("          break;\n        }\n");
+      sb.append("        state = ").append(i + 1 == states ? -1 : i + 1).append(";\n");
+      sb.append("        break;\n");
+    }
+    sb.append("      default:\n        return v0 + v1;\n    }\n  }\n}\n");
+    sb.append("run(1);\n");
+    return sb.toString();
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.Compiler;
+import com.google.javascript.jscomp.CompilerOptions;
+import com.google.javascript.jscomp.SourceFile;
+import com.google.javascript.rhino.RhinoStringPool;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link RhinoStringPool} when many threads parse at once, as {@code PrebuildAst} does.
+ *
+ * <p>All the benchmarks run on 32 threads. {@code parse} parses the whole corpus on each thread,
+ * and {@code intern} only interns fresh copies of the corpus's identifiers, the way the scanner
+ * does. Since those are already in the pool after the first iteration, {@code internNew} interns
+ * names that no thread has interned before, which adds them to the pool concurrently. Compare them
+ * with {@code -t 1} to see how much of the time is spent waiting on other threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StringPoolBenchmark {
+
+  private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_$][A-Za-z0-9_$]*");
+
+  @Param({"EXTERNS", "POLYFILLS"})
+  public Corpus corpus;
+
+  private ImmutableList<SourceFile> files;
+  private char[][] identifiers;
+
+  @Setup
+  public void setUp() throws IOException {
+    files = corpus.load();
+    List<char[]> found = new ArrayList<>();
+    for (SourceFile file : files) {
+      Matcher matcher = IDENTIFIER.matcher(file.getCode());
+      while (matcher.find()) {
+        found.add(matcher.group().toCharArray());
+      }
+    }
+    identifiers = found.toArray(new char[0][]);
+  }
+
+  @Benchmark
+  @Threads(32)
+  public void parse(Blackhole blackhole) {
+    Compiler compiler = new Compiler();
+    compiler.initOptions(new CompilerOptions());
+    for (SourceFile file : files) {
+      blackhole.consume(compiler.parse(file));
+    }
+  }
+
+  @Benchmark
+  @Threads(32)
+  public void intern(Blackhole blackhole) {
+    for (char[] identifier : identifiers) {
+      blackhole.consume(RhinoStringPool.addOrGet(new String(identifier)));
+    }
+  }
+
+  /** The names a thread interns in {@code internNew}, which are distinct from other threads'. */
+  @State(Scope.Thread)
+  public static class NewNames {
+    private static final AtomicInteger nextThread = new AtomicInteger();
+
+    private final String suffix = "$" + nextThread.getAndIncrement() + "$";
+    private long next = 0;
+  }
+
+  @Benchmark
+  @Threads(32)
+  public void internNew(NewNames names, Blackhole blackhole) {
+    for (char[] identifier : identifiers) {
+      String name =
+          new StringBuilder()
+              .append(identifier)
+              .append(names.suffix)
+              .append(names.next++)
+              .toString();
+      blackhole.consume(RhinoStringPool.addOrGet(name));
+    }
+  }
+}
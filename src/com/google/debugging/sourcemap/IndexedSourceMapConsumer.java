@@ -0,0 +1,301 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.debugging.sourcemap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.debugging.sourcemap.SourceMapConsumerV3.EntryLookup;
+import com.google.debugging.sourcemap.SourceMapConsumerV3.Mappings;
+import com.google.debugging.sourcemap.SourceMapConsumerV3.ReverseLookup;
+import com.google.debugging.sourcemap.SourceMapConsumerV3.ReverseMapping;
+import com.google.debugging.sourcemap.proto.Mapping.OriginalMapping;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A read-only V3 source map backed by a precomputed binary index, for services that look up many
+ * positions in large maps.
+ *
+ * <p>The index holds the decoded mappings of a {@link SourceMapConsumerV3} together with its
+ * reverse mapping, as flat arrays of ints. {@link #open} memory-maps an index file, so a map can be
+ * queried without decoding the VLQ mappings or allocating per-entry objects, and the operating
+ * system shares the pages between all the processes serving the same map. Lookups give the same
+ * results as {@link SourceMapConsumerV3}.
+ *
+ * <p>Only the data needed for lookups is kept: the sources content, source root and extensions of
+ * the original map are not part of the index.
+ *
+ * <p>Once created, instances are immutable and safe to use from multiple threads.
+ */
+public final class IndexedSourceMapConsumer implements SourceMapConsumer, SourceMappingReversable {
+  private static final int MAGIC = 0x534d4958; // "SMIX"
+  private static final int VERSION = 1;
+
+  private String[] sources;
+  private String[] names;
+  private Map<String, Integer> sourceIds;
+  private BufferEntries entries;
+  private BufferReverseMapping reverseMapping;
+
+  /** Creates a consumer to be initialized with {@link #parse}. */
+  public IndexedSourceMapConsumer() {}
+
+  /** Parses the given V3 source map and indexes it in memory. */
+  @Override
+  public void parse(String contents) throws SourceMapParseException {
+    SourceMapConsumerV3 consumer = new SourceMapConsumerV3();
+    consumer.parse(contents);
+    load(ByteBuffer.wrap(toIndex(consumer)));
+  }
+
+  /** Returns a consumer for an index written by {@link #writeIndex}. */
+  public static IndexedSourceMapConsumer fromIndex(ByteBuffer index) {
+    IndexedSourceMapConsumer consumer = new IndexedSourceMapConsumer();
+    consumer.load(index.duplicate());
+    return consumer;
+  }
+
+  /** Memory-maps an index file written by {@link #writeIndex}. */
+  public static IndexedSourceMapConsumer open(Path indexFile) throws IOException {
+    try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+      // The mapping stays valid after the channel is closed.
+      return fromIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /** Writes the binary index of the given parsed source map. */
+  public static void writeIndex(SourceMapConsumerV3 consumer, OutputStream out)
+      throws IOException {
+    Mappings mappings = consumer.getMappings();
+    ReverseMapping reverseMapping = consumer.getOrCreateReverseMapping();
+    String[] sources = consumer.getOriginalSources().toArray(new String[0]);
+    List<String> names = consumer.getOriginalNamesOrEmpty();
+
+    DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+    data.writeInt(MAGIC);
+    data.writeInt(VERSION);
+    data.writeInt(mappings.getEntrySize());
+    writeStrings(data, Arrays.asList(sources));
+    writeStrings(data, names);
+    // Keep the int arrays aligned so that they can be read in place.
+    while (data.size() % Integer.BYTES != 0) {
+      data.writeByte(0);
+    }
+    writeInts(data, mappings.getLineStarts(), mappings.getParsedLineCount() + 1);
+    writeInts(
+        data,
+        mappings.getFlatEntries(),
+        mappings.getLineStart(mappings.getParsedLineCount()));
+    writeInts(data, reverseMapping.getSourceStart(), sources.length + 1);
+    writeInts(data, reverseMapping.getOriginalLines(), reverseMapping.getOriginalLines().length);
+    writeInts(data, reverseMapping.getGeneratedLines(), reverseMapping.getGeneratedLines().length);
+    writeInts(
+        data, reverseMapping.getGeneratedColumns(), reverseMapping.getGeneratedColumns().length);
+    data.flush();
+  }
+
+  private static byte[] toIndex(SourceMapConsumerV3 consumer) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try {
+      writeIndex(consumer, out);
+    } catch (IOException e) {
+      // ByteArrayOutputStream does not throw IOException.
+      throw new RuntimeException(e);
+    }
+    return out.toByteArray();
+  }
+
+  private static void writeStrings(DataOutputStream data, List<String> strings)
+      throws IOException {
+    data.writeInt(strings.size());
+    for (String string : strings) {
+      if (string == null) {
+        data.writeInt(-1);
+        continue;
+      }
+      byte[] bytes = string.getBytes(UTF_8);
+      data.writeInt(bytes.length);
+      data.write(bytes);
+    }
+  }
+
+  private static void writeInts(DataOutputStream data, int[] values, int length)
+      throws IOException {
+    data.writeInt(length);
+    for (int i = 0; i < length; i++) {
+      data.writeInt(values[i]);
+    }
+  }
+
+  private void load(ByteBuffer index) {
+    int indexStart = index.position();
+    try {
+      if (index.getInt() != MAGIC) {
+        throw new IllegalArgumentException("Not a source map index");
+      }
+      int version = index.getInt();
+      if (version != VERSION) {
+        throw new IllegalArgumentException("Unsupported source map index version: " + version);
+      }
+      int entrySize = index.getInt();
+      sources = readStrings(index);
+      names = readStrings(index);
+      int stringsEnd = index.position() - indexStart;
+      index.position(indexStart + ((stringsEnd + Integer.BYTES - 1) & -Integer.BYTES));
+      // The arrays are read in the order in which writeIndex wrote them.
+      entries = new BufferEntries(entrySize, readInts(index), readInts(index));
+      reverseMapping =
+          new BufferReverseMapping(
+              readInts(index), readInts(index), readInts(index), readInts(index));
+    } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("Truncated source map index", e);
+    }
+
+    sourceIds = new HashMap<>();
+    for (int i = 0; i < sources.length; i++) {
+      sourceIds.putIfAbsent(sources[i], i);
+    }
+  }
+
+  private static String[] readStrings(ByteBuffer index) {
+    String[] strings = new String[index.getInt()];
+    for (int i = 0; i < strings.length; i++) {
+      int length = index.getInt();
+      if (length >= 0) {
+        byte[] bytes = new byte[length];
+        index.get(bytes);
+        strings[i] = new String(bytes, UTF_8);
+      }
+    }
+    return strings;
+  }
+
+  private static IntBuffer readInts(ByteBuffer index) {
+    int length = index.getInt();
+    IntBuffer ints = index.slice(index.position(), length * Integer.BYTES).asIntBuffer();
+    index.position(index.position() + length * Integer.BYTES);
+    return ints;
+  }
+
+  @Override
+  public @Nullable OriginalMapping getMappingForLine(int lineNumber, int column) {
+    return entries.getMappingForLine(lineNumber, column, sources, names);
+  }
+
+  @Override
+  public Collection<String> getOriginalSources() {
+    return Collections.unmodifiableList(Arrays.asList(sources));
+  }
+
+  @Override
+  public Collection<OriginalMapping> getReverseMapping(String originalFile, int line, int column) {
+    // Like SourceMapConsumerV3, this does not make use of the column.
+    Integer sourceId = sourceIds.get(originalFile);
+    if (sourceId == null) {
+      return Collections.emptyList();
+    }
+    return reverseMapping.getMappings(sourceId, line);
+  }
+
+  /** The mapping entries of the index, laid out like those of {@link Mappings}. */
+  private static final class BufferEntries extends EntryLookup {
+    private final int entrySize;
+    private final IntBuffer lineStart;
+    private final IntBuffer flatEntries;
+
+    BufferEntries(int entrySize, IntBuffer lineStart, IntBuffer flatEntries) {
+      this.entrySize = entrySize;
+      this.lineStart = lineStart;
+      this.flatEntries = flatEntries;
+    }
+
+    @Override
+    int getEntrySize() {
+      return entrySize;
+    }
+
+    @Override
+    int getParsedLineCount() {
+      return lineStart.limit() - 1;
+    }
+
+    @Override
+    int getLineStart(int line) {
+      return lineStart.get(line);
+    }
+
+    @Override
+    int getEntryValue(int position) {
+      return flatEntries.get(position);
+    }
+  }
+
+  /** The reverse mapping of the index, laid out like {@link ReverseMapping}. */
+  private static final class BufferReverseMapping extends ReverseLookup {
+    private final IntBuffer sourceStart;
+    private final IntBuffer originalLines;
+    private final IntBuffer generatedLines;
+    private final IntBuffer generatedColumns;
+
+    BufferReverseMapping(
+        IntBuffer sourceStart,
+        IntBuffer originalLines,
+        IntBuffer generatedLines,
+        IntBuffer generatedColumns) {
+      this.sourceStart = sourceStart;
+      this.originalLines = originalLines;
+      this.generatedLines = generatedLines;
+      this.generatedColumns = generatedColumns;
+    }
+
+    @Override
+    int getSourceStart(int sourceId) {
+      return sourceStart.get(sourceId);
+    }
+
+    @Override
+    int getOriginalLine(int index) {
+      return originalLines.get(index);
+    }
+
+    @Override
+    int getGeneratedLine(int index) {
+      return generatedLines.get(index);
+    }
+
+    @Override
+    int getGeneratedColumn(int index) {
+      return generatedColumns.get(index);
+    }
+  }
+}
@@ -26,6 +26,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -46,8 +47,7 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer, SourceMappi
 
   private Mappings mappings = null;
 
-  /** originalFile path ==> original line ==> target mappings */
-  private Map<String, Map<Integer, Collection<OriginalMapping>>> reverseSourceMapping;
+  private @Nullable ReverseMapping reverseMapping;
 
   private String sourceRoot;
   private final Map<String, Object> extensions = new LinkedHashMap<>();
@@ -160,29 +160,7 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer, SourceMappi
 
   @Override
   public @Nullable OriginalMapping getMappingForLine(int lineNumber, int column) {
-    // Normalize the line and column numbers to 0.
-    lineNumber--;
-    column--;
-
-    if (lineNumber < 0 || lineNumber >= mappings.getParsedLineCount()) {
-      return null;
-    }
-
-    int start = mappings.getLineStart(lineNumber);
-    int end = mappings.getLineStart(lineNumber + 1);
-
-    // If the line is empty return the previous mapping.
-    if (start == end) {
-      return getPreviousMapping(lineNumber);
-    }
-
-    if (mappings.getGeneratedColumn(start) > column) {
-      return getPreviousMapping(lineNumber);
-    }
-
-    int index = search(column, start, end - mappings.getEntrySize());
-    checkState(index >= 0, "unexpected:%s", index);
-    return getOriginalMappingForEntry(index, Precision.EXACT);
+    return mappings.getMappingForLine(lineNumber, column, sources, names);
   }
 
   @Override
@@ -198,6 +176,10 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer, SourceMappi
     return Arrays.asList(names);
   }
 
+  List<String> getOriginalNamesOrEmpty() {
+    return names == null ? Collections.emptyList() : Arrays.asList(names);
+  }
+
   public @Nullable String getFile() {
     return file;
   }
@@ -213,25 +195,18 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer, SourceMappi
     // parameter.
 
     // Synchronization needs to be handled by callers.
-    if (reverseSourceMapping == null) {
-      createReverseMapping();
-    }
-
-    Map<Integer, Collection<OriginalMapping>> sourceLineToCollectionMap =
-        reverseSourceMapping.get(originalFile);
+    return getOrCreateReverseMapping().getMappings(originalFile, line);
+  }
 
-    if (sourceLineToCollectionMap == null) {
-      return Collections.emptyList();
-    } else {
-      Collection<OriginalMapping> mappings =
-          sourceLineToCollectionMap.get(line);
+  Mappings getMappings() {
+    return mappings;
+  }
 
-      if (mappings == null) {
-        return Collections.emptyList();
-      } else {
-        return mappings;
-      }
+  ReverseMapping getOrCreateReverseMapping() {
+    if (reverseMapping == null) {
+      reverseMapping = ReverseMapping.create(mappings, sources);
     }
+    return reverseMapping;
   }
 
   public String getSourceRoot(){
@@ -546,101 +521,6 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer, SourceMappi
     }
   }
 
-  /** Perform a binary search on the array to find a section that covers the target column. */
-  private int search(int target, int start, int end) {
-    int entrySize = mappings.getEntrySize();
-    while (true) {
-      int mid = ((end - start) / (entrySize * 2)) * entrySize + start;
-      int compare = mappings.getGeneratedColumn(mid) - target;
-      if (compare == 0) {
-        return mid;
-      } else if (compare < 0) {
-        // it is in the upper half
-        start = mid + entrySize;
-        if (start > end) {
-          return end;
-        }
-      } else {
-        // it is in the lower half
-        end = mid - entrySize;
-        if (end < start) {
-          return end;
-        }
-      }
-    }
-  }
-
-  private @Nullable OriginalMapping getPreviousMapping(int lineNumber) {
-    do {
-      if (lineNumber == 0) {
-        return null;
-      }
-      lineNumber--;
-    } while (mappings.getLineStart(lineNumber) == mappings.getLineStart(lineNumber + 1));
-    int index = mappings.getLineStart(lineNumber + 1) - mappings.getEntrySize();
-    return getOriginalMappingForEntry(index, Precision.APPROXIMATE_LINE);
-  }
-
-  /** Creates an "OriginalMapping" object for the given entry object. */
-  private @Nullable OriginalMapping getOriginalMappingForEntry(int index, Precision precision) {
-    int sourceFileId = mappings.getSourceFileId(index);
-    if (sourceFileId == UNMAPPED) {
-      return null;
-    } else {
-      // Adjust the line/column here to be start at 1.
-      OriginalMapping.Builder x =
-          OriginalMapping.newBuilder()
-              .setOriginalFile(sources[sourceFileId])
-              .setLineNumber(mappings.getSourceLine(index) + 1)
-              .setColumnPosition(mappings.getSourceColumn(index) + 1)
-              .setPrecision(precision);
-      int nameId = mappings.getNameId(index);
-      if (nameId != UNMAPPED) {
-        x.setIdentifier(names[nameId]);
-      }
-      return x.build();
-    }
-  }
-
-  /**
-   * Reverse the source map; the created mapping will allow us to quickly go from a source file and
-   * line number to a collection of target OriginalMappings.
-   */
-  private void createReverseMapping() {
-    reverseSourceMapping = new LinkedHashMap<>();
-
-    for (int targetLine = 0; targetLine < mappings.getParsedLineCount(); targetLine++) {
-      int start = mappings.getLineStart(targetLine);
-      int end = mappings.getLineStart(targetLine + 1);
-
-      for (int i = start; i < end; i += mappings.getEntrySize()) {
-        int sourceFileId = mappings.getSourceFileId(i);
-        int sourceLine = mappings.getSourceLine(i);
-        if (sourceFileId != UNMAPPED && sourceLine != UNMAPPED) {
-          String originalFile = sources[sourceFileId];
-
-          Map<Integer, Collection<OriginalMapping>> lineToCollectionMap =
-              reverseSourceMapping.computeIfAbsent(
-                  originalFile,
-                  (String k) -> new LinkedHashMap<Integer, Collection<OriginalMapping>>());
-
-          if (!lineToCollectionMap.containsKey(sourceLine)) {
-            lineToCollectionMap.put(sourceLine, new ArrayList<OriginalMapping>(1));
-          }
-
-          Collection<OriginalMapping> mappingsLine = lineToCollectionMap.get(sourceLine);
-
-          OriginalMapping.Builder builder =
-              OriginalMapping.newBuilder()
-                  .setLineNumber(targetLine)
-                  .setColumnPosition(mappings.getGeneratedColumn(i));
-
-          mappingsLine.add(builder.build());
-        }
-      }
-    }
-  }
-
   /**
    * A implementation of the Base64VLQ CharIterator used for decoding the mappings encoded in the
    * JSON string.
@@ -670,8 +550,138 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer, SourceMappi
     }
   }
 
+  /**
+   * Lookups of the original position of a generated one, over the flat mapping entries described
+   * in {@link Mappings}. Shared with {@link IndexedSourceMapConsumer}, which reads the entries from
+   * a buffer instead of an array.
+   */
+  abstract static class EntryLookup {
+    abstract int getEntrySize();
+
+    abstract int getParsedLineCount();
+
+    abstract int getLineStart(int line);
+
+    /** Returns the int at the given position of the flat entries. */
+    abstract int getEntryValue(int position);
+
+    final int getGeneratedColumn(int index) {
+      return getEntryValue(index);
+    }
+
+    final int getSourceFileId(int index) {
+      if (getEntrySize() == 4) {
+        int val = getEntryValue(index + 3) >> 16;
+        return (val == -1 || (val & 0xFFFF) == 0xFFFF) ? UNMAPPED : (val & 0xFFFF);
+      }
+      return getEntryValue(index + 3);
+    }
+
+    final int getSourceLine(int index) {
+      return getEntryValue(index + 1);
+    }
+
+    final int getSourceColumn(int index) {
+      return getEntryValue(index + 2);
+    }
+
+    final int getNameId(int index) {
+      if (getEntrySize() == 4) {
+        int val = getEntryValue(index + 3) & 0xFFFF;
+        return (val == 0xFFFF) ? UNMAPPED : val;
+      }
+      return getEntryValue(index + 4);
+    }
+
+    /** See {@link SourceMapConsumer#getMappingForLine}. */
+    final @Nullable OriginalMapping getMappingForLine(
+        int lineNumber, int column, String[] sources, String[] names) {
+      // Normalize the line and column numbers to 0.
+      lineNumber--;
+      column--;
+
+      if (lineNumber < 0 || lineNumber >= getParsedLineCount()) {
+        return null;
+      }
+
+      int start = getLineStart(lineNumber);
+      int end = getLineStart(lineNumber + 1);
+
+      // If the line is empty return the previous mapping.
+      if (start == end) {
+        return getPreviousMapping(lineNumber, sources, names);
+      }
+
+      if (getGeneratedColumn(start) > column) {
+        return getPreviousMapping(lineNumber, sources, names);
+      }
+
+      int index = search(column, start, end - getEntrySize());
+      checkState(index >= 0, "unexpected:%s", index);
+      return getOriginalMappingForEntry(index, Precision.EXACT, sources, names);
+    }
+
+    /** Perform a binary search on the array to find a section that covers the target column. */
+    private int search(int target, int start, int end) {
+      int entrySize = getEntrySize();
+      while (true) {
+        int mid = ((end - start) / (entrySize * 2)) * entrySize + start;
+        int compare = getGeneratedColumn(mid) - target;
+        if (compare == 0) {
+          return mid;
+        } else if (compare < 0) {
+          // it is in the upper half
+          start = mid + entrySize;
+          if (start > end) {
+            return end;
+          }
+        } else {
+          // it is in the lower half
+          end = mid - entrySize;
+          if (end < start) {
+            return end;
+          }
+        }
+      }
+    }
+
+    private @Nullable OriginalMapping getPreviousMapping(
+        int lineNumber, String[] sources, String[] names) {
+      do {
+        if (lineNumber == 0) {
+          return null;
+        }
+        lineNumber--;
+      } while (getLineStart(lineNumber) == getLineStart(lineNumber + 1));
+      int index = getLineStart(lineNumber + 1) - getEntrySize();
+      return getOriginalMappingForEntry(index, Precision.APPROXIMATE_LINE, sources, names);
+    }
+
+    /** Creates an "OriginalMapping" object for the given entry object. */
+    private @Nullable OriginalMapping getOriginalMappingForEntry(
+        int index, Precision precision, String[] sources, String[] names) {
+      int sourceFileId = getSourceFileId(index);
+      if (sourceFileId == UNMAPPED) {
+        return null;
+      } else {
+        // Adjust the line/column here to be start at 1.
+        OriginalMapping.Builder x =
+            OriginalMapping.newBuilder()
+                .setOriginalFile(sources[sourceFileId])
+                .setLineNumber(getSourceLine(index) + 1)
+                .setColumnPosition(getSourceColumn(index) + 1)
+                .setPrecision(precision);
+        int nameId = getNameId(index);
+        if (nameId != UNMAPPED) {
+          x.setIdentifier(names[nameId]);
+        }
+        return x.build();
+      }
+    }
+  }
+
   /** An immutable container for mapping entries. */
-  private static final class Mappings {
+  static final class Mappings extends EntryLookup {
     // flatEntries stores all entries sequentially.
     // Each entry is packed into 5 consecutive integers:
     // [generatedCol, sourceLine, sourceCol, sourceFileId, nameId].
@@ -692,44 +702,213 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer, SourceMappi
       this.entrySize = entrySize;
     }
 
+    @Override
     int getEntrySize() {
       return entrySize;
     }
 
-    int getGeneratedColumn(int index) {
-      return flatEntries[index];
+    @Override
+    int getEntryValue(int position) {
+      return flatEntries[position];
     }
 
-    int getSourceFileId(int index) {
-      if (entrySize == 4) {
-        int val = flatEntries[index + 3] >> 16;
-        return (val == -1 || (val & 0xFFFF) == 0xFFFF) ? UNMAPPED : (val & 0xFFFF);
+    @Override
+    int getParsedLineCount() {
+      return lineCount;
+    }
+
+    @Override
+    int getLineStart(int line) {
+      return lineStart[line];
+    }
+
+    int[] getFlatEntries() {
+      return flatEntries;
+    }
+
+    int[] getLineStarts() {
+      return lineStart;
+    }
+  }
+
+  /**
+   * Lookups of the generated positions of an original line, over the mapped entries sorted by
+   * original file and line as described in {@link ReverseMapping}. Shared with {@link
+   * IndexedSourceMapConsumer}, which reads the entries from buffers instead of arrays.
+   */
+  abstract static class ReverseLookup {
+    /** Returns the index of the first entry of the given source. */
+    abstract int getSourceStart(int sourceId);
+
+    abstract int getOriginalLine(int index);
+
+    abstract int getGeneratedLine(int index);
+
+    abstract int getGeneratedColumn(int index);
+
+    /** Returns the generated positions of the given line of the source with the given id. */
+    final Collection<OriginalMapping> getMappings(int sourceId, int line) {
+      int end = getSourceStart(sourceId + 1);
+      int first = lowerBound(getSourceStart(sourceId), end, line);
+      if (first == end || getOriginalLine(first) != line) {
+        return Collections.emptyList();
       }
-      return flatEntries[index + 3];
+      List<OriginalMapping> result = new ArrayList<>();
+      for (int i = first; i < end && getOriginalLine(i) == line; i++) {
+        result.add(
+            OriginalMapping.newBuilder()
+                .setLineNumber(getGeneratedLine(i))
+                .setColumnPosition(getGeneratedColumn(i))
+                .build());
+      }
+      return result;
     }
 
-    int getSourceLine(int index) {
-      return flatEntries[index + 1];
+    /** Returns the first index in [start, end) whose original line is not before the given one. */
+    private int lowerBound(int start, int end, int line) {
+      while (start < end) {
+        int mid = (start + end) >>> 1;
+        if (getOriginalLine(mid) < line) {
+          start = mid + 1;
+        } else {
+          end = mid;
+        }
+      }
+      return start;
     }
+  }
 
-    int getSourceColumn(int index) {
-      return flatEntries[index + 2];
+  /**
+   * The mapped entries of a source map sorted by original file and line, so that reverse lookups
+   * are a binary search over a few primitive arrays. Entries for the same original line are kept
+   * in the order in which they appear in the generated code.
+   */
+  static final class ReverseMapping extends ReverseLookup {
+    // The index of the first occurrence of every original file in the "sources" array.
+    private final Map<String, Integer> sourceIds;
+    // The entries of source i are at [sourceStart[i], sourceStart[i + 1]) in the arrays below.
+    // Sources that are listed more than once share the range of their first occurrence.
+    private final int[] sourceStart;
+    private final int[] originalLines;
+    private final int[] generatedLines;
+    private final int[] generatedColumns;
+
+    ReverseMapping(
+        Map<String, Integer> sourceIds,
+        int[] sourceStart,
+        int[] originalLines,
+        int[] generatedLines,
+        int[] generatedColumns) {
+      this.sourceIds = sourceIds;
+      this.sourceStart = sourceStart;
+      this.originalLines = originalLines;
+      this.generatedLines = generatedLines;
+      this.generatedColumns = generatedColumns;
+    }
+
+    static ReverseMapping create(Mappings mappings, String[] sources) {
+      Map<String, Integer> sourceIds = new HashMap<>();
+      int[] canonicalIds = new int[sources.length];
+      for (int i = 0; i < sources.length; i++) {
+        Integer firstId = sourceIds.putIfAbsent(sources[i], i);
+        canonicalIds[i] = firstId == null ? i : firstId;
+      }
+
+      int entrySize = mappings.getEntrySize();
+      int lineCount = mappings.getParsedLineCount();
+      int[] sourceStart = new int[sources.length + 1];
+      int mappedCount = 0;
+      for (int i = 0; i < mappings.getLineStart(lineCount); i += entrySize) {
+        int sourceFileId = mappings.getSourceFileId(i);
+        if (sourceFileId != UNMAPPED && mappings.getSourceLine(i) != UNMAPPED) {
+          sourceStart[canonicalIds[sourceFileId] + 1]++;
+          mappedCount++;
+        }
+      }
+      for (int i = 0; i < sources.length; i++) {
+        sourceStart[i + 1] += sourceStart[i];
+      }
+
+      // Bucket the entries by source, keyed by original line and then by position in the
+      // generated code, so that sorting each bucket keeps equal lines in generated order.
+      long[] keys = new long[mappedCount];
+      int[] scanLines = new int[mappedCount];
+      int[] scanColumns = new int[mappedCount];
+      int[] next = Arrays.copyOf(sourceStart, sources.length);
+      int scanned = 0;
+      for (int targetLine = 0; targetLine < lineCount; targetLine++) {
+        int start = mappings.getLineStart(targetLine);
+        int end = mappings.getLineStart(targetLine + 1);
+        for (int i = start; i < end; i += entrySize) {
+          int sourceFileId = mappings.getSourceFileId(i);
+          int sourceLine = mappings.getSourceLine(i);
+          if (sourceFileId != UNMAPPED && sourceLine != UNMAPPED) {
+            keys[next[canonicalIds[sourceFileId]]++] = ((long) sourceLine << 32) | scanned;
+            scanLines[scanned] = targetLine;
+            scanColumns[scanned] = mappings.getGeneratedColumn(i);
+            scanned++;
+          }
+        }
+      }
+
+      int[] originalLines = new int[mappedCount];
+      int[] generatedLines = new int[mappedCount];
+      int[] generatedColumns = new int[mappedCount];
+      for (int i = 0; i < sources.length; i++) {
+        Arrays.sort(keys, sourceStart[i], sourceStart[i + 1]);
+      }
+      for (int i = 0; i < mappedCount; i++) {
+        int scanIndex = (int) keys[i];
+        originalLines[i] = (int) (keys[i] >> 32);
+        generatedLines[i] = scanLines[scanIndex];
+        generatedColumns[i] = scanColumns[scanIndex];
+      }
+      return new ReverseMapping(
+          sourceIds, sourceStart, originalLines, generatedLines, generatedColumns);
     }
 
-    int getNameId(int index) {
-      if (entrySize == 4) {
-        int val = flatEntries[index + 3] & 0xFFFF;
-        return (val == 0xFFFF) ? UNMAPPED : val;
+    Collection<OriginalMapping> getMappings(String originalFile, int line) {
+      Integer sourceId = sourceIds.get(originalFile);
+      if (sourceId == null) {
+        return Collections.emptyList();
       }
-      return flatEntries[index + 4];
+      return getMappings(sourceId, line);
     }
 
-    int getParsedLineCount() {
-      return lineCount;
+    @Override
+    int getSourceStart(int sourceId) {
+      return sourceStart[sourceId];
     }
 
-    int getLineStart(int line) {
-      return lineStart[line];
+    @Override
+    int getOriginalLine(int index) {
+      return originalLines[index];
+    }
+
+    @Override
+    int getGeneratedLine(int index) {
+      return generatedLines[index];
+    }
+
+    @Override
+    int getGeneratedColumn(int index) {
+      return generatedColumns[index];
+    }
+
+    int[] getSourceStart() {
+      return sourceStart;
+    }
+
+    int[] getOriginalLines() {
+      return originalLines;
+    }
+
+    int[] getGeneratedLines() {
+      return generatedLines;
+    }
+
+    int[] getGeneratedColumns() {
+      return generatedColumns;
     }
   }
 
@@ -23,5 +23,11 @@ public enum SourceMapFormat {
    DEFAULT,
 
    /** V3: A nice compact format */
-   V3;
+   V3,
+
+   /**
+    * V3, encoded as the mappings are added instead of when the map is written. This uses much less
+    * memory for large outputs, but mappings can't be added after the map was written.
+    */
+   V3_STREAMING;
 }
@@ -23,6 +23,7 @@ public final class SourceMapGeneratorFactory {
   public static SourceMapGenerator getInstance(SourceMapFormat format) {
     return switch (format) {
       case DEFAULT, V3 -> new SourceMapGeneratorV3();
+      case V3_STREAMING -> new SourceMapGeneratorV3(/* streaming= */ true);
     };
   }
 
@@ -125,6 +125,27 @@ public final class SourceMapGeneratorV3 implements SourceMapGenerator {
    */
   private String sourceRootPath;
 
+  /**
+   * Encodes the mappings as they are added, instead of keeping them in {@link #mappings}. Only set
+   * for streaming generators.
+   */
+  private @Nullable StreamingLineMapper streamingMapper;
+
+  public SourceMapGeneratorV3() {
+    this(/* streaming= */ false);
+  }
+
+  /**
+   * @param streaming Whether to encode the mappings as they are added rather than when the source
+   *     map is written. Both produce the same source map, but a streaming generator only keeps the
+   *     mappings that enclose the most recently added one in memory, plus the encoded output.
+   *     Mappings can't be added to a streaming generator once it has been written until it is
+   *     {@link #reset}.
+   */
+  SourceMapGeneratorV3(boolean streaming) {
+    this.streamingMapper = streaming ? new StreamingLineMapper() : null;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -139,6 +160,9 @@ public final class SourceMapGeneratorV3 implements SourceMapGenerator {
     lastSourceFileIndex = -1;
     offsetPosition = new FilePosition(0, 0);
     prefixPosition = new FilePosition(0, 0);
+    if (streamingMapper != null) {
+      streamingMapper = new StreamingLineMapper();
+    }
   }
 
   /**
@@ -260,7 +284,11 @@ public final class SourceMapGeneratorV3 implements SourceMapGenerator {
     }
 
     lastMapping = mapping;
-    mappings.add(mapping);
+    if (streamingMapper != null) {
+      streamingMapper.add(mapping);
+    } else {
+      mappings.add(mapping);
+    }
   }
 
   @Override public void addSourcesContent(String source, String content) {
@@ -359,7 +387,7 @@ public final class SourceMapGeneratorV3 implements SourceMapGenerator {
    */
   @Override
   public void appendTo(Appendable out, @Nullable String name) throws IOException {
-    int maxLine = prepMappings() + 1;
+    int maxLine = (streamingMapper != null ? streamingMapper.finish() : prepMappings()) + 1;
 
     // Add the header fields.
     out.append("{\n");
@@ -377,7 +405,11 @@ public final class SourceMapGeneratorV3 implements SourceMapGenerator {
     // Add the mappings themselves.
     appendFieldStart(out, "mappings");
     // out.append("[");
-    (new LineMapper(out, maxLine)).appendLineMappings();
+    if (streamingMapper != null) {
+      streamingMapper.appendLineMappings(out);
+    } else {
+      (new LineMapper(out, maxLine)).appendLineMappings();
+    }
 
     // out.append("]");
     appendFieldEnd(out);
@@ -582,7 +614,7 @@ public final class SourceMapGeneratorV3 implements SourceMapGenerator {
    */
   private int prepMappings() throws IOException {
     // Mark any unused mappings.
-    (new MappingTraversal()).traverse(new UsedMappingCheck());
+    (new MappingTraversal(new UsedMappingCheck())).traverse();
 
     // Renumber used mappings and keep track of the last line.
     int id = 0;
@@ -672,39 +704,60 @@ public final class SourceMapGeneratorV3 implements SourceMapGenerator {
   /**
    * Walk the mappings and visit each segment of the mappings, unmapped
    * segments are visited with a null mapping, unused mapping are not visited.
+   *
+   * <p>The mappings can either be traversed all at once, or fed one at a time
+   * with {@link #add} followed by a call to {@link #finish}.
    */
   private class MappingTraversal {
+    private final MappingVisitor v;
+    private final boolean adjustForPrefix;
+
+    // The mappings that enclose the current position.
+    private final Deque<Mapping> stack = new ArrayDeque<>();
+
     // The last line and column written
     private int line;
     private int col;
 
-    MappingTraversal() {
+    MappingTraversal(MappingVisitor v) {
+      this(v, /* adjustForPrefix= */ true);
+    }
+
+    MappingTraversal(MappingVisitor v, boolean adjustForPrefix) {
+      this.v = v;
+      this.adjustForPrefix = adjustForPrefix;
     }
 
     // Append the line mapping entries.
-    void traverse(MappingVisitor v) throws IOException {
+    void traverse() throws IOException {
       // The mapping list is ordered as a pre-order traversal.  The mapping
       // positions give us enough information to rebuild the stack and this
       // allows the building of the source map in O(n) time.
-      Deque<Mapping> stack = new ArrayDeque<>();
       for (Mapping m : mappings) {
-        // Find the closest ancestor of the current mapping:
-        // An overlapping mapping is an ancestor of the current mapping, any
-        // non-overlapping mappings are siblings (or cousins) and must be
-        // closed in the reverse order of when they encountered.
-        while (!stack.isEmpty() && !isOverlapped(stack.peek(), m)) {
-          Mapping previous = stack.pop();
-          maybeVisit(v, previous);
-        }
-
-        // Any gaps between the current line position and the start of the
-        // current mapping belong to the parent.
-        Mapping parent = stack.peek();
-        maybeVisitParent(v, parent, m);
+        add(m);
+      }
+      finish();
+    }
 
-        stack.push(m);
+    void add(Mapping m) throws IOException {
+      // Find the closest ancestor of the current mapping:
+      // An overlapping mapping is an ancestor of the current mapping, any
+      // non-overlapping mappings are siblings (or cousins) and must be
+      // closed in the reverse order of when they encountered.
+      while (!stack.isEmpty() && !isOverlapped(stack.peek(), m)) {
+        Mapping previous = stack.pop();
+        maybeVisit(v, previous);
       }
 
+      // Any gaps between the current line position and the start of the
+      // current mapping belong to the parent.
+      Mapping parent = stack.peek();
+      maybeVisitParent(v, parent, m);
+
+      stack.push(m);
+    }
+
+    void finish() throws IOException {
       // There are no more children to be had, simply close the remaining
       // mappings in the reverse order of when they encountered.
       while (!stack.isEmpty()) {
@@ -713,11 +766,18 @@ public final class SourceMapGeneratorV3 implements SourceMapGenerator {
       }
     }
 
+    /**
+     * @return The line of the current position.
+     */
+    int getLine() {
+      return line;
+    }
+
     /**
      * @return The line adjusted for the prefix position.
      */
     private int getAdjustedLine(FilePosition p) {
-      return p.getLine() + prefixPosition.getLine();
+      return adjustForPrefix ? p.getLine() + prefixPosition.getLine() : p.getLine();
     }
 
     /**
@@ -727,7 +787,7 @@ public final class SourceMapGeneratorV3 implements SourceMapGenerator {
       int rawLine = p.getLine();
       int rawCol = p.getColumn();
       // Only the first line needs the character position adjusted.
-      return (rawLine != 0)
+      return (rawLine != 0 || !adjustForPrefix)
           ? rawCol : rawCol + prefixPosition.getColumn();
     }
 
@@ -965,7 +1025,7 @@ public final class SourceMapGeneratorV3 implements SourceMapGenerator {
       // Start the first line.
       openLine(true);
 
-      (new MappingTraversal()).traverse(this);
+      (new MappingTraversal(this)).traverse();
 
       // And close the final line.
       closeLine(true);
@@ -991,4 +1051,189 @@ public final class SourceMapGeneratorV3 implements SourceMapGenerator {
     }
   }
 
+  /**
+   * Encodes the segments of the mappings of a streaming generator as the mappings are added.
+   *
+   * <p>The output is the same as that of {@link LineMapper}, but neither the number of lines nor
+   * the wrapper prefix are known while the segments are encoded. So line breaks are only written
+   * when the next entry or the end of the map is reached, unmapped entries after the last mapped
+   * line are dropped once the map is complete, and the prefix is applied to the first line when the
+   * map is written.
+   */
+  private class StreamingLineMapper implements MappingVisitor {
+    private final MappingTraversal traversal =
+        new MappingTraversal(this, /* adjustForPrefix= */ false);
+
+    // The encoded entries, without the enclosing quotes, the prefix or the final line breaks.
+    private final StringBuilder encoded = new StringBuilder();
+    private boolean finished = false;
+
+    // The number of line breaks in the encoded entries.
+    private int linesWritten = 0;
+    // The last line of any used mapping, as computed by prepMappings.
+    private int maxUsedLine = 0;
+
+    private int previousLine = -1;
+    private int previousColumn = 0;
+
+    // Previous values used for storing relative ids.
+    private int previousSourceFileId;
+    private int previousSourceLine;
+    private int previousSourceColumn;
+    private int previousNameId;
+
+    // Unmapped entries after the last used line are only part of the map if a mapped entry follows.
+    // This is the state to go back to if none does.
+    private int rollbackLength = -1;
+    private int rollbackLinesWritten;
+    private int rollbackPreviousLine;
+    private int rollbackPreviousColumn;
+
+    // Whether any mapping was added, whether the output starts with an unmapped segment because the
+    // first mapping doesn't start at the very start of the output, and whether any segment was
+    // visited yet.
+    private boolean addedAny = false;
+    private boolean startsUnmapped = false;
+    private boolean visitedAny = false;
+
+    // The position in the encoded entries of the column of the first entry of the first line, not
+    // counting the unmapped segment at the very start of the output.
+    private int firstLineEntryStart = -1;
+    private int firstLineEntryEnd;
+    private int firstLineEntryColumn;
+
+    void add(Mapping m) {
+      checkState(!finished, "Mappings can't be added after the source map was written.");
+      if (!addedAny) {
+        addedAny = true;
+        startsUnmapped = m.startPosition.getLine() != 0 || m.startPosition.getColumn() != 0;
+      }
+      try {
+        traversal.add(m);
+      } catch (IOException ex) {
+        // StringBuilder does not throw IOException.
+        throw new RuntimeException(ex);
+      }
+    }
+
+    /**
+     * Closes the remaining mappings.
+     *
+     * @return The last line mapped, adjusted for the prefix.
+     */
+    int finish() {
+      if (!finished) {
+        finished = true;
+        try {
+          traversal.finish();
+        } catch (IOException ex) {
+          // StringBuilder does not throw IOException.
+          throw new RuntimeException(ex);
+        }
+        if (rollbackLength != -1) {
+          encoded.setLength(rollbackLength);
+          linesWritten = rollbackLinesWritten;
+          previousLine = rollbackPreviousLine;
+          previousColumn = rollbackPreviousColumn;
+        }
+        // Line breaks are written up to the last position visited, but not past the last line.
+        int lineCount = Math.min(traversal.getLine(), maxUsedLine + 1);
+        while (linesWritten < lineCount) {
+          encoded.append(';');
+          linesWritten++;
+        }
+      }
+      return maxUsedLine + prefixPosition.getLine();
+    }
+
+    @Override
+    public void visit(Mapping m, int line, int col, int nextLine, int nextCol)
+        throws IOException {
+      if (m != null) {
+        maxUsedLine = Math.max(maxUsedLine, m.endPosition.getLine());
+        rollbackLength = -1;
+      } else if (line > maxUsedLine && rollbackLength == -1) {
+        rollbackLength = encoded.length();
+        rollbackLinesWritten = linesWritten;
+        rollbackPreviousLine = previousLine;
+        rollbackPreviousColumn = previousColumn;
+      }
+
+      while (linesWritten < line) {
+        encoded.append(';');
+        linesWritten++;
+      }
+      if (previousLine == line) { // not the first entry for the line
+        encoded.append(',');
+      } else {
+        previousColumn = 0;
+      }
+
+      boolean isFirstLineEntry =
+          line == 0 && firstLineEntryStart == -1 && (visitedAny || !startsUnmapped);
+      visitedAny = true;
+      int columnStart = encoded.length();
+      Base64VLQ.encode(encoded, col - previousColumn);
+      if (isFirstLineEntry) {
+        firstLineEntryStart = columnStart;
+        firstLineEntryEnd = encoded.length();
+        firstLineEntryColumn = col;
+      }
+      previousLine = line;
+      previousColumn = col;
+
+      if (m != null) {
+        // The relative source file id
+        int sourceId = getSourceId(m.sourceFile);
+        Base64VLQ.encode(encoded, sourceId - previousSourceFileId);
+        previousSourceFileId = sourceId;
+
+        // The relative source file line and column
+        int srcline = m.originalPosition.getLine();
+        int srcColumn = m.originalPosition.getColumn();
+        Base64VLQ.encode(encoded, srcline - previousSourceLine);
+        previousSourceLine = srcline;
+
+        Base64VLQ.encode(encoded, srcColumn - previousSourceColumn);
+        previousSourceColumn = srcColumn;
+
+        if (m.originalName != null) {
+          // The relative id for the associated symbol name
+          int nameId = getNameId(m.originalName);
+          Base64VLQ.encode(encoded, (nameId - previousNameId));
+          previousNameId = nameId;
+        }
+      }
+    }
+
+    // Append the line mapping entries.
+    void appendLineMappings(Appendable out) throws IOException {
+      checkState(finished);
+      out.append('\"');
+      int prefixLine = prefixPosition.getLine();
+      int prefixColumn = prefixPosition.getColumn();
+      if (!addedAny || (prefixLine == 0 && prefixColumn == 0)) {
+        out.append(encoded);
+      } else {
+        // The output starts with an unmapped segment that now covers the prefix, after which the
+        // entries of the first line move down and to the right by the size of the prefix.
+        out.append('A');
+        for (int i = 0; i < prefixLine; i++) {
+          out.append(';');
+        }
+        if (firstLineEntryStart != -1) {
+          if (prefixLine == 0) {
+            out.append(',');
+          }
+          Base64VLQ.encode(out, firstLineEntryColumn + prefixColumn);
+          out.append(encoded, firstLineEntryEnd, encoded.length());
+        } else if (startsUnmapped) {
+          // Skip the unmapped entry at the start of the output, which has been written already.
+          out.append(encoded, 1, encoded.length());
+        }
+      }
+      out.append(";\"");
+    }
+  }
+
 }
@@ -40,6 +40,7 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 import com.google.javascript.jscomp.CodePrinter.LicenseTracker;
 import com.google.javascript.jscomp.Compiler.ChunkGraphAwareLicenseTracker;
@@ -204,6 +205,19 @@ public abstract class AbstractCommandLineRunner<A extends Compiler, B extends Co
 
   private final List<JsonFileSpec> filesToStreamOut = new ArrayList<>();
 
+  /** The inputs of the compile request currently being served in compile server mode. */
+  private @Nullable List<JsonFileSpec> serverRequestFiles = null;
+
+  /** Whether the response to the current compile server request has already been written. */
+  private boolean serverResponseWritten = false;
+
+  /** Parse results shared by the compile requests served in compile server mode. */
+  private @Nullable ParseCache serverParseCache = null;
+
+  /** Builtin externs kept across compile requests in compile server mode, by environment. */
+  private final Map<CompilerOptions.Environment, ImmutableList<SourceFile>> cachedBuiltinExterns =
+      new LinkedHashMap<>();
+
   AbstractCommandLineRunner() {
     this(System.in, System.out, System.err);
   }
@@ -512,6 +526,24 @@ public abstract class AbstractCommandLineRunner<A extends Compiler, B extends Co
     }
   }
 
+  /**
+   * Returns the builtin externs for the given environment. In compile server mode these are read
+   * from the externs zip once and shared by all compile requests.
+   */
+  protected List<SourceFile> getBuiltinExternsForRun(CompilerOptions.Environment env)
+      throws IOException {
+    if (!config.compileServerMode) {
+      return getBuiltinExterns(env);
+    }
+    ImmutableList<SourceFile> externs = cachedBuiltinExterns.get(env);
+    if (externs == null) {
+      externs = ImmutableList.copyOf(getBuiltinExterns(env));
+      cachedBuiltinExterns.put(env, externs);
+    }
+    // Callers append their own externs to the returned list.
+    return new ArrayList<>(externs);
+  }
+
   /**
    * Some text identifying this binary and its version.
    *
@@ -533,33 +565,107 @@ public abstract class AbstractCommandLineRunner<A extends Compiler, B extends Co
   public final void run() {
     int result;
     try {
-      result = doRun();
+      result = config.compileServerMode ? runCompileServer() : doRun();
     } catch (FlagUsageException e) {
       err.println(e.getMessage());
       result = -1;
     } catch (Throwable t) {
       t.printStackTrace(err);
       result = -2;
+    } finally {
+      shutdownParallelTaskExecutor();
     }
 
     exitCodeReceiver.apply(result);
   }
 
+  /**
+   * Runs a stdin compile server, which serves compile requests until standard input is exhausted.
+   *
+   * <p>Each request is a JSON array of sources in the {@link JsonStreamMode} input format, and the
+   * requests are simply concatenated on standard input. Every request is answered with a JSON
+   * array of outputs in the {@link JsonStreamMode} output format on standard output; the array is
+   * empty when the compilation failed, in which case the diagnostics are printed to standard error
+   * as usual. All other flags apply to every request.
+   *
+   * <p>Each request is compiled by a fresh {@link Compiler}, so no compilation state leaks between
+   * requests. What is kept is the warmed-up JVM, the builtin externs, which are only read from the
+   * externs zip once, and a {@link ParseCache}, so inputs that did not change since an earlier
+   * request are not parsed again. No type information is kept: every request builds its own type
+   * registry and type checks the externs again.
+   *
+   * @return 0 if every request compiled successfully, 1 otherwise
+   */
+  private int runCompileServer() throws IOException {
+    if (config.jsonStreamMode != JsonStreamMode.BOTH) {
+      throw new FlagUsageException("--compile_server requires --json_streams=BOTH");
+    }
+    ImmutableList<String> chunkFlags = ImmutableList.copyOf(config.chunk);
+    serverParseCache = new ParseCache();
+    int exitStatus = 0;
+    JsonReader reader = new JsonReader(new InputStreamReader(this.in, inputCharset));
+    // Lenient mode allows the stream to contain several top-level arrays.
+    reader.setLenient(true);
+    while (reader.peek() != JsonToken.END_DOCUMENT) {
+      serverRequestFiles = readJsonFiles(reader);
+      serverResponseWritten = false;
+      filesToStreamOut.clear();
+      // doRun() consumes the "auto" chunk flag, so restore it for every request.
+      config.setChunk(chunkFlags);
+      int requestStatus;
+      try {
+        requestStatus = doRun();
+      } catch (FlagUsageException e) {
+        throw e;
+      } catch (RuntimeException e) {
+        // A crash while compiling one request must not take down the server.
+        e.printStackTrace(err);
+        requestStatus = -2;
+      } finally {
+        serverRequestFiles = null;
+        // Each request has its own compiler, so stop the threads of this one.
+        shutdownParallelTaskExecutor();
+      }
+      if (!serverResponseWritten) {
+        filesToStreamOut.clear();
+        outputJsonStream();
+      }
+      err.flush();
+      if (requestStatus != 0) {
+        exitStatus = 1;
+      }
+    }
+    return exitStatus;
+  }
+
+  private void shutdownParallelTaskExecutor() {
+    if (compiler != null) {
+      compiler.shutdownParallelTaskExecutor();
+    }
+  }
+
   /** Returns the PrintStream for writing errors associated with this AbstractCommandLineRunner. */
   protected final PrintStream getErrorPrintStream() {
     return err;
   }
 
   public List<JsonFileSpec> parseJsonFilesFromInputStream() throws IOException {
-    List<JsonFileSpec> jsonFiles = new ArrayList<>();
+    if (serverRequestFiles != null) {
+      return serverRequestFiles;
+    }
     try (JsonReader reader = new JsonReader(new InputStreamReader(this.in, inputCharset))) {
-      reader.beginArray();
-      while (reader.hasNext()) {
-        JsonFileSpec jsonFile = gson.fromJson(reader, JsonFileSpec.class);
-        jsonFiles.add(jsonFile);
-      }
-      reader.endArray();
+      return readJsonFiles(reader);
+    }
+  }
+
+  private List<JsonFileSpec> readJsonFiles(JsonReader reader) throws IOException {
+    List<JsonFileSpec> jsonFiles = new ArrayList<>();
+    reader.beginArray();
+    while (reader.hasNext()) {
+      JsonFileSpec jsonFile = gson.fromJson(reader, JsonFileSpec.class);
+      jsonFiles.add(jsonFile);
     }
+    reader.endArray();
     return jsonFiles;
   }
 
@@ -1157,6 +1263,9 @@ public abstract class AbstractCommandLineRunner<A extends Compiler, B extends Co
     Compiler.setLoggingLevel(Level.parse(config.loggingLevel));
 
     compiler = createCompiler();
+    if (serverParseCache != null) {
+      compiler.setParseCache(serverParseCache);
+    }
     if (!config.expectedDiagnostics.isEmpty()) {
       compiler.setErrorManager(
           new VerifyingErrorManager(compiler.getErrorManager(), config.expectedDiagnostics));
@@ -1649,10 +1758,21 @@ public abstract class AbstractCommandLineRunner<A extends Compiler, B extends Co
   }
 
   void outputJsonStream() throws IOException {
+    Gson gsonOut = new GsonBuilder().disableHtmlEscaping().setPrettyPrinting().create();
+    Type filesCollectionType = new TypeToken<List<JsChunkSpec>>() {}.getType();
+    if (config.compileServerMode) {
+      // Standard output has to stay open for the responses to later requests.
+      JsonWriter jsonWriter =
+          new JsonWriter(new BufferedWriter(new OutputStreamWriter(defaultJsOutput, UTF_8)));
+      gsonOut.toJson(this.filesToStreamOut, filesCollectionType, jsonWriter);
+      jsonWriter.flush();
+      defaultJsOutput.println();
+      defaultJsOutput.flush();
+      serverResponseWritten = true;
+      return;
+    }
     try (JsonWriter jsonWriter =
         new JsonWriter(new BufferedWriter(new OutputStreamWriter(defaultJsOutput, UTF_8)))) {
-      Gson gsonOut = new GsonBuilder().disableHtmlEscaping().setPrettyPrinting().create();
-      Type filesCollectionType = new TypeToken<List<JsChunkSpec>>() {}.getType();
       gsonOut.toJson(this.filesToStreamOut, filesCollectionType, jsonWriter);
     }
   }
@@ -1681,6 +1801,9 @@ public abstract class AbstractCommandLineRunner<A extends Compiler, B extends Co
       return INVALID_CHUNK_SOURCEMAP_PATTERN;
     }
 
+    // The chunks are printed on several threads up front when allowed. The loop below then only
+    // has to stitch the printed scripts together and build the source maps.
+    compiler.printChunksInParallel(chunks);
     ChunkGraphAwareLicenseTracker mlicenseTracker = new ChunkGraphAwareLicenseTracker(compiler);
     for (JSChunk m : chunks) {
       if (m.getName().equals(JSChunk.WEAK_CHUNK_NAME)) {
@@ -1713,6 +1836,7 @@ public abstract class AbstractCommandLineRunner<A extends Compiler, B extends Co
         }
       }
     }
+    compiler.clearPreprintedScripts();
 
     if (mapFileOut != null) {
       mapFileOut.close();
@@ -2246,7 +2370,7 @@ public abstract class AbstractCommandLineRunner<A extends Compiler, B extends Co
     // Prebuild ASTs before they're needed in getLoadFlags, for performance and because
     // StackOverflowErrors can be hit if not prebuilt.
     if (options.getNumParallelThreads() > 1) {
-      new PrebuildAst(compiler, compiler.getOptions().getNumParallelThreads()).prebuild(inputs);
+      var unused = new PrebuildAst(compiler).prebuild(inputs);
     }
     if (options.getRuntimeLibraryMode() == RuntimeJsLibManager.RuntimeLibraryMode.INJECT) {
       // ES6 modules will need a runtime in a bundle. Skip appending this runtime if there are no
@@ -2983,6 +3107,19 @@ public abstract class AbstractCommandLineRunner<A extends Compiler, B extends Co
       return this;
     }
 
+    private boolean compileServerMode = false;
+
+    /**
+     * Sets whether to run as a stdin compile server, which keeps serving compile requests read
+     * from standard input until it is closed, instead of compiling once and exiting. Requires
+     * {@link JsonStreamMode#BOTH}.
+     */
+    @CanIgnoreReturnValue
+    public CommandLineConfig setCompileServerMode(boolean compileServerMode) {
+      this.compileServerMode = compileServerMode;
+      return this;
+    }
+
     /** Set of options that can be used with the --formatting flag. */
     protected enum ErrorFormatOption {
       STANDARD,
@@ -276,6 +276,9 @@ public abstract class AbstractCompiler implements SourceExcerptProvider, Compile
   /** Gets a default error reporter for injecting into Rhino. */
   abstract ErrorReporter getDefaultErrorReporter();
 
+  /** Gets the cache of parse results shared with other compilations, if any. */
+  abstract @Nullable ParseCache getParseCache();
+
   /** Get an interpreter for type analysis. */
   public abstract ReverseAbstractInterpreter getReverseAbstractInterpreter();
 
@@ -334,6 +337,15 @@ public abstract class AbstractCompiler implements SourceExcerptProvider, Compile
 
   abstract ChangeTracker getChangeTracker();
 
+  /** Returns where to record what each thread is doing, or null if that isn't recorded. */
+  abstract @Nullable TraceEventRecorder getTraceEventRecorder();
+
+  /**
+   * Returns the threads that the parallel work of this compilation runs on, as many as {@link
+   * CompilerOptions#getNumParallelThreads()}.
+   */
+  public abstract ParallelTaskExecutor getParallelTaskExecutor();
+
   /** Register a provider for some type of index. */
   abstract void addIndexProvider(IndexProvider<?> indexProvider);
 
@@ -366,6 +378,9 @@ public abstract class AbstractCompiler implements SourceExcerptProvider, Compile
   /** Gets the error manager. */
   public abstract ErrorManager getErrorManager();
 
+  /** Sets the error manager. */
+  public abstract void setErrorManager(ErrorManager errorManager);
+
   /** Set the current life-cycle state. */
   abstract void setLifeCycleStage(LifeCycleStage stage);
 
@@ -196,6 +196,17 @@ public abstract class AbstractScope<S extends AbstractScope<S, V>, V extends Abs
     return implicitVars.computeIfAbsent(name, this::makeImplicitVar);
   }
 
+  /**
+   * Creates all implicit vars that this scope owns, which are otherwise created on first lookup.
+   * Afterwards, looking up vars in this scope no longer changes it, so it can be read from several
+   * threads.
+   */
+  final void createOwnImplicitSlots() {
+    for (ImplicitVar name : ImplicitVar.values()) {
+      getOwnImplicitSlot(name);
+    }
+  }
+
   @Override
   public final V getOwnSlot(String name) {
     V var = vars.get(name);
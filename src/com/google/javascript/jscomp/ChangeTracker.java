@@ -21,6 +21,7 @@ import static com.google.common.base.Preconditions.checkState;
 import com.google.javascript.rhino.Node;
 import java.util.ArrayList;
 import java.util.List;
+import org.jspecify.annotations.Nullable;
 
 /** Tracks various kind of changes during a single compilation */
 public final class ChangeTracker {
@@ -32,6 +33,8 @@ public final class ChangeTracker {
   private final Timeline<Node> changeTimeline = new Timeline<>();
   private final RecentChange recentChange = new RecentChange();
   private final List<CodeChangeHandler> codeChangeHandlers = new ArrayList<>();
+  // The changes reported on the current thread while inside deferChanges, if any.
+  private final ThreadLocal<@Nullable List<Runnable>> deferredChanges = new ThreadLocal<>();
 
   /** Registers a listener for code change events. */
   void addChangeHandler(CodeChangeHandler handler) {
@@ -52,15 +55,23 @@ public final class ChangeTracker {
    * #isChangeScopeRoot(Node)}
    */
   public void reportChangeToEnclosingScope(Node n) {
-    recordChange(getChangeScopeForNode(n));
-    notifyChangeHandlers();
+    // Find the change scope now, while n is still where the change was made.
+    Node changeScopeRoot = getChangeScopeForNode(n);
+    recordOrDefer(
+        () -> {
+          recordChange(changeScopeRoot);
+          notifyChangeHandlers();
+        });
   }
 
   /** Marks modifications to a function or script node */
   public void reportChangeToChangeScope(Node changeScopeRoot) {
     checkState(changeScopeRoot.isScript() || changeScopeRoot.isFunction());
-    recordChange(changeScopeRoot);
-    notifyChangeHandlers();
+    recordOrDefer(
+        () -> {
+          recordChange(changeScopeRoot);
+          notifyChangeHandlers();
+        });
   }
 
   /** Recurses through a tree, marking all function nodes as changed. */
@@ -79,8 +90,31 @@ public final class ChangeTracker {
    */
   public void reportFunctionDeleted(Node n) {
     checkState(n.isFunction());
-    n.setDeleted(true);
-    changeTimeline.remove(n);
+    recordOrDefer(
+        () -> {
+          n.setDeleted(true);
+          changeTimeline.remove(n);
+        });
+  }
+
+  /**
+   * Runs {@code action}, holding back the changes it reports on the current thread.
+   *
+   * <p>This lets code be changed off the compiler thread. The change stamp, the timeline and the
+   * change handlers are only touched once the returned {@code Runnable} is run, on the compiler
+   * thread. Running the returned changes of several actions in a fixed order records the same
+   * changes in the same order, however the actions themselves were scheduled.
+   */
+  Runnable deferChanges(Runnable action) {
+    checkState(deferredChanges.get() == null, "Already deferring changes on this thread");
+    List<Runnable> changes = new ArrayList<>();
+    deferredChanges.set(changes);
+    try {
+      action.run();
+    } finally {
+      deferredChanges.remove();
+    }
+    return () -> changes.forEach(Runnable::run);
   }
 
   /**
@@ -128,6 +162,15 @@ public final class ChangeTracker {
     return n;
   }
 
+  private void recordOrDefer(Runnable change) {
+    List<Runnable> changes = deferredChanges.get();
+    if (changes != null) {
+      changes.add(change);
+    } else {
+      change.run();
+    }
+  }
+
   private void notifyChangeHandlers() {
     for (CodeChangeHandler handler : codeChangeHandlers) {
       handler.reportChange();
@@ -42,6 +42,19 @@ public class ChangeVerifier {
     this.changeTracker = compiler.getChangeTracker();
   }
 
+  /**
+   * Returns the verifier that the options of {@code compiler} ask for: a {@link
+   * FingerprintChangeVerifier} or one that clones the AST.
+   */
+  static ChangeVerifier create(AbstractCompiler compiler) {
+    CompilerOptions options = compiler.getOptions();
+    if (options.shouldUseFingerprintChangeVerification()) {
+      return new FingerprintChangeVerifier(compiler)
+          .diagnose(options.getChangeVerificationDiagnosedScopes());
+    }
+    return new ChangeVerifier(compiler);
+  }
+
   @CanIgnoreReturnValue
   ChangeVerifier snapshot(Node root) {
     // remove any existing snapshot data.
@@ -137,7 +150,7 @@ public class ChangeVerifier {
     }
   }
 
-  private void verifyNode(String passNameMsg, Node n) {
+  static void verifyNode(String passNameMsg, Node n) {
     if (n.isDeleted()) {
       throw new IllegalStateException(
           passNameMsg + "existing scope is improperly marked as deleted:\n" + n.toStringTree());
@@ -145,6 +158,10 @@ public class ChangeVerifier {
   }
 
   private void verifyNewNode(String passNameMsg, Node n) {
+    verifyNewNode(passNameMsg, n, snapshotChange);
+  }
+
+  static void verifyNewNode(String passNameMsg, Node n, int snapshotChange) {
     int changeTime = n.getChangeTime();
     if (changeTime == 0 || changeTime < snapshotChange) {
       throw new IllegalStateException(
@@ -152,7 +169,7 @@ public class ChangeVerifier {
     }
   }
 
-  private void verifyRoot(Node root) {
+  static void verifyRoot(Node root) {
     checkState(root.isRoot());
     if (root.getChangeTime() != 0) {
       throw new IllegalStateException("Root nodes should never be marked as changed.");
@@ -175,23 +192,23 @@ public class ChangeVerifier {
       // If the current node is NOT marked as changed (changeTime <= snapshot.getChangeTime)
       // but is actually different from the snapshot, that's an error.
       if (!result.equals()) {
-        throw new IllegalStateException(
-            String.format(
-                """
-                "%schanged scope not marked as changed: %s.
-                %s
-                Ancestor nodes:
-                %s
-                """,
-                passNameMsg,
-                getNameForNode(n),
-                result.errorMessage.get(),
-                path(n, result.errorNode())));
+        throw new IllegalStateException(changedScopeNotMarkedMessage(passNameMsg, n, result));
       }
     }
   }
 
-  String getNameForNode(Node n) {
+  static String changedScopeNotMarkedMessage(String passNameMsg, Node n, EqualsResult result) {
+    return String.format(
+        """
+        "%schanged scope not marked as changed: %s.
+        %s
+        Ancestor nodes:
+        %s
+        """,
+        passNameMsg, getNameForNode(n), result.errorMessage.get(), path(n, result.errorNode()));
+  }
+
+  static String getNameForNode(Node n) {
     String sourceName = NodeUtil.getSourceName(n);
     return switch (n.getToken()) {
       case SCRIPT -> "SCRIPT: " + sourceName;
@@ -207,7 +224,7 @@ public class ChangeVerifier {
   }
 
   /** Returns the path from the ancestor to the child node. */
-  private String path(Node ancestor, Node child) {
+  private static String path(Node ancestor, Node child) {
     ArrayList<String> childToAncestor = new ArrayList<>();
     for (Node current = child; current != ancestor; current = current.getParent()) {
       childToAncestor.add(current.toString());
@@ -223,7 +240,7 @@ public class ChangeVerifier {
     return result.toString();
   }
 
-  private record EqualsResult(boolean equals, Node errorNode, Supplier<String> errorMessage) {
+  record EqualsResult(boolean equals, Node errorNode, Supplier<String> errorMessage) {
     static EqualsResult equal() {
       return new EqualsResult(true, null, () -> null);
     }
@@ -247,7 +264,7 @@ public class ChangeVerifier {
    * Checks whether the two given nodes are equivalent, while ignoring differences in descendant
    * functions.
    */
-  private static EqualsResult getInequivalenceReasonExcludingFunctions(
+  static EqualsResult getInequivalenceReasonExcludingFunctions(
       Node thisNode, Node thatNode) {
     checkNotNull(thisNode);
     checkNotNull(thatNode);
@@ -109,6 +109,7 @@ class ClosureUnawareOptions {
     }
     shadowOptions.setUseSizeHeuristicToStopOptimizationLoop(
         original.shouldUseSizeHeuristicToStopOptimizationLoop());
+    shadowOptions.setSkipUnproductiveLoopPasses(original.shouldSkipUnproductiveLoopPasses());
     shadowOptions.setMaxOptimizationLoopIterations(original.getMaxOptimizationLoopIterations());
 
     shadowOptions.setPreferStableNames(original.shouldPreferStableNames());
@@ -134,7 +135,13 @@ class ClosureUnawareOptions {
   private void copyDebugOptions() {
     shadowOptions.setTracerMode(original.getTracerMode());
     shadowOptions.setTracerOutput(original.getTracerOutput());
+    shadowOptions.setTracerJsonOutput(original.getTracerJsonOutput());
+    shadowOptions.setTraceEventOutput(original.getTraceEventOutput());
     shadowOptions.setDevMode(original.getDevMode());
+    shadowOptions.setFingerprintChangeVerification(
+        original.shouldUseFingerprintChangeVerification());
+    shadowOptions.setChangeVerificationDiagnosedScopes(
+        original.getChangeVerificationDiagnosedScopes());
 
     shadowOptions.setPrintSourceAfterEachPass(original.shouldPrintSourceAfterEachPass());
     shadowOptions.setFilesToPrintAfterEachPassRegexList(
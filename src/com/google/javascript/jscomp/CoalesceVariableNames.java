@@ -18,20 +18,14 @@ package com.google.javascript.jscomp;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
-import static java.util.Comparator.comparingInt;
 
 import com.google.common.base.Joiner;
 import com.google.javascript.jscomp.AbstractCompiler.LifeCycleStage;
-import com.google.javascript.jscomp.ControlFlowGraph.Branch;
 import com.google.javascript.jscomp.DataFlowAnalysis.LinearFlowState;
 import com.google.javascript.jscomp.LiveVariablesAnalysis.LiveVariableLattice;
 import com.google.javascript.jscomp.NodeUtil.AllVarsDeclaredInFunction;
-import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
-import com.google.javascript.jscomp.graph.GraphColoring;
-import com.google.javascript.jscomp.graph.GraphColoring.GreedyGraphColoring;
-import com.google.javascript.jscomp.graph.GraphNode;
-import com.google.javascript.jscomp.graph.LinkedUndirectedGraph;
-import com.google.javascript.jscomp.graph.UndiGraph;
+import com.google.javascript.jscomp.graph.GreedyIntColoring;
+import com.google.javascript.jscomp.graph.IntSetRows;
 import com.google.javascript.jscomp.parsing.parser.FeatureSet;
 import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.Node;
@@ -40,7 +34,6 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
-import java.util.Comparator;
 import java.util.Deque;
 import java.util.List;
 import java.util.Set;
@@ -65,22 +58,18 @@ import org.jspecify.annotations.Nullable;
  * <p>The pass operates similar to a typical register allocator found in an
  * optimizing compiler by first computing live ranges with
  * {@link LiveVariablesAnalysis} and a variable interference graph. Then it uses
- * graph coloring in {@link GraphColoring} to determine which two variables can
+ * graph coloring in {@link GreedyIntColoring} to determine which two variables can
  * be merge together safely.
  */
 class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements CompilerPass {
 
   private final AbstractCompiler compiler;
-  private final MemoizedScopeCreator scopeCreator;
-  private final Deque<GraphColoring<Var, Void>> colorings;
+  private final Deque<VariableColoring> colorings;
   private final Deque<LiveVariablesAnalysis> liveAnalyses;
   private final boolean usePseudoNames;
   private final AstFactory astFactory;
   private LiveVariablesAnalysis liveness;
 
-  private final Comparator<Var> coloringTieBreaker =
-      comparingInt((Var arg) -> liveness.getVarIndex(arg.getName()));
-
   /** A stack of shouldOptimizeScope results. */
   private final Deque<Boolean> shouldOptimizeScopeStack = new ArrayDeque<>();
 
@@ -99,21 +88,32 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
     liveAnalyses = new ArrayDeque<>();
     this.usePseudoNames = usePseudoNames;
     this.astFactory = compiler.createAstFactory();
-    this.scopeCreator = new MemoizedScopeCreator(new SyntacticScopeCreator(compiler));
   }
 
   @Override
   public void process(Node externs, Node root) {
     checkNotNull(externs);
     checkNotNull(root);
-    NodeTraversal.builder()
-        .setCompiler(compiler)
-        .setCallback(this)
-        .setScopeCreator(this.scopeCreator)
-        .traverse(root);
+    if (compiler.getOptions().getNumParallelThreads() > 1) {
+      // Each function is colored on its own, so functions can be coalesced concurrently.
+      NodeTraversal.traverseFunctionsInParallel(
+          compiler,
+          root,
+          () -> newTraversal(compiler, new CoalesceVariableNames(compiler, usePseudoNames)));
+    } else {
+      newTraversal(compiler, this).traverse(root);
+    }
     compiler.setLifeCycleStage(LifeCycleStage.RAW);
   }
 
+  private static NodeTraversal.Builder newTraversal(
+      AbstractCompiler compiler, CoalesceVariableNames callback) {
+    return NodeTraversal.builder()
+        .setCompiler(compiler)
+        .setCallback(callback)
+        .setScopeCreator(new MemoizedScopeCreator(new SyntacticScopeCreator(compiler)));
+  }
+
   /** Returns populated AllVarsDeclaredInFunction object iff shouldOptimizeScope is true. */
   private static @Nullable AllVarsDeclaredInFunction shouldOptimizeScope(NodeTraversal t) {
     // TODO(user): We CAN do this in the global scope, just need to be
@@ -150,7 +150,7 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
 
     liveness =
         new LiveVariablesAnalysis(
-            cfg, scope, null, compiler, this.scopeCreator, allVarsDeclaredInFunction);
+            cfg, scope, null, compiler, t.getScopeCreator(), allVarsDeclaredInFunction);
 
     if (FeatureSet.ES3.contains(compiler.getOptions().getOutputFeatureSet())) {
       // If the function has exactly 2 params, mark them as escaped. This is a work-around for a
@@ -169,15 +169,18 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
     // The interference graph has the function's variables as its nodes and any interference
     // between the variables as the edges. Interference between two variables means that they are
     // alive at overlapping times, which means that their variable names cannot be coalesced.
-    UndiGraph<Var, Void> interferenceGraph =
-        computeVariableNamesInterferenceGraph(cfg, liveness.getEscapedLocals());
+    InterferenceGraph interferenceGraph =
+        computeVariableNamesInterferenceGraph(
+            liveness.getCompactCfg(), liveness.getEscapedLocals());
 
     // Color any interfering variables with different colors and any variables that can be safely
-    // coalesced wih the same color.
-    GraphColoring<Var, Void> coloring =
-        new GreedyGraphColoring<>(interferenceGraph, coloringTieBreaker);
-    coloring.color();
-    colorings.push(coloring);
+    // coalesced wih the same color. Variables with more interferences are colored first, and ties
+    // go to the variable that appears first in the code.
+    int[] coloringOrder =
+        GreedyIntColoring.sortByDescendingWeight(
+            interferenceGraph.nodes().stream().toArray(), interferenceGraph.degrees());
+    int[] colors = GreedyIntColoring.colorByNeighbors(coloringOrder, interferenceGraph.neighbors());
+    colorings.push(new VariableColoring(liveness.getAllVariablesInOrder(), colors));
   }
 
   @Override
@@ -198,15 +201,14 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
     }
 
     Var var = liveness.getAllVariables().get(n.getString());
-    GraphNode<Var, Void> vNode = colorings.peek().getGraph().getNode(var);
-    if (vNode == null) {
+    if (var == null || !colorings.peek().isColored(liveness.getVarIndex(var.getName()))) {
       // This is not a local.
       return;
     }
-    Var coalescedVar = colorings.peek().getPartitionSuperNode(var);
+    Var coalescedVar = colorings.peek().getPartitionSuperVar(liveness.getVarIndex(var.getName()));
 
     if (!usePseudoNames) {
-      if (vNode.getValue().equals(coalescedVar)) {
+      if (var.equals(coalescedVar)) {
         // The coalesced name is itself, nothing to do.
         return;
       }
@@ -220,11 +222,13 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
       // we should not sacrifice performance for non-debugging compilation to
       // make this fast.
       Set<String> allMergedNames = new TreeSet<>();
+      int coalescedIndex = liveness.getVarIndex(coalescedVar.getName());
       for (Var iVar : liveness.getAllVariablesInOrder()) {
         // Look for all the variables that can be merged (in the graph by now)
         // and it is merged with the current coalescedVar.
-        if (colorings.peek().getGraph().getNode(iVar) != null
-            && colorings.peek().haveSameColor(iVar, coalescedVar)) {
+        int iIndex = liveness.getVarIndex(iVar.getName());
+        if (colorings.peek().isColored(iIndex)
+            && colorings.peek().haveSameColor(iIndex, coalescedIndex)) {
           allMergedNames.add(iVar.getName());
         }
       }
@@ -244,7 +248,7 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
       n.setString(pseudoName);
       compiler.reportChangeToEnclosingScope(n);
 
-      if (vNode.getValue().equals(coalescedVar)) {
+      if (var.equals(coalescedVar)) {
         return;
       }
       updateDeclarationsPostCoalescing(n, coalescedVar, parent);
@@ -322,9 +326,8 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
    * @param escaped we don't want to coalesce any escaped variables
    * @return graph with variable nodes and edges representing variable interference
    */
-  private UndiGraph<Var, Void> computeVariableNamesInterferenceGraph(
-      ControlFlowGraph<Node> cfg, Set<? extends Var> escaped) {
-    UndiGraph<Var, Void> interferenceGraph = LinkedUndirectedGraph.create();
+  private InterferenceGraph computeVariableNamesInterferenceGraph(
+      CompactControlFlowGraph<Node> cfg, Set<? extends Var> escaped) {
 
     // First create a node for each non-escaped variable. We add these nodes in the order in which
     // they appear in the code because we want the names that appear earlier in the code to be used
@@ -374,18 +377,18 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
         continue;
       }
 
-      interferenceGraph.createNode(v);
       interferenceGraphNodes.set(vIndex);
     }
 
     // Go through every CFG node in the program and look at variables that are live.
     // Set the pair of live variables in interferenceBitSet so we can add an edge between them.
-    for (DiGraphNode<Node, Branch> cfgNode : cfg.getNodes()) {
-      if (cfg.isImplicitReturn(cfgNode)) {
+    for (int id = 0; id < cfg.getNodeCount(); id++) {
+      if (id == cfg.getImplicitReturn()) {
         continue;
       }
 
-      LinearFlowState<LiveVariableLattice> state = cfgNode.getAnnotation();
+      Node cfgNode = cfg.getValue(id);
+      LinearFlowState<LiveVariableLattice> state = liveness.getFlowState(id);
 
       // Check the live states and add edge when possible. An edge between two variables
       // means that they are alive at overlapping times, which means that their
@@ -403,38 +406,85 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
         }
       }
 
-      LiveRangeChecker liveRangeChecker =
-          new LiveRangeChecker(cfgNode.getValue(), orderedVariables, state);
-      liveRangeChecker.check(cfgNode.getValue());
+      LiveRangeChecker liveRangeChecker = new LiveRangeChecker(cfgNode, orderedVariables, state);
+      liveRangeChecker.check(cfgNode);
       liveRangeChecker.setCrossingVariables(interferenceBitSet);
     }
 
-    // Go through each variable and try to connect them.
-    int v1Index = -1;
-    for (Var v1 : orderedVariables) {
-      v1Index++;
-
-      int v2Index = -1;
-      for (Var v2 : orderedVariables) {
-        v2Index++;
-        // Skip duplicate pairs. Also avoid merging a variable with itself.
-        if (v1Index > v2Index) {
-          continue;
-        }
-
-        if (!interferenceGraphNodes.get(v1Index) || !interferenceGraphNodes.get(v2Index)) {
-          // Skip nodes that were not added. They are globals and escaped locals.
-          continue;
-        }
-
+    // Go through each pair of variables and try to connect them.
+    BitSet[] neighbors = new BitSet[orderedVariables.length];
+    Arrays.setAll(neighbors, i -> new BitSet());
+    int[] degrees = new int[orderedVariables.length];
+    for (int v1Index = interferenceGraphNodes.nextSetBit(0);
+        v1Index >= 0;
+        v1Index = interferenceGraphNodes.nextSetBit(v1Index + 1)) {
+      Var v1 = orderedVariables[v1Index];
+      // Skip duplicate pairs, and nodes that were not added. They are globals and escaped locals.
+      for (int v2Index = interferenceGraphNodes.nextSetBit(v1Index);
+          v2Index >= 0;
+          v2Index = interferenceGraphNodes.nextSetBit(v2Index + 1)) {
+        Var v2 = orderedVariables[v2Index];
         if ((v1.isParam() && v2.isParam()) || interferenceBitSet[v1Index].get(v2Index)) {
           // Add an edge between variable pairs that are both parameters
           // because we don't want parameters to share a name.
-          interferenceGraph.connectIfNotFound(v1, null, v2);
+          if (v1Index == v2Index) {
+            // A variable that is live anywhere interferes with itself. That does not stop it from
+            // being colored, but counts twice towards its degree, as in an undirected graph.
+            degrees[v1Index] += 2;
+          } else {
+            neighbors[v1Index].set(v2Index);
+            neighbors[v2Index].set(v1Index);
+          }
         }
       }
     }
-    return interferenceGraph;
+
+    IntSetRows.Builder neighborRows = IntSetRows.builder();
+    for (int i = 0; i < neighbors.length; i++) {
+      degrees[i] += neighbors[i].cardinality();
+      neighborRows.add(neighbors[i]);
+    }
+    return new InterferenceGraph(interferenceGraphNodes, neighborRows.build(), degrees);
+  }
+
+  /**
+   * The interference graph of a function's variables, indexed like {@link
+   * LiveVariablesAnalysis#getVarIndex}.
+   *
+   * @param nodes the variables that may be coalesced
+   * @param neighbors the variables that each variable interferes with
+   * @param degrees the number of interferences of each variable
+   */
+  private record InterferenceGraph(BitSet nodes, IntSetRows neighbors, int[] degrees) {}
+
+  /** The result of coloring the interference graph of a function. */
+  private static final class VariableColoring {
+    private final List<Var> orderedVariables;
+    private final int[] colors;
+    // The variable that names each color. The first variable looked up with a color names it.
+    private final Var[] superVars;
+
+    VariableColoring(List<Var> orderedVariables, int[] colors) {
+      this.orderedVariables = orderedVariables;
+      this.colors = colors;
+      this.superVars = new Var[GreedyIntColoring.getColorCount(colors)];
+    }
+
+    boolean isColored(int varIndex) {
+      return colors[varIndex] >= 0;
+    }
+
+    Var getPartitionSuperVar(int varIndex) {
+      int color = colors[varIndex];
+      if (superVars[color] == null) {
+        superVars[color] = orderedVariables.get(varIndex);
+      }
+      return superVars[color];
+    }
+
+    boolean haveSameColor(int firstIndex, int secondIndex) {
+      return colors[firstIndex] == colors[secondIndex];
+    }
   }
 
   /**
@@ -16,6 +16,8 @@
 
 package com.google.javascript.jscomp;
 
+import static com.google.common.base.Preconditions.checkState;
+
 import com.google.common.collect.ImmutableList;
 import com.google.javascript.jscomp.NodeTraversal.ScopedCallback;
 import com.google.javascript.rhino.Node;
@@ -42,6 +44,7 @@ final class CombinedCompilerPass implements CompilerPass, ScopedCallback {
   /** The callbacks that this pass combines. */
   private final CallbackWrapper[] callbacks;
   private final AbstractCompiler compiler;
+  private final boolean timed;
 
   /**
    * Creates a combined compiler pass.
@@ -53,13 +56,36 @@ final class CombinedCompilerPass implements CompilerPass, ScopedCallback {
   }
 
   CombinedCompilerPass(AbstractCompiler compiler, List<NodeTraversal.Callback> callbacks) {
+    this(compiler, callbacks, false);
+  }
+
+  /**
+   * @param timed whether to measure the time spent in each callback, see {@link
+   *     #getCallbackNanos()}
+   */
+  CombinedCompilerPass(
+      AbstractCompiler compiler, List<NodeTraversal.Callback> callbacks, boolean timed) {
     this.compiler = compiler;
+    this.timed = timed;
     this.callbacks = new CallbackWrapper[callbacks.size()];
     for (int i = 0; i < callbacks.size(); i++) {
       this.callbacks[i] = new CallbackWrapper(callbacks.get(i));
     }
   }
 
+  /**
+   * Returns the nanoseconds spent in each callback, in the order they were given, not counting the
+   * time spent by the traversal itself. Only measured if this pass was created as timed.
+   */
+  long[] getCallbackNanos() {
+    checkState(timed, "The callbacks were not timed");
+    long[] nanos = new long[callbacks.length];
+    for (int i = 0; i < callbacks.length; i++) {
+      nanos[i] = callbacks[i].nanos;
+    }
+    return nanos;
+  }
+
   static void traverse(
       AbstractCompiler compiler, Node root, List<NodeTraversal.Callback> callbacks) {
     if (callbacks.size() == 1) {
@@ -94,6 +120,9 @@ final class CombinedCompilerPass implements CompilerPass, ScopedCallback {
      */
     private @Nullable Node waiting = null;
 
+    /** Nanoseconds spent in the wrapped callback, if it is timed. */
+    private long nanos = 0;
+
     private CallbackWrapper(NodeTraversal.Callback callback) {
       this.callback = callback;
       if (callback instanceof ScopedCallback scopedCallback) {
@@ -133,6 +162,30 @@ final class CombinedCompilerPass implements CompilerPass, ScopedCallback {
       }
     }
 
+    void timedVisitOrMaybeActivate(NodeTraversal t, Node n, Node parent) {
+      long start = System.nanoTime();
+      visitOrMaybeActivate(t, n, parent);
+      nanos += System.nanoTime() - start;
+    }
+
+    void timedShouldTraverseIfActive(NodeTraversal t, Node n, Node parent) {
+      long start = System.nanoTime();
+      shouldTraverseIfActive(t, n, parent);
+      nanos += System.nanoTime() - start;
+    }
+
+    void timedEnterScopeIfActive(NodeTraversal t) {
+      long start = System.nanoTime();
+      enterScopeIfActive(t);
+      nanos += System.nanoTime() - start;
+    }
+
+    void timedExitScopeIfActive(NodeTraversal t) {
+      long start = System.nanoTime();
+      exitScopeIfActive(t);
+      nanos += System.nanoTime() - start;
+    }
+
     boolean isActive() {
       return waiting == null;
     }
@@ -149,8 +202,14 @@ final class CombinedCompilerPass implements CompilerPass, ScopedCallback {
       return false;
     }
 
-    for (CallbackWrapper callback : callbacks) {
-      callback.shouldTraverseIfActive(t, n, parent);
+    if (timed) {
+      for (CallbackWrapper callback : callbacks) {
+        callback.timedShouldTraverseIfActive(t, n, parent);
+      }
+    } else {
+      for (CallbackWrapper callback : callbacks) {
+        callback.shouldTraverseIfActive(t, n, parent);
+      }
     }
     // Note that this method could return false if all callbacks are inactive.
     // This apparent optimization would make this method more expensive
@@ -166,22 +225,40 @@ final class CombinedCompilerPass implements CompilerPass, ScopedCallback {
       return;
     }
 
-    for (CallbackWrapper callback : callbacks) {
-      callback.visitOrMaybeActivate(t, n, parent);
+    if (timed) {
+      for (CallbackWrapper callback : callbacks) {
+        callback.timedVisitOrMaybeActivate(t, n, parent);
+      }
+    } else {
+      for (CallbackWrapper callback : callbacks) {
+        callback.visitOrMaybeActivate(t, n, parent);
+      }
     }
   }
 
   @Override
   public void enterScope(NodeTraversal t) {
-    for (CallbackWrapper callback : callbacks) {
-      callback.enterScopeIfActive(t);
+    if (timed) {
+      for (CallbackWrapper callback : callbacks) {
+        callback.timedEnterScopeIfActive(t);
+      }
+    } else {
+      for (CallbackWrapper callback : callbacks) {
+        callback.enterScopeIfActive(t);
+      }
     }
   }
 
   @Override
   public void exitScope(NodeTraversal t) {
-    for (CallbackWrapper callback : callbacks) {
-      callback.exitScopeIfActive(t);
+    if (timed) {
+      for (CallbackWrapper callback : callbacks) {
+        callback.timedExitScopeIfActive(t);
+      }
+    } else {
+      for (CallbackWrapper callback : callbacks) {
+        callback.exitScopeIfActive(t);
+      }
     }
   }
 }
@@ -206,6 +206,31 @@ public class CommandLineRunner extends AbstractCommandLineRunner<Compiler, Compi
         aliases = {"--dev_mode"})
     private CompilerOptions.DevMode jscompDevMode = CompilerOptions.DevMode.OFF;
 
+    @Option(
+        name = "--fingerprint_change_verification",
+        hidden = true,
+        handler = BooleanOptionHandler.class,
+        usage =
+            "Makes --jscomp_dev_mode verify the change tracking with hashes of the functions and "
+                + "scripts, instead of a copy of the AST.")
+    private boolean fingerprintChangeVerification = false;
+
+    @Option(
+        name = "--diagnose_change_scope",
+        hidden = true,
+        usage =
+            "A function or script, as named in the change verification errors, whose changes "
+                + "--fingerprint_change_verification reports in detail. May be repeated.")
+    private List<String> diagnoseChangeScope = new ArrayList<>();
+
+    @Option(
+        name = "--type_relation_cache_size",
+        hidden = true,
+        usage =
+            "How many results of subtype and equality checks between types to remember during "
+                + "type checking. 0 disables the cache.")
+    private int typeRelationCacheSize = 0;
+
     @Option(
         name = "--logging_level",
         hidden = true,
@@ -401,7 +426,8 @@ public class CommandLineRunner extends AbstractCommandLineRunner<Compiler, Compi
         hidden = true,
         usage =
             "The source map format to produce. "
-                + "Options are V3 and DEFAULT, which are equivalent.")
+                + "Options are V3 and DEFAULT, which are equivalent, and V3_STREAMING, which "
+                + "produces the same source maps using less memory.")
     private SourceMap.Format sourceMapFormat = SourceMap.Format.DEFAULT;
 
     @Option(
@@ -729,6 +755,22 @@ public class CommandLineRunner extends AbstractCommandLineRunner<Compiler, Compi
                 + "Options: ALL, AST_SIZE, RAW_SIZE, TIMING_ONLY, OFF")
     private CompilerOptions.TracerMode tracerMode = CompilerOptions.TracerMode.OFF;
 
+    @Option(
+        name = "--tracer_json_output",
+        hidden = true,
+        usage =
+            "Also writes the --tracer_mode stats of each compiler pass to this file as JSON, "
+                + "including CPU time, allocated bytes and GC time.")
+    private @Nullable String tracerJsonOutput = null;
+
+    @Option(
+        name = "--tracer_trace_event_output",
+        hidden = true,
+        usage =
+            "Also writes a timeline of the --tracer_mode passes and of the parsing threads to "
+                + "this file, in the Chrome trace event format. Open it in ui.perfetto.dev.")
+    private @Nullable String tracerTraceEventOutput = null;
+
     @Option(
         name = "--rename_variable_prefix",
         usage = "Specifies a prefix that will be prepended to all variables.")
@@ -763,6 +805,17 @@ public class CommandLineRunner extends AbstractCommandLineRunner<Compiler, Compi
                 + "Options: NONE, IN, OUT, BOTH. Defaults to NONE.")
     private CompilerOptions.JsonStreamMode jsonStreamMode = CompilerOptions.JsonStreamMode.NONE;
 
+    @Option(
+        name = "--compile_server",
+        handler = BooleanOptionHandler.class,
+        usage =
+            "Run as a compile server on standard input: compile every JSON array of sources "
+                + "read from it, answering each with a JSON array of outputs on standard output. "
+                + "Avoids paying for JVM startup, loading the builtin externs and parsing "
+                + "unchanged sources on every compilation. Each compilation still type checks "
+                + "its externs from scratch. Requires --json_streams=BOTH.")
+    private boolean compileServer = false;
+
     @Option(
         name = "--preserve_type_annotations",
         hidden = true,
@@ -1067,6 +1120,7 @@ public class CommandLineRunner extends AbstractCommandLineRunner<Compiler, Compi
                     "browser_featureset_year",
                     "charset",
                     "checks_only",
+                    "compile_server",
                     "define",
                     "flagfile",
                     "help",
@@ -1775,6 +1829,7 @@ public class CommandLineRunner extends AbstractCommandLineRunner<Compiler, Compi
           .setHideWarningsFor(flags.hideWarningsFor)
           .setAngularPass(flags.angularPass)
           .setJsonStreamMode(flags.jsonStreamMode)
+          .setCompileServerMode(flags.compileServer)
           .setErrorFormat(flags.errorFormat);
 
       SegmentOfCompilationToRun segmentOfCompilationToRun = flags.segmentOfCompilationToRun;
@@ -1963,6 +2018,15 @@ public class CommandLineRunner extends AbstractCommandLineRunner<Compiler, Compi
 
     options.setPrintSourceAfterEachPass(flags.printSourceAfterEachPass);
     options.setTracerMode(flags.tracerMode);
+    if (flags.tracerJsonOutput != null) {
+      options.setTracerJsonOutput(Path.of(flags.tracerJsonOutput));
+    }
+    if (flags.tracerTraceEventOutput != null) {
+      options.setTraceEventOutput(Path.of(flags.tracerTraceEventOutput));
+    }
+    options.setFingerprintChangeVerification(flags.fingerprintChangeVerification);
+    options.setChangeVerificationDiagnosedScopes(ImmutableSet.copyOf(flags.diagnoseChangeScope));
+    options.setTypeRelationCacheSize(flags.typeRelationCacheSize);
     options.setStrictModeInput(flags.strictModeInput);
     options.setEmitUseStrict(flags.emitUseStrict);
     options.setSourceMapIncludeSourcesContent(flags.sourceMapIncludeSourcesContent);
@@ -2085,7 +2149,7 @@ public class CommandLineRunner extends AbstractCommandLineRunner<Compiler, Compi
     if (isInTestMode()) {
       return externs;
     } else {
-      List<SourceFile> builtinExterns = getBuiltinExterns(options.getEnvironment());
+      List<SourceFile> builtinExterns = getBuiltinExternsForRun(options.getEnvironment());
       builtinExterns.addAll(externs);
       return builtinExterns;
     }
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import com.google.javascript.jscomp.ControlFlowGraph.Branch;
+import com.google.javascript.jscomp.graph.DiGraph.DiGraphEdge;
+import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A read-only snapshot of a {@link ControlFlowGraph} with dense int node ids, which the data flow
+ * analyses run over.
+ *
+ * <p>Node ids follow the order of {@link ControlFlowGraph#getNodes()}. The edges of all nodes are
+ * stored in shared arrays, in compressed sparse row form: the out edges of node {@code i} are at
+ * indices {@code [outStart(i), outStart(i + 1))} of the out arrays, in the same order as {@link
+ * DiGraphNode#getOutEdges()}, and likewise for in edges.
+ *
+ * <p>If the graph has a node comparator for the direction of the analysis, the nodes are also
+ * ranked by it, so that a work list can visit them in priority order without comparing nodes.
+ *
+ * @param <N> The instruction type of the control flow graph.
+ */
+final class CompactControlFlowGraph<N> {
+
+  private final List<DiGraphNode<N, Branch>> nodes;
+  private final IdentityHashMap<N, Integer> ids;
+  private final int entry;
+  private final int implicitReturn;
+
+  // The id of the node of each rank, and the rank of each node id, if there is a node order.
+  private final int @Nullable [] idsByRank;
+  private final int @Nullable [] ranks;
+
+  private final int[] outStart;
+  private final int[] outNodes;
+  private final Branch[] outBranches;
+  private final List<DiGraphEdge<N, Branch>> outEdges;
+
+  private final int[] inStart;
+  private final int[] inNodes;
+  private final List<DiGraphEdge<N, Branch>> inEdges;
+
+  private CompactControlFlowGraph(ControlFlowGraph<N> cfg, boolean isForward) {
+    this.nodes = new ArrayList<>(cfg.getNodes());
+    int nodeCount = nodes.size();
+    this.ids = new IdentityHashMap<>(nodeCount);
+    int edgeCount = 0;
+    for (int i = 0; i < nodeCount; i++) {
+      DiGraphNode<N, Branch> node = nodes.get(i);
+      ids.put(node.getValue(), i);
+      edgeCount += node.getOutEdges().size();
+    }
+    this.entry = getId(cfg.getEntry().getValue());
+    this.implicitReturn = getId(cfg.getImplicitReturn().getValue());
+
+    Comparator<DiGraphNode<N, Branch>> comparator = cfg.getOptionalNodeComparator(isForward);
+    if (comparator == null) {
+      this.idsByRank = null;
+      this.ranks = null;
+    } else {
+      Integer[] sorted = new Integer[nodeCount];
+      Arrays.setAll(sorted, i -> i);
+      Arrays.sort(sorted, (a, b) -> comparator.compare(nodes.get(a), nodes.get(b)));
+      this.idsByRank = new int[nodeCount];
+      this.ranks = new int[nodeCount];
+      for (int rank = 0; rank < nodeCount; rank++) {
+        idsByRank[rank] = sorted[rank];
+        ranks[sorted[rank]] = rank;
+      }
+    }
+
+    this.outStart = new int[nodeCount + 1];
+    this.outNodes = new int[edgeCount];
+    this.outBranches = new Branch[edgeCount];
+    this.outEdges = new ArrayList<>(edgeCount);
+    this.inStart = new int[nodeCount + 1];
+    this.inNodes = new int[edgeCount];
+    this.inEdges = new ArrayList<>(edgeCount);
+    for (int i = 0; i < nodeCount; i++) {
+      DiGraphNode<N, Branch> node = nodes.get(i);
+
+      outStart[i] = outEdges.size();
+      for (DiGraphEdge<N, Branch> edge : node.getOutEdges()) {
+        outNodes[outEdges.size()] = getId(edge.getDestination().getValue());
+        outBranches[outEdges.size()] = edge.getValue();
+        outEdges.add(edge);
+      }
+
+      inStart[i] = inEdges.size();
+      for (DiGraphEdge<N, Branch> edge : node.getInEdges()) {
+        inNodes[inEdges.size()] = getId(edge.getSource().getValue());
+        inEdges.add(edge);
+      }
+    }
+    outStart[nodeCount] = outEdges.size();
+    inStart[nodeCount] = inEdges.size();
+  }
+
+  /**
+   * Creates a snapshot of {@code cfg}, ranking its nodes in the priority order for the given flow
+   * direction.
+   */
+  static <N> CompactControlFlowGraph<N> create(ControlFlowGraph<N> cfg, boolean isForward) {
+    return new CompactControlFlowGraph<>(cfg, isForward);
+  }
+
+  int getNodeCount() {
+    return nodes.size();
+  }
+
+  DiGraphNode<N, Branch> getNode(int id) {
+    return nodes.get(id);
+  }
+
+  /** Returns the instruction of the node with the given id, or null for the implicit return. */
+  @Nullable N getValue(int id) {
+    return nodes.get(id).getValue();
+  }
+
+  /** Returns the id of the node of the given instruction, or -1 if it is not in the graph. */
+  int getId(@Nullable N value) {
+    Integer id = ids.get(value);
+    return id != null ? id : -1;
+  }
+
+  int getEntry() {
+    return entry;
+  }
+
+  int getImplicitReturn() {
+    return implicitReturn;
+  }
+
+  /**
+   * Whether the nodes are ranked by the comparator of the graph. If not, there is no preferred
+   * order in which to visit nodes.
+   */
+  boolean hasNodeOrder() {
+    return ranks != null;
+  }
+
+  /** Returns the rank of the node with the given id, where a lower rank is a higher priority. */
+  int getRank(int id) {
+    return ranks[id];
+  }
+
+  /** Returns the id of the node with the given rank. */
+  int getIdAtRank(int rank) {
+    return idsByRank[rank];
+  }
+
+  /** Returns the index of the first out edge of {@code id}, which ends the out edges of id - 1. */
+  int outStart(int id) {
+    return outStart[id];
+  }
+
+  /** Returns the id of the destination of the out edge at {@code index}. */
+  int outNode(int index) {
+    return outNodes[index];
+  }
+
+  Branch outBranch(int index) {
+    return outBranches[index];
+  }
+
+  DiGraphEdge<N, Branch> outEdge(int index) {
+    return outEdges.get(index);
+  }
+
+  /** Whether the node with the given id has an out edge of the given kind. */
+  boolean hasOutEdge(int id, Branch branch) {
+    for (int i = outStart[id]; i < outStart[id + 1]; i++) {
+      if (outBranches[i] == branch) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Returns the index of the first in edge of {@code id}, which ends the in edges of id - 1. */
+  int inStart(int id) {
+    return inStart[id];
+  }
+
+  /** Returns the id of the source of the in edge at {@code index}. */
+  int inNode(int index) {
+    return inNodes[index];
+  }
+
+  DiGraphEdge<N, Branch> inEdge(int index) {
+    return inEdges.get(index);
+  }
+}
@@ -51,6 +51,8 @@ import com.google.javascript.jscomp.JSChunkGraph.ChunkDependenceException;
 import com.google.javascript.jscomp.JSChunkGraph.DependencyManagementResult;
 import com.google.javascript.jscomp.JSChunkGraph.MissingChunkException;
 import com.google.javascript.jscomp.NodeTraversal.AbstractPreOrderCallback;
+import com.google.javascript.jscomp.ParallelScriptPrinter.PrintedScript;
+import com.google.javascript.jscomp.ParallelScriptPrinter.ScriptToPrint;
 import com.google.javascript.jscomp.SortingErrorManager.ErrorReportGenerator;
 import com.google.javascript.jscomp.base.Tri;
 import com.google.javascript.jscomp.colors.ColorRegistry;
@@ -103,6 +105,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.AbstractSet;
@@ -111,6 +115,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -227,6 +232,15 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
   /** The source code map */
   private SourceMap sourceMap;
 
+  /**
+   * Scripts that were printed ahead of time by other threads, waiting to be stitched into the
+   * output by {@link #toSource(CodeBuilder, LicenseTracker, int, Node)}.
+   */
+  private final Map<Node, PrintedScript> preprintedScripts = new HashMap<>();
+
+  /** The change stamp when {@link #preprintedScripts} were printed. Any later change voids them. */
+  private int preprintedChangeStamp;
+
   /** Extra context appended to the "print source after each pass" output. */
   private String debugMessage;
 
@@ -289,6 +303,8 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
 
   private final ChangeTracker changeTracker = new ChangeTracker();
 
+  private @Nullable ParallelTaskExecutor parallelTaskExecutor;
+
   /**
    * When mapping symbols from a source map, we must repeatedly combine the path of the original
    * file with the path from the source map to compute the SourceFile of the underlying code. When
@@ -331,9 +347,13 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
    *
    * @param errorManager the error manager, it cannot be {@code null}
    */
+  @Override
   public void setErrorManager(ErrorManager errorManager) {
     checkNotNull(errorManager, "the error manager cannot be null");
-    this.errorManager = new ThreadSafeDelegatingErrorManager(errorManager);
+    this.errorManager =
+        errorManager instanceof ThreadSafeDelegatingErrorManager
+            ? errorManager
+            : new ThreadSafeDelegatingErrorManager(errorManager);
   }
 
   /** Creates a message formatter instance corresponding to the value of {@link CompilerOptions}. */
@@ -1174,6 +1194,7 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     ManageClosureUnawareCode.unwrap(this).process(externsRoot, jsRoot);
 
     if (tracker != null) {
+      recordTypeRelationCacheStats();
       if (options.getTracerOutput() == null) {
         tracker.outputTracerReport(this.outStream);
       } else {
@@ -1183,6 +1204,20 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
           throw new RuntimeException(e);
         }
       }
+      if (options.getTracerJsonOutput() != null) {
+        try (Writer out = Files.newBufferedWriter(options.getTracerJsonOutput(), UTF_8)) {
+          tracker.outputJsonReport(out);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+      if (tracker.getTraceEventRecorder() != null) {
+        try (Writer out = Files.newBufferedWriter(options.getTraceEventOutput(), UTF_8)) {
+          tracker.getTraceEventRecorder().writeTo(out);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
     }
   }
 
@@ -1854,6 +1889,7 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
 
   @Override
   public void clearJSTypeRegistry() {
+    recordTypeRelationCacheStats();
     typeRegistry = null;
     typeValidator = null;
     abstractInterpreter = null;
@@ -1873,10 +1909,19 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
           // JSTypes have been converted to optimization colors
           "Attempted to re-initialize JSTypeRegistry after it had been cleared");
       typeRegistry = new JSTypeRegistry(oldErrorReporter, forwardDeclaredTypes);
+      if (options != null) {
+        typeRegistry.setTypeRelationCacheSize(options.getTypeRelationCacheSize());
+      }
     }
     return typeRegistry;
   }
 
+  private void recordTypeRelationCacheStats() {
+    if (tracker != null && typeRegistry != null && options.getTypeRelationCacheSize() > 0) {
+      tracker.recordTypeRelationCacheStats(typeRegistry.getTypeRelationCacheStats());
+    }
+  }
+
   @Override
   public ColorRegistry getColorRegistry() {
     return checkNotNull(colorRegistry, "Color registry has not been initialized yet");
@@ -2048,8 +2093,12 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
       return;
     }
 
-    tracker = new PerformanceTracker(externsRoot, jsRoot, options.getTracerMode());
+    tracker =
+        new PerformanceTracker(externsRoot, jsRoot, options.getTracerMode(), changeTracker);
     changeTracker.addChangeHandler(tracker.getCodeChangeHandler());
+    if (options.getTraceEventOutput() != null) {
+      tracker.setTraceEventRecorder(new TraceEventRecorder());
+    }
   }
 
   void initializeModuleLoader() {
@@ -2098,10 +2147,11 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     Tracer tracer = newTracer(PassNames.PARSE_INPUTS);
     beforePass(PassNames.PARSE_INPUTS);
 
+    PrebuildAst prebuildAst = options.getNumParallelThreads() > 1 ? new PrebuildAst(this) : null;
     try {
       // Parse externs sources.
-      if (options.getNumParallelThreads() > 1) {
-        new PrebuildAst(this, options.getNumParallelThreads()).prebuild(externs);
+      if (prebuildAst != null && !prebuildAst.prebuild(externs)) {
+        return null;
       }
       for (CompilerInput input : externs) {
         Node n = checkNotNull(input.getAstRoot(this));
@@ -2126,8 +2176,9 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
             options.getProcessCommonJSModules());
       } else if (options.needsTranspilationFrom(FeatureSet.ES2015_MODULES)
           || options.getProcessCommonJSModules()) {
-        if (options.getLanguageIn().toFeatureSet().has(Feature.MODULES)) {
-          parsePotentialModules(chunkGraph.getAllInputs());
+        if (options.getLanguageIn().toFeatureSet().has(Feature.MODULES)
+            && !parsePotentialModules(chunkGraph.getAllInputs(), prebuildAst)) {
+          return null;
         }
 
         // Build a map of module identifiers for any input which provides no namespace.
@@ -2170,8 +2221,8 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
       }
 
       // Build the AST.
-      if (options.getNumParallelThreads() > 1) {
-        new PrebuildAst(this, options.getNumParallelThreads()).prebuild(chunkGraph.getAllInputs());
+      if (prebuildAst != null && !prebuildAst.prebuild(chunkGraph.getAllInputs())) {
+        return null;
       }
 
       for (CompilerInput input : chunkGraph.getAllInputs()) {
@@ -2495,7 +2546,7 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
 
   private void maybeDoThreadedParsing() {
     if (options.getNumParallelThreads() > 1) {
-      new PrebuildDependencyInfo(options.getNumParallelThreads())
+      new PrebuildDependencyInfo(options.getNumParallelThreads(), getTraceEventRecorder())
           .prebuild(chunkGraph.getAllInputs());
     }
   }
@@ -2531,7 +2582,13 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     return rewriteJson.getPackageJsonMainEntries();
   }
 
-  private void parsePotentialModules(Iterable<CompilerInput> inputsToProcess) {
+  /**
+   * Parses the inputs that may be ES modules.
+   *
+   * @return false if parsing stopped early because of a halting error
+   */
+  private boolean parsePotentialModules(
+      Iterable<CompilerInput> inputsToProcess, @Nullable PrebuildAst prebuildAst) {
     List<CompilerInput> filteredInputs = new ArrayList<>();
     for (CompilerInput input : inputsToProcess) {
       // Only process files that are detected as ES6 modules
@@ -2541,8 +2598,8 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
         filteredInputs.add(input);
       }
     }
-    if (options.getNumParallelThreads() > 1) {
-      new PrebuildAst(this, options.getNumParallelThreads()).prebuild(filteredInputs);
+    if (prebuildAst != null && !prebuildAst.prebuild(filteredInputs)) {
+      return false;
     }
     for (CompilerInput input : filteredInputs) {
       input.setCompiler(this);
@@ -2550,6 +2607,7 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
       input.getRequires();
       input.setJsModuleType(ModuleType.ES6);
     }
+    return true;
   }
 
   /** Allow subclasses to override the default CompileOptions object. */
@@ -2620,6 +2678,21 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     return oldErrorReporter;
   }
 
+  private @Nullable ParseCache parseCache;
+
+  /**
+   * Sets a cache of parse results to consult before parsing any input. Sharing one cache between
+   * compilations of mostly unchanged sources avoids re-parsing the unchanged files.
+   */
+  void setParseCache(@Nullable ParseCache parseCache) {
+    this.parseCache = parseCache;
+  }
+
+  @Override
+  @Nullable ParseCache getParseCache() {
+    return parseCache;
+  }
+
   // ------------------------------------------------------------------------
   // Convert back to source code
   // ------------------------------------------------------------------------
@@ -2636,6 +2709,21 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
             // to de-dupe seen licenses across all inputs.
             SingleBinaryLicenseTracker lt = new SingleBinaryLicenseTracker(this);
             if (jsRoot != null) {
+              List<ScriptToPrint> scripts = new ArrayList<>();
+              if (options.shouldPrintExterns()) {
+                for (Node scriptNode = externsRoot.getFirstChild();
+                    scriptNode != null;
+                    scriptNode = scriptNode.getNext()) {
+                  scripts.add(new ScriptToPrint(scriptNode, scripts.isEmpty()));
+                }
+              }
+              for (Node scriptNode = jsRoot.getFirstChild();
+                  scriptNode != null;
+                  scriptNode = scriptNode.getNext()) {
+                scripts.add(new ScriptToPrint(scriptNode, scripts.isEmpty()));
+              }
+              preprintScripts(scripts);
+
               int i = 0;
               if (options.shouldPrintExterns()) {
                 for (Node scriptNode = externsRoot.getFirstChild();
@@ -2686,6 +2774,7 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
           if (numInputs == 0) {
             return "";
           }
+          preprintScripts(scriptsToPrint(chunk));
           CodeBuilder cb = new CodeBuilder();
           for (int i = 0; i < numInputs; i++) {
             Node scriptNode = inputs.get(i).getAstRoot(Compiler.this);
@@ -2738,7 +2827,7 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
           }
 
           CodePrinter.SourceAndMappings sourceAndMappings =
-              toSourceAndMappings(root, inputSeqNum == 0, licenseTracker);
+              printScript(root, inputSeqNum == 0, licenseTracker);
           String code = sourceAndMappings.source;
 
           // Check whether there is any license information that should be emitted.
@@ -2786,6 +2875,85 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
         });
   }
 
+  /**
+   * Prints the scripts of the given chunks concurrently, so that the following calls to {@link
+   * #toSource(LicenseTracker, JSChunk)} and {@link #toSourceArray} for these chunks only need to
+   * stitch the printed scripts together. This is a no-op unless more than one thread is allowed by
+   * {@link CompilerOptions#setNumParallelThreads}.
+   *
+   * <p>The printed scripts are dropped if the AST is changed before they are used. Call {@link
+   * #clearPreprintedScripts} once the chunks have been converted to source.
+   */
+  void printChunksInParallel(Iterable<JSChunk> chunks) {
+    runInCompilerThread(
+        () -> {
+          List<ScriptToPrint> scripts = new ArrayList<>();
+          for (JSChunk chunk : chunks) {
+            scripts.addAll(scriptsToPrint(chunk));
+          }
+          preprintScripts(scripts);
+          return null;
+        });
+  }
+
+  private List<ScriptToPrint> scriptsToPrint(JSChunk chunk) {
+    List<ScriptToPrint> scripts = new ArrayList<>();
+    ImmutableList<CompilerInput> inputs = chunk.getInputs();
+    for (int i = 0; i < inputs.size(); i++) {
+      Node scriptNode = inputs.get(i).getAstRoot(this);
+      if (scriptNode != null) {
+        scripts.add(new ScriptToPrint(scriptNode, i == 0));
+      }
+    }
+    return scripts;
+  }
+
+  /** Prints the given scripts on several threads if allowed, keeping the results for later. */
+  private void preprintScripts(List<ScriptToPrint> scripts) {
+    int numParallelThreads = options.getNumParallelThreads();
+    if (numParallelThreads <= 1) {
+      return;
+    }
+    if (preprintedChangeStamp != changeTracker.getChangeStamp()) {
+      clearPreprintedScripts();
+    }
+    List<ScriptToPrint> toPrint = new ArrayList<>();
+    for (ScriptToPrint script : scripts) {
+      if (!preprintedScripts.containsKey(script.script())) {
+        toPrint.add(script);
+      }
+    }
+    if (toPrint.size() < 2) {
+      return;
+    }
+    ImmutableList<PrintedScript> printed =
+        new ParallelScriptPrinter(this::toSourceAndMappings, getParallelTaskExecutor())
+            .printAll(toPrint);
+    for (int i = 0; i < toPrint.size(); i++) {
+      preprintedScripts.put(toPrint.get(i).script(), printed.get(i));
+    }
+    preprintedChangeStamp = changeTracker.getChangeStamp();
+  }
+
+  /** Drops the scripts printed by {@link #printChunksInParallel} that have not been used. */
+  void clearPreprintedScripts() {
+    preprintedScripts.clear();
+  }
+
+  /** Uses the output of {@link #preprintScripts} if there is one, or prints the script now. */
+  private CodePrinter.SourceAndMappings printScript(
+      Node root, boolean firstOutput, LicenseTracker licenseTracker) {
+    if (preprintedChangeStamp != changeTracker.getChangeStamp()) {
+      clearPreprintedScripts();
+    }
+    PrintedScript printed = preprintedScripts.remove(root);
+    if (printed != null && printed.firstOutput() == firstOutput) {
+      printed.replayLicenses(licenseTracker);
+      return printed.sourceAndMappings();
+    }
+    return toSourceAndMappings(root, firstOutput, licenseTracker);
+  }
+
   /** Generates JavaScript source code for an AST, doesn't generate source map info. */
   @Override
   public String toSource(Node n) {
@@ -3068,6 +3236,7 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
           if (numInputs == 0) {
             return new String[0];
           }
+          preprintScripts(scriptsToPrint(chunk));
 
           String[] sources = new String[numInputs];
           CodeBuilder cb = new CodeBuilder();
@@ -3297,6 +3466,30 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     return changeTracker;
   }
 
+  @Override
+  @Nullable TraceEventRecorder getTraceEventRecorder() {
+    return (tracker != null) ? tracker.getTraceEventRecorder() : null;
+  }
+
+  @Override
+  public synchronized ParallelTaskExecutor getParallelTaskExecutor() {
+    if (parallelTaskExecutor == null) {
+      parallelTaskExecutor = new ParallelTaskExecutor(Math.max(1, options.getNumParallelThreads()));
+    }
+    return parallelTaskExecutor;
+  }
+
+  /**
+   * Stops the threads of {@link #getParallelTaskExecutor}, once the tasks already handed to them
+   * are done. A later call to {@link #getParallelTaskExecutor} starts new ones.
+   */
+  public synchronized void shutdownParallelTaskExecutor() {
+    if (parallelTaskExecutor != null) {
+      parallelTaskExecutor.shutdown();
+      parallelTaskExecutor = null;
+    }
+  }
+
   @Override
   void addIndexProvider(IndexProvider<?> indexProvider) {
     Class<?> type = indexProvider.getType();
@@ -4508,6 +4701,13 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     // TypedAstDeserializer; otherwise lookups in this.typedAstFilesystem will fail.
     ImmutableMap<String, SourceFile> externFiles = externFilesBuilder.buildOrThrow();
     ImmutableMap<String, SourceFile> codeFiles = codeFilesBuilder.buildOrThrow();
+    if (options.getNumParallelThreads() > 1) {
+      // Deserialize the scripts on worker threads while they are restored in order below.
+      TypedAstDeserializer.startDeserializingScripts(
+          deserializedAst,
+          getScriptsInRestoreOrder(stateProto, externFiles, codeFiles),
+          getParallelTaskExecutor());
+    }
     for (String externName : stateProto.getExternsList()) {
       if (externName.equals(SYNTHETIC_EXTERNS_FILE.getName())) {
         this.getSynthesizedExternsInput();
@@ -4566,6 +4766,29 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     }
   }
 
+  /** Returns the serialized scripts in the order their CompilerInputs are restored. */
+  private static ImmutableList<SourceFile> getScriptsInRestoreOrder(
+      JSCompilerStateProto stateProto,
+      ImmutableMap<String, SourceFile> externFiles,
+      ImmutableMap<String, SourceFile> codeFiles) {
+    ImmutableList.Builder<SourceFile> scripts = ImmutableList.builder();
+    for (String externName : stateProto.getExternsList()) {
+      SourceFile externFile = externFiles.getOrDefault(externName, codeFiles.get(externName));
+      if (externFile != null) {
+        scripts.add(externFile);
+      }
+    }
+    for (ChunkProto chunkProto : stateProto.getChunksList()) {
+      for (String inputId : chunkProto.getInputIdsList()) {
+        SourceFile src = codeFiles.get(inputId);
+        if (src != null) {
+          scripts.add(src);
+        }
+      }
+    }
+    return scripts.build();
+  }
+
   /** Returns the module type for the provided namespace. */
   @Override
   @Nullable ModuleType getModuleTypeByName(String moduleName) {
@@ -31,8 +31,10 @@ import com.google.javascript.jscomp.deps.JsFileRegexParser;
 import com.google.javascript.jscomp.deps.ModuleLoader;
 import com.google.javascript.jscomp.deps.ModuleLoader.ModulePath;
 import com.google.javascript.jscomp.deps.SimpleDependencyInfo;
+import com.google.javascript.jscomp.parsing.Config;
 import com.google.javascript.jscomp.parsing.ParserRunner;
 import com.google.javascript.jscomp.parsing.parser.FeatureSet;
+import com.google.javascript.rhino.ErrorReporter;
 import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.InputId;
 import com.google.javascript.rhino.JSDocInfo;
@@ -674,15 +676,25 @@ public class CompilerInput implements DependencyInfo {
 
     private void parse(AbstractCompiler compiler) {
       try {
+        CharSequence code = sourceFile.getCodeCharSequence();
+        Config config =
+            compiler.getParserConfig(
+                sourceFile.isExtern()
+                    ? AbstractCompiler.ConfigContext.EXTERNS
+                    : AbstractCompiler.ConfigContext.DEFAULT);
+        ParseCache parseCache = compiler.getParseCache();
+        ParseCache.Key cacheKey =
+            parseCache != null ? ParseCache.keyFor(sourceFile, code, config) : null;
         ParserRunner.ParseResult result =
-            ParserRunner.parse(
-                sourceFile,
-                sourceFile.getCode(),
-                compiler.getParserConfig(
-                    sourceFile.isExtern()
-                        ? AbstractCompiler.ConfigContext.EXTERNS
-                        : AbstractCompiler.ConfigContext.DEFAULT),
-                compiler.getDefaultErrorReporter());
+            parseCache != null ? parseCache.get(cacheKey, sourceFile) : null;
+        if (result == null) {
+          DiagnosticCountingErrorReporter errorReporter =
+              new DiagnosticCountingErrorReporter(compiler.getDefaultErrorReporter());
+          result = ParserRunner.parse(sourceFile, code, config, errorReporter);
+          if (parseCache != null && errorReporter.count == 0) {
+            parseCache.put(cacheKey, result);
+          }
+        }
         root = result.ast;
         features = result.features;
 
@@ -712,4 +724,26 @@ public class CompilerInput implements DependencyInfo {
       root.setStaticSourceFile(sourceFile);
     }
   }
+
+  /** Forwards parse diagnostics, remembering whether there were any. */
+  private static final class DiagnosticCountingErrorReporter implements ErrorReporter {
+    private final ErrorReporter delegate;
+    private int count = 0;
+
+    DiagnosticCountingErrorReporter(ErrorReporter delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void warning(String message, String sourceName, int line, int lineOffset) {
+      count++;
+      delegate.warning(message, sourceName, line, lineOffset);
+    }
+
+    @Override
+    public void error(String message, String sourceName, int line, int lineOffset) {
+      count++;
+      delegate.error(message, sourceName, line, lineOffset);
+    }
+  }
 }
@@ -371,6 +371,15 @@ public class CompilerOptions {
    */
   private DevMode devMode;
 
+  /**
+   * Makes the validity checks verify the change tracking with hashes of the change scopes, instead
+   * of a copy of the AST.
+   */
+  private boolean fingerprintChangeVerification = false;
+
+  /** The change scopes that the hashing verifier also copies, to report what changed in them. */
+  private ImmutableSet<String> changeVerificationDiagnosedScopes = ImmutableSet.of();
+
   /**
    * Configures the compiler to log a hash code of the AST after every pass. Only intended for
    * internal development.
@@ -403,6 +412,12 @@ public class CompilerOptions {
   /** Checks types on expressions */
   private boolean checkTypes;
 
+  /**
+   * How many results of subtype and equality checks between resolved types the type registry
+   * remembers across checks. 0 disables the cache.
+   */
+  private int typeRelationCacheSize = 0;
+
   /** Deprecated. Please use setWarningLevel(DiagnosticGroups.GLOBAL_THIS, level) instead. */
   @Deprecated
   public void setCheckGlobalThisLevel(CheckLevel level) {}
@@ -560,6 +575,12 @@ public class CompilerOptions {
 
   private boolean useSizeHeuristicToStopOptimizationLoop = true;
 
+  /**
+   * Skip the runs of fixed-point loop passes that the changes since their last run have never
+   * enabled before. Makes the loops faster, but may sacrifice some code size.
+   */
+  private boolean skipUnproductiveLoopPasses = false;
+
   /**
    * Do up to this many iterations of the optimization loop. Setting this field to some small
    * number, say 3 or 4, allows a large project to build faster, but sacrifice some code size.
@@ -1096,6 +1117,35 @@ public class CompilerOptions {
     tracerOutput = out;
   }
 
+  private @Nullable Path tracerJsonOutput;
+
+  @Nullable Path getTracerJsonOutput() {
+    return tracerJsonOutput;
+  }
+
+  /**
+   * Also writes the tracer stats as JSON to the given file, including the CPU time, allocations
+   * and GC time of each pass. Only used if the tracer mode is on.
+   */
+  public void setTracerJsonOutput(Path out) {
+    tracerJsonOutput = out;
+  }
+
+  private @Nullable Path traceEventOutput;
+
+  @Nullable Path getTraceEventOutput() {
+    return traceEventOutput;
+  }
+
+  /**
+   * Writes a timeline of the passes and of the parsing threads to the given file, in the Chrome
+   * trace event format that Perfetto and chrome://tracing can open. Only used if the tracer mode
+   * is on.
+   */
+  public void setTraceEventOutput(Path out) {
+    traceEventOutput = out;
+  }
+
   private boolean colorizeErrorOutput;
 
   private ErrorFormat errorFormat;
@@ -2293,6 +2343,26 @@ public class CompilerOptions {
     return devMode;
   }
 
+  public void setFingerprintChangeVerification(boolean fingerprintChangeVerification) {
+    this.fingerprintChangeVerification = fingerprintChangeVerification;
+  }
+
+  boolean shouldUseFingerprintChangeVerification() {
+    return fingerprintChangeVerification;
+  }
+
+  /**
+   * Sets the change scopes, e.g. "FUNCTION: f in a.js", whose changes the fingerprint change
+   * verification reports in detail.
+   */
+  public void setChangeVerificationDiagnosedScopes(Set<String> scopeNames) {
+    this.changeVerificationDiagnosedScopes = ImmutableSet.copyOf(scopeNames);
+  }
+
+  ImmutableSet<String> getChangeVerificationDiagnosedScopes() {
+    return changeVerificationDiagnosedScopes;
+  }
+
   public void setCheckDeterminism(boolean checkDeterminism) {
     this.checkDeterminism = checkDeterminism;
   }
@@ -2333,6 +2403,18 @@ public class CompilerOptions {
     return checkTypes;
   }
 
+  /**
+   * Makes type checking remember up to {@code size} results of subtype and equality checks between
+   * types, which speeds up code that checks the same structural types repeatedly.
+   */
+  public void setTypeRelationCacheSize(int size) {
+    this.typeRelationCacheSize = size;
+  }
+
+  int getTypeRelationCacheSize() {
+    return this.typeRelationCacheSize;
+  }
+
   public void setFoldConstants(boolean foldConstants) {
     this.foldConstants = foldConstants;
   }
@@ -3375,6 +3457,14 @@ public class CompilerOptions {
     return this.useSizeHeuristicToStopOptimizationLoop;
   }
 
+  public void setSkipUnproductiveLoopPasses(boolean skip) {
+    this.skipUnproductiveLoopPasses = skip;
+  }
+
+  boolean shouldSkipUnproductiveLoopPasses() {
+    return this.skipUnproductiveLoopPasses;
+  }
+
   public void setMaxOptimizationLoopIterations(int maxIterations) {
     this.optimizationLoopMaxIterations = maxIterations;
   }
@@ -27,13 +27,8 @@ import com.google.javascript.jscomp.graph.DiGraph.DiGraphEdge;
 import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
 import com.google.javascript.jscomp.graph.LatticeElement;
 import com.google.javascript.rhino.Node;
-import java.util.ArrayDeque;
-import java.util.Comparator;
-import java.util.LinkedHashSet;
-import java.util.List;
+import java.util.BitSet;
 import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Queue;
 import java.util.Set;
 import org.jspecify.annotations.Nullable;
 
@@ -82,13 +77,21 @@ import org.jspecify.annotations.Nullable;
  * annotated with a {@link FlowState} object that represents maximum fixed point solution. Any
  * previous annotations at the nodes of the control flow graph will be lost.
  *
+ * <p>The fixed point is computed over a {@link CompactControlFlowGraph} snapshot of the graph, with
+ * the flow states kept in an array indexed by node id. Analyses can read the states by id through
+ * {@link #getCompactCfg()} and {@link #getFlowState(int)} instead of looking the nodes up in the
+ * graph.
+ *
  * @param <N> The control flow graph's node value type.
  * @param <L> Lattice element type.
  */
 abstract class DataFlowAnalysis<N, L extends LatticeElement> {
 
   private final ControlFlowGraph<N> cfg;
-  private final UniqueQueue<DiGraphNode<N, Branch>> workQueue;
+
+  // The snapshot of the graph and the flow states by node id, from the last call to analyze().
+  private @Nullable CompactControlFlowGraph<N> compactCfg;
+  private LinearFlowState<L> @Nullable [] states;
 
   /**
    * The maximum number of steps per individual CFG node before we assume the analysis is divergent.
@@ -118,7 +121,6 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
    */
   DataFlowAnalysis(ControlFlowGraph<N> cfg) {
     this.cfg = cfg;
-    this.workQueue = new UniqueQueue<>(cfg.getOptionalNodeComparator(isForward()));
 
     if (this.isBranched()) {
       checkState(this.isForward());
@@ -134,6 +136,21 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
     return cfg;
   }
 
+  /**
+   * Returns the int-indexed snapshot of the control flow graph taken by the last call to {@link
+   * #analyze()}, or during that call, the one being analyzed.
+   */
+  final CompactControlFlowGraph<N> getCompactCfg() {
+    checkState(compactCfg != null, "The analysis has not run");
+    return compactCfg;
+  }
+
+  /** Returns the flow state of the node with the given id in {@link #getCompactCfg()}. */
+  final LinearFlowState<L> getFlowState(int id) {
+    checkState(states != null, "The analysis has not run");
+    return states[id];
+  }
+
   /**
    * Checks whether the analysis is a forward flow analysis or backward flow analysis.
    *
@@ -197,6 +214,16 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
    */
   abstract L flowThrough(N node, L input);
 
+  /**
+   * Computes the output state for the node with the given id in {@link #getCompactCfg()}.
+   *
+   * <p>Analyses that look at the edges of the node override this to read them from the compact
+   * graph. By default, this calls {@link #flowThrough(Object, LatticeElement)}.
+   */
+  L flowThrough(int id, L input) {
+    return flowThrough(compactCfg.getValue(id), input);
+  }
+
   /**
    * Finds a fixed-point solution. The function has the side effect of replacing the existing node
    * annotations with the computed solutions using {@link
@@ -211,30 +238,40 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
    * any existing output state anymore.
    */
   final void analyze() {
-    initialize();
-    while (!this.workQueue.isEmpty()) {
-      DiGraphNode<N, Branch> curNode = this.workQueue.removeFirst();
-      LinearFlowState<L> curState = curNode.getAnnotation();
+    WorkList workList = initialize();
+    CompactControlFlowGraph<N> graph = this.compactCfg;
+    int implicitReturn = graph.getImplicitReturn();
+    while (!workList.isEmpty()) {
+      int cur = workList.removeFirst();
+      LinearFlowState<L> curState = this.states[cur];
       if (curState.stepCount++ > MAX_STEPS_PER_NODE) {
-        throw new IllegalStateException("Dataflow analysis appears to diverge around: " + curNode);
+        throw new IllegalStateException(
+            "Dataflow analysis appears to diverge around: " + graph.getNode(cur));
       }
 
-      joinInputs(curNode);
-      if (flow(curNode)) {
+      joinInputs(cur);
+      if (flow(cur)) {
         // If there is a change in the current node, we want to grab the list
         // of nodes that this node affects.
-        List<? extends DiGraphNode<N, Branch>> nextNodes =
-            isForward() ? cfg.getDirectedSuccNodes(curNode) : cfg.getDirectedPredNodes(curNode);
-
-        for (DiGraphNode<N, Branch> nextNode : nextNodes) {
-          if (nextNode != cfg.getImplicitReturn()) {
-            this.workQueue.add(nextNode);
+        if (isForward()) {
+          for (int i = graph.outStart(cur); i < graph.outStart(cur + 1); i++) {
+            int next = graph.outNode(i);
+            if (next != implicitReturn) {
+              workList.add(next);
+            }
+          }
+        } else {
+          for (int i = graph.inStart(cur); i < graph.inStart(cur + 1); i++) {
+            int next = graph.inNode(i);
+            if (next != implicitReturn) {
+              workList.add(next);
+            }
           }
         }
       }
     }
     if (isForward()) {
-      joinInputs(getCfg().getImplicitReturn());
+      joinInputs(implicitReturn);
     }
   }
 
@@ -252,24 +289,31 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
    */
   abstract L createEntryLattice();
 
-  /** Initializes the work list and the control flow graph. */
-  private void initialize() {
-    // TODO(user): Calling clear doesn't deallocate the memory in a
-    // LinkedHashSet. Consider creating a new work set if we plan to repeatedly
-    // call analyze.
-    workQueue.clear();
-    for (DiGraphNode<N, Branch> node : cfg.getNodes()) {
-      node.setAnnotation(
-          new LinearFlowState<>(createInitialEstimateLattice(), createInitialEstimateLattice()));
-      if (node != cfg.getImplicitReturn()) {
-        workQueue.add(node);
+  /** Snapshots the control flow graph, initializes the flow states and returns the work list. */
+  private WorkList initialize() {
+    // Snapshot the graph on every call, since it may have been modified since the last one.
+    CompactControlFlowGraph<N> graph = CompactControlFlowGraph.create(cfg, isForward());
+    int nodeCount = graph.getNodeCount();
+    @SuppressWarnings("unchecked") // Only ever holds LinearFlowState<L>.
+    LinearFlowState<L>[] states = (LinearFlowState<L>[]) new LinearFlowState<?>[nodeCount];
+    WorkList workList = new WorkList(graph);
+    for (int i = 0; i < nodeCount; i++) {
+      states[i] =
+          new LinearFlowState<>(createInitialEstimateLattice(), createInitialEstimateLattice());
+      // The annotations are for the analyses that read the states from the graph nodes.
+      graph.getNode(i).setAnnotation(states[i]);
+      if (i != graph.getImplicitReturn()) {
+        workList.add(i);
       }
     }
     if (this.isBranched()) {
-      for (DiGraphEdge<N, Branch> edge : cfg.getEdges()) {
-        edge.setAnnotation(this.createInitialEstimateLattice());
+      for (int i = 0; i < graph.outStart(nodeCount); i++) {
+        graph.outEdge(i).setAnnotation(this.createInitialEstimateLattice());
       }
     }
+    this.compactCfg = graph;
+    this.states = states;
+    return workList;
   }
 
   /**
@@ -277,16 +321,17 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
    *
    * @return {@code true} if the flow state differs from the previous state.
    */
-  private boolean flow(DiGraphNode<N, Branch> node) {
-    LinearFlowState<L> state = node.getAnnotation();
+  private boolean flow(int id) {
+    LinearFlowState<L> state = states[id];
     if (isForward()) {
       L outBefore = state.getOut();
-      state.setOut(flowThrough(node.getValue(), state.getIn()));
+      state.setOut(flowThrough(id, state.getIn()));
       boolean changed = !outBefore.equals(state.getOut());
 
       if (this.isBranched()) {
-        FlowBrancher<L> brancher = this.createFlowBrancher(node.getValue(), state.getOut());
-        for (DiGraphEdge<N, Branch> outEdge : node.getOutEdges()) {
+        FlowBrancher<L> brancher = this.createFlowBrancher(compactCfg.getValue(id), state.getOut());
+        for (int i = compactCfg.outStart(id); i < compactCfg.outStart(id + 1); i++) {
+          DiGraphEdge<N, Branch> outEdge = compactCfg.outEdge(i);
           L outBranchBefore = outEdge.getAnnotation();
           outEdge.setAnnotation(brancher.branchFlow(outEdge.getValue()));
           if (!changed) {
@@ -298,7 +343,7 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
       return changed;
     } else {
       L inBefore = state.getIn();
-      state.setIn(flowThrough(node.getValue(), state.getOut()));
+      state.setIn(flowThrough(id, state.getOut()));
       return !inBefore.equals(state.getIn());
     }
   }
@@ -307,28 +352,28 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
    * Computes the new flow state at a given node's entry by merging the output (input) lattice of
    * the node's predecessor (successor).
    *
-   * @param node Node to compute new join.
+   * @param id Node to compute new join.
    */
-  private void joinInputs(DiGraphNode<N, Branch> node) {
-    LinearFlowState<L> state = node.getAnnotation();
-    if (this.isForward() && cfg.getEntry() == node) {
+  private void joinInputs(int id) {
+    LinearFlowState<L> state = states[id];
+    if (this.isForward() && compactCfg.getEntry() == id) {
       state.setIn(createEntryLattice());
       return;
     }
 
-    List<? extends DiGraphEdge<N, Branch>> inEdges =
-        this.isForward() ? node.getInEdges() : node.getOutEdges();
+    int start = this.isForward() ? compactCfg.inStart(id) : compactCfg.outStart(id);
+    int end = this.isForward() ? compactCfg.inStart(id + 1) : compactCfg.outStart(id + 1);
 
     final L result;
-    switch (inEdges.size()) {
+    switch (end - start) {
       case 0 -> {
         return;
       }
-      case 1 -> result = this.getInputFromEdge(inEdges.get(0));
+      case 1 -> result = this.getInputFromEdge(start);
       default -> {
         FlowJoiner<L> joiner = this.createFlowJoiner();
-        for (DiGraphEdge<N, Branch> inEdge : inEdges) {
-          joiner.joinFlow(this.getInputFromEdge(inEdge));
+        for (int i = start; i < end; i++) {
+          joiner.joinFlow(this.getInputFromEdge(i));
         }
         result = joiner.finish();
       }
@@ -341,19 +386,21 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
     }
   }
 
-  private L getInputFromEdge(DiGraphEdge<N, Branch> edge) {
+  /**
+   * Returns the flow state along an input edge: the in edge at {@code index} for a forward
+   * analysis, and the out edge at {@code index} for a backward one.
+   */
+  private L getInputFromEdge(int index) {
     if (this.isBranched()) {
-      return edge.getAnnotation();
+      return compactCfg.inEdge(index).getAnnotation();
     } else if (this.isForward()) {
-      LinearFlowState<L> state = edge.getSource().getAnnotation();
-      return state.getOut();
+      return states[compactCfg.inNode(index)].getOut();
     } else {
-      DiGraphNode<N, Branch> node = edge.getDestination();
-      if (node == this.cfg.getImplicitReturn()) {
+      int node = compactCfg.outNode(index);
+      if (node == compactCfg.getImplicitReturn()) {
         return this.createEntryLattice();
       }
-      LinearFlowState<L> state = node.getAnnotation();
-      return state.getIn();
+      return states[node].getIn();
     }
   }
 
@@ -481,33 +528,59 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
     return false;
   }
 
-  private static final class UniqueQueue<T> {
-    private final LinkedHashSet<T> seenSet = new LinkedHashSet<>();
-    private final Queue<T> queue;
-
-    UniqueQueue(@Nullable Comparator<T> priority) {
-      this.queue = (priority == null) ? new ArrayDeque<>() : new PriorityQueue<>(priority);
+  /**
+   * The node ids waiting to be visited, each at most once. They are removed highest priority first
+   * if the graph ranks its nodes, and in the order they were added otherwise.
+   */
+  private static final class WorkList {
+    private final CompactControlFlowGraph<?> graph;
+    // The ranks of the pending nodes, or their ids if the graph does not rank its nodes.
+    private final BitSet pending;
+    // A ring buffer of the pending ids, if the graph does not rank its nodes.
+    private final int @Nullable [] queue;
+    private int head = 0;
+    private int size = 0;
+    // No pending rank is lower than this one.
+    private int lowestRank = 0;
+
+    WorkList(CompactControlFlowGraph<?> graph) {
+      this.graph = graph;
+      this.pending = new BitSet(graph.getNodeCount());
+      this.queue = graph.hasNodeOrder() ? null : new int[graph.getNodeCount()];
     }
 
     boolean isEmpty() {
-      return this.queue.isEmpty();
-    }
-
-    T removeFirst() {
-      T t = this.queue.poll();
-      this.seenSet.remove(t);
-      return t;
+      return this.size == 0;
     }
 
-    void add(T t) {
-      if (this.seenSet.add(t)) {
-        this.queue.add(t);
+    int removeFirst() {
+      int id;
+      if (this.queue == null) {
+        int rank = this.pending.nextSetBit(this.lowestRank);
+        this.pending.clear(rank);
+        this.lowestRank = rank + 1;
+        id = this.graph.getIdAtRank(rank);
+      } else {
+        id = this.queue[this.head];
+        this.head = (this.head + 1) % this.queue.length;
+        this.pending.clear(id);
       }
+      this.size--;
+      return id;
     }
 
-    void clear() {
-      this.seenSet.clear();
-      this.queue.clear();
+    void add(int id) {
+      int bit = this.queue == null ? this.graph.getRank(id) : id;
+      if (this.pending.get(bit)) {
+        return;
+      }
+      this.pending.set(bit);
+      this.size++;
+      if (this.queue == null) {
+        this.lowestRank = Math.min(this.lowestRank, bit);
+      } else {
+        this.queue[(this.head + this.size - 1) % this.queue.length] = id;
+      }
     }
   }
 }
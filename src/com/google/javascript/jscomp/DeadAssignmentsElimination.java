@@ -20,11 +20,9 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
-import com.google.javascript.jscomp.ControlFlowGraph.Branch;
 import com.google.javascript.jscomp.DataFlowAnalysis.LinearFlowState;
 import com.google.javascript.jscomp.LiveVariablesAnalysis.LiveVariableLattice;
 import com.google.javascript.jscomp.NodeUtil.AllVarsDeclaredInFunction;
-import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
 import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.Node;
 import java.util.ArrayDeque;
@@ -58,7 +56,19 @@ class DeadAssignmentsElimination extends NodeTraversal.AbstractCfgCallback imple
     checkNotNull(externs);
     checkNotNull(root);
     checkState(compiler.getLifeCycleStage().isNormalized());
-    NodeTraversal.traverse(compiler, root, this);
+    if (compiler.getOptions().getNumParallelThreads() > 1) {
+      // Assignments are only removed within the function they are in, so functions can be
+      // processed concurrently.
+      NodeTraversal.traverseFunctionsInParallel(
+          compiler,
+          root,
+          () ->
+              NodeTraversal.builder()
+                  .setCompiler(compiler)
+                  .setCallback(new DeadAssignmentsElimination(compiler)));
+    } else {
+      NodeTraversal.traverse(compiler, root, this);
+    }
   }
 
   @Override
@@ -128,7 +138,7 @@ class DeadAssignmentsElimination extends NodeTraversal.AbstractCfgCallback imple
             cfg, functionScope, blockScope, compiler, scopeCreator, allVarsDeclaredInFunction);
     liveness.analyze();
     Map<String, Var> allVarsInFn = liveness.getAllVariables();
-    tryRemoveDeadAssignments(t, cfg, allVarsInFn);
+    tryRemoveDeadAssignments(t, liveness.getCompactCfg(), allVarsInFn);
   }
 
 
@@ -141,21 +151,19 @@ class DeadAssignmentsElimination extends NodeTraversal.AbstractCfgCallback imple
   }
 
   /**
-   * Try to remove useless assignments from a control flow graph that has been
-   * annotated with liveness information.
+   * Try to remove useless assignments from a control flow graph that the
+   * liveness information was computed on.
    *
    * @param t The node traversal.
-   * @param cfg The control flow graph of the program annotated with liveness
-   *        information.
+   * @param cfg The control flow graph of the program, as analyzed by the
+   *        liveness analysis.
    */
   private void tryRemoveDeadAssignments(NodeTraversal t,
-      ControlFlowGraph<Node> cfg,
+      CompactControlFlowGraph<Node> cfg,
       Map<String, Var> allVarsInFn) {
-    Iterable<? extends DiGraphNode<Node, Branch>> nodes = cfg.getNodes();
-
-    for (DiGraphNode<Node, Branch> cfgNode : nodes) {
-      LinearFlowState<LiveVariableLattice> state = cfgNode.getAnnotation();
-      Node n = cfgNode.getValue();
+    for (int id = 0; id < cfg.getNodeCount(); id++) {
+      LinearFlowState<LiveVariableLattice> state = liveness.getFlowState(id);
+      Node n = cfg.getValue(id);
       if (n == null) {
         continue;
       }
@@ -1181,7 +1181,7 @@ public final class DefaultPassConfig extends PassConfig {
   private final PassFactory suspiciousCode =
       PassFactory.builder()
           .setName("suspiciousCode")
-          .setInternalFactory(
+          .setReadOnlyCallback(
               (compiler) -> {
                 List<NodeTraversal.Callback> sharedCallbacks = new ArrayList<>();
                 if (options.getCheckSuspiciousCode()) {
@@ -1353,7 +1353,8 @@ public final class DefaultPassConfig extends PassConfig {
   private final PassFactory checkMissingRequires =
       PassFactory.builder()
           .setName("checkMissingRequires")
-          .setInternalFactory(
+          .setPerScriptAndSideEffectFree(true)
+          .setReadOnlyCallback(
               (compiler) -> new CheckMissingRequires(compiler, compiler.getModuleMetadataMap()))
           .build();
 
@@ -1366,7 +1367,8 @@ public final class DefaultPassConfig extends PassConfig {
   private final PassFactory checkJsDocAndEs6Modules =
       PassFactory.builder()
           .setName("checkJsDocAndEs6Modules")
-          .setInternalFactory(
+          .setPerScriptAndSideEffectFree(true)
+          .setReadOnlyCallback(
               (compiler) ->
                   combineChecks(
                       compiler,
@@ -1595,7 +1597,7 @@ public final class DefaultPassConfig extends PassConfig {
   private final PassFactory checkTypeImportCodeReferences =
       PassFactory.builder()
           .setName("checkTypeImportCodeReferences")
-          .setInternalFactory(CheckTypeImportCodeReferences::new)
+          .setReadOnlyCallback(CheckTypeImportCodeReferences::new)
           .build();
 
   /** Checks of correct usage of goog.module */
@@ -1973,11 +1975,15 @@ public final class DefaultPassConfig extends PassConfig {
    *
    * <p>These is NOT the configuration for the standalone Linter binary. New linter passes must also
    * be added to {@link LintPassConfig} as well as this list.
+   *
+   * <p>These are not run per script: {@link CheckConstPrivateProperties} and {@link
+   * CheckUnusedPrivateProperties} check the static properties of classes declared in earlier
+   * scripts.
    */
   private final PassFactory lintChecks =
       PassFactory.builder()
           .setName(PassNames.LINT_CHECKS)
-          .setInternalFactory(
+          .setReadOnlyCallback(
               (compiler) -> {
                 ImmutableList.Builder<NodeTraversal.Callback> callbacks =
                     ImmutableList.<NodeTraversal.Callback>builder()
@@ -2006,7 +2012,7 @@ public final class DefaultPassConfig extends PassConfig {
   private final PassFactory analyzerChecks =
       PassFactory.builder()
           .setName(PassNames.ANALYZER_CHECKS)
-          .setInternalFactory(
+          .setReadOnlyCallback(
               (compiler) -> {
                 ImmutableList<NodeTraversal.Callback> callbacks =
                     ImmutableList.of(
@@ -2021,7 +2027,8 @@ public final class DefaultPassConfig extends PassConfig {
   private final PassFactory checkRequiresAndProvidesSorted =
       PassFactory.builder()
           .setName("checkRequiresAndProvidesSorted")
-          .setInternalFactory(
+          .setPerScriptAndSideEffectFree(true)
+          .setReadOnlyCallback(
               (compiler) ->
                   combineChecks(
                       compiler,
@@ -2031,7 +2038,7 @@ public final class DefaultPassConfig extends PassConfig {
           .build();
 
   /** Executes the given callbacks with a {@link CombinedCompilerPass}. */
-  private static CompilerPass combineChecks(
+  private static CombinedCompilerPass combineChecks(
       AbstractCompiler compiler, List<NodeTraversal.Callback> callbacks) {
     checkArgument(!callbacks.isEmpty());
     return new CombinedCompilerPass(compiler, callbacks);
@@ -2256,7 +2263,10 @@ public final class DefaultPassConfig extends PassConfig {
           .setName(PassNames.DISAMBIGUATE_PROPERTIES)
           .setInternalFactory(
               (compiler) ->
-                  new DisambiguateProperties(compiler, options.getPropertiesThatMustDisambiguate()))
+                  new DisambiguateProperties(
+                      compiler,
+                      options.getPropertiesThatMustDisambiguate(),
+                      options.getNumParallelThreads()))
           .setPreconditionCheck(DefaultPassConfig::requirePropertiesAreStaticallyAnalyzable)
           .build();
 
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.javascript.rhino.Node;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Verifies AST change tracking like {@link ChangeVerifier}, without cloning the AST.
+ *
+ * <p>The snapshot keeps a 64-bit hash of each change scope instead of a copy of its nodes. The hash
+ * covers what {@link ChangeVerifier} compares: the nodes of the scope, but only the token and the
+ * declared name of the functions nested in it. A scope has changed iff its hash has changed, up to
+ * hash collisions.
+ *
+ * <p>A hash doesn't tell what changed. The scopes named by {@link #diagnose} are cloned as well, so
+ * that the errors about them show the first difference, like those of {@link ChangeVerifier}.
+ */
+final class FingerprintChangeVerifier extends ChangeVerifier {
+
+  private static final long HASH_PRIME = 0x100000001b3L;
+
+  private record Fingerprint(long hash, int changeTime) {}
+
+  private final ChangeTracker changeTracker;
+  private ImmutableSet<String> diagnosedScopes = ImmutableSet.of();
+
+  /** The fingerprints of the scope roots at the time of the snapshot. */
+  private final Map<Node, Fingerprint> fingerprints = new LinkedHashMap<>();
+
+  private final Map<Node, Node> clonesOfDiagnosedScopes = new IdentityHashMap<>();
+  private int snapshotChange;
+
+  FingerprintChangeVerifier(AbstractCompiler compiler) {
+    super(compiler);
+    this.changeTracker = compiler.getChangeTracker();
+  }
+
+  /**
+   * Clones the scopes named {@code scopeNames} in the next snapshots, to report what changed in
+   * them. The names are those in the errors, e.g. "FUNCTION: f in a.js".
+   */
+  @CanIgnoreReturnValue
+  FingerprintChangeVerifier diagnose(Set<String> scopeNames) {
+    this.diagnosedScopes = ImmutableSet.copyOf(scopeNames);
+    return this;
+  }
+
+  @Override
+  @CanIgnoreReturnValue
+  FingerprintChangeVerifier snapshot(Node root) {
+    fingerprints.clear();
+    clonesOfDiagnosedScopes.clear();
+    snapshotChange = changeTracker.getChangeStamp();
+
+    visitScopes(
+        root,
+        (Node scopeRoot, long hash) -> {
+          fingerprints.put(scopeRoot, new Fingerprint(hash, scopeRoot.getChangeTime()));
+          if (!diagnosedScopes.isEmpty()
+              && diagnosedScopes.contains(getNameForNode(scopeRoot))) {
+            clonesOfDiagnosedScopes.put(scopeRoot, scopeRoot.cloneTree());
+          }
+        });
+    return this;
+  }
+
+  @Override
+  void checkRecordedChanges(String passName, Node root) {
+    String passNameMsg = passName.isEmpty() ? "" : passName + ": ";
+    if (root.isRoot()) {
+      verifyRoot(root);
+    }
+
+    // The scope roots of the snapshot that are no longer in the AST.
+    Set<Node> deletedScopeRoots = new LinkedHashSet<>(fingerprints.keySet());
+    visitScopes(
+        root,
+        (Node scopeRoot, long hash) -> {
+          deletedScopeRoots.remove(scopeRoot);
+          verifyNode(passNameMsg, scopeRoot);
+          Fingerprint fingerprint = fingerprints.get(scopeRoot);
+          if (fingerprint == null) {
+            verifyNewNode(passNameMsg, scopeRoot, snapshotChange);
+          } else {
+            verifyScopeChange(passNameMsg, scopeRoot, hash, fingerprint);
+          }
+        });
+
+    for (Node scopeRoot : deletedScopeRoots) {
+      // If the scope was deleted and marked deleted, that's fine.
+      if (!scopeRoot.isDeleted()) {
+        throw new IllegalStateException(
+            passNameMsg + "deleted scope was not reported:\n" + scopeRoot.toStringTree());
+      }
+    }
+  }
+
+  private void verifyScopeChange(
+      String passNameMsg, Node scopeRoot, long hash, Fingerprint fingerprint) {
+    boolean changed = hash != fingerprint.hash();
+    if (scopeRoot.getChangeTime() > fingerprint.changeTime()) {
+      if (!changed) {
+        throw new IllegalStateException(
+            passNameMsg + "unchanged scope marked as changed: " + getNameForNode(scopeRoot));
+      }
+    } else if (changed) {
+      Node clone = clonesOfDiagnosedScopes.get(scopeRoot);
+      if (clone != null) {
+        EqualsResult result = getInequivalenceReasonExcludingFunctions(scopeRoot, clone);
+        if (!result.equals()) {
+          throw new IllegalStateException(
+              changedScopeNotMarkedMessage(passNameMsg, scopeRoot, result));
+        }
+      }
+      throw new IllegalStateException(
+          passNameMsg
+              + "changed scope not marked as changed: "
+              + getNameForNode(scopeRoot)
+              + ".\nDiagnose this scope to see what changed in it, e.g. with"
+              + " CompilerOptions.setChangeVerificationDiagnosedScopes.");
+    }
+  }
+
+  private interface ScopeVisitor {
+    void visit(Node scopeRoot, long hash);
+  }
+
+  /** Hashes each change scope under {@code n}, in a single traversal of the AST. */
+  private static void visitScopes(Node n, ScopeVisitor visitor) {
+    if (ChangeTracker.isChangeScopeRoot(n)) {
+      long hash = hash(n, 0, visitor);
+      if (n.isFunction()) {
+        hash = hash * HASH_PRIME + (NodeUtil.isFunctionDeclaration(n) ? 1 : 0);
+      }
+      visitor.visit(n, hash);
+      return;
+    }
+    for (Node child = n.getFirstChild(); child != null; child = child.getNext()) {
+      visitScopes(child, visitor);
+    }
+  }
+
+  /**
+   * Adds the nodes of the subtree {@code n} to {@code hash}, down to the nested change scopes,
+   * which are hashed separately.
+   */
+  private static long hash(Node n, long hash, ScopeVisitor visitor) {
+    hash = hash * HASH_PRIME + n.getShallowEquivalenceWithSideEffectsHash();
+    for (Node child = n.getFirstChild(); child != null; child = child.getNext()) {
+      if (ChangeTracker.isChangeScopeRoot(child)) {
+        // The nested scope only changes this scope if it is replaced or if its declared name
+        // changes the definitions of this scope.
+        hash = hash * HASH_PRIME + child.getToken().ordinal();
+        if (child.isFunction() && NodeUtil.isFunctionDeclaration(child)) {
+          Node name = child.getFirstChild();
+          hash = hash * HASH_PRIME + name.getShallowEquivalenceWithSideEffectsHash();
+        }
+        visitScopes(child, visitor);
+      } else {
+        hash = hash(child, hash, visitor);
+      }
+    }
+    return hash;
+  }
+}
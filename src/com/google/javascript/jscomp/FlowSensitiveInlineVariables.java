@@ -179,7 +179,7 @@ class FlowSensitiveInlineVariables implements CompilerPass, ScopedCallback {
       return;
     }
 
-    SyntacticScopeCreator scopeCreator = (SyntacticScopeCreator) t.getScopeCreator();
+    ScopeCreator scopeCreator = t.getScopeCreator();
 
     // Compute the forward reaching definition.
     cfg =
@@ -275,10 +275,22 @@ class FlowSensitiveInlineVariables implements CompilerPass, ScopedCallback {
 
   @Override
   public void process(Node externs, Node root) {
-    NodeTraversal.builder()
-        .setCompiler(compiler)
-        .setCallback(this)
-        .traverseRoots(externs, root);
+    if (compiler.getOptions().getNumParallelThreads() > 1) {
+      // Variables are only inlined within the function they are declared in, so functions can be
+      // processed concurrently. The externs are skipped by shouldTraverse anyway.
+      NodeTraversal.traverseFunctionsInParallel(
+          compiler,
+          root,
+          () ->
+              NodeTraversal.builder()
+                  .setCompiler(compiler)
+                  .setCallback(new FlowSensitiveInlineVariables(compiler)));
+    } else {
+      NodeTraversal.builder()
+          .setCompiler(compiler)
+          .setCallback(this)
+          .traverseRoots(externs, root);
+    }
   }
 
   @Override
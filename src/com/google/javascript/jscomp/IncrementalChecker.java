@@ -0,0 +1,327 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.javascript.jscomp.deps.DependencyInfo.Require;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Re-runs the checks of a program after some of its files are edited, looking only at the files
+ * whose diagnostics may have changed, for watch-mode tools such as development servers.
+ *
+ * <p>After a full {@link #checkAll check}, the provided and required namespaces of every input are
+ * remembered together with the diagnostics reported in it. When files are {@link #update updated},
+ * the inputs that may be affected by the edit are the changed files and every file that
+ * transitively requires a namespace they provide (or used to provide). Only those are checked
+ * again, in a compilation that contains them, the files they transitively require and the global
+ * scripts. The diagnostics of all the other files are reused from the previous runs.
+ *
+ * <p>Global scripts, i.e. inputs that provide no namespace, can interact with any other file
+ * through global names, so they are part of every compilation, and editing one of them re-checks
+ * the whole program.
+ *
+ * <p>Each run uses a fresh {@link Compiler}, sharing an in-memory {@link ParseCache} so unchanged
+ * inputs are not parsed again. Only the checks ({@link Compiler#stage1Passes}) are run, and the
+ * results contain only diagnostics.
+ */
+public final class IncrementalChecker {
+
+  /** The namespaces an input provides and the namespaces it requires. */
+  private record FileDependencies(ImmutableSet<String> provides, ImmutableSet<String> requires) {
+    boolean isGlobalScript() {
+      return provides.isEmpty();
+    }
+  }
+
+  /** The diagnostics reported in an input by the last run that checked it. */
+  private record FileDiagnostics(ImmutableList<JSError> errors, ImmutableList<JSError> warnings) {}
+
+  private final CompilerOptions options;
+  private final ImmutableList<SourceFile> externs;
+  private final ParseCache parseCache = new ParseCache();
+
+  // The current inputs by name, in compilation order.
+  private final LinkedHashMap<String, SourceFile> inputs = new LinkedHashMap<>();
+  private final Map<String, FileDependencies> dependencies = new HashMap<>();
+  private final Map<String, FileDiagnostics> diagnostics = new HashMap<>();
+  // Diagnostics of the last run that are not attributed to any input, e.g. the ones in externs.
+  private FileDiagnostics otherDiagnostics =
+      new FileDiagnostics(ImmutableList.of(), ImmutableList.of());
+  private ImmutableSet<String> lastCheckedFiles = ImmutableSet.of();
+
+  public IncrementalChecker(CompilerOptions options, List<SourceFile> externs) {
+    this.options = options;
+    this.externs = ImmutableList.copyOf(externs);
+  }
+
+  /** Checks the whole program and makes the given files the current inputs. */
+  public Result checkAll(List<SourceFile> allInputs) {
+    inputs.clear();
+    dependencies.clear();
+    diagnostics.clear();
+    for (SourceFile file : allInputs) {
+      inputs.put(file.getName(), file);
+    }
+    dependencies.putAll(scanDependencies(allInputs));
+    return check(inputs.keySet(), inputs.keySet());
+  }
+
+  /**
+   * Replaces or adds the given files and removes the files with the given names, then checks the
+   * inputs that may be affected by those changes.
+   *
+   * @return the diagnostics of the whole program, as a full check would report them
+   */
+  public Result update(Collection<SourceFile> changedFiles, Collection<String> removedFileNames) {
+    Set<String> changedNames = new LinkedHashSet<>();
+    // The namespaces of the changed files, before and after the change.
+    Set<String> changedNamespaces = new HashSet<>();
+    boolean globalScriptChanged = false;
+
+    for (String name : removedFileNames) {
+      if (inputs.remove(name) != null) {
+        FileDependencies previous = dependencies.remove(name);
+        diagnostics.remove(name);
+        changedNamespaces.addAll(previous.provides());
+        globalScriptChanged |= previous.isGlobalScript();
+      }
+    }
+    Map<String, FileDependencies> scanned = scanDependencies(changedFiles);
+    for (SourceFile file : changedFiles) {
+      String name = file.getName();
+      FileDependencies current = scanned.get(name);
+      FileDependencies previous = dependencies.put(name, current);
+      inputs.put(name, file);
+      changedNames.add(name);
+      changedNamespaces.addAll(current.provides());
+      globalScriptChanged |= current.isGlobalScript();
+      if (previous != null) {
+        changedNamespaces.addAll(previous.provides());
+        globalScriptChanged |= previous.isGlobalScript();
+      }
+    }
+
+    if (globalScriptChanged) {
+      return check(inputs.keySet(), inputs.keySet());
+    }
+    Set<String> affected = findDependents(changedNames, changedNamespaces);
+    return check(findDependencies(affected), affected);
+  }
+
+  /** Returns the names of the inputs that were compiled by the last run. */
+  @VisibleForTesting
+  ImmutableSet<String> getLastCheckedFiles() {
+    return lastCheckedFiles;
+  }
+
+  /** Returns the given files and all the inputs that transitively require their namespaces. */
+  private Set<String> findDependents(Set<String> files, Set<String> namespaces) {
+    Map<String, List<String>> requiredBy = new HashMap<>();
+    for (Map.Entry<String, FileDependencies> entry : dependencies.entrySet()) {
+      for (String namespace : entry.getValue().requires()) {
+        requiredBy.computeIfAbsent(namespace, (String k) -> new ArrayList<>()).add(entry.getKey());
+      }
+    }
+
+    Set<String> dependents = new LinkedHashSet<>(files);
+    Set<String> seenNamespaces = new HashSet<>(namespaces);
+    Deque<String> worklist = new ArrayDeque<>(namespaces);
+    while (!worklist.isEmpty()) {
+      for (String dependent : requiredBy.getOrDefault(worklist.remove(), ImmutableList.of())) {
+        if (dependents.add(dependent)) {
+          for (String namespace : dependencies.get(dependent).provides()) {
+            if (seenNamespaces.add(namespace)) {
+              worklist.add(namespace);
+            }
+          }
+        }
+      }
+    }
+    return dependents;
+  }
+
+  /**
+   * Returns the given files, all the inputs providing namespaces they transitively require, and
+   * the global scripts.
+   */
+  private Set<String> findDependencies(Set<String> files) {
+    Map<String, List<String>> providedBy = new HashMap<>();
+    Set<String> result = new HashSet<>(files);
+    for (Map.Entry<String, FileDependencies> entry : dependencies.entrySet()) {
+      if (entry.getValue().isGlobalScript()) {
+        result.add(entry.getKey());
+      }
+      for (String namespace : entry.getValue().provides()) {
+        providedBy.computeIfAbsent(namespace, (String k) -> new ArrayList<>()).add(entry.getKey());
+      }
+    }
+
+    Deque<String> worklist = new ArrayDeque<>(files);
+    while (!worklist.isEmpty()) {
+      for (String namespace : dependencies.get(worklist.remove()).requires()) {
+        for (String provider : providedBy.getOrDefault(namespace, ImmutableList.of())) {
+          if (result.add(provider)) {
+            worklist.add(provider);
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Compiles the given inputs and records the diagnostics of the affected ones, which must be a
+   * subset of them.
+   */
+  private Result check(Set<String> filesToCompile, Set<String> affected) {
+    checkState(filesToCompile.containsAll(affected));
+    List<SourceFile> sources = new ArrayList<>();
+    for (SourceFile file : inputs.values()) {
+      if (filesToCompile.contains(file.getName())) {
+        sources.add(file);
+      }
+    }
+    lastCheckedFiles = ImmutableSet.copyOf(filesToCompile);
+
+    Compiler compiler = createCompiler();
+    try {
+      compiler.init(externs, sources, options);
+      if (!compiler.hasErrors()) {
+        compiler.parseForCompilation();
+      }
+      if (!compiler.hasErrors()) {
+        compiler.stage1Passes();
+      }
+    } finally {
+      compiler.generateReport();
+    }
+
+    Map<String, List<JSError>> errors = new HashMap<>();
+    Map<String, List<JSError>> warnings = new HashMap<>();
+    List<JSError> otherErrors = new ArrayList<>();
+    List<JSError> otherWarnings = new ArrayList<>();
+    attribute(compiler.getErrors(), affected, errors, otherErrors);
+    attribute(compiler.getWarnings(), affected, warnings, otherWarnings);
+    for (String name : affected) {
+      diagnostics.put(
+          name,
+          new FileDiagnostics(
+              ImmutableList.copyOf(errors.getOrDefault(name, ImmutableList.of())),
+              ImmutableList.copyOf(warnings.getOrDefault(name, ImmutableList.of()))));
+    }
+    otherDiagnostics =
+        new FileDiagnostics(ImmutableList.copyOf(otherErrors), ImmutableList.copyOf(otherWarnings));
+    return getResult();
+  }
+
+  /**
+   * Sorts the diagnostics of a run by affected input. Diagnostics in inputs that are not affected
+   * are dropped, since the ones from the run that last checked them are kept instead.
+   */
+  private void attribute(
+      List<JSError> reported,
+      Set<String> affected,
+      Map<String, List<JSError>> byFile,
+      List<JSError> other) {
+    for (JSError error : reported) {
+      String name = error.sourceName();
+      if (name == null || !inputs.containsKey(name)) {
+        other.add(error);
+      } else if (affected.contains(name)) {
+        byFile.computeIfAbsent(name, (String k) -> new ArrayList<>()).add(error);
+      }
+    }
+  }
+
+  private Result getResult() {
+    ImmutableList.Builder<JSError> errors = ImmutableList.builder();
+    ImmutableList.Builder<JSError> warnings = ImmutableList.builder();
+    for (String name : inputs.keySet()) {
+      FileDiagnostics fileDiagnostics = diagnostics.get(name);
+      if (fileDiagnostics != null) {
+        errors.addAll(fileDiagnostics.errors());
+        warnings.addAll(fileDiagnostics.warnings());
+      }
+    }
+    errors.addAll(otherDiagnostics.errors());
+    warnings.addAll(otherDiagnostics.warnings());
+    return new Result(
+        errors.build(),
+        warnings.build(),
+        /* variableMap= */ null,
+        /* propertyMap= */ null,
+        /* namedAnonFunctionMap= */ null,
+        /* stringMap= */ null,
+        /* instrumentationMappings= */ null,
+        /* sourceMap= */ null,
+        /* externExport= */ null,
+        /* cssNames= */ null,
+        /* idGeneratorMap= */ null,
+        /* transpiledFiles= */ false);
+  }
+
+  /**
+   * Finds the namespaces provided and required by the given files. The files are parsed through
+   * the parse cache, so the compilation that checks them next does not parse them again.
+   */
+  private Map<String, FileDependencies> scanDependencies(Collection<SourceFile> files) {
+    Compiler compiler = createCompiler();
+    compiler.init(ImmutableList.of(), ImmutableList.copyOf(files), options);
+    Map<String, FileDependencies> result = new HashMap<>();
+    for (CompilerInput input : compiler.getInputsById().values()) {
+      if (input.isExtern()) {
+        continue;
+      }
+      result.put(
+          input.getName(),
+          new FileDependencies(
+              ImmutableSet.copyOf(input.getProvides()),
+              ImmutableSet.<String>builder()
+                  .addAll(Require.asSymbolList(input.getRequires()))
+                  .addAll(input.getTypeRequires())
+                  .build()));
+    }
+    for (SourceFile file : files) {
+      // Files the compiler could not read provide and require nothing.
+      result.putIfAbsent(
+          file.getName(), new FileDependencies(ImmutableSet.of(), ImmutableSet.of()));
+    }
+    return result;
+  }
+
+  private Compiler createCompiler() {
+    // The diagnostics are returned in the results rather than printed.
+    Compiler compiler = new Compiler(new BlackHoleErrorManager());
+    compiler.setParseCache(parseCache);
+    return compiler;
+  }
+}
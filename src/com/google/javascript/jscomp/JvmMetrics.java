@@ -16,6 +16,8 @@
 
 package com.google.javascript.jscomp;
 
+import static java.lang.Math.max;
+
 import java.io.PrintStream;
 import java.lang.management.CompilationMXBean;
 import java.lang.management.GarbageCollectorMXBean;
@@ -23,6 +25,7 @@ import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
 import java.lang.management.MemoryPoolMXBean;
 import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
 import java.util.List;
 import java.util.Locale;
 import java.util.StringTokenizer;
@@ -252,6 +255,42 @@ final class JvmMetrics {
     }
   }
 
+  /**
+   * The CPU time used and the bytes allocated by one thread, and the time spent in garbage
+   * collection by the whole JVM. Each is -1 if this JVM doesn't measure it.
+   */
+  record ResourceUsage(long threadCpuNanos, long threadAllocatedBytes, long gcMillis) {
+    /** Returns the resources used between {@code start} and this usage. */
+    ResourceUsage since(ResourceUsage start) {
+      return new ResourceUsage(
+          difference(start.threadCpuNanos, threadCpuNanos),
+          difference(start.threadAllocatedBytes, threadAllocatedBytes),
+          difference(start.gcMillis, gcMillis));
+    }
+
+    private static long difference(long start, long end) {
+      return (start < 0 || end < 0) ? -1 : end - start;
+    }
+  }
+
+  /** Returns the resources used so far by the current thread, and by the JVM for GC. */
+  static ResourceUsage currentResourceUsage() {
+    ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    long cpuNanos =
+        threadBean.isCurrentThreadCpuTimeSupported() ? threadBean.getCurrentThreadCpuTime() : -1;
+    long allocatedBytes =
+        (threadBean instanceof com.sun.management.ThreadMXBean sunThreadBean
+                && sunThreadBean.isThreadAllocatedMemorySupported())
+            ? sunThreadBean.getCurrentThreadAllocatedBytes()
+            : -1;
+    long gcMillis = 0;
+    for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+      // -1 means that this collector doesn't measure it.
+      gcMillis += max(0, gcBean.getCollectionTime());
+    }
+    return new ResourceUsage(cpuNanos, allocatedBytes, gcMillis);
+  }
+
   private static String normalizeName(String name) {
     return name.replace(' ', '_').toLowerCase(Locale.ROOT);
   }
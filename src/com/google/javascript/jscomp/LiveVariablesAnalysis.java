@@ -20,7 +20,6 @@ import static com.google.common.base.Preconditions.checkState;
 
 import com.google.javascript.jscomp.ControlFlowGraph.Branch;
 import com.google.javascript.jscomp.NodeUtil.AllVarsDeclaredInFunction;
-import com.google.javascript.jscomp.graph.DiGraph.DiGraphEdge;
 import com.google.javascript.jscomp.graph.LatticeElement;
 import com.google.javascript.rhino.Node;
 import java.util.BitSet;
@@ -219,18 +218,17 @@ class LiveVariablesAnalysis
 
   @Override
   LiveVariableLattice flowThrough(Node node, LiveVariableLattice input) {
+    return flowThrough(getCompactCfg().getId(node), input);
+  }
+
+  @Override
+  LiveVariableLattice flowThrough(int id, LiveVariableLattice input) {
     final BitSet gen = new BitSet(input.liveSet.size());
     final BitSet kill = new BitSet(input.liveSet.size());
 
     // Make kills conditional if the node can end abruptly by an exception.
-    boolean conditional = false;
-    List<? extends DiGraphEdge<Node, Branch>> edgeList = getCfg().getOutEdges(node);
-    for (DiGraphEdge<Node, Branch> edge : edgeList) {
-      if (Branch.ON_EX.equals(edge.getValue())) {
-        conditional = true;
-      }
-    }
-    computeGenKill(node, gen, kill, conditional);
+    boolean conditional = getCompactCfg().hasOutEdge(id, Branch.ON_EX);
+    computeGenKill(getCompactCfg().getValue(id), gen, kill, conditional);
     LiveVariableLattice result = new LiveVariableLattice(input);
     // L_in = L_out - Kill + Gen
     result.liveSet.andNot(kill);
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Multiset;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Learns which passes of a fixed-point loop enable which other passes, and tells the loop when a
+ * pass is unlikely to find anything to do.
+ *
+ * <p>For each pass, the scheduler keeps the passes that changed the code since the pass last ran.
+ * When the pass runs again, those passes are recorded as enabling it if it changed the code, and
+ * as not enabling it otherwise. A pass is then skipped when all the passes that changed the code
+ * since its last run have never enabled it, and have failed to at least {@link
+ * #MIN_UNPRODUCTIVE_RUNS} times.
+ *
+ * <p>Skipping is a heuristic: a skipped pass may have had something to do. The history only covers
+ * the current loop, so the decisions are the same from one compilation of the same code to the
+ * next.
+ *
+ * @param <P> The type of the passes.
+ */
+final class LoopPassScheduler<P> {
+
+  /** How many unproductive runs after changes by a pass it takes to skip runs after that pass. */
+  static final int MIN_UNPRODUCTIVE_RUNS = 2;
+
+  private final List<P> passes;
+
+  /** The passes that changed the code since each pass last ran. Absent if it never ran. */
+  private final Map<P, Set<P>> changersSinceLastRun = new HashMap<>();
+
+  private final Map<P, Set<P>> enablers = new HashMap<>();
+  private final Map<P, Multiset<P>> nonEnablers = new HashMap<>();
+
+  LoopPassScheduler(List<P> passes) {
+    this.passes = passes;
+  }
+
+  /** Whether to skip {@code pass}, based on the changes made since it last ran. */
+  boolean shouldSkip(P pass) {
+    Set<P> changers = changersSinceLastRun.get(pass);
+    if (changers == null) {
+      return false;
+    }
+    Set<P> passEnablers = enablers.getOrDefault(pass, Set.of());
+    Multiset<P> passNonEnablers = nonEnablers.get(pass);
+    for (P changer : changers) {
+      if (passEnablers.contains(changer)
+          || passNonEnablers == null
+          || passNonEnablers.count(changer) < MIN_UNPRODUCTIVE_RUNS) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Records that {@code pass} ran, and whether it changed the code. */
+  void recordRun(P pass, boolean changedCode) {
+    Set<P> changers = changersSinceLastRun.put(pass, new LinkedHashSet<>());
+    if (changers != null) {
+      if (changedCode) {
+        enablers.computeIfAbsent(pass, (P p) -> new HashSet<>()).addAll(changers);
+      } else {
+        nonEnablers.computeIfAbsent(pass, (P p) -> HashMultiset.create()).addAll(changers);
+      }
+    }
+    if (changedCode) {
+      // A pass may also have more to do after its own changes.
+      for (P other : passes) {
+        Set<P> otherChangers = changersSinceLastRun.get(other);
+        if (otherChangers != null) {
+          otherChangers.add(pass);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.javascript.jscomp.parsing.parser.SourceFile.Contents;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The text of a memory-mapped source file, read as one char per byte.
+ *
+ * <p>The text stays outside of the Java heap, and the parser scans it in place. Only the pieces
+ * that are asked for, e.g. identifiers and string literals, are copied into Strings.
+ *
+ * <p>This only works for files whose bytes are each one char: any file in ISO-8859-1, and the
+ * files in UTF-8 or US-ASCII that only contain ASCII. Other files must be decoded into a String.
+ */
+final class MappedSourceCode implements Contents {
+
+  private static final long NON_ASCII_BITS = 0x8080808080808080L;
+
+  private final ByteBuffer bytes;
+  private final int offset;
+  private final int length;
+
+  private MappedSourceCode(ByteBuffer bytes, int offset, int length) {
+    this.bytes = bytes;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  /**
+   * Maps the file at {@code path}, or returns null if it can't be read as one char per byte in
+   * {@code charset}.
+   */
+  static @Nullable MappedSourceCode map(Path path, Charset charset) throws IOException {
+    boolean isLatin1 = charset.equals(ISO_8859_1);
+    if (!isLatin1 && !charset.equals(UTF_8) && !charset.equals(US_ASCII)) {
+      return null;
+    }
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        return null;
+      }
+      // The mapping stays valid after the channel is closed, until the buffer is collected.
+      ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      if (!isLatin1 && !isAscii(bytes, (int) size)) {
+        return null;
+      }
+      return new MappedSourceCode(bytes, 0, (int) size);
+    }
+  }
+
+  private static boolean isAscii(ByteBuffer bytes, int size) {
+    int i = 0;
+    // Check 8 bytes at a time; a byte is ASCII iff its high bit is clear.
+    for (; i + Long.BYTES <= size; i += Long.BYTES) {
+      if ((bytes.getLong(i) & NON_ASCII_BITS) != 0) {
+        return false;
+      }
+    }
+    for (; i < size; i++) {
+      if (bytes.get(i) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    checkElementIndex(index, length);
+    return (char) (bytes.get(offset + index) & 0xff);
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    checkPositionIndexes(start, end, length);
+    return new MappedSourceCode(bytes, offset + start, end - start);
+  }
+
+  @Override
+  public String substring(int start, int end) {
+    checkPositionIndexes(start, end, length);
+    byte[] copy = new byte[end - start];
+    bytes.get(offset + start, copy);
+    return new String(copy, ISO_8859_1);
+  }
+
+  @Override
+  public String toString() {
+    return substring(0, length);
+  }
+}
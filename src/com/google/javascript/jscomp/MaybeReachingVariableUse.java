@@ -16,19 +16,16 @@
 
 package com.google.javascript.jscomp;
 
-import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.collect.ImmutableList;
 import com.google.javascript.jscomp.ControlFlowGraph.Branch;
 import com.google.javascript.jscomp.MaybeReachingVariableUse.ReachingUses;
-import com.google.javascript.jscomp.graph.DiGraph.DiGraphEdge;
-import com.google.javascript.jscomp.graph.GraphNode;
 import com.google.javascript.jscomp.graph.LatticeElement;
 import com.google.javascript.rhino.HamtPMap;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.PMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -219,34 +216,30 @@ class MaybeReachingVariableUse extends DataFlowAnalysis<Node, ReachingUses> {
    * Computes the new LatticeElement for a given node given its LatticeElement from previous
    * iteration.
    *
-   * @param n node
+   * @param id the id of the node in {@link #getCompactCfg()}
    * @param input - Backward dataflow analyses compute their LatticeElement bottom-up (i.e.
-   *     LinearFlowState.out to LinearFlowState.in). See {@link DataFlowAnalysis#flow(DiGraphNode)}.
+   *     LinearFlowState.out to LinearFlowState.in). See {@link DataFlowAnalysis#flow(int)}.
    *     Here param `input` is the readonly input LinearFlowState.out that was constructed as
    *     `LinearFlowState.in` in the previous iteration, or the initial lattice element if this is
    *     the first iteration.
    */
   @Override
-  ReachingUses flowThrough(Node n, ReachingUses input) {
+  ReachingUses flowThrough(int id, ReachingUses input) {
     ReachingUses output = new ReachingUses(input);
 
     // If there's an ON_EX edge, this cfgNode may or may not get executed.
     // We can express this concisely by just pretending this happens in
     // a conditional.
-    boolean conditional = hasExceptionHandler(n);
+    boolean conditional = getCompactCfg().hasOutEdge(id, Branch.ON_EX);
+    Node n = getCompactCfg().getValue(id);
     computeMayUse(n, n, output, conditional);
 
     return output;
   }
 
-  private boolean hasExceptionHandler(Node cfgNode) {
-    List<? extends DiGraphEdge<Node, Branch>> branchEdges = getCfg().getOutEdges(cfgNode);
-    for (DiGraphEdge<Node, Branch> edge : branchEdges) {
-      if (edge.getValue() == Branch.ON_EX) {
-        return true;
-      }
-    }
-    return false;
+  @Override
+  ReachingUses flowThrough(Node n, ReachingUses input) {
+    return flowThrough(getCompactCfg().getId(n), input);
   }
 
   /**
@@ -415,9 +408,9 @@ class MaybeReachingVariableUse extends DataFlowAnalysis<Node, ReachingUses> {
    * @return the list of upward exposed uses of the variable {@code name} at defNode.
    */
   Iterable<Node> getUses(String name, Node defNode) {
-    GraphNode<Node, Branch> n = getCfg().getNode(defNode);
-    checkNotNull(n);
-    LinearFlowState<ReachingUses> state = n.getAnnotation();
+    int id = getCompactCfg().getId(defNode);
+    checkArgument(id >= 0, defNode);
+    LinearFlowState<ReachingUses> state = getFlowState(id);
     return state.getOut().get(allVarsInFn.get(name));
   }
 }
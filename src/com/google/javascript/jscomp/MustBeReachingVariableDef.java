@@ -20,8 +20,6 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 
 import com.google.javascript.jscomp.ControlFlowGraph.AbstractCfgNodeTraversalCallback;
-import com.google.javascript.jscomp.ControlFlowGraph.Branch;
-import com.google.javascript.jscomp.graph.GraphNode;
 import com.google.javascript.jscomp.graph.LatticeElement;
 import com.google.javascript.rhino.Node;
 import java.util.Collection;
@@ -437,9 +435,9 @@ final class MustBeReachingVariableDef
    * @param useNode the location of the use where the definition reaches.
    */
   Definition getDef(String name, Node useNode) {
-    checkArgument(getCfg().hasNode(useNode));
-    GraphNode<Node, Branch> n = getCfg().getNode(useNode);
-    LinearFlowState<MustDef> state = n.getAnnotation();
+    int id = getCompactCfg().getId(useNode);
+    checkArgument(id >= 0, useNode);
+    LinearFlowState<MustDef> state = getFlowState(id);
     return state.getIn().reachingDef.get(allVarsInFn.get(name));
   }
 
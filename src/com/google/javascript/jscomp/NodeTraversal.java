@@ -29,7 +29,11 @@ import com.google.javascript.rhino.QualifiedName;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -781,6 +785,108 @@ public class NodeTraversal {
     }
   }
 
+  /**
+   * Traverses each function under {@code root} that is not nested in another function, running
+   * these traversals on the {@link AbstractCompiler#getParallelTaskExecutor threads of the
+   * compiler}.
+   *
+   * <p>This is for function-local passes, which only look at and change the code inside the
+   * function they are in. Each outermost function, with the functions nested in it, gets its own
+   * traversal from {@code traversals}, so callbacks with per-function state must not be shared
+   * between the traversals. Code outside of functions is not visited.
+   *
+   * <p>The scopes enclosing the functions are created up front, on the calling thread, and shared
+   * by the traversals. The traversals start inside them, without calling {@link
+   * ScopedCallback#enterScope} or {@link ScopedCallback#exitScope} for them.
+   *
+   * <p>Code changes reported during a traversal are held back until all traversals are done, and
+   * are then recorded on the calling thread in the order of the functions in the AST. So the change
+   * stamps are the same as those of a serial traversal of {@code root}.
+   */
+  static void traverseFunctionsInParallel(
+      AbstractCompiler compiler, Node root, Supplier<Builder> traversals) {
+    List<FunctionInScope> functions = findOutermostFunctions(compiler, root);
+    if (functions.isEmpty()) {
+      return;
+    }
+
+    ChangeTracker changeTracker = compiler.getChangeTracker();
+    List<Callable<Runnable>> tasks = new ArrayList<>(functions.size());
+    for (FunctionInScope function : functions) {
+      tasks.add(
+          () ->
+              changeTracker.deferChanges(
+                  () ->
+                      traversals
+                          .get()
+                          .build()
+                          .traverseInScope(function.root(), function.enclosingScope())));
+    }
+    // Waits for the functions in order, so that the first failing function is the one rethrown.
+    List<Runnable> changes = compiler.getParallelTaskExecutor().invokeAll(tasks);
+
+    for (Runnable change : changes) {
+      change.run();
+    }
+  }
+
+  private record FunctionInScope(Node root, AbstractScope<?, ?> enclosingScope) {}
+
+  /**
+   * Returns the functions under {@code root} that are not nested in another function, in AST order,
+   * with the scopes enclosing them already created.
+   */
+  private static List<FunctionInScope> findOutermostFunctions(
+      AbstractCompiler compiler, Node root) {
+    List<FunctionInScope> functions = new ArrayList<>();
+    NodeTraversal.traverse(
+        compiler,
+        root,
+        new Callback() {
+          @Override
+          public boolean shouldTraverse(NodeTraversal t, Node n, Node parent) {
+            if (n.isFunction()) {
+              functions.add(new FunctionInScope(n, t.getAbstractScope()));
+              return false;
+            }
+            return true;
+          }
+
+          @Override
+          public void visit(NodeTraversal t, Node n, Node parent) {}
+        });
+
+    // The traversals only read the shared scopes once nothing is left to create lazily.
+    Set<AbstractScope<?, ?>> sharedScopes = new HashSet<>();
+    for (FunctionInScope function : functions) {
+      for (AbstractScope<?, ?> s = function.enclosingScope();
+          s != null && sharedScopes.add(s);
+          s = s.getParent()) {
+        s.createOwnImplicitSlots();
+      }
+    }
+    return functions;
+  }
+
+  /** Traverses the function {@code n}, starting inside the already created enclosing scopes. */
+  private void traverseInScope(Node n, AbstractScope<?, ?> enclosingScope) {
+    try {
+      Node parent = n.getParent();
+      initTraversal(parent);
+      currentNode = n;
+      Deque<AbstractScope<?, ?>> enclosingScopes = new ArrayDeque<>();
+      for (AbstractScope<?, ?> s = enclosingScope; s != null; s = s.getParent()) {
+        enclosingScopes.push(s);
+      }
+      while (!enclosingScopes.isEmpty()) {
+        pushScope(enclosingScopes.pop(), true);
+      }
+      traverseBranch(n, parent);
+    } catch (Error | Exception unexpectedException) {
+      throwUnexpectedException(unexpectedException);
+    }
+  }
+
   public AbstractCompiler getCompiler() {
     return compiler;
   }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.javascript.jscomp.CodePrinter.LicenseTracker;
+import com.google.javascript.jscomp.CodePrinter.SourceAndMappings;
+import com.google.javascript.rhino.Node;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Prints SCRIPT nodes back to JavaScript concurrently, on the threads of a {@link
+ * ParallelTaskExecutor}.
+ *
+ * <p>The AST is not modified while the output is being generated, so every script can be printed
+ * into its own buffer, together with source map mappings that are relative to the start of that
+ * script. The caller then stitches the printed scripts together in order, offsetting the mappings
+ * by the position of each script in the output.
+ *
+ * <p>The only state shared between scripts is the {@link LicenseTracker}, whose results depend on
+ * the order in which nodes are visited. Instead of being tracked while printing, the nodes are
+ * recorded and {@link PrintedScript#replayLicenses replayed} into the real tracker when the script
+ * is stitched into the output, so the emitted licenses are the same as for serial printing.
+ */
+final class ParallelScriptPrinter {
+
+  /** Prints a single script, as {@link Compiler#toSource(Node)} would. */
+  interface ScriptPrinter {
+    SourceAndMappings print(Node script, boolean firstOutput, LicenseTracker licenseTracker);
+  }
+
+  /** A script to print, and whether it is the first one of its output file. */
+  record ScriptToPrint(Node script, boolean firstOutput) {}
+
+  /** The printed code and source map mappings of one script. */
+  record PrintedScript(
+      boolean firstOutput, SourceAndMappings sourceAndMappings, ImmutableList<Node> licenseNodes) {
+    /** Hands the nodes seen while printing to the given tracker, in the order they were seen. */
+    void replayLicenses(LicenseTracker licenseTracker) {
+      for (Node node : licenseNodes) {
+        licenseTracker.trackLicensesForNode(node);
+      }
+    }
+  }
+
+  private final ScriptPrinter printer;
+  private final ParallelTaskExecutor executor;
+
+  ParallelScriptPrinter(ScriptPrinter printer, ParallelTaskExecutor executor) {
+    this.printer = printer;
+    this.executor = executor;
+  }
+
+  /** Prints all the given scripts and returns the results in the same order. */
+  ImmutableList<PrintedScript> printAll(List<ScriptToPrint> scripts) {
+    List<Callable<PrintedScript>> tasks = new ArrayList<>(scripts.size());
+    for (ScriptToPrint script : scripts) {
+      tasks.add(() -> print(script));
+    }
+    return ImmutableList.copyOf(executor.invokeAll(tasks));
+  }
+
+  private PrintedScript print(ScriptToPrint script) {
+    RecordingLicenseTracker licenseTracker = new RecordingLicenseTracker();
+    SourceAndMappings sourceAndMappings =
+        printer.print(script.script(), script.firstOutput(), licenseTracker);
+    return new PrintedScript(
+        script.firstOutput(), sourceAndMappings, ImmutableList.copyOf(licenseTracker.nodes));
+  }
+
+  /**
+   * Remembers the nodes it is asked to track so they can be replayed later.
+   *
+   * <p>It never emits licenses itself: the licenses of the recorded nodes are emitted by the
+   * tracker they are replayed into, when the script is stitched into the output.
+   */
+  private static final class RecordingLicenseTracker implements LicenseTracker {
+    private final List<Node> nodes = new ArrayList<>();
+
+    @Override
+    public void trackLicensesForNode(Node node) {
+      nodes.add(node);
+    }
+
+    @Override
+    public ImmutableSet<String> emitLicenses() {
+      return ImmutableSet.of();
+    }
+  }
+}
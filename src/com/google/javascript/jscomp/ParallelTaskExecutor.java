@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The threads that the parallel work of a compilation runs on.
+ *
+ * <p>Parsing, per-script passes, function-local passes, property disambiguation, code printing and
+ * TypedAST deserialization all split their work into tasks and hand them to the executor of their
+ * compiler, so a compilation uses at most {@link CompilerOptions#getNumParallelThreads()} threads
+ * at once and doesn't create a new pool for each pass. The threads have the same large stack as
+ * the compiler thread. They are only started once tasks are submitted, and stop when they have
+ * been idle for a while or when the executor is {@link #shutdown shut down}.
+ */
+public final class ParallelTaskExecutor implements Executor {
+  private static final long KEEP_ALIVE_SECONDS = 10;
+
+  private final int numThreads;
+  private final ThreadPoolExecutor poolExecutor;
+
+  public ParallelTaskExecutor(int numThreads) {
+    checkArgument(numThreads > 0, numThreads);
+    this.numThreads = numThreads;
+    this.poolExecutor =
+        new ThreadPoolExecutor(
+            numThreads,
+            numThreads,
+            KEEP_ALIVE_SECONDS,
+            SECONDS,
+            new LinkedBlockingQueue<Runnable>(),
+            WorkerThread::new);
+    this.poolExecutor.allowCoreThreadTimeOut(true);
+  }
+
+  /** Returns the number of tasks that run at once. */
+  public int getNumThreads() {
+    return numThreads;
+  }
+
+  /** Runs the task on one of the threads, without waiting for it, e.g. to prefetch a result. */
+  @Override
+  public void execute(Runnable task) {
+    poolExecutor.execute(task);
+  }
+
+  /**
+   * Runs all the tasks and returns once they are done.
+   *
+   * @see #invokeAll
+   */
+  public void runAll(List<? extends Runnable> tasks) {
+    List<Callable<@Nullable Void>> callables = new ArrayList<>(tasks.size());
+    for (Runnable task : tasks) {
+      callables.add(
+          () -> {
+            task.run();
+            return null;
+          });
+    }
+    var unused = invokeAll(callables);
+  }
+
+  /**
+   * Runs all the tasks and returns their results, in the same order.
+   *
+   * <p>The results are waited for in order, so if several tasks fail, the exception of the first
+   * one in the list is rethrown, as is if it is unchecked. The tasks that haven't started yet are
+   * then skipped, and the ones that are running are waited for, so that no task is still running
+   * when this throws.
+   *
+   * <p>Tasks that are run on these threads, e.g. by a pass that was itself run by {@link #runAll},
+   * are run one after the other on the calling thread instead, so that the threads never all wait
+   * for tasks queued behind them.
+   */
+  public <T extends @Nullable Object> List<T> invokeAll(List<? extends Callable<T>> tasks) {
+    List<T> results = new ArrayList<>(tasks.size());
+    if (Thread.currentThread() instanceof WorkerThread worker && worker.owner() == this) {
+      for (Callable<T> task : tasks) {
+        try {
+          results.add(task.call());
+        } catch (RuntimeException e) {
+          throw e;
+        } catch (Exception e) {
+          throw new RuntimeException(e);
+        }
+      }
+      return Collections.unmodifiableList(results);
+    }
+
+    AtomicBoolean failed = new AtomicBoolean();
+    List<Future<T>> futures = new ArrayList<>(tasks.size());
+    for (Callable<T> task : tasks) {
+      futures.add(poolExecutor.submit(() -> failed.get() ? null : task.call()));
+    }
+    try {
+      for (Future<T> future : futures) {
+        results.add(future.get());
+      }
+    } catch (InterruptedException e) {
+      failed.set(true);
+      awaitAll(futures);
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      failed.set(true);
+      awaitAll(futures);
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      } else if (cause instanceof Error error) {
+        throw error;
+      }
+      throw new RuntimeException(cause);
+    }
+    return Collections.unmodifiableList(results);
+  }
+
+  /** Waits for all the tasks to be done or skipped, ignoring their failures. */
+  private static void awaitAll(List<? extends Future<?>> futures) {
+    for (Future<?> future : futures) {
+      try {
+        Uninterruptibles.getUninterruptibly(future);
+      } catch (ExecutionException e) {
+        // Only the first failure is rethrown.
+      }
+    }
+  }
+
+  /**
+   * Stops the threads once the tasks already submitted are done. No more tasks can be submitted.
+   */
+  public void shutdown() {
+    poolExecutor.shutdown();
+  }
+
+  /** A thread of an executor, which knows which executor it belongs to. */
+  private final class WorkerThread extends Thread {
+    WorkerThread(Runnable r) {
+      super(null, r, "jscompiler-ParallelTask", CompilerExecutor.COMPILER_STACK_SIZE);
+      setDaemon(true); // Do not prevent the JVM from exiting.
+    }
+
+    ParallelTaskExecutor owner() {
+      return ParallelTaskExecutor.this;
+    }
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.javascript.jscomp.parsing.Config;
+import com.google.javascript.jscomp.parsing.ParserRunner.ParseResult;
+import com.google.javascript.jscomp.parsing.parser.FeatureSet;
+import com.google.javascript.jscomp.parsing.parser.trees.Comment;
+import com.google.javascript.rhino.Node;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * An in-memory, content-addressed cache of parse results shared by the {@link Compiler}s that a
+ * long-running process creates one after the other: the stdin compile server of the command line
+ * runner and the {@link IncrementalChecker}. Nothing is persisted, so the cache only lives as long
+ * as the process that owns it.
+ *
+ * <p>Entries are keyed by the file name, a hash of the source text and the parser {@link Config},
+ * so an input is only re-parsed when its contents or the parser-relevant options change. The cache
+ * holds a pristine copy of each AST, and every lookup hands out a fresh clone that belongs to the
+ * given {@link SourceFile}, so compilations never see each other's changes.
+ *
+ * <p>Only parses that reported no errors or warnings are cached, because parse diagnostics must
+ * be reported again by every compilation.
+ *
+ * <p>This class is thread-safe.
+ */
+final class ParseCache {
+
+  private static final String CACHE_SPEC = "maximumSize=20000";
+
+  private final Cache<Key, Entry> cache = CacheBuilder.from(CACHE_SPEC).build();
+
+  record Key(String sourceName, HashCode contentHash, int contentLength, Config config) {}
+
+  private record Entry(
+      Node ast,
+      FeatureSet features,
+      ImmutableList<Comment> comments,
+      @Nullable String sourceMapURL) {}
+
+  static Key keyFor(SourceFile sourceFile, CharSequence code, Config config) {
+    // The file name is part of the key because it can change how the file is parsed, e.g. for
+    // TypeScript sources.
+    return new Key(
+        sourceFile.getName(),
+        Hashing.murmur3_128().hashString(code, UTF_8),
+        code.length(),
+        config);
+  }
+
+  /**
+   * Returns a copy of the cached parse result for the given key, with every node attributed to
+   * {@code sourceFile}, or null if there is none.
+   */
+  @Nullable ParseResult get(Key key, SourceFile sourceFile) {
+    Entry entry = cache.getIfPresent(key);
+    if (entry == null) {
+      return null;
+    }
+    Node ast = entry.ast().cloneTree();
+    NodeUtil.visitPreOrder(ast, (Node n) -> n.setStaticSourceFile(sourceFile));
+    return new ParseResult(ast, entry.comments(), entry.features(), entry.sourceMapURL());
+  }
+
+  /** Records the result of a parse that reported no diagnostics. */
+  void put(Key key, ParseResult result) {
+    // Clone before any pass gets a chance to modify the AST.
+    cache.put(
+        key,
+        new Entry(
+            result.ast.cloneTree(),
+            result.features,
+            ImmutableList.copyOf(result.comments),
+            result.sourceMapURL));
+  }
+
+  /** Returns the number of parse results currently cached. */
+  long size() {
+    return cache.size();
+  }
+}
@@ -21,6 +21,7 @@ import static com.google.common.base.Preconditions.checkState;
 import com.google.auto.value.AutoValue;
 import com.google.errorprone.annotations.ForOverride;
 import java.util.function.Function;
+import org.jspecify.annotations.Nullable;
 
 /**
  * A factory for creating JSCompiler passes based on the Options injected.
@@ -49,6 +50,30 @@ public abstract class PassFactory {
   /** Whether this factory must or must not appear in a {@link PhaseOptimizer} loop. */
   public abstract boolean isRunInFixedPointLoop();
 
+  /**
+   * Whether each pass instance created by this factory only reads the SCRIPT it is given, and
+   * reports the same diagnostics when run over one script at a time as when run over the whole
+   * AST.
+   *
+   * <p>Such passes must not mutate the AST or any compiler state other than reporting errors, and
+   * must ignore the empty ROOT passed in place of the externs or sources. {@link PhaseOptimizer}
+   * may run them over all scripts concurrently when {@link CompilerOptions#getNumParallelThreads()}
+   * is greater than one.
+   */
+  public abstract boolean isPerScriptAndSideEffectFree();
+
+  /**
+   * Creates the callback of a pass that only reads the AST, or null if this is not such a pass.
+   *
+   * <p>Running the pass is the same as traversing the sources root once with this callback. The
+   * callback must not mutate the AST, start traversals of its own through the {@link
+   * NodeTraversal} it is given, or keep state that other passes read, other than reporting
+   * errors. {@link PhaseOptimizer} may run the callbacks of consecutive such passes together in
+   * one {@link CombinedCompilerPass} traversal.
+   */
+  abstract @Nullable Function<AbstractCompiler, ? extends NodeTraversal.Callback>
+      getReadOnlyCallbackFactory();
+
   /**
    * A simple factory function for creating actual pass instances.
    *
@@ -69,6 +94,8 @@ public abstract class PassFactory {
 
     public abstract Builder setRunInFixedPointLoop(boolean b);
 
+    public abstract Builder setPerScriptAndSideEffectFree(boolean b);
+
     public abstract Builder setCondition(Function<CompilerOptions, Boolean> cond);
 
     public abstract Builder setPreconditionCheck(
@@ -77,6 +104,22 @@ public abstract class PassFactory {
     public abstract Builder setInternalFactory(
         Function<AbstractCompiler, ? extends CompilerPass> x);
 
+    abstract Builder setReadOnlyCallbackFactory(
+        @Nullable Function<AbstractCompiler, ? extends NodeTraversal.Callback> x);
+
+    /**
+     * Makes this the factory of a pass that only reads the AST with the given callback, see {@link
+     * PassFactory#getReadOnlyCallbackFactory()}. Use this instead of {@link #setInternalFactory}.
+     */
+    public final Builder setReadOnlyCallback(
+        Function<AbstractCompiler, ? extends NodeTraversal.Callback> callbackFactory) {
+      return setReadOnlyCallbackFactory(callbackFactory)
+          .setInternalFactory(
+              (compiler) ->
+                  (externs, root) ->
+                      NodeTraversal.traverse(compiler, root, callbackFactory.apply(compiler)));
+    }
+
     @ForOverride
     abstract PassFactory autoBuild();
 
@@ -90,6 +133,7 @@ public abstract class PassFactory {
   public static Builder builder() {
     return new AutoValue_PassFactory.Builder()
         .setRunInFixedPointLoop(false)
+        .setPerScriptAndSideEffectFree(false)
         .setCondition((o) -> true)
         .setPreconditionCheck((o) -> PreconditionResult.SUCCESS);
   }
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.javascript.rhino.IR;
+import com.google.javascript.rhino.Node;
+import java.util.ArrayList;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Runs a pass created by a {@link PassFactory} that is {@link
+ * PassFactory#isPerScriptAndSideEffectFree() per-script and side-effect free} over every SCRIPT
+ * concurrently.
+ *
+ * <p>The scripts are checked on the {@link AbstractCompiler#getParallelTaskExecutor threads of the
+ * compiler}. Each script is handed to its own pass instance, so passes don't need to be thread-safe
+ * themselves. Diagnostics reported while the scripts are being checked are buffered per script
+ * and replayed to the original {@link ErrorHandler} and {@link ErrorManager} in AST order once
+ * every script is done, on the compiler thread. So the reported errors do not depend on thread
+ * scheduling, and neither needs to be thread-safe.
+ */
+final class PerScriptPassRunner implements CompilerPass {
+  private final AbstractCompiler compiler;
+  private final PassFactory factory;
+
+  PerScriptPassRunner(AbstractCompiler compiler, PassFactory factory) {
+    checkArgument(factory.isPerScriptAndSideEffectFree(), factory.getName());
+    this.compiler = compiler;
+    this.factory = factory;
+  }
+
+  @Override
+  public void process(Node externs, Node root) {
+    List<ScriptTask> tasks = new ArrayList<>();
+    for (Node script = externs.getFirstChild(); script != null; script = script.getNext()) {
+      tasks.add(new ScriptTask(script, /* isExtern= */ true));
+    }
+    for (Node script = root.getFirstChild(); script != null; script = script.getNext()) {
+      tasks.add(new ScriptTask(script, /* isExtern= */ false));
+    }
+    if (tasks.isEmpty()) {
+      return;
+    }
+
+    CompilerOptions options = compiler.getOptions();
+    ErrorManager originalErrorManager = compiler.getErrorManager();
+    @Nullable ErrorHandler originalErrorHandler = options.getErrorHandler();
+    BufferingErrorManager bufferingErrorManager =
+        new BufferingErrorManager(originalErrorManager, originalErrorHandler);
+    compiler.setErrorManager(bufferingErrorManager);
+    if (originalErrorHandler != null) {
+      options.setErrorHandler(bufferingErrorManager::reportToErrorHandler);
+    }
+    try {
+      runAll(tasks, bufferingErrorManager);
+    } finally {
+      compiler.setErrorManager(originalErrorManager);
+      options.setErrorHandler(originalErrorHandler);
+    }
+
+    // Replay the diagnostics on the compiler thread, in the order of the scripts in the AST.
+    for (ScriptTask task : tasks) {
+      for (BufferedError bufferedError : task.errors) {
+        if (bufferedError.toErrorHandler()) {
+          originalErrorHandler.report(bufferedError.level(), bufferedError.error());
+        } else {
+          originalErrorManager.report(bufferedError.level(), bufferedError.error());
+        }
+      }
+    }
+  }
+
+  private void runAll(List<ScriptTask> tasks, BufferingErrorManager bufferingErrorManager) {
+    List<Runnable> runnables = new ArrayList<>(tasks.size());
+    for (ScriptTask task : tasks) {
+      runnables.add(() -> task.run(bufferingErrorManager));
+    }
+    // Waits for the tasks in order, so that the first failing script is the one rethrown.
+    compiler.getParallelTaskExecutor().runAll(runnables);
+  }
+
+  /** The unit of work: a single externs or source SCRIPT, checked by its own pass instance. */
+  private final class ScriptTask {
+    private final Node script;
+    private final boolean isExtern;
+    private final List<BufferedError> errors = new ArrayList<>();
+
+    ScriptTask(Node script, boolean isExtern) {
+      this.script = script;
+      this.isExtern = isExtern;
+    }
+
+    void run(BufferingErrorManager bufferingErrorManager) {
+      bufferingErrorManager.currentBuffer.set(errors);
+      try {
+        // The pass only ever sees one script; the other root is a detached, empty placeholder.
+        CompilerPass pass = factory.create(compiler);
+        if (isExtern) {
+          pass.process(script, IR.root());
+        } else {
+          pass.process(IR.root(), script);
+        }
+      } finally {
+        bufferingErrorManager.currentBuffer.remove();
+      }
+    }
+  }
+
+  /**
+   * @param toErrorHandler whether the error was reported to the {@link ErrorHandler} of the
+   *     options, rather than to the {@link ErrorManager}
+   */
+  private record BufferedError(CheckLevel level, JSError error, boolean toErrorHandler) {}
+
+  /**
+   * Routes errors reported from a worker thread into the buffer of the script that thread is
+   * currently checking. Anything reported from other threads goes straight to the delegates.
+   */
+  private static final class BufferingErrorManager extends ThreadSafeDelegatingErrorManager {
+    private final ThreadLocal<List<BufferedError>> currentBuffer = new ThreadLocal<>();
+    private final @Nullable ErrorHandler errorHandler;
+
+    BufferingErrorManager(ErrorManager delegated, @Nullable ErrorHandler errorHandler) {
+      super(delegated);
+      this.errorHandler = errorHandler;
+    }
+
+    @Override
+    public void report(CheckLevel level, JSError error) {
+      List<BufferedError> buffer = currentBuffer.get();
+      if (buffer != null) {
+        buffer.add(new BufferedError(level, error, /* toErrorHandler= */ false));
+      } else {
+        super.report(level, error);
+      }
+    }
+
+    /** Reports to the {@link ErrorHandler} of the options, which the compiler calls first. */
+    void reportToErrorHandler(CheckLevel level, JSError error) {
+      List<BufferedError> buffer = currentBuffer.get();
+      if (buffer != null) {
+        buffer.add(new BufferedError(level, error, /* toErrorHandler= */ true));
+      } else {
+        synchronized (this) {
+          errorHandler.report(level, error);
+        }
+      }
+    }
+  }
+}
@@ -26,27 +26,44 @@ import static java.util.Comparator.comparingLong;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMultiset;
+import com.google.common.collect.LinkedHashMultiset;
+import com.google.common.collect.Multiset;
+import com.google.gson.stream.JsonWriter;
 import com.google.javascript.jscomp.CompilerOptions.TracerMode;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.Token;
+import com.google.javascript.rhino.jstype.JSTypeRegistry.TypeRelationCacheStats;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.io.Writer;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.List;
+import org.jspecify.annotations.Nullable;
 
 /**
  * A PerformanceTracker collects statistics about the runtime of each pass, and how much a pass
  * impacts the size of the compiled output, before and after gzip.
+ *
+ * <p>It also records the CPU time, the allocations and the GC time of each pass, and how many
+ * change scopes it changed. These are only in the JSON report, see {@link #outputJsonReport}.
  */
 public final class PerformanceTracker {
   private static final int DEFAULT_WHEN_SIZE_UNTRACKED = -1;
 
+  /** Prefix of the marks in the change timeline, one for each depth of nested passes. */
+  private static final String CHANGED_SCOPES_MARK = "PerformanceTracker:";
+
   private final Node externsRoot;
 
+  private final @Nullable ChangeTracker changeTracker;
+
   private final TracerMode mode;
 
+  private @Nullable TraceEventRecorder traceEvents;
+
   // Keeps track of AST changes and computes code size estimation
   // if there is any.
   private final RecentChange codeChange = new RecentChange();
@@ -96,23 +113,58 @@ public final class PerformanceTracker {
 
   private ImmutableMultiset<Token> astManifest;
 
+  /** How many times each loop pass was skipped, see {@link LoopPassScheduler}. */
+  private final Multiset<String> skippedRuns = LinkedHashMultiset.create();
+
+  /** How the type relation cache of the type registry did, or null if it was disabled. */
+  private @Nullable TypeRelationCacheStats typeRelationCacheStats;
+
   /** Stats a single run of a compiler pass. */
   private final List<Stats> log = new ArrayList<>();
 
   PerformanceTracker(Node externsRoot, Node jsRoot, TracerMode mode) {
+    this(externsRoot, jsRoot, mode, null);
+  }
+
+  /**
+   * @param changeTracker where to count the change scopes changed by each pass, or null to not
+   *     count them
+   */
+  PerformanceTracker(
+      Node externsRoot, Node jsRoot, TracerMode mode, @Nullable ChangeTracker changeTracker) {
     checkArgument(mode != TracerMode.OFF, "PerformanceTracker can't work without tracer data.");
     this.startTime = System.currentTimeMillis();
     this.externsRoot = externsRoot;
     this.jsRoot = jsRoot;
     this.mode = mode;
+    this.changeTracker = changeTracker;
   }
 
   CodeChangeHandler getCodeChangeHandler() {
     return this.codeChange;
   }
 
+  /** Also records each pass as a span on the given recorder. */
+  void setTraceEventRecorder(TraceEventRecorder traceEvents) {
+    this.traceEvents = traceEvents;
+  }
+
+  @Nullable TraceEventRecorder getTraceEventRecorder() {
+    return this.traceEvents;
+  }
+
   void recordPassStart(String passName, boolean isOneTime) {
-    this.currentPass.push(new Stats(passName, isOneTime));
+    Stats stats = new Stats(passName, isOneTime);
+    this.currentPass.push(stats);
+    if (this.changeTracker != null) {
+      var unused =
+          this.changeTracker.getChangedScopeNodesForPass(
+              CHANGED_SCOPES_MARK + this.currentPass.size());
+    }
+    stats.startUsage = JvmMetrics.currentResourceUsage();
+    if (this.traceEvents != null) {
+      stats.startNanos = this.traceEvents.now();
+    }
     // In Compiler, toSource may be called after every pass X. We don't want it
     // to reset the handler, because recordPassStop for pass X has not been
     // called, so we are falsely logging that pass X didn't make changes.
@@ -148,7 +200,15 @@ public final class PerformanceTracker {
    * @param runtime execution time in milliseconds
    */
   void recordPassStop(String passName, long runtime) {
+    JvmMetrics.ResourceUsage usage =
+        JvmMetrics.currentResourceUsage().since(this.currentPass.peek().startUsage);
     int allocMem = getAllocatedMegabytes();
+    int changedScopes =
+        (this.changeTracker != null)
+            ? this.changeTracker
+                .getChangedScopeNodesForPass(CHANGED_SCOPES_MARK + this.currentPass.size())
+                .size()
+            : -1;
     Stats logStats = this.currentPass.pop();
     checkState(passName.equals(logStats.pass));
     this.log.add(logStats);
@@ -156,10 +216,24 @@ public final class PerformanceTracker {
     // Update fields that aren't related to code size
     logStats.runtime = runtime;
     logStats.allocMem = allocMem;
+    logStats.cpuTime = (usage.threadCpuNanos() < 0) ? -1 : usage.threadCpuNanos() / 1_000_000;
+    logStats.allocBytes = usage.threadAllocatedBytes();
+    logStats.gcTime = usage.gcMillis();
+    logStats.changedScopes = changedScopes;
     logStats.runs = 1;
     if (this.codeChange.hasCodeChanged()) {
       logStats.changes = 1;
     }
+    if (this.traceEvents != null) {
+      this.traceEvents.recordSpan(
+          passName,
+          TraceEventRecorder.PASS,
+          logStats.startNanos,
+          ImmutableMap.of(
+              "inLoop", !logStats.isOneTime,
+              "codeChanged", logStats.changes == 1,
+              "changedScopes", changedScopes));
+    }
     if (passName.equals(PassNames.PARSE_INPUTS)) {
       recordParsingStop(logStats);
     } else if (this.codeChange.hasCodeChanged() && tracksAstSize()) {
@@ -167,6 +241,33 @@ public final class PerformanceTracker {
     }
   }
 
+  /**
+   * Records a read-only pass whose callback ran in a traversal shared with other passes, between
+   * the {@link #recordPassStart} and {@link #recordPassStop} of the shared traversal.
+   *
+   * <p>The runtime is only the time spent in the callback of the pass. The time of the traversal
+   * itself, the CPU time, allocations and GC time are recorded for the shared traversal.
+   *
+   * @param passName short name of the pass
+   * @param runtime time spent in the callback, in milliseconds
+   */
+  void recordFusedPass(String passName, long runtime) {
+    Stats logStats = new Stats(passName, true);
+    this.log.add(logStats);
+    logStats.runtime = runtime;
+    logStats.runs = 1;
+  }
+
+  /** Records that a fixed-point loop skipped a run of the given pass. */
+  void recordSkippedPass(String passName) {
+    this.skippedRuns.add(passName);
+  }
+
+  /** Records the stats of the type relation cache so far, replacing any earlier ones. */
+  void recordTypeRelationCacheStats(TypeRelationCacheStats stats) {
+    this.typeRelationCacheStats = stats;
+  }
+
   private void recordParsingStop(Stats logStats) {
     if (tracksAstManifest()) {
       populateAstManifest();
@@ -332,6 +433,10 @@ public final class PerformanceTracker {
           tmpPassSummary.computeIfAbsent(passName, (String k) -> new Stats(k, logStat.isOneTime));
       entry.runtime += logStat.runtime;
       entry.allocMem = max(entry.allocMem, logStat.allocMem);
+      entry.cpuTime = addMeasured(entry.cpuTime, logStat.cpuTime);
+      entry.allocBytes = addMeasured(entry.allocBytes, logStat.allocBytes);
+      entry.gcTime = addMeasured(entry.gcTime, logStat.gcTime);
+      entry.changedScopes = (int) addMeasured(entry.changedScopes, logStat.changedScopes);
       entry.runs++;
       entry.changes += logStat.changes;
       entry.astDiff += logStat.astDiff;
@@ -345,6 +450,16 @@ public final class PerformanceTracker {
     this.passSummary = ImmutableMap.copyOf(tmpPassSummary);
   }
 
+  /** Adds two measurements, where -1 means not measured. */
+  private static long addMeasured(long a, long b) {
+    if (a < 0) {
+      return b;
+    } else if (b < 0) {
+      return a;
+    }
+    return a + b;
+  }
+
   private void populateAstManifest() {
     if (this.astManifest != null) {
       return;
@@ -488,6 +603,27 @@ public final class PerformanceTracker {
           stats.gzSize);
     }
 
+    if (!this.skippedRuns.isEmpty()) {
+      output.println(
+          lines(
+              "", //
+              "Skipped loop runs:",
+              "pass,skippedRuns"));
+      for (Multiset.Entry<String> entry : this.skippedRuns.entrySet()) {
+        output.printf("%s,%d\n", entry.getElement(), entry.getCount());
+      }
+    }
+
+    if (this.typeRelationCacheStats != null) {
+      output.println(
+          lines(
+              "",
+              "Type relation cache:",
+              "Hits: " + this.typeRelationCacheStats.hits(),
+              "Misses: " + this.typeRelationCacheStats.misses(),
+              "Invalidations: " + this.typeRelationCacheStats.invalidations()));
+    }
+
     if (this.astManifest != null) {
       output.println(
           lines(
@@ -506,6 +642,84 @@ public final class PerformanceTracker {
     output.flush();
   }
 
+  /**
+   * Writes the aggregate stats for all runs of each pass, and the stats of each individual run, as
+   * a JSON object.
+   *
+   * <p>Unlike {@link #outputTracerReport}, this includes the CPU time, the allocations, the GC time
+   * and the changed change scopes of each pass. Passes are listed in the order they first ran.
+   */
+  public void outputJsonReport(Writer output) throws IOException {
+    calcTotalStats();
+    JsonWriter json = new JsonWriter(output);
+    json.setIndent("  ");
+    json.beginObject();
+    json.name("startTimeMs").value(this.startTime);
+    json.name("endTimeMs").value(this.endTime);
+    json.name("passesRuntimeMs").value(this.passesRuntime);
+    json.name("runs").value(this.runs);
+    json.name("changingRuns").value(this.changes);
+    json.name("astSize").value(this.astSize);
+    json.name("size").value(this.codeSize);
+    json.name("gzSize").value(this.gzCodeSize);
+
+    json.name("summary").beginArray();
+    for (Stats stats : this.passSummary.values()) {
+      json.beginObject();
+      json.name("pass").value(stats.pass);
+      json.name("runs").value(stats.runs);
+      json.name("changingRuns").value(stats.changes);
+      writeJsonResourceUsage(json, stats);
+      json.name("astReduction").value(stats.astDiff);
+      json.name("reduction").value(stats.diff);
+      json.name("gzReduction").value(stats.gzDiff);
+      json.endObject();
+    }
+    json.endArray();
+
+    json.name("log").beginArray();
+    for (Stats stats : this.log) {
+      json.beginObject();
+      json.name("pass").value(stats.pass);
+      json.name("codeChanged").value(stats.changes == 1);
+      writeJsonResourceUsage(json, stats);
+      json.name("astReduction").value(stats.astDiff);
+      json.name("reduction").value(stats.diff);
+      json.name("gzReduction").value(stats.gzDiff);
+      json.name("astSize").value(stats.astSize);
+      json.name("size").value(stats.size);
+      json.name("gzSize").value(stats.gzSize);
+      json.endObject();
+    }
+    json.endArray();
+
+    json.name("skippedLoopRuns").beginObject();
+    for (Multiset.Entry<String> entry : this.skippedRuns.entrySet()) {
+      json.name(entry.getElement()).value(entry.getCount());
+    }
+    json.endObject();
+
+    if (this.typeRelationCacheStats != null) {
+      json.name("typeRelationCache").beginObject();
+      json.name("hits").value(this.typeRelationCacheStats.hits());
+      json.name("misses").value(this.typeRelationCacheStats.misses());
+      json.name("invalidations").value(this.typeRelationCacheStats.invalidations());
+      json.endObject();
+    }
+
+    json.endObject();
+    json.flush();
+  }
+
+  private static void writeJsonResourceUsage(JsonWriter json, Stats stats) throws IOException {
+    json.name("runtimeMs").value(stats.runtime);
+    json.name("cpuTimeMs").value(stats.cpuTime);
+    json.name("allocatedBytes").value(stats.allocBytes);
+    json.name("gcTimeMs").value(stats.gcTime);
+    json.name("heapUsedMb").value(stats.allocMem);
+    json.name("changedScopes").value(stats.changedScopes);
+  }
+
   /**
    * A Stats object contains statistics about a pass run, such as running time, size changes, etc
    */
@@ -527,5 +741,22 @@ public final class PerformanceTracker {
     public int gzSize = 0;
     public int astDiff = 0;
     public int astSize = 0;
+
+    /**
+     * CPU time in milliseconds and bytes allocated by the thread that ran the pass, so not
+     * counting the work of other threads a pass may use, or -1 if the JVM doesn't measure them.
+     */
+    public long cpuTime = -1;
+
+    public long allocBytes = -1;
+
+    /** Milliseconds the JVM spent in garbage collection while the pass ran. */
+    public long gcTime = -1;
+
+    /** Number of change scopes (functions and scripts) the pass changed, or -1 if not counted. */
+    public int changedScopes = -1;
+
+    private JvmMetrics.@Nullable ResourceUsage startUsage;
+    private long startNanos;
   }
 }
@@ -21,6 +21,8 @@ import static com.google.common.base.Preconditions.checkState;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import com.google.javascript.rhino.Node;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -29,6 +31,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.logging.Logger;
+import org.jspecify.annotations.Nullable;
 
 /** An object that optimizes the order of compiler passes. */
 class PhaseOptimizer implements CompilerPass {
@@ -55,6 +58,7 @@ class PhaseOptimizer implements CompilerPass {
   private final Node jsRoot;
 
   private final boolean useSizeHeuristicToStopOptimizationLoop;
+  private final boolean skipUnproductiveLoopPasses;
 
   // Checks that passes have reported code changes correctly.
   private ChangeVerifier changeVerifier;
@@ -72,6 +76,9 @@ class PhaseOptimizer implements CompilerPass {
   static final ImmutableList<String> CODE_REMOVING_PASSES =
       ImmutableList.of(PassNames.PEEPHOLE_OPTIMIZATIONS);
 
+  /** The name under which the traversals shared by read-only passes are tracked. */
+  static final String FUSED_TRAVERSAL = "fusedReadOnlyTraversal";
+
   static final int MAX_LOOPS = 100;
   static final String OPTIMIZE_LOOP_ERROR =
       "Fixed point loop exceeded the maximum number of iterations.";
@@ -95,6 +102,7 @@ class PhaseOptimizer implements CompilerPass {
     this.lastChange = START_TIME;
     this.useSizeHeuristicToStopOptimizationLoop =
         comp.getOptions().shouldUseSizeHeuristicToStopOptimizationLoop();
+    this.skipUnproductiveLoopPasses = comp.getOptions().shouldSkipUnproductiveLoopPasses();
     int maxIterations = comp.getOptions().getMaxOptimizationLoopIterations();
     if (maxIterations > 0 && maxIterations <= MAX_LOOPS) {
       this.optimizationLoopMaxIterations = maxIterations;
@@ -156,7 +164,7 @@ class PhaseOptimizer implements CompilerPass {
   /** Adds a checker to be run after every pass. Intended for development. */
   void setValidityCheck(PassFactory validityCheck) {
     this.validityCheck = validityCheck;
-    this.changeVerifier = new ChangeVerifier(compiler).snapshot(jsRoot);
+    this.changeVerifier = ChangeVerifier.create(compiler).snapshot(jsRoot);
   }
 
   /** Sets the hashcode of the AST to be logged every pass. Intended for development. */
@@ -174,6 +182,7 @@ class PhaseOptimizer implements CompilerPass {
     // NamedPass#process, the actual pass is created and immediately executed, and no
     // reference to it is retained in PhaseOptimizer:
     //   factory.create(compiler).process(externs, root);
+    fuseReadOnlyPasses();
     for (CompilerPass pass : passes) {
       if (Platform.isThreadInterrupted()) {
         throw new RuntimeException(new InterruptedException());
@@ -185,6 +194,40 @@ class PhaseOptimizer implements CompilerPass {
     }
   }
 
+  /**
+   * Replaces each run of two or more consecutive passes that only read the AST with a {@link
+   * FusedPasses}, which traverses the AST once for all of them.
+   *
+   * <p>Passes that are going to run over the scripts in parallel are left alone.
+   */
+  private void fuseReadOnlyPasses() {
+    int numParallelThreads = compiler.getOptions().getNumParallelThreads();
+    List<CompilerPass> fused = new ArrayList<>(passes.size());
+    List<NamedPass> group = new ArrayList<>();
+    for (CompilerPass pass : passes) {
+      if (pass instanceof NamedPass namedPass
+          && namedPass.factory.getReadOnlyCallbackFactory() != null
+          && !(namedPass.factory.isPerScriptAndSideEffectFree() && numParallelThreads > 1)) {
+        group.add(namedPass);
+        continue;
+      }
+      addFusedGroup(fused, group);
+      fused.add(pass);
+    }
+    addFusedGroup(fused, group);
+    passes.clear();
+    passes.addAll(fused);
+  }
+
+  private void addFusedGroup(List<CompilerPass> fused, List<NamedPass> group) {
+    if (group.size() == 1) {
+      fused.add(group.get(0));
+    } else if (group.size() > 1) {
+      fused.add(new FusedPasses(ImmutableList.copyOf(group)));
+    }
+    group.clear();
+  }
+
   private void maybePrintAstHashcodes(String passName, Node root) {
     if (printAstHashcodes) {
       String hashCodeMsg =
@@ -228,7 +271,7 @@ class PhaseOptimizer implements CompilerPass {
       if (validityCheck != null) {
         // Before running the pass, clone the AST so you can check the
         // changed AST against the clone after the pass finishes.
-        changeVerifier = new ChangeVerifier(compiler).snapshot(jsRoot);
+        changeVerifier = ChangeVerifier.create(compiler).snapshot(jsRoot);
       }
       if (tracker != null) {
         tracker.recordPassStart(name, !factory.isRunInFixedPointLoop());
@@ -240,7 +283,12 @@ class PhaseOptimizer implements CompilerPass {
       // Delay the creation of the actual pass until *after* all previous passes
       // have been processed.
       // Some precondition checks rely on this, eg, in CoalesceVariableNames.
-      factory.create(compiler).process(externs, root);
+      int numParallelThreads = compiler.getOptions().getNumParallelThreads();
+      if (factory.isPerScriptAndSideEffectFree() && numParallelThreads > 1) {
+        new PerScriptPassRunner(compiler, factory).process(externs, root);
+      } else {
+        factory.create(compiler).process(externs, root);
+      }
 
       compiler.afterPass(name);
 
@@ -267,6 +315,226 @@ class PhaseOptimizer implements CompilerPass {
     }
   }
 
+  /**
+   * Passes that only read the AST, whose callbacks run together in one traversal.
+   *
+   * <p>When there is a performance tracker, the time spent in each callback is recorded for its
+   * pass, and the rest is recorded as {@link #FUSED_TRAVERSAL}.
+   *
+   * <p>The diagnostics are the same as when the passes run one by one: each pass only sees its own
+   * errors as halting while the traversal runs, and its diagnostics are replayed in pass order
+   * afterwards, up to the first pass that leaves halting errors.
+   */
+  private class FusedPasses implements CompilerPass {
+    private final ImmutableList<NamedPass> myPasses;
+
+    FusedPasses(ImmutableList<NamedPass> myPasses) {
+      this.myPasses = myPasses;
+    }
+
+    @Override
+    public void process(Node externs, Node root) {
+      for (NamedPass pass : myPasses) {
+        logger.fine("Running pass " + pass.name + " in a fused traversal");
+        pass.factory.validatePreconditions(compiler.getOptions());
+      }
+      if (validityCheck != null) {
+        changeVerifier = ChangeVerifier.create(compiler).snapshot(jsRoot);
+      }
+      if (tracker != null) {
+        tracker.recordPassStart(FUSED_TRAVERSAL, true);
+      }
+      Tracer tracer = new Tracer("Compiler", FUSED_TRAVERSAL);
+
+      CompilerOptions options = compiler.getOptions();
+      ErrorManager originalErrorManager = compiler.getErrorManager();
+      @Nullable ErrorHandler originalErrorHandler = options.getErrorHandler();
+      FusedErrorManager fusedErrorManager =
+          new FusedErrorManager(originalErrorManager, originalErrorHandler);
+      List<List<BufferedError>> buffers = new ArrayList<>(myPasses.size());
+      List<NodeTraversal.Callback> callbacks = new ArrayList<>(myPasses.size());
+      CombinedCompilerPass combinedPass;
+      compiler.setErrorManager(fusedErrorManager);
+      if (originalErrorHandler != null) {
+        options.setErrorHandler(fusedErrorManager::reportToErrorHandler);
+      }
+      try {
+        for (NamedPass pass : myPasses) {
+          compiler.beforePass(pass.name);
+          List<BufferedError> buffer = new ArrayList<>();
+          buffers.add(buffer);
+          callbacks.add(
+              new BufferedCallback(
+                  fusedErrorManager,
+                  buffer,
+                  pass.factory.getReadOnlyCallbackFactory().apply(compiler)));
+        }
+        combinedPass = new CombinedCompilerPass(compiler, callbacks, /* timed= */ tracker != null);
+        combinedPass.process(externs, root);
+      } finally {
+        compiler.setErrorManager(originalErrorManager);
+        options.setErrorHandler(originalErrorHandler);
+      }
+
+      // Replay the diagnostics pass by pass, dropping those of the passes that would not have run
+      // one by one because an earlier pass left halting errors.
+      for (int i = 0; i < myPasses.size(); i++) {
+        if (i > 0 && hasHaltingErrors()) {
+          break;
+        }
+        for (BufferedError bufferedError : buffers.get(i)) {
+          if (bufferedError.toErrorHandler()) {
+            originalErrorHandler.report(bufferedError.level(), bufferedError.error());
+          } else {
+            originalErrorManager.report(bufferedError.level(), bufferedError.error());
+          }
+        }
+      }
+      for (NamedPass pass : myPasses) {
+        compiler.afterPass(pass.name);
+      }
+
+      try {
+        long traceRuntime = tracer.stop();
+        if (tracker != null) {
+          long[] callbackNanos = combinedPass.getCallbackNanos();
+          long callbacksRuntime = 0;
+          for (int i = 0; i < myPasses.size(); i++) {
+            long runtime = callbackNanos[i] / 1_000_000;
+            tracker.recordFusedPass(myPasses.get(i).name, runtime);
+            callbacksRuntime += runtime;
+          }
+          tracker.recordPassStop(FUSED_TRAVERSAL, Math.max(0, traceRuntime - callbacksRuntime));
+        }
+        maybePrintAstHashcodes(FUSED_TRAVERSAL, root);
+        maybeRunValidityCheck(FUSED_TRAVERSAL, externs, root);
+      } catch (IllegalStateException e) {
+        throw new RuntimeException("Validity check failed for " + this, e);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "fused passes: " + Lists.transform(myPasses, (NamedPass pass) -> pass.name);
+    }
+  }
+
+  /**
+   * @param toErrorHandler whether the error was reported to the {@link ErrorHandler} of the
+   *     options, rather than to the {@link ErrorManager}
+   */
+  private record BufferedError(CheckLevel level, JSError error, boolean toErrorHandler) {}
+
+  /**
+   * Routes errors reported while a fused callback runs into the buffer of its pass.
+   *
+   * <p>While a callback runs, only the errors of its own pass count as halting, so that a pass that
+   * checks {@link AbstractCompiler#hasHaltingErrors} stops exactly where it would have stopped when
+   * run on its own, and the other fused passes keep going.
+   */
+  private static final class FusedErrorManager extends ThreadSafeDelegatingErrorManager {
+    private final @Nullable ErrorHandler errorHandler;
+    private @Nullable List<BufferedError> currentBuffer;
+
+    FusedErrorManager(ErrorManager delegated, @Nullable ErrorHandler errorHandler) {
+      super(delegated);
+      this.errorHandler = errorHandler;
+    }
+
+    @Override
+    public void report(CheckLevel level, JSError error) {
+      if (currentBuffer != null) {
+        currentBuffer.add(new BufferedError(level, error, /* toErrorHandler= */ false));
+      } else {
+        super.report(level, error);
+      }
+    }
+
+    /** Reports to the {@link ErrorHandler} of the options, which the compiler calls first. */
+    void reportToErrorHandler(CheckLevel level, JSError error) {
+      if (currentBuffer != null) {
+        currentBuffer.add(new BufferedError(level, error, /* toErrorHandler= */ true));
+      } else {
+        errorHandler.report(level, error);
+      }
+    }
+
+    @Override
+    public boolean hasHaltingErrors() {
+      if (currentBuffer == null) {
+        return super.hasHaltingErrors();
+      }
+      for (BufferedError bufferedError : currentBuffer) {
+        if (!bufferedError.toErrorHandler()
+            && bufferedError.level() == CheckLevel.ERROR
+            && bufferedError.error().type().level == CheckLevel.ERROR) {
+          return true;
+        }
+      }
+      return super.hasHaltingErrors();
+    }
+  }
+
+  /** Runs a fused callback with the errors it reports going to the buffer of its pass. */
+  private static final class BufferedCallback implements NodeTraversal.ScopedCallback {
+    private final FusedErrorManager errorManager;
+    private final List<BufferedError> buffer;
+    private final NodeTraversal.Callback callback;
+
+    BufferedCallback(
+        FusedErrorManager errorManager,
+        List<BufferedError> buffer,
+        NodeTraversal.Callback callback) {
+      this.errorManager = errorManager;
+      this.buffer = buffer;
+      this.callback = callback;
+    }
+
+    @Override
+    public boolean shouldTraverse(NodeTraversal t, Node n, @Nullable Node parent) {
+      errorManager.currentBuffer = buffer;
+      try {
+        return callback.shouldTraverse(t, n, parent);
+      } finally {
+        errorManager.currentBuffer = null;
+      }
+    }
+
+    @Override
+    public void visit(NodeTraversal t, Node n, @Nullable Node parent) {
+      errorManager.currentBuffer = buffer;
+      try {
+        callback.visit(t, n, parent);
+      } finally {
+        errorManager.currentBuffer = null;
+      }
+    }
+
+    @Override
+    public void enterScope(NodeTraversal t) {
+      if (callback instanceof NodeTraversal.ScopedCallback scopedCallback) {
+        errorManager.currentBuffer = buffer;
+        try {
+          scopedCallback.enterScope(t);
+        } finally {
+          errorManager.currentBuffer = null;
+        }
+      }
+    }
+
+    @Override
+    public void exitScope(NodeTraversal t) {
+      if (callback instanceof NodeTraversal.ScopedCallback scopedCallback) {
+        errorManager.currentBuffer = buffer;
+        try {
+          scopedCallback.exitScope(t);
+        } finally {
+          errorManager.currentBuffer = null;
+        }
+      }
+    }
+  }
+
   boolean hasScopeChanged(Node n) {
     // Outside loops we don't track changed scopes, so we visit them all.
     if (!inLoop) {
@@ -349,6 +617,9 @@ class PhaseOptimizer implements CompilerPass {
       int count = 1;
       int astSize = NodeUtil.countAstSize(root);
       int previousAstSize = astSize;
+      TraceEventRecorder traceEvents = compiler.getTraceEventRecorder();
+      LoopPassScheduler<NamedPass> scheduler =
+          skipUnproductiveLoopPasses ? new LoopPassScheduler<>(myPasses) : null;
 
       // The loop starts at state RUN_PASSES_NOT_RUN_IN_PREV_ITER and runs all passes.
       // After that, it goes to state RUN_PASSES_THAT_CHANGED_STH_IN_PREV_ITER, and
@@ -368,6 +639,12 @@ class PhaseOptimizer implements CompilerPass {
           if (count > MAX_LOOPS) {
             compiler.throwInternalError(OPTIMIZE_LOOP_ERROR, null);
           }
+          if (traceEvents != null) {
+            traceEvents.recordInstant(
+                "Loop iteration " + count,
+                TraceEventRecorder.LOOP,
+                ImmutableMap.of("state", state.name(), "astSize", astSize));
+          }
           count++;
           lastIterMadeChanges = false;
           for (NamedPass pass : myPasses) {
@@ -376,6 +653,17 @@ class PhaseOptimizer implements CompilerPass {
                     && !didNotMakeChanges.contains(pass))
                 || (state == State.RUN_PASSES_THAT_CHANGED_STH_IN_PREV_ITER
                     && madeChanges.contains(pass))) {
+              if (scheduler != null && scheduler.shouldSkip(pass)) {
+                // Treat it like a run that didn't change anything.
+                logger.fine("Skipping pass " + pass.name);
+                if (tracker != null) {
+                  tracker.recordSkippedPass(pass.name);
+                }
+                runInPrevIter.add(pass);
+                madeChanges.remove(pass);
+                didNotMakeChanges.add(pass);
+                continue;
+              }
               changeTracker.incrementChangeStamp();
               currentPass = pass;
               pass.process(externs, root);
@@ -383,7 +671,12 @@ class PhaseOptimizer implements CompilerPass {
               lastRuns.put(pass, changeTracker.getChangeStamp());
               if (hasHaltingErrors()) {
                 return;
-              } else if (scopeHandler.hasCodeChangedSinceLastCall()) {
+              }
+              boolean changedCode = scopeHandler.hasCodeChangedSinceLastCall();
+              if (scheduler != null) {
+                scheduler.recordRun(pass, changedCode);
+              }
+              if (changedCode) {
                 madeChanges.add(pass);
                 didNotMakeChanges.clear();
                 lastIterMadeChanges = true;
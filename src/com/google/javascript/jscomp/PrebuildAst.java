@@ -16,63 +16,76 @@
 
 package com.google.javascript.jscomp;
 
-import static java.util.concurrent.TimeUnit.SECONDS;
-
-import com.google.common.collect.Iterables;
-import com.google.common.util.concurrent.Futures;
-import com.google.common.util.concurrent.ListenableFuture;
-import com.google.common.util.concurrent.ListeningExecutorService;
-import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.collect.ImmutableList;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * A helper class to prebuild ASTs from a list of {@link CompilerInput}. Inputs are parsed into ASTs
  * the first time we try to get them. Get them all now using multiple threads, so they'll be parsed
  * in parallel and already available during the rest of the compilation.
+ *
+ * <p>The inputs are parsed on the {@link AbstractCompiler#getParallelTaskExecutor threads of the
+ * compiler}, so that one instance can prebuild several lists of inputs, e.g. the externs and then
+ * the sources, without starting new threads. The largest inputs are parsed first, so that the
+ * threads don't sit idle waiting on one large file at the end. Once a halting error is reported,
+ * the inputs that are not being parsed yet are skipped.
  */
 class PrebuildAst {
   private final AbstractCompiler compiler;
-  private final int numParallelThreads;
 
-  PrebuildAst(AbstractCompiler compiler, int numParalleThreads) {
+  PrebuildAst(AbstractCompiler compiler) {
     this.compiler = compiler;
-    this.numParallelThreads = numParalleThreads;
   }
 
-  void prebuild(Iterable<CompilerInput> allInputs) {
-    ThreadFactory threadFactory =
-        r -> {
-          Thread t =
-              new Thread(null, r, "jscompiler-PrebuildAst", CompilerExecutor.COMPILER_STACK_SIZE);
-          t.setDaemon(true); // Do not prevent the JVM from exiting.
-          return t;
-        };
-    ThreadPoolExecutor poolExecutor =
-        new ThreadPoolExecutor(
-            numParallelThreads,
-            numParallelThreads,
-            Integer.MAX_VALUE,
-            SECONDS,
-            new LinkedBlockingQueue<Runnable>(),
-            threadFactory);
-    ListeningExecutorService executorService = MoreExecutors.listeningDecorator(poolExecutor);
-    List<ListenableFuture<?>> futureList = new ArrayList<>(Iterables.size(allInputs));
-    // TODO(moz): Support canceling all parsing on the first halting error
-    for (final CompilerInput input : allInputs) {
-      futureList.add(executorService.submit(() -> input.getAstRoot(compiler)));
+  /**
+   * Parses the given inputs, returning once they are all parsed or the compiler has a halting
+   * error.
+   *
+   * @return false if some inputs were not parsed because of a halting error, true otherwise
+   */
+  boolean prebuild(Iterable<CompilerInput> allInputs) {
+    ImmutableList<CompilerInput> inputs = largestFirst(allInputs);
+    AtomicBoolean skippedAny = new AtomicBoolean();
+    TraceEventRecorder traceEvents = compiler.getTraceEventRecorder();
+    List<Runnable> tasks = new ArrayList<>(inputs.size());
+    for (CompilerInput input : inputs) {
+      tasks.add(
+          () -> {
+            if (compiler.hasHaltingErrors()) {
+              // The compilation is going to stop after parsing anyway.
+              skippedAny.set(true);
+              return;
+            }
+            if (traceEvents == null) {
+              input.getAstRoot(compiler);
+              return;
+            }
+            long start = traceEvents.now();
+            input.getAstRoot(compiler);
+            traceEvents.recordSpan(input.getName(), TraceEventRecorder.PARSE, start);
+          });
     }
+    compiler.getParallelTaskExecutor().runAll(tasks);
+    return !skippedAny.get();
+  }
 
-    poolExecutor.shutdown();
-    try {
-      Futures.allAsList(futureList).get();
-    } catch (InterruptedException | ExecutionException e) {
-      throw new RuntimeException(e);
+  private record SizedInput(CompilerInput input, long size) {}
+
+  private static ImmutableList<CompilerInput> largestFirst(Iterable<CompilerInput> inputs) {
+    List<SizedInput> sizedInputs = new ArrayList<>();
+    for (CompilerInput input : inputs) {
+      sizedInputs.add(new SizedInput(input, input.getSourceFile().estimateCodeSize()));
+    }
+    // The sort is stable, so inputs of the same or unknown size keep their order.
+    sizedInputs.sort(Comparator.comparingLong(SizedInput::size).reversed());
+    ImmutableList.Builder<CompilerInput> sorted =
+        ImmutableList.builderWithExpectedSize(sizedInputs.size());
+    for (SizedInput sizedInput : sizedInputs) {
+      sorted.add(sizedInput.input());
     }
+    return sorted.build();
   }
-
 }
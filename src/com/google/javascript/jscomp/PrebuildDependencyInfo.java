@@ -29,6 +29,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
+import org.jspecify.annotations.Nullable;
 
 /**
  * A helper class to prebuild DependencyInfo from a list of {@link CompilerInput}. Dependency info
@@ -38,9 +39,12 @@ import java.util.concurrent.ThreadPoolExecutor;
  */
 class PrebuildDependencyInfo {
   private final int numParallelThreads;
+  private final @Nullable TraceEventRecorder traceEvents;
 
-  PrebuildDependencyInfo(int numParalleThreads) {
+  /** @param traceEvents where to record the inputs each thread worked on, or null */
+  PrebuildDependencyInfo(int numParalleThreads, @Nullable TraceEventRecorder traceEvents) {
     this.numParallelThreads = numParalleThreads;
+    this.traceEvents = traceEvents;
   }
 
   void prebuild(Iterable<CompilerInput> allInputs) {
@@ -70,7 +74,17 @@ class PrebuildDependencyInfo {
     List<ListenableFuture<?>> futureList = new ArrayList<>(Iterables.size(allInputs));
     // TODO(moz): Support canceling all parsing on the first halting error
     for (final CompilerInput input : allInputs) {
-      futureList.add(executorService.submit(input::getDependencyInfo));
+      if (traceEvents == null) {
+        futureList.add(executorService.submit(input::getDependencyInfo));
+      } else {
+        futureList.add(
+            executorService.submit(
+                () -> {
+                  long start = traceEvents.now();
+                  input.getDependencyInfo();
+                  traceEvents.recordSpan(input.getName(), TraceEventRecorder.DEPENDENCIES, start);
+                }));
+      }
     }
 
     poolExecutor.shutdown();
@@ -40,6 +40,7 @@ import java.io.Serializable;
 import java.io.StringReader;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -211,6 +212,58 @@ public final class SourceFile implements StaticSourceFile {
     return this.code;
   }
 
+  /**
+   * Gets all the code in this source file, like {@link #getCode}, but without copying it into a
+   * String where possible.
+   *
+   * <p>Large files on disk that are read as one char per byte are memory-mapped, and the returned
+   * view is not cached: {@link #getCode} still reads the file into a String if it is called later,
+   * e.g. to show an excerpt of the code in an error message.
+   */
+  CharSequence getCodeCharSequence() throws IOException {
+    String localCode = this.code;
+    if (localCode != null) {
+      return localCode;
+    }
+    synchronized (this) {
+      if (this.code != null) {
+        return this.code;
+      }
+      CharSequence text = this.loader.loadUncachedText();
+      if (text instanceof String string) {
+        this.setCodeAndDoBookkeeping(string);
+        return this.code;
+      }
+      this.lineOffsets = null;
+      this.numBytes = text.length();
+      int numLines = 1; // there is always at least one line
+      for (int i = 0; i < text.length(); i++) {
+        if (text.charAt(i) == '\n') {
+          numLines++;
+        }
+      }
+      this.numLines = numLines;
+      return text;
+    }
+  }
+
+  /**
+   * Returns the size of the code in this source file in chars, or an estimate of it, without
+   * loading it where possible. Returns -1 if the size is unknown.
+   *
+   * <p>This is only meant for scheduling, e.g. to start parsing the largest files first.
+   */
+  long estimateCodeSize() {
+    String localCode = this.code;
+    if (localCode != null) {
+      return localCode.length();
+    }
+    if (this.numBytes >= 0) {
+      return this.numBytes;
+    }
+    return this.loader.estimateSize();
+  }
+
   @Deprecated
   final void setCodeDeprecated(String code) {
     this.setCodeAndDoBookkeeping(code);
@@ -819,6 +872,16 @@ public final class SourceFile implements StaticSourceFile {
       throw new AssertionError();
     }
 
+    /**
+     * Return the source text of this file from its original storage, as a String or as a view of
+     * that storage.
+     *
+     * <p>SourceFile guarantees that this method is only called under synchronization.
+     */
+    CharSequence loadUncachedText() throws IOException {
+      return this.loadUncachedCode();
+    }
+
     /**
      * Return a Reader for the source text of this file from its original storage.
      *
@@ -829,6 +892,14 @@ public final class SourceFile implements StaticSourceFile {
       return null;
     }
 
+    /**
+     * Returns the size of the source text, or an estimate of it, without loading it, or -1 if that
+     * would be expensive.
+     */
+    long estimateSize() {
+      return -1;
+    }
+
     /**
      * Returns a representation of this loader that can be serialized/deserialized to reconstruct
      * this SourceFile
@@ -849,6 +920,11 @@ public final class SourceFile implements StaticSourceFile {
         return this.preloadedCode;
       }
 
+      @Override
+      long estimateSize() {
+        return this.preloadedCode.length();
+      }
+
       @Override
       SourceFileProto.Builder toProtoLocationBuilder(String fileName) {
         return SourceFileProto.newBuilder().setPreloadedContents(this.preloadedCode);
@@ -877,6 +953,10 @@ public final class SourceFile implements StaticSourceFile {
     static final class OnDisk extends CodeLoader {
       private static final long serialVersionUID = 1L;
 
+      /** Files of at least this many bytes are memory-mapped instead of read into a String. */
+      private static final long MIN_MAPPED_SIZE =
+          Long.getLong("jscomp.sourcefile.minmappedsize", 1 << 20);
+
       private final String serializableCharset;
       private final Path relativePath;
 
@@ -896,11 +976,34 @@ public final class SourceFile implements StaticSourceFile {
         }
       }
 
+      @Override
+      CharSequence loadUncachedText() throws IOException {
+        // Paths in other file systems, e.g. in memory or in a zip, can't be mapped.
+        if (this.relativePath.getFileSystem().equals(FileSystems.getDefault())
+            && Files.size(this.relativePath) >= MIN_MAPPED_SIZE) {
+          CharSequence mapped = MappedSourceCode.map(this.relativePath, this.getCharset());
+          if (mapped != null) {
+            return mapped;
+          }
+        }
+        return this.loadUncachedCode();
+      }
+
       @Override
       Reader openUncachedReader() throws IOException {
         return Files.newBufferedReader(this.relativePath, this.getCharset());
       }
 
+      @Override
+      long estimateSize() {
+        try {
+          // The size in bytes. It is close enough to the number of chars to order files by size.
+          return Files.size(this.relativePath);
+        } catch (IOException e) {
+          return -1;
+        }
+      }
+
       private Charset getCharset() {
         return Charset.forName(this.serializableCharset);
       }
@@ -934,7 +1037,11 @@ public final class SourceFile implements StaticSourceFile {
 
       @Override
       String loadUncachedCode() throws IOException {
-        return CharStreams.toString(this.openUncachedReader());
+        // Decode the entry in one step rather than through a Reader and a growing StringBuilder,
+        // which holds the code as UTF-16 and then copies it again into the String.
+        try (InputStream entry = JSCompZipFileCache.getEntryStream(this.zipName, this.entryName)) {
+          return new String(entry.readAllBytes(), this.getCharset());
+        }
       }
 
       @Override
@@ -54,6 +54,13 @@ public final class SourceMap {
       SourceMap getInstance() {
         return new SourceMap(SourceMapGeneratorFactory.getInstance(SourceMapFormat.V3));
       }
+    },
+    V3_STREAMING {
+      @Override
+      SourceMap getInstance() {
+        return new SourceMap(
+            SourceMapGeneratorFactory.getInstance(SourceMapFormat.V3_STREAMING));
+      }
     };
 
     abstract SourceMap getInstance();
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static java.util.Comparator.comparingLong;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records what each compiler thread is doing, and writes it in the Chrome trace event format.
+ *
+ * <p>The output can be opened in Perfetto (ui.perfetto.dev) or chrome://tracing. Each thread that
+ * recorded an event gets its own track, e.g. the compiler thread and each of the {@link
+ * PrebuildAst} and {@link PrebuildDependencyInfo} workers.
+ *
+ * <p>All methods may be called from any thread.
+ */
+final class TraceEventRecorder {
+
+  // The categories of the events, which can be used to filter them in the viewer.
+  static final String PASS = "pass";
+  static final String PARSE = "parse";
+  static final String DEPENDENCIES = "dependencies";
+  static final String LOOP = "loop";
+
+  /** The process id of all events; there is only one process. */
+  private static final int PID = 1;
+
+  private record Track(int tid, String threadName) {}
+
+  private record Event(
+      char phase,
+      String name,
+      String category,
+      int tid,
+      long startNanos,
+      long durationNanos,
+      ImmutableMap<String, ?> args) {}
+
+  private final long originNanos = System.nanoTime();
+  private final AtomicInteger nextTid = new AtomicInteger(1);
+  private final Map<Thread, Track> tracks = new ConcurrentHashMap<>();
+  private final ConcurrentLinkedQueue<Event> events = new ConcurrentLinkedQueue<>();
+
+  /** Returns the current time, to be passed to {@link #recordSpan} once the work is done. */
+  long now() {
+    return System.nanoTime();
+  }
+
+  /** Records that the current thread did {@code name} from {@code startNanos} until now. */
+  void recordSpan(String name, String category, long startNanos) {
+    recordSpan(name, category, startNanos, ImmutableMap.of());
+  }
+
+  /**
+   * Records that the current thread did {@code name} from {@code startNanos} until now.
+   *
+   * @param args extra details shown for the event, whose values are Strings, Numbers or Booleans
+   */
+  void recordSpan(String name, String category, long startNanos, ImmutableMap<String, ?> args) {
+    long endNanos = System.nanoTime();
+    events.add(
+        new Event('X', name, category, currentTid(), startNanos, endNanos - startNanos, args));
+  }
+
+  /**
+   * Records a point in time on the track of the current thread.
+   *
+   * @param args extra details shown for the event, whose values are Strings, Numbers or Booleans
+   */
+  void recordInstant(String name, String category, ImmutableMap<String, ?> args) {
+    events.add(new Event('i', name, category, currentTid(), System.nanoTime(), 0, args));
+  }
+
+  private int currentTid() {
+    return tracks
+        .computeIfAbsent(
+            Thread.currentThread(),
+            (Thread t) -> new Track(nextTid.getAndIncrement(), t.getName()))
+        .tid();
+  }
+
+  /**
+   * Writes the events recorded so far as a JSON object with a "traceEvents" array.
+   *
+   * <p>Events that are still being recorded by other threads may be left out.
+   */
+  void writeTo(Writer output) throws IOException {
+    List<Event> sorted = new ArrayList<>(events);
+    // Spans are added when they end, after the spans nested in them. Viewers expect the order in
+    // which they started, with the enclosing span first if they started at the same time.
+    sorted.sort(
+        comparingLong(Event::startNanos)
+            .thenComparing(comparingLong(Event::durationNanos).reversed()));
+    List<Track> sortedTracks = new ArrayList<>(tracks.values());
+    sortedTracks.sort(comparingLong(Track::tid));
+
+    JsonWriter json = new JsonWriter(output);
+    json.beginObject();
+    json.name("displayTimeUnit").value("ms");
+    json.name("traceEvents").beginArray();
+    writeMetadata(json, "process_name", 0, "JSCompiler");
+    for (Track track : sortedTracks) {
+      writeMetadata(json, "thread_name", track.tid(), track.threadName());
+      // Keep the tracks in the order in which the threads started working.
+      json.beginObject();
+      json.name("ph").value("M");
+      json.name("name").value("thread_sort_index");
+      json.name("pid").value(PID);
+      json.name("tid").value(track.tid());
+      json.name("args").beginObject().name("sort_index").value(track.tid()).endObject();
+      json.endObject();
+    }
+    for (Event event : sorted) {
+      json.beginObject();
+      json.name("ph").value(String.valueOf(event.phase()));
+      json.name("name").value(event.name());
+      json.name("cat").value(event.category());
+      json.name("pid").value(PID);
+      json.name("tid").value(event.tid());
+      json.name("ts").value(toMicros(event.startNanos() - originNanos));
+      if (event.phase() == 'X') {
+        json.name("dur").value(toMicros(event.durationNanos()));
+      } else {
+        // Draw the instant across the whole track of the thread.
+        json.name("s").value("t");
+      }
+      if (!event.args().isEmpty()) {
+        json.name("args");
+        writeArgs(json, event.args());
+      }
+      json.endObject();
+    }
+    json.endArray();
+    json.endObject();
+    json.flush();
+  }
+
+  private static void writeMetadata(JsonWriter json, String name, int tid, String value)
+      throws IOException {
+    json.beginObject();
+    json.name("ph").value("M");
+    json.name("name").value(name);
+    json.name("pid").value(PID);
+    json.name("tid").value(tid);
+    json.name("args").beginObject().name("name").value(value).endObject();
+    json.endObject();
+  }
+
+  private static void writeArgs(JsonWriter json, ImmutableMap<String, ?> args)
+      throws IOException {
+    json.beginObject();
+    for (Map.Entry<String, ?> arg : args.entrySet()) {
+      json.name(arg.getKey());
+      Object value = arg.getValue();
+      if (value instanceof Number number) {
+        json.value(number);
+      } else if (value instanceof Boolean bool) {
+        json.value(bool);
+      } else {
+        json.value(String.valueOf(value));
+      }
+    }
+    json.endObject();
+  }
+
+  /** The trace event format uses microseconds, but allows fractions of them. */
+  private static double toMicros(long nanos) {
+    return nanos / 1000.0;
+  }
+}
@@ -65,8 +65,7 @@ import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.javascript.jscomp.CodingConvention.ObjectLiteralCast;
 import com.google.javascript.jscomp.CodingConvention.SubclassRelationship;
 import com.google.javascript.jscomp.FunctionTypeBuilder.AstFunctionContents;
-import com.google.javascript.jscomp.NodeTraversal.AbstractPostOrderCallback;
-import com.google.javascript.jscomp.NodeTraversal.AbstractScopedCallback;
+import com.google.javascript.jscomp.NodeTraversal.ScopedCallback;
 import com.google.javascript.jscomp.ProcessClosureProvidesAndRequires.ProvidedName;
 import com.google.javascript.jscomp.modules.Export;
 import com.google.javascript.jscomp.modules.Module;
@@ -103,7 +102,9 @@ import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Function;
 import org.jspecify.annotations.Nullable;
 
@@ -548,22 +549,18 @@ final class TypedScopeCreator implements ScopeCreator, StaticSymbolTable<TypedVa
   TypedScope createInitialScope(Node root) {
     checkArgument(root.isRoot(), root);
 
-    // Gather global information used in typed scope creation. Use a memoized scope creator because
-    // scope-building takes a nontrivial amount of time.
-    MemoizedScopeCreator scopeCreator =
-        new MemoizedScopeCreator(new SyntacticScopeCreator(compiler));
-
-    NodeTraversal.builder()
-        .setCompiler(compiler)
-        .setCallback(new FirstOrderFunctionAnalyzer())
-        .setScopeCreator(scopeCreator)
-        .traverseRoots(root.getFirstChild(), root.getLastChild());
-
-    NodeTraversal.builder()
-        .setCompiler(compiler)
-        .setCallback(new IdentifyEnumsAndTypedefsAsNonNullable(typeRegistry))
-        .setScopeCreator(scopeCreator)
-        .traverse(root);
+    // Gather global information used in typed scope creation.
+    if (compiler.getOptions().getNumParallelThreads() > 1) {
+      analyzeInParallel(root);
+    } else {
+      FirstOrderFunctionAnalyzer analyzer = new FirstOrderFunctionAnalyzer(false);
+      NodeTraversal.builder()
+          .setCompiler(compiler)
+          .setCallback(analyzer)
+          .traverseRoots(root.getFirstChild(), root.getLastChild());
+      addFirstOrderInfo(analyzer);
+      analyzer.nonNullableNameDeclarations.forEach(this::identifyNonNullableName);
+    }
 
     TypedScope s = TypedScope.createGlobalScope(root);
     declareNativeFunctionType(s, ARRAY_FUNCTION_TYPE);
@@ -700,54 +697,67 @@ final class TypedScopeCreator implements ScopeCreator, StaticSymbolTable<TypedVa
     this.providedNamesFromCall = LinkedHashMultimap.create();
   }
 
-  /** Adds all enums and typedefs to the registry's list of non-nullable types. */
-  private static class IdentifyEnumsAndTypedefsAsNonNullable extends AbstractPostOrderCallback {
-    private final JSTypeRegistry registry;
-
-    IdentifyEnumsAndTypedefsAsNonNullable(JSTypeRegistry registry) {
-      this.registry = registry;
-    }
+  /**
+   * Runs the {@link FirstOrderFunctionAnalyzer} on the outermost functions on the threads of the
+   * compiler, and on the code outside of them on this thread.
+   *
+   * <p>Each function gets its own analyzer. Their results are merged on this thread, and the enums
+   * and typedefs are added to the registry in the order of the AST, as in a serial traversal.
+   */
+  private void analyzeInParallel(Node root) {
+    FirstOrderFunctionAnalyzer outsideFunctions = new FirstOrderFunctionAnalyzer(true);
+    NodeTraversal.builder()
+        .setCompiler(compiler)
+        .setCallback(outsideFunctions)
+        .traverseRoots(root.getFirstChild(), root.getLastChild());
 
-    @Override
-    public void visit(NodeTraversal t, Node node, Node parent) {
-      switch (node.getToken()) {
-        case LET, CONST, VAR -> {
-          for (Node child = node.getFirstChild(); child != null; child = child.getNext()) {
-            // TODO(b/116853368): make this work for destructuring aliases as well.
-            identifyEnumOrTypedefDeclaration(
-                t, child, child.getFirstChild(), NodeUtil.getBestJSDocInfo(child));
-          }
-        }
-        case EXPR_RESULT -> {
-          Node firstChild = node.getFirstChild();
-          if (firstChild.isAssign()) {
-            Node assign = firstChild;
-            identifyEnumOrTypedefDeclaration(
-                t, assign.getFirstChild(), assign.getSecondChild(), assign.getJSDocInfo());
-          } else if (firstChild.isGetProp()) {
-            identifyEnumOrTypedefDeclaration(
-                t, firstChild, /* rvalue= */ null, firstChild.getJSDocInfo());
-          }
-        }
-        default -> {}
+    Queue<FirstOrderFunctionAnalyzer> functionAnalyzers = new ConcurrentLinkedQueue<>();
+    NodeTraversal.traverseFunctionsInParallel(
+        compiler,
+        root,
+        () -> {
+          FirstOrderFunctionAnalyzer analyzer = new FirstOrderFunctionAnalyzer(false);
+          functionAnalyzers.add(analyzer);
+          return NodeTraversal.builder().setCompiler(compiler).setCallback(analyzer);
+        });
+    Map<Node, FirstOrderFunctionAnalyzer> analyzersByFunction = new LinkedHashMap<>();
+    for (FirstOrderFunctionAnalyzer analyzer : functionAnalyzers) {
+      analyzersByFunction.put(analyzer.firstScopeRoot, analyzer);
+    }
+
+    // The results of the analyzers don't depend on the order in which they are added, since each
+    // analyzer has its own scopes. The registry does depend on the order of the enums and typedefs.
+    addFirstOrderInfo(outsideFunctions);
+    List<NonNullableNameDeclaration> declarations = outsideFunctions.nonNullableNameDeclarations;
+    Iterator<SkippedFunction> skippedFunctions = outsideFunctions.skippedFunctions.iterator();
+    SkippedFunction nextSkipped = skippedFunctions.hasNext() ? skippedFunctions.next() : null;
+    for (int i = 0; i <= declarations.size(); i++) {
+      // The declarations in a function come before those that follow the function in the AST.
+      while (nextSkipped != null && nextSkipped.declarationIndex() == i) {
+        FirstOrderFunctionAnalyzer analyzer =
+            checkNotNull(analyzersByFunction.get(nextSkipped.function()), nextSkipped);
+        addFirstOrderInfo(analyzer);
+        analyzer.nonNullableNameDeclarations.forEach(this::identifyNonNullableName);
+        nextSkipped = skippedFunctions.hasNext() ? skippedFunctions.next() : null;
+      }
+      if (i < declarations.size()) {
+        identifyNonNullableName(declarations.get(i));
       }
     }
+  }
 
-    private void identifyEnumOrTypedefDeclaration(
-        NodeTraversal t, Node nameNode, @Nullable Node rvalue, JSDocInfo info) {
-      if (!nameNode.isQualifiedName()) {
-        return;
-      }
-      if (info != null && info.hasEnumParameterType()) {
-        registry.identifyNonNullableName(t.getScope(), nameNode.getQualifiedName());
-      } else if (info != null && info.hasTypedefType()) {
-        registry.identifyNonNullableName(t.getScope(), nameNode.getQualifiedName());
-      } else if (rvalue != null
-          && rvalue.isQualifiedName()
-          && registry.isNonNullableName(t.getScope(), rvalue.getQualifiedName())
-          && NodeUtil.isConstantDeclaration(info, nameNode)) {
-        registry.identifyNonNullableName(t.getScope(), nameNode.getQualifiedName());
-      }
+  private void addFirstOrderInfo(FirstOrderFunctionAnalyzer analyzer) {
+    reservedNamesForScope.putAll(analyzer.reservedNamesForScope);
+    functionsWithNonEmptyReturns.addAll(analyzer.functionsWithNonEmptyReturns);
+    escapedVarNames.addAll(analyzer.escapedVarNames);
+    assignedVarNames.addAll(analyzer.assignedVarNames);
+  }
+
+  /** Adds an enum or typedef to the registry's list of non-nullable types. */
+  private void identifyNonNullableName(NonNullableNameDeclaration declaration) {
+    String aliasedName = declaration.aliasedName();
+    if (aliasedName == null || typeRegistry.isNonNullableName(declaration.scope(), aliasedName)) {
+      typeRegistry.identifyNonNullableName(declaration.scope(), declaration.name());
     }
   }
 
@@ -3671,23 +3681,78 @@ final class TypedScopeCreator implements ScopeCreator, StaticSymbolTable<TypedVa
   } // end ClassScopeBuilder
 
   /**
-   * Does a first-order function analysis that just looks at simple things like what variables are
-   * escaped, and whether 'this' is used.
+   * A declaration of {@code name} as an enum or typedef, or as a constant alias of {@code
+   * aliasedName}, which makes {@code name} non-nullable if {@code aliasedName} is.
+   */
+  private record NonNullableNameDeclaration(
+      Scope scope, String name, @Nullable String aliasedName) {}
+
+  /**
+   * A function that an analyzer didn't traverse, whose declarations come before the {@code
+   * declarationIndex}th declaration that the analyzer found.
+   */
+  private record SkippedFunction(Node function, int declarationIndex) {}
+
+  /**
+   * Gathers information about the variables and functions of the program, and the names of its
+   * enums and typedefs, before the typed scopes are created.
    *
-   * <p>The syntactic scopes created in this traversal are also stored for later use.
+   * <p>The analyzer only looks at the AST and its syntactic scopes, and keeps what it finds to
+   * itself, so separate analyzers can run on separate functions concurrently. Their results are
+   * then added to this {@link TypedScopeCreator}, and the enums and typedefs to the registry.
    */
-  private class FirstOrderFunctionAnalyzer extends AbstractScopedCallback {
+  private static final class FirstOrderFunctionAnalyzer implements ScopedCallback {
+    private final boolean skipFunctions;
+
+    // The results, which correspond to the fields of TypedScopeCreator with the same names.
+    final ListMultimap<Node, String> reservedNamesForScope =
+        MultimapBuilder.hashKeys().arrayListValues().build();
+    final Set<Node> functionsWithNonEmptyReturns = new LinkedHashSet<>();
+    final Set<ScopedName> escapedVarNames = new LinkedHashSet<>();
+    final Multiset<ScopedName> assignedVarNames = HashMultiset.create();
+
+    /** The possible enum and typedef declarations, in the order in which they were visited. */
+    final List<NonNullableNameDeclaration> nonNullableNameDeclarations = new ArrayList<>();
+
+    final List<SkippedFunction> skippedFunctions = new ArrayList<>();
+    @Nullable Node firstScopeRoot;
+
+    /**
+     * @param skipFunctions whether to leave out the functions, and the code in them, for other
+     *     analyzers
+     */
+    FirstOrderFunctionAnalyzer(boolean skipFunctions) {
+      this.skipFunctions = skipFunctions;
+    }
+
+    @Override
+    public boolean shouldTraverse(NodeTraversal t, Node n, Node parent) {
+      if (skipFunctions && n.isFunction()) {
+        skippedFunctions.add(new SkippedFunction(n, nonNullableNameDeclarations.size()));
+        return false;
+      }
+      return true;
+    }
+
     @Override
     public void enterScope(NodeTraversal t) {
       Scope scope = t.getScope();
       Node root = scope.getRootNode();
+      if (firstScopeRoot == null) {
+        firstScopeRoot = root;
+      }
       for (Var symbol : scope.getVarIterable()) {
         reservedNamesForScope.put(root, symbol.getName());
       }
     }
 
+    @Override
+    public void exitScope(NodeTraversal t) {}
+
     @Override
     public void visit(NodeTraversal t, Node n, Node parent) {
+      findNonNullableNameDeclarations(t, n);
+
       if (t.inGlobalScope()) {
         // The first-order function analyzer looks at two types of variables:
         //
@@ -3739,6 +3804,49 @@ final class TypedScopeCreator implements ScopeCreator, StaticSymbolTable<TypedVa
         }
       }
     }
+
+    private void findNonNullableNameDeclarations(NodeTraversal t, Node node) {
+      switch (node.getToken()) {
+        case LET, CONST, VAR -> {
+          for (Node child = node.getFirstChild(); child != null; child = child.getNext()) {
+            // TODO(b/116853368): make this work for destructuring aliases as well.
+            findEnumOrTypedefDeclaration(
+                t, child, child.getFirstChild(), NodeUtil.getBestJSDocInfo(child));
+          }
+        }
+        case EXPR_RESULT -> {
+          Node firstChild = node.getFirstChild();
+          if (firstChild.isAssign()) {
+            Node assign = firstChild;
+            findEnumOrTypedefDeclaration(
+                t, assign.getFirstChild(), assign.getSecondChild(), assign.getJSDocInfo());
+          } else if (firstChild.isGetProp()) {
+            findEnumOrTypedefDeclaration(
+                t, firstChild, /* rvalue= */ null, firstChild.getJSDocInfo());
+          }
+        }
+        default -> {}
+      }
+    }
+
+    private void findEnumOrTypedefDeclaration(
+        NodeTraversal t, Node nameNode, @Nullable Node rvalue, JSDocInfo info) {
+      if (!nameNode.isQualifiedName()) {
+        return;
+      }
+      if (info != null && (info.hasEnumParameterType() || info.hasTypedefType())) {
+        nonNullableNameDeclarations.add(
+            new NonNullableNameDeclaration(t.getScope(), nameNode.getQualifiedName(), null));
+      } else if (rvalue != null
+          && rvalue.isQualifiedName()
+          && NodeUtil.isConstantDeclaration(info, nameNode)) {
+        // Whether the alias is non-nullable depends on the declarations before it, which other
+        // analyzers may find.
+        nonNullableNameDeclarations.add(
+            new NonNullableNameDeclaration(
+                t.getScope(), nameNode.getQualifiedName(), rvalue.getQualifiedName()));
+      }
+    }
   }
 
   static @Nullable String containingGoogModuleIdOf(TypedScope scope) {
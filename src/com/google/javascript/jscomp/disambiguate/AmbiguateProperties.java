@@ -35,15 +35,11 @@ import com.google.javascript.jscomp.colors.Color;
 import com.google.javascript.jscomp.colors.ColorRegistry;
 import com.google.javascript.jscomp.colors.StandardColors;
 import com.google.javascript.jscomp.diagnostic.LogFile;
-import com.google.javascript.jscomp.graph.AdjacencyGraph;
-import com.google.javascript.jscomp.graph.Annotation;
 import com.google.javascript.jscomp.graph.FixedPointGraphTraversal;
-import com.google.javascript.jscomp.graph.GraphColoring;
-import com.google.javascript.jscomp.graph.GraphColoring.GreedyGraphColoring;
-import com.google.javascript.jscomp.graph.GraphNode;
+import com.google.javascript.jscomp.graph.GreedyIntColoring;
+import com.google.javascript.jscomp.graph.IntSetRows;
 import com.google.javascript.jscomp.graph.LinkedDirectedGraph;
 import com.google.javascript.jscomp.graph.LowestCommonAncestorFinder;
-import com.google.javascript.jscomp.graph.SubGraph;
 import com.google.javascript.rhino.Node;
 import java.util.ArrayList;
 import java.util.BitSet;
@@ -189,38 +185,46 @@ public class AmbiguateProperties implements CompilerPass {
             })
         .computeFixedPoint(colorGraph);
 
-    // Fill in all transitive edges in subtyping graph per property
-    for (Property prop : propertyMap.values()) {
-      if (prop.relatedColorsSeeds == null) {
-        continue;
-      }
-      for (ColorGraphNode color : prop.relatedColorsSeeds.keySet()) {
-        prop.relatedColors.or(color.getSubtypeIndices());
-      }
-      prop.relatedColorsSeeds = null;
-    }
-
     ImmutableSet.Builder<String> reservedNames =
         ImmutableSet.<String>builder().addAll(externedNames).addAll(quotedNames);
-    int numRenamedPropertyNames = 0;
     int numSkippedPropertyNames = 0;
-    ArrayList<PropertyGraphNode> nodes = new ArrayList<>(propertyMap.size());
+    ArrayList<Property> renamedProps = new ArrayList<>(propertyMap.size());
     for (Property prop : propertyMap.values()) {
       if (prop.skipAmbiguating) {
         ++numSkippedPropertyNames;
         reservedNames.add(prop.oldName);
       } else {
-        ++numRenamedPropertyNames;
-        nodes.add(new PropertyGraphNode(prop));
+        renamedProps.add(prop);
       }
     }
-    final int finalNumRenamedPropertyNames = numRenamedPropertyNames;
+    final int finalNumRenamedPropertyNames = renamedProps.size();
     final int finalNumSkippedPropertyNames = numSkippedPropertyNames;
 
-    PropertyGraph propertyGraph = new PropertyGraph(nodes);
-    GraphColoring<Property, Void> coloring =
-        new GreedyGraphColoring<>(propertyGraph, FREQUENCY_COMPARATOR);
-    int numNewPropertyNames = coloring.color();
+    // Properties interfere if they are used on related colors. Give each property an id in the
+    // order in which it should be colored, and record its related colors under that id.
+    renamedProps.sort(FREQUENCY_COMPARATOR);
+    int[] coloringOrder = new int[renamedProps.size()];
+    IntSetRows.Builder relatedColors = IntSetRows.builder();
+    BitSet relatedColorsOfProp = new BitSet();
+    for (int i = 0; i < renamedProps.size(); i++) {
+      Property prop = renamedProps.get(i);
+      coloringOrder[i] = i;
+      // Fill in all transitive edges in subtyping graph for this property. For example if this
+      // property was accessed off of Iterable, then the related colors include Array as well.
+      relatedColorsOfProp.clear();
+      if (prop.relatedColorsSeeds != null) {
+        for (ColorGraphNode color : prop.relatedColorsSeeds) {
+          relatedColorsOfProp.or(color.getSubtypeIndices());
+        }
+        prop.relatedColorsSeeds = null;
+      }
+      relatedColors.add(relatedColorsOfProp);
+    }
+
+    int[] propColors = GreedyIntColoring.colorByKeys(coloringOrder, relatedColors.build());
+    // Count at least one name, as GraphColoring did even with no properties to rename, so that the
+    // summary below reports the same counts as before.
+    int numNewPropertyNames = Math.max(1, GreedyIntColoring.getColorCount(propColors));
 
     // Generate new names for the properties that will be renamed.
     NameGenerator nameGen =
@@ -235,10 +239,14 @@ public class AmbiguateProperties implements CompilerPass {
     }
 
     // Translate the color of each Property instance to a name.
-    for (PropertyGraphNode node : propertyGraph.getNodes()) {
-      node.getValue().newName = colorMap[node.getAnnotation().hashCode()];
-      if (renamingMap != null) {
-        renamingMap.put(node.getValue().oldName, node.getValue().newName);
+    for (int i = 0; i < renamedProps.size(); i++) {
+      renamedProps.get(i).newName = colorMap[propColors[i]];
+    }
+    if (renamingMap != null) {
+      for (Property prop : propertyMap.values()) {
+        if (!prop.skipAmbiguating) {
+          renamingMap.put(prop.oldName, prop.newName);
+        }
       }
     }
 
@@ -275,98 +283,6 @@ public class AmbiguateProperties implements CompilerPass {
     compiler.reportAmbiguatePropertiesSummary(summarySupplier);
   }
 
-  static class PropertyGraph implements AdjacencyGraph<Property, Void> {
-    private final ArrayList<PropertyGraphNode> nodes;
-
-    PropertyGraph(ArrayList<PropertyGraphNode> nodes) {
-      this.nodes = nodes;
-    }
-
-    @Override
-    public List<PropertyGraphNode> getNodes() {
-      return nodes;
-    }
-
-    @Override
-    public int getNodeCount() {
-      return nodes.size();
-    }
-
-    @Override
-    public GraphNode<Property, Void> getNode(Property property) {
-      throw new RuntimeException("PropertyGraph#getNode is never called.");
-    }
-
-    @Override
-    public SubGraph<Property, Void> newSubGraph() {
-      return new PropertySubGraph();
-    }
-
-    @Override
-    public void clearNodeAnnotations() {
-      for (PropertyGraphNode node : nodes) {
-        node.setAnnotation(null);
-      }
-    }
-
-    @Override
-    public int getWeight(Property value) {
-      return value.numOccurrences;
-    }
-  }
-
-  /**
-   * A {@link SubGraph} that represents properties. The related types of the properties are used to
-   * efficiently calculate adjacency information.
-   */
-  static class PropertySubGraph implements SubGraph<Property, Void> {
-    /** Types related to properties referenced in this subgraph. */
-    final BitSet relatedTypes = new BitSet();
-
-    /**
-     * Returns true if prop is in an independent set from all properties in this sub graph. That is,
-     * if none of its related types intersects with the related types for this sub graph.
-     */
-    @Override
-    public boolean isIndependentOf(Property prop) {
-      return !this.relatedTypes.intersects(prop.relatedColors);
-    }
-
-    /**
-     * Adds the node to the sub graph, adding all its related types to the related types for the sub
-     * graph.
-     */
-    @Override
-    public void addNode(Property prop) {
-      this.relatedTypes.or(prop.relatedColors);
-    }
-  }
-
-  static class PropertyGraphNode implements GraphNode<Property, Void> {
-    Property property;
-    protected Annotation annotation;
-
-    PropertyGraphNode(Property property) {
-      this.property = property;
-    }
-
-    @Override
-    public Property getValue() {
-      return property;
-    }
-
-    @Override
-    @SuppressWarnings("unchecked")
-    public <A extends Annotation> A getAnnotation() {
-      return (A) annotation;
-    }
-
-    @Override
-    public void setAnnotation(@Nullable Annotation data) {
-      annotation = data;
-    }
-  }
-
   /**
    * Finds all property references, recording the types on which they occur, and records all
    * constructors and their instance types in the {@link ColorGraphNodeFactory}.
@@ -604,10 +520,7 @@ public class AmbiguateProperties implements CompilerPass {
     int numOccurrences;
     boolean skipAmbiguating;
     // All colors upon which this property was directly accessed. For "a.b" this includes "a"'s type
-    @Nullable LinkedHashMap<ColorGraphNode, Integer> relatedColorsSeeds = null;
-    // includes relatedTypesSeeds + all subtypes of those seed colors. For example if this property
-    // was accessed off of Iterable, then this bitset will include Array as well.
-    final BitSet relatedColors = new BitSet();
+    @Nullable LinkedHashSet<ColorGraphNode> relatedColorsSeeds = null;
 
     Property(String name) {
       this.oldName = name;
@@ -627,11 +540,11 @@ public class AmbiguateProperties implements CompilerPass {
       }
 
       if (relatedColorsSeeds == null) {
-        this.relatedColorsSeeds = new LinkedHashMap<>();
+        this.relatedColorsSeeds = new LinkedHashSet<>();
       }
 
       ColorGraphNode newColorGraphNode = graphNodeFactory.createNode(color);
-      relatedColorsSeeds.put(newColorGraphNode, 0);
+      relatedColorsSeeds.add(newColorGraphNode);
     }
   }
 }
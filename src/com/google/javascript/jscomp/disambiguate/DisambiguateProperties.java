@@ -70,12 +70,27 @@ public final class DisambiguateProperties implements CompilerPass {
   private final AbstractCompiler compiler;
   private final ImmutableSet<String> propertiesThatMustDisambiguate;
   private final ColorRegistry registry;
+  private final int numParallelThreads;
 
   public DisambiguateProperties(
       AbstractCompiler compiler, ImmutableSet<String> propertiesThatMustDisambiguate) {
+    this(compiler, propertiesThatMustDisambiguate, 1);
+  }
+
+  /**
+   * @param numParallelThreads the number of tasks clusters are propagated in, on the {@link
+   *     AbstractCompiler#getParallelTaskExecutor threads of the compiler}. Clusters are named after
+   *     their type with the lowest index, so the output does not depend on the number of threads.
+   */
+  public DisambiguateProperties(
+      AbstractCompiler compiler,
+      ImmutableSet<String> propertiesThatMustDisambiguate,
+      int numParallelThreads) {
+    checkArgument(numParallelThreads > 0, numParallelThreads);
     this.compiler = compiler;
     this.propertiesThatMustDisambiguate = propertiesThatMustDisambiguate;
     this.registry = this.compiler.getColorRegistry();
+    this.numParallelThreads = numParallelThreads;
   }
 
   @Override
@@ -88,7 +103,6 @@ public final class DisambiguateProperties implements CompilerPass {
             flattener, this.compiler.getCodingConvention()::isPropertyRenameFunction);
     ColorGraphBuilder graphBuilder =
         new ColorGraphBuilder(flattener, LowestCommonAncestorFinder::new, this.registry);
-    ClusterPropagator propagator = new ClusterPropagator();
     UseSiteRenamer renamer =
         new UseSiteRenamer(/* mutationCb= */ this.compiler::reportChangeToEnclosingScope);
 
@@ -145,7 +159,13 @@ public final class DisambiguateProperties implements CompilerPass {
 
     invalidateBasedOnType(flattener);
 
-    FixedPointGraphTraversal.newTraversal(propagator).computeFixedPoint(graph);
+    if (this.numParallelThreads > 1) {
+      new ParallelClusterPropagator(
+              this.compiler.getParallelTaskExecutor(), this.numParallelThreads)
+          .propagate(graph, propIndex.values());
+    } else {
+      FixedPointGraphTraversal.newTraversal(new ClusterPropagator()).computeFixedPoint(graph);
+    }
 
     TrackerSummaryGenerator trackerSummaryGenerator = new TrackerSummaryGenerator();
     for (PropertyClustering prop : propIndex.values()) {
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.disambiguate;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.javascript.jscomp.ParallelTaskExecutor;
+import com.google.javascript.jscomp.colors.StandardColors;
+import com.google.javascript.jscomp.disambiguate.ColorGraphNode.PropAssociation;
+import com.google.javascript.jscomp.graph.DiGraph;
+import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
+import com.google.javascript.jscomp.graph.FixedPointGraphTraversal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Does the work of {@link ClusterPropagator} on several threads.
+ *
+ * <p>Whether a property name flows along an edge of the type graph does not depend on any other
+ * property name. So the property names are split into shards, and each shard computes its own fixed
+ * point over the shared, read-only graph. A shard only writes to the clusters of its own properties
+ * and to its own record of which types its properties reach. Those records are copied into the
+ * {@link ColorGraphNode}s afterwards, in shard order, so the result does not depend on timing.
+ *
+ * <p>The clusters found are the same as with {@link ClusterPropagator}, but the order of the unions
+ * is not, so the representative of a cluster may differ. {@link UseSiteRenamer} does not derive
+ * names from the representative for this reason.
+ */
+final class ParallelClusterPropagator {
+
+  private final ParallelTaskExecutor executor;
+  private final int numShards;
+
+  /**
+   * @param numShards the number of shards the properties are split into, each of which is
+   *     propagated by one task on {@code executor}
+   */
+  ParallelClusterPropagator(ParallelTaskExecutor executor, int numShards) {
+    checkArgument(numShards > 1, numShards);
+    this.executor = executor;
+    this.numShards = numShards;
+  }
+
+  /** Propagates the given properties over the graph until a fixed point is reached. */
+  void propagate(DiGraph<ColorGraphNode, Object> graph, Collection<PropertyClustering> props) {
+    List<Shard> shards = createShards(graph, props);
+    List<Runnable> tasks = new ArrayList<>(shards.size());
+    for (Shard shard : shards) {
+      tasks.add(() -> shard.propagate(graph));
+    }
+    executor.runAll(tasks);
+
+    for (Shard shard : shards) {
+      shard.copyAssociationsToGraph();
+    }
+  }
+
+  /**
+   * Splits the properties round-robin, in their given order, and records which types each shard's
+   * properties start on.
+   */
+  private List<Shard> createShards(
+      DiGraph<ColorGraphNode, Object> graph, Collection<PropertyClustering> props) {
+    LinkedHashMap<PropertyClustering, Shard> shardOfProp = new LinkedHashMap<>();
+    List<Shard> shards = new ArrayList<>();
+    for (PropertyClustering prop : props) {
+      if (prop.isInvalidated()) {
+        continue;
+      }
+      if (shards.size() < this.numShards) {
+        shards.add(new Shard());
+      }
+      shardOfProp.put(prop, shards.get(shardOfProp.size() % this.numShards));
+    }
+
+    for (DiGraphNode<ColorGraphNode, Object> node : graph.getNodes()) {
+      ColorGraphNode type = node.getValue();
+      for (PropertyClustering prop : type.getAssociatedProps().keySet()) {
+        Shard shard = shardOfProp.get(prop);
+        if (shard != null) {
+          shard.propsOfType.computeIfAbsent(type, (t) -> new LinkedHashSet<>()).add(prop);
+        }
+      }
+    }
+    return shards;
+  }
+
+  /** The properties of one shard, and the types they have reached so far. */
+  private static final class Shard
+      implements FixedPointGraphTraversal.EdgeCallback<ColorGraphNode, Object> {
+
+    private final LinkedHashMap<ColorGraphNode, LinkedHashSet<PropertyClustering>> propsOfType =
+        new LinkedHashMap<>();
+
+    void propagate(DiGraph<ColorGraphNode, Object> graph) {
+      // Types without any of this shard's properties have nothing to propagate, so they are only
+      // visited once one of their supertypes gives them some.
+      FixedPointGraphTraversal.newTraversal(this)
+          .computeFixedPoint(graph, new LinkedHashSet<>(this.propsOfType.keySet()));
+    }
+
+    @Override
+    public boolean traverseEdge(ColorGraphNode src, Object unused, ColorGraphNode dest) {
+      if (src.getColor() == StandardColors.TOP_OBJECT) {
+        // See ClusterPropagator. All properties of TOP_OBJECT are already invalidated.
+        return false;
+      }
+      LinkedHashSet<PropertyClustering> srcProps = this.propsOfType.get(src);
+      if (srcProps == null) {
+        return false;
+      }
+
+      LinkedHashSet<PropertyClustering> destProps =
+          this.propsOfType.computeIfAbsent(dest, (t) -> new LinkedHashSet<>());
+      int startDestPropCount = destProps.size();
+      for (PropertyClustering prop : srcProps) {
+        destProps.add(prop);
+        prop.getClusters().union(src, dest);
+      }
+
+      // Were any properties added to dest?
+      return startDestPropCount < destProps.size();
+    }
+
+    void copyAssociationsToGraph() {
+      this.propsOfType.forEach(
+          (type, props) -> {
+            for (PropertyClustering prop : props) {
+              type.getAssociatedProps().putIfAbsent(prop, PropAssociation.SUPERTYPE);
+            }
+          });
+    }
+  }
+}
@@ -16,13 +16,12 @@
 
 package com.google.javascript.jscomp.disambiguate;
 
-import static com.google.common.collect.ImmutableMap.toImmutableMap;
-import static java.util.function.Function.identity;
-
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.javascript.jscomp.graph.StandardUnionFind;
 import com.google.javascript.rhino.Node;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Consumer;
@@ -90,18 +89,29 @@ final class UseSiteRenamer {
   /**
    * Creates a unique name for each cluster in {@code prop} and maps it to the cluster
    * representative.
+   *
+   * <p>Each cluster is named after its type with the lowest index, rather than after its
+   * representative. The representative depends on the order in which types were unioned, which
+   * differs when clusters are propagated in parallel.
    */
   private static ImmutableMap<ColorGraphNode, String> createAllClusterNames(
       PropertyClustering prop) {
-    return prop.getClusters().allRepresentatives().stream()
-        .collect(toImmutableMap(identity(), (r) -> createClusterName(prop, r)));
+    LinkedHashMap<ColorGraphNode, Integer> lowestIndexOfRep = new LinkedHashMap<>();
+    StandardUnionFind<ColorGraphNode> clusters = prop.getClusters();
+    for (ColorGraphNode type : clusters.elements()) {
+      lowestIndexOfRep.merge(clusters.find(type), type.getIndex(), Math::min);
+    }
+    ImmutableMap.Builder<ColorGraphNode, String> names = ImmutableMap.builder();
+    lowestIndexOfRep.forEach((rep, index) -> names.put(rep, createClusterName(prop, rep, index)));
+    return names.buildOrThrow();
   }
 
-  private static String createClusterName(PropertyClustering prop, ColorGraphNode rep) {
+  private static String createClusterName(
+      PropertyClustering prop, ColorGraphNode rep, int clusterIndex) {
     if (Objects.equals(prop.getOriginalNameClusterRep(), rep)) {
       return prop.getName();
     }
 
-    return "JSC$" + rep.getIndex() + "_" + prop.getName();
+    return "JSC$" + clusterIndex + "_" + prop.getName();
   }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.graph;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+
+/**
+ * The algorithm of {@link GraphColoring.GreedyGraphColoring} for graphs whose nodes are the ints
+ * {@code 0..n-1}.
+ *
+ * <p>Nodes are visited in the given order. Each pass over the nodes that are still uncolored gives
+ * the next color to every node that does not interfere with a node already given that color. The
+ * result is the same as that of {@code GreedyGraphColoring} for the same order, but no graph
+ * objects, annotations or subgraphs are allocated.
+ *
+ * <p>The color of node {@code i} is element {@code i} of the returned array. Nodes that are not in
+ * the order are given the color -1.
+ */
+public final class GreedyIntColoring {
+
+  /**
+   * Colors the nodes so that no two nodes whose rows intersect have the same color.
+   *
+   * <p>This suits graphs where nodes interfere through shared keys, such as properties that are
+   * used on the same type. Node {@code i} is row {@code i} of {@code keys}.
+   */
+  public static int[] colorByKeys(int[] order, IntSetRows keys) {
+    return color(order, keys, true);
+  }
+
+  /**
+   * Colors the nodes so that no two neighbors have the same color.
+   *
+   * <p>Row {@code i} of {@code neighbors} holds the neighbors of node {@code i}. The rows must be
+   * symmetric. Whether a row contains its own node does not matter.
+   */
+  public static int[] colorByNeighbors(int[] order, IntSetRows neighbors) {
+    return color(order, neighbors, false);
+  }
+
+  /** Returns the number of colors used by {@code colors}. */
+  public static int getColorCount(int[] colors) {
+    int max = -1;
+    for (int color : colors) {
+      max = Math.max(max, color);
+    }
+    return max + 1;
+  }
+
+  /**
+   * Returns {@code nodes} sorted by descending weight, breaking ties by ascending node.
+   *
+   * @param weights the weight of each node, indexed by node
+   */
+  public static int[] sortByDescendingWeight(int[] nodes, int[] weights) {
+    long[] keys = new long[nodes.length];
+    for (int i = 0; i < nodes.length; i++) {
+      int node = nodes[i];
+      checkArgument(node >= 0 && weights[node] >= 0, node);
+      keys[i] = ((long) -weights[node] << 32) | node;
+    }
+    Arrays.sort(keys);
+    int[] sorted = new int[nodes.length];
+    for (int i = 0; i < keys.length; i++) {
+      sorted[i] = (int) keys[i];
+    }
+    return sorted;
+  }
+
+  private static int[] color(int[] order, IntSetRows rows, boolean markRows) {
+    int[] colors = new int[rows.size()];
+    Arrays.fill(colors, -1);
+
+    int[] worklist = order.clone();
+    int remaining = worklist.length;
+    // Either the keys of the nodes given the current color, or those nodes themselves.
+    long[] colored =
+        new long
+            [IntSetRows.wordsFor(
+                markRows ? rows.getUniverseSize() : Math.max(rows.getUniverseSize(), rows.size()))];
+    for (int color = 0; remaining > 0; color++) {
+      Arrays.fill(colored, 0L);
+      int kept = 0;
+      for (int i = 0; i < remaining; i++) {
+        int node = worklist[i];
+        checkArgument(colors[node] == -1, "Node %s is in the order more than once", node);
+        if (rows.intersects(node, colored)) {
+          worklist[kept++] = node;
+        } else if (markRows) {
+          colors[node] = color;
+          rows.addTo(node, colored);
+        } else {
+          colors[node] = color;
+          colored[node >>> 6] |= 1L << node;
+        }
+      }
+      remaining = kept;
+    }
+    return colors;
+  }
+
+  private GreedyIntColoring() {}
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.graph;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * An immutable list of sets of non-negative ints, such as the rows of an adjacency matrix.
+ *
+ * <p>Each row is stored either as bits or as a sorted array of its members, whichever is smaller,
+ * and all rows share two backing arrays. So a graph with many nodes and few edges per node does
+ * not pay for a full {@link BitSet} per node, nor for an object per edge.
+ *
+ * <p>Rows are compared against plain {@code long[]} bit sets owned by the caller, see {@link
+ * #newEmptySet()}.
+ */
+public final class IntSetRows {
+
+  private final long[] words;
+  private final int[] members;
+  // Row i is stored in words if dense.get(i), and in members otherwise. Its data starts at
+  // offsets[i] and takes lengths[i] entries.
+  private final int[] offsets;
+  private final int[] lengths;
+  private final BitSet dense;
+  private final int size;
+  private final int universeSize;
+
+  private IntSetRows(Builder builder) {
+    this.words = Arrays.copyOf(builder.words, builder.wordCount);
+    this.members = Arrays.copyOf(builder.members, builder.memberCount);
+    this.offsets = Arrays.copyOf(builder.offsets, builder.size);
+    this.lengths = Arrays.copyOf(builder.lengths, builder.size);
+    this.dense = (BitSet) builder.dense.clone();
+    this.size = builder.size;
+    this.universeSize = builder.universeSize;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Returns the number of rows. */
+  public int size() {
+    return size;
+  }
+
+  /** Returns one more than the largest int in any row, or 0 if all rows are empty. */
+  public int getUniverseSize() {
+    return universeSize;
+  }
+
+  /** Returns an empty bit set large enough to hold every int in any row. */
+  public long[] newEmptySet() {
+    return new long[wordsFor(universeSize)];
+  }
+
+  /** Returns whether {@code row} shares an int with {@code set}. */
+  public boolean intersects(int row, long[] set) {
+    int start = offsets[row];
+    int end = start + lengths[row];
+    if (dense.get(row)) {
+      for (int i = start; i < end; i++) {
+        if ((words[i] & set[i - start]) != 0) {
+          return true;
+        }
+      }
+    } else {
+      for (int i = start; i < end; i++) {
+        int member = members[i];
+        if ((set[member >>> 6] & (1L << member)) != 0) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /** Adds every int in {@code row} to {@code set}. */
+  public void addTo(int row, long[] set) {
+    int start = offsets[row];
+    int end = start + lengths[row];
+    if (dense.get(row)) {
+      for (int i = start; i < end; i++) {
+        set[i - start] |= words[i];
+      }
+    } else {
+      for (int i = start; i < end; i++) {
+        int member = members[i];
+        set[member >>> 6] |= 1L << member;
+      }
+    }
+  }
+
+  /** Returns whether {@code row} contains {@code value}. */
+  public boolean contains(int row, int value) {
+    checkArgument(value >= 0, value);
+    int start = offsets[row];
+    if (dense.get(row)) {
+      int word = value >>> 6;
+      return word < lengths[row] && (words[start + word] & (1L << value)) != 0;
+    }
+    return Arrays.binarySearch(members, start, start + lengths[row], value) >= 0;
+  }
+
+  static int wordsFor(int bits) {
+    return (bits + Long.SIZE - 1) >>> 6;
+  }
+
+  /** Builds an {@link IntSetRows} one row at a time. */
+  public static final class Builder {
+    private long[] words = new long[16];
+    private int wordCount = 0;
+    private int[] members = new int[16];
+    private int memberCount = 0;
+    private int[] offsets = new int[16];
+    private int[] lengths = new int[16];
+    private final BitSet dense = new BitSet();
+    private int size = 0;
+    private int universeSize = 0;
+
+    private Builder() {}
+
+    /** Appends a copy of {@code row} as the next row. */
+    public Builder add(BitSet row) {
+      if (size == offsets.length) {
+        offsets = Arrays.copyOf(offsets, size * 2);
+        lengths = Arrays.copyOf(lengths, size * 2);
+      }
+
+      int cardinality = row.cardinality();
+      int wordLength = wordsFor(row.length());
+      // A word holds as much as two members.
+      if (wordLength * 2 <= cardinality) {
+        if (wordCount + wordLength > words.length) {
+          words = Arrays.copyOf(words, Math.max(words.length * 2, wordCount + wordLength));
+        }
+        long[] rowWords = row.toLongArray();
+        System.arraycopy(rowWords, 0, words, wordCount, rowWords.length);
+        offsets[size] = wordCount;
+        lengths[size] = wordLength;
+        dense.set(size);
+        wordCount += wordLength;
+      } else {
+        if (memberCount + cardinality > members.length) {
+          members = Arrays.copyOf(members, Math.max(members.length * 2, memberCount + cardinality));
+        }
+        offsets[size] = memberCount;
+        lengths[size] = cardinality;
+        for (int i = row.nextSetBit(0); i >= 0; i = row.nextSetBit(i + 1)) {
+          members[memberCount++] = i;
+        }
+      }
+
+      universeSize = Math.max(universeSize, row.length());
+      size++;
+      return this;
+    }
+
+    public IntSetRows build() {
+      return new IntSetRows(this);
+    }
+  }
+}
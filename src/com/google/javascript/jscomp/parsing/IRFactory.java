@@ -969,7 +969,10 @@ class IRFactory {
     // Check if there are only whitespace characters between the current token and the start of the
     // comment.
     String preCommentText =
-        this.fileWithContent.contents.substring(tokenEnd.offset + 1, comment.location.start.offset);
+        this.fileWithContent
+            .contents
+            .subSequence(tokenEnd.offset + 1, comment.location.start.offset)
+            .toString();
 
     if (!preCommentText.trim().isEmpty()) {
       return null;
@@ -117,7 +117,7 @@ public final class ParserRunner {
 
   public static ParseResult parse(
       StaticSourceFile sourceFile,
-      String sourceString,
+      CharSequence sourceString,
       Config config,
       ErrorReporter errorReporter) {
     // TODO(johnlenz): unify "SourceFile", "Es6ErrorReporter" and "Config"
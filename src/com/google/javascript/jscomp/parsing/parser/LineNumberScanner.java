@@ -25,7 +25,7 @@ import java.util.Objects;
 final class LineNumberScanner {
 
   private final SourceFile sourceFile;
-  private final String contents;
+  private final CharSequence contents;
   private final int sourceLength;
   private int lastLine = -1;
   private int lastLineStart = -1;
@@ -39,7 +39,7 @@ public class Scanner {
   private final ErrorReporter errorReporter;
   private final SourceFile source;
   private final LineNumberScanner lineNumberScanner;
-  private final String contents;
+  private final CharSequence contents;
   private final int contentsLength;
   private final ArrayList<Token> currentTokens = new ArrayList<>();
   private int index;
@@ -372,7 +372,7 @@ public class Scanner {
       nextChar();
     }
     SourceRange range = lineNumberScanner.getSourceRange(startOffset, index);
-    String value = this.contents.substring(startOffset, index);
+    String value = substring(startOffset, index);
     recordComment(type, range, value);
   }
 
@@ -399,7 +399,7 @@ public class Scanner {
         }
       }
       SourceRange range = lineNumberScanner.getSourceRange(startOffset, index);
-      String value = this.contents.substring(startOffset, index);
+      String value = substring(startOffset, index);
       recordComment(type, range, value);
     } else {
       reportError("unterminated comment");
@@ -768,7 +768,7 @@ public class Scanner {
 
   private Token scanIdentifierOrKeyword(int beginToken, char ch) {
     // NOTE: This code previously used a StringBuilder to collect the characters of the identifier
-    // or keyword. Recording the staring position and using contents.substring() below instead was
+    // or keyword. Recording the staring position and using substring() below instead was
     // found to eliminate 1.84% of all JVM "frequently collected garbage" in the compilation of a
     // large project.
     int valueStartIndex = index - 1;
@@ -805,7 +805,7 @@ public class Scanner {
       ch = peekChar();
     }
 
-    String value = contents.substring(valueStartIndex, index);
+    String value = substring(valueStartIndex, index);
 
     if (isPrivateIdentifier && value.equals("#")) {
       reportError(getPosition(beginToken), "Invalid usage of #");
@@ -977,7 +977,16 @@ public class Scanner {
   }
 
   private String getTokenString(int beginIndex) {
-    return this.contents.substring(beginIndex, index);
+    return substring(beginIndex, index);
+  }
+
+  private String substring(int beginIndex, int endIndex) {
+    if (contents instanceof String string) {
+      return string.substring(beginIndex, endIndex);
+    } else if (contents instanceof SourceFile.Contents sourceContents) {
+      return sourceContents.substring(beginIndex, endIndex);
+    }
+    return contents.subSequence(beginIndex, endIndex).toString();
   }
 
   private boolean peekStringLiteralChar(char terminator) {
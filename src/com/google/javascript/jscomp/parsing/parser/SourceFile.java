@@ -21,14 +21,28 @@ import java.io.Serializable;
 /**
  * A source file.
  *
- * <p>Immutable.
+ * <p>Immutable. The contents may be a view of the file rather than a {@link String}, e.g. of a
+ * memory-mapped file, so they are only copied into a String piece by piece as tokens are scanned.
  */
 public final class SourceFile implements Serializable {
   public final String name;
-  public final String contents;
+  public final CharSequence contents;
 
-  public SourceFile(String name, String contents) {
+  public SourceFile(String name, CharSequence contents) {
     this.name = name;
     this.contents = contents;
   }
+
+  /**
+   * Contents that are not a {@link String}, which can copy a range of their chars into a String
+   * without first creating a view of that range.
+   */
+  public interface Contents extends CharSequence {
+    String substring(int start, int end);
+  }
+
+  /** Serializes the contents as a String, since a view of a file may not be serializable. */
+  private Object writeReplace() {
+    return contents instanceof String ? this : new SourceFile(name, contents.toString());
+  }
 }
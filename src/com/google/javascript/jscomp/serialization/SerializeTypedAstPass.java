@@ -20,8 +20,10 @@ import com.google.javascript.jscomp.AbstractCompiler;
 import com.google.javascript.jscomp.CompilerPass;
 import com.google.javascript.jscomp.RemoveCastNodes;
 import com.google.javascript.rhino.Node;
+import com.google.protobuf.CodedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.function.Consumer;
@@ -31,19 +33,40 @@ import java.util.function.Consumer;
  *
  * <p>Serialization means that the AST is converted to a proto representation and output to a file
  * or stream. Deserialization means the reverse process.
+ *
+ * <p>When writing to a file or stream, the TypedAst is written in shards as it is serialized, each
+ * one as an entry of a TypedAst.List, rather than built in memory first. See {@link
+ * TypedAstSerializer#serializeRoots(Node, Node, Consumer)} for the shards. The entries are preceded
+ * by the {@code sharded_format_version} of the list, which readers that don't support it reject.
+ * {@link TypedAstDeserializer} merges the entries back into one TypedAst.
  */
 public final class SerializeTypedAstPass implements CompilerPass {
 
+  /** The version of the sharded TypedAst.List written by this pass. */
+  static final int SHARDED_FORMAT_VERSION = 1;
+
   private final AbstractCompiler compiler;
-  private final Consumer<TypedAst> consumer;
+  private final ShardWriter writer;
   private final SerializationOptions serializationOptions;
 
   SerializeTypedAstPass(
       AbstractCompiler compiler,
       Consumer<TypedAst> astConsumer,
       SerializationOptions serializationOptions) {
+    this(
+        compiler,
+        serialization -> {
+          TypedAst.Builder ast = TypedAst.newBuilder();
+          serialization.accept(shard -> ast.mergeFrom(shard));
+          astConsumer.accept(ast.build());
+        },
+        serializationOptions);
+  }
+
+  private SerializeTypedAstPass(
+      AbstractCompiler compiler, ShardWriter writer, SerializationOptions serializationOptions) {
     this.compiler = compiler;
-    this.consumer = astConsumer;
+    this.writer = writer;
     this.serializationOptions = serializationOptions;
   }
 
@@ -55,10 +78,10 @@ public final class SerializeTypedAstPass implements CompilerPass {
    */
   public static SerializeTypedAstPass createFromOutputStream(
       AbstractCompiler c, OutputStream out, SerializationOptions serializationOptions) {
-    Consumer<TypedAst> toOutputStream =
-        ast -> {
+    ShardWriter toOutputStream =
+        serialization -> {
           try {
-            TypedAst.List.newBuilder().addTypedAsts(ast).build().writeTo(out);
+            writeShards(out, serialization);
           } catch (IOException e) {
             throw new IllegalArgumentException("Cannot write to stream", e);
           }
@@ -69,10 +92,10 @@ public final class SerializeTypedAstPass implements CompilerPass {
   /** Serializes a gzipped TypedAst to the specified outputPath */
   public static SerializeTypedAstPass createFromPath(
       AbstractCompiler compiler, Path outputPath, SerializationOptions serializationOptions) {
-    Consumer<TypedAst> toPath =
-        ast -> {
+    ShardWriter toPath =
+        serialization -> {
           try (OutputStream out = new FastGzipOutputStream(Files.newOutputStream(outputPath))) {
-            TypedAst.List.newBuilder().addTypedAsts(ast).build().writeTo(out);
+            writeShards(out, serialization);
           } catch (IOException e) {
             throw new IllegalArgumentException("Cannot create TypedAst output file", e);
           }
@@ -80,11 +103,42 @@ public final class SerializeTypedAstPass implements CompilerPass {
     return new SerializeTypedAstPass(compiler, toPath, serializationOptions);
   }
 
+  /**
+   * Writes the format version and then each shard passed to the consumer as an entry of an encoded
+   * TypedAst.List.
+   */
+  private static void writeShards(OutputStream out, Consumer<Consumer<TypedAst>> serialization)
+      throws IOException {
+    CodedOutputStream codedOut = CodedOutputStream.newInstance(out);
+    codedOut.writeUInt32(TypedAst.List.SHARDED_FORMAT_VERSION_FIELD_NUMBER, SHARDED_FORMAT_VERSION);
+    try {
+      serialization.accept(
+          shard -> {
+            try {
+              codedOut.writeMessage(TypedAst.List.TYPED_ASTS_FIELD_NUMBER, shard);
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    codedOut.flush();
+  }
+
   @Override
   public void process(Node externs, Node root) {
     new RemoveCastNodes(compiler).process(externs, root);
     TypedAstSerializer serializer = new TypedAstSerializer(this.compiler, serializationOptions);
-    TypedAst ast = serializer.serializeRoots(externs, root);
-    consumer.accept(ast);
+    writer.write(shardConsumer -> serializer.serializeRoots(externs, root, shardConsumer));
+  }
+
+  /** Outputs the shards of a TypedAst. */
+  private interface ShardWriter {
+    /**
+     * Runs {@code serialization}, which passes each shard to the given consumer, and then finishes
+     * the output.
+     */
+    void write(Consumer<Consumer<TypedAst>> serialization);
   }
 }
@@ -43,8 +43,12 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import org.jspecify.annotations.Nullable;
@@ -405,9 +409,27 @@ public final class TypedAstDeserializer {
       // in some compiler modes the TypedAst.List may contain thousands of TypedAst objects, and
       // pulling them all into memory at once is unnecessarily expensive. Instead we read a single
       // TypedAst object at a time from the stream.
+      //
+      // A TypedAst may also be split over several consecutive entries, as SerializeTypedAstPass
+      // writes them, with the pools in the last one. Such entries are preceded by a
+      // sharded_format_version, and are merged until the one with the string pool.
       TypedAst.Builder typedAstBuilder = TypedAst.newBuilder();
+      boolean inShardedTypedAst = false;
       while (!codedInput.isAtEnd()) {
         int tag = codedInput.readTag();
+        if (WireFormat.getTagFieldNumber(tag) == TypedAst.List.SHARDED_FORMAT_VERSION_FIELD_NUMBER
+            && WireFormat.getTagWireType(tag) == WireFormat.WIRETYPE_VARINT) {
+          int version = codedInput.readUInt32();
+          if (version != SerializeTypedAstPass.SHARDED_FORMAT_VERSION) {
+            throw new InvalidProtocolBufferException(
+                "Unsupported sharded TypedAst format version " + version);
+          }
+          if (inShardedTypedAst) {
+            throw new InvalidProtocolBufferException("TypedAst is missing its string pool");
+          }
+          inShardedTypedAst = true;
+          continue;
+        }
         if (WireFormat.getTagFieldNumber(tag) != TypedAst.List.TYPED_ASTS_FIELD_NUMBER
             || WireFormat.getTagWireType(tag) != WireFormat.WIRETYPE_LENGTH_DELIMITED) {
           throw new InvalidProtocolBufferException(
@@ -417,17 +439,85 @@ public final class TypedAstDeserializer {
                   + WireFormat.getTagWireType(tag));
         }
         codedInput.readMessage(typedAstBuilder, ExtensionRegistry.getEmptyRegistry());
+        codedInput.resetSizeCounter();
+        if (inShardedTypedAst && !typedAstBuilder.hasStringPool()) {
+          continue;
+        }
         TypedAst typedAst = typedAstBuilder.build();
         typedAstBuilder.clear();
-        codedInput.resetSizeCounter();
+        inShardedTypedAst = false;
         deserializer.deserializeTypedAst(
             typedAst, compiler, resolveSourceMapAnnotations, parseInlineSourceMaps);
       }
+      if (inShardedTypedAst) {
+        throw new InvalidProtocolBufferException("TypedAst is missing its string pool");
+      }
     } catch (IOException ex) {
       throw new IllegalArgumentException("Cannot read from TypedAST input stream", ex);
     }
   }
 
+  /**
+   * Starts deserializing the given SCRIPTs of the given AST on the given executor, in the given
+   * order.
+   *
+   * <p>Each supplier in the filesystem is replaced by one that waits for its script to be ready, so
+   * the caller can keep consuming scripts in order while the rest are still being deserialized.
+   * The scripts should be given in the order the caller consumes them, so that the first ones are
+   * queued first. This is safe because every shard has its own string and color pools, which are
+   * only read once the AST is deserialized, and strings are interned through the thread-safe
+   * {@link com.google.javascript.rhino.RhinoStringPool.LazyInternedStringList}.
+   *
+   * <p>The executor is expected to run tasks on threads with enough stack space to deserialize
+   * deeply nested ASTs.
+   */
+  public static void startDeserializingScripts(
+      DeserializedAst ast, Iterable<SourceFile> scripts, Executor executor) {
+    ConcurrentMap<SourceFile, Supplier<Node>> filesystem = ast.getFilesystem();
+    for (SourceFile script : scripts) {
+      Supplier<Node> deserializer = filesystem.get(script);
+      if (deserializer == null || deserializer instanceof PrefetchedScript) {
+        continue;
+      }
+      Supplier<Node> prefetched =
+          new PrefetchedScript(CompletableFuture.supplyAsync(deserializer, executor), deserializer);
+      filesystem.replace(script, deserializer, prefetched);
+    }
+  }
+
+  /**
+   * Returns a script deserialized ahead of time the first time it is called, and deserializes a new
+   * copy on later calls, as the filesystem suppliers are expected to.
+   */
+  private static final class PrefetchedScript implements Supplier<Node> {
+    private final CompletableFuture<Node> prefetched;
+    private final Supplier<Node> deserializer;
+    private final AtomicBoolean taken = new AtomicBoolean();
+
+    PrefetchedScript(CompletableFuture<Node> prefetched, Supplier<Node> deserializer) {
+      this.prefetched = prefetched;
+      this.deserializer = deserializer;
+    }
+
+    @Override
+    public Node get() {
+      if (taken.getAndSet(true)) {
+        return deserializer.get();
+      }
+      try {
+        return prefetched.join();
+      } catch (CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtimeException) {
+          throw runtimeException;
+        } else if (cause instanceof Error error) {
+          throw error;
+        }
+        throw e;
+      }
+    }
+  }
+
   /** The result of deserializing a TypedAst.List */
   @AutoValue
   public abstract static class DeserializedAst {
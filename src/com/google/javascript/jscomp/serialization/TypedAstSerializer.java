@@ -35,6 +35,7 @@ import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.jstype.JSType;
 import java.util.ArrayDeque;
 import java.util.LinkedHashMap;
+import java.util.function.Consumer;
 import org.jspecify.annotations.Nullable;
 
 /** Transforms a compiler AST into a serialized TypedAst object. */
@@ -57,6 +58,21 @@ final class TypedAstSerializer {
 
   /** Transforms the given compiler AST root nodes into into a serialized TypedAst object */
   TypedAst serializeRoots(Node externsRoot, Node jsRoot) {
+    TypedAst.Builder builder = TypedAst.newBuilder();
+    serializeRoots(externsRoot, jsRoot, shard -> builder.mergeFrom(shard));
+    return builder.build();
+  }
+
+  /**
+   * Transforms the given compiler AST root nodes into a serialized TypedAst, handing it to {@code
+   * shardConsumer} in shards as it goes, so that it never has to be in memory all at once.
+   *
+   * <p>There is one shard per SCRIPT, holding its {@link LazyAst}, passed on as soon as the SCRIPT
+   * is serialized. The last shard holds the pools and the other fields, which can only be built
+   * once every SCRIPT is serialized. Merging the shards in order gives the TypedAst returned by
+   * {@link #serializeRoots(Node, Node)}.
+   */
+  void serializeRoots(Node externsRoot, Node jsRoot, Consumer<TypedAst> shardConsumer) {
     checkArgument(externsRoot.isRoot());
     checkArgument(jsRoot.isRoot());
 
@@ -71,20 +87,21 @@ final class TypedAstSerializer {
       this.typeSerializer = new NoOpTypeSerializer();
     }
 
-    TypedAst.Builder builder = TypedAst.newBuilder();
     for (Node script = externsRoot.getFirstChild(); script != null; script = script.getNext()) {
       if (NodeUtil.isFromTypeSummary(script)) {
         continue;
       }
-      builder.addExternAst(serializeScriptNode(script));
+      shardConsumer.accept(TypedAst.newBuilder().addExternAst(serializeScriptNode(script)).build());
     }
     for (Node script = jsRoot.getFirstChild(); script != null; script = script.getNext()) {
       if (NodeUtil.isFromTypeSummary(script)) {
         continue;
       }
-      builder.addCodeAst(serializeScriptNode(script));
+      shardConsumer.accept(TypedAst.newBuilder().addCodeAst(serializeScriptNode(script)).build());
     }
 
+    TypedAst.Builder builder = TypedAst.newBuilder();
+
     SourceFilePool sourceFiles =
         SourceFilePool.newBuilder()
             .addAllSourceFile(
@@ -101,12 +118,13 @@ final class TypedAstSerializer {
       builder.setExternsSummary(externsSummary);
     }
 
-    return builder
-        .addAllRuntimeLibraryToInject(serializationMode.runtimeLibraries())
-        .setTypePool(typeSerializer.generateTypePool())
-        .setStringPool(this.stringPool.build().toProto())
-        .setSourceFilePool(sourceFiles)
-        .build();
+    shardConsumer.accept(
+        builder
+            .addAllRuntimeLibraryToInject(serializationMode.runtimeLibraries())
+            .setTypePool(typeSerializer.generateTypePool())
+            .setStringPool(this.stringPool.build().toProto())
+            .setSourceFilePool(sourceFiles)
+            .build());
   }
 
   private LazyAst serializeScriptNode(Node script) {
@@ -216,6 +216,21 @@ public class Node {
   // Avoid cloning "values" repeatedly in hot code, we save it off now.
   private static final Prop[] propValues = Prop.values();
 
+  /** The number of props that can be stored as a bit in {@link #flagProps}. */
+  private static final int FLAG_PROP_COUNT = Math.min(Integer.SIZE, propValues.length);
+
+  /**
+   * The items returned by {@link #lookupProperty} for props stored in {@link #flagProps}. They are
+   * never linked into a property list.
+   */
+  private static final PropListItem[] flagPropItems = new PropListItem[FLAG_PROP_COUNT];
+
+  static {
+    for (int i = 0; i < FLAG_PROP_COUNT; i++) {
+      flagPropItems[i] = new IntPropListItem((byte) i, 1, null);
+    }
+  }
+
   /**
    * Get the NonJSDoc comment string attached to this node.
    *
@@ -321,6 +336,11 @@ public class Node {
           && (this.number == ((NumberNode) node).number); // -0.0 and NaN are forbidden.
     }
 
+    @Override
+    long equivalenceValueHash() {
+      return Double.doubleToLongBits(number);
+    }
+
     @Override
     NumberNode cloneNode(boolean cloneTypeExprs) {
       NumberNode clone = new NumberNode(number);
@@ -350,6 +370,11 @@ public class Node {
           && getBigInt().equals(node.getBigInt());
     }
 
+    @Override
+    long equivalenceValueHash() {
+      return bigint.hashCode();
+    }
+
     @Override
     BigIntNode cloneNode(boolean cloneTypeExprs) {
       BigIntNode clone = new BigIntNode(bigint);
@@ -390,6 +415,11 @@ public class Node {
           && RhinoStringPool.uncheckedEquals(this.str, ((StringNode) node).str);
     }
 
+    @Override
+    long equivalenceValueHash() {
+      return hashString(str);
+    }
+
     @Override
     StringNode cloneNode(boolean cloneTypeExprs) {
       StringNode clone = new StringNode(this.getToken());
@@ -445,6 +475,11 @@ public class Node {
           && RhinoStringPool.uncheckedEquals(this.cooked, castNode.cooked);
     }
 
+    @Override
+    long equivalenceValueHash() {
+      return hashString(raw) * HASH_PRIME + (cooked == null ? 0 : hashString(cooked));
+    }
+
     @Override
     TemplateLiteralSubstringNode cloneNode(boolean cloneTypeExprs) {
       TemplateLiteralSubstringNode clone = new TemplateLiteralSubstringNode(this.cooked, this.raw);
@@ -676,7 +711,8 @@ public class Node {
   public final void setIsInClosureUnawareSubtree(boolean value) {
     if (propListHead == null
         || propListHead.propType != Prop.SOURCE_FILE.ordinal()
-        || propListHead.next != null) {
+        || propListHead.next != null
+        || flagProps != 0) {
       throw new IllegalArgumentException(
           String.format(
               "Cannot set IS_IN_CLOSURE_UNAWARE_SUBTREE property on a node which proplist is not a"
@@ -1010,6 +1046,9 @@ public class Node {
   @SuppressWarnings("EnumOrdinal") // performance tuning
   final @Nullable PropListItem lookupProperty(Prop prop) {
     byte propType = (byte) prop.ordinal();
+    if (propType < FLAG_PROP_COUNT && (flagProps & (1 << propType)) != 0) {
+      return flagPropItems[propType];
+    }
     PropListItem x = propListHead;
     while (x != null && propType != x.propType) {
       x = x.next;
@@ -1026,8 +1065,10 @@ public class Node {
    */
   @CanIgnoreReturnValue
   public final Node clonePropsFrom(Node other) {
-    checkState(this.propListHead == null, "Node has existing properties.");
+    checkState(
+        this.propListHead == null && this.flagProps == 0, "Node has existing properties.");
     this.propListHead = other.propListHead;
+    this.flagProps = other.flagProps;
     return this;
   }
 
@@ -1040,7 +1081,7 @@ public class Node {
    */
   @SuppressWarnings("EnumOrdinal") // performance tuning
   public void validateProperties(Consumer<String> violationMessageConsumer) {
-    if (propListHead == null) {
+    if (propListHead == null && flagProps == 0) {
       // TODO(bradfordcsmith): Fix the bugs that prevent enabling this validation.
       //
       // In particular:
@@ -1065,80 +1106,86 @@ public class Node {
       violationMessageConsumer.accept("ROOT has properties");
     }
 
+    for (int flags = flagProps; flags != 0; flags &= flags - 1) {
+      validateProperty(propValues[Integer.numberOfTrailingZeros(flags)], violationMessageConsumer);
+    }
     for (PropListItem propListItem = propListHead;
         propListItem != null;
         propListItem = propListItem.next) {
       final Prop prop = propValues[propListItem.propType];
       // Catch it if the definition of Prop ever changes so that the ordinals don't line up.
       checkState(prop.ordinal() == propListItem.propType, "ordinal doesn't match: %s", prop);
+      validateProperty(prop, violationMessageConsumer);
+    }
+  }
 
-      // TODO(bradfordcsmith): This is not yet an exhaustive list of validations.
-      // Other validations should be added as it is found useful to have them.
-      // Some property validation is done independently in `AstValidator` and could possibly be
-      // moved here.
-      //
-      // This method was added in response to a bug that created an invalid IS_PARENTHESIZED
-      // property that was discovered by a check in `deserializeProperties()`, so initially
-      // this method was created to cover the checks previously done there.
-      switch (prop) {
-        case IS_PARENTHESIZED -> {
-          if (!IR.mayBeExpression(this)) {
-            violationMessageConsumer.accept("non-expression is parenthesized");
-          }
-        }
-        case ARROW_FN -> {
-          if (!isFunction()) {
-            violationMessageConsumer.accept("invalid ARROW_FN prop");
-          }
+  private void validateProperty(Prop prop, Consumer<String> violationMessageConsumer) {
+    // TODO(bradfordcsmith): This is not yet an exhaustive list of validations.
+    // Other validations should be added as it is found useful to have them.
+    // Some property validation is done independently in `AstValidator` and could possibly be
+    // moved here.
+    //
+    // This method was added in response to a bug that created an invalid IS_PARENTHESIZED
+    // property that was discovered by a check in `deserializeProperties()`, so initially
+    // this method was created to cover the checks previously done there.
+    switch (prop) {
+      case IS_PARENTHESIZED -> {
+        if (!IR.mayBeExpression(this)) {
+          violationMessageConsumer.accept("non-expression is parenthesized");
         }
-        case ASYNC_FN -> {
-          if (!isFunction()) {
-            violationMessageConsumer.accept("invalid ASYNC_FN prop");
-          }
+      }
+      case ARROW_FN -> {
+        if (!isFunction()) {
+          violationMessageConsumer.accept("invalid ARROW_FN prop");
         }
-        case SYNTHETIC -> {
-          if (!isBlock()) {
-            violationMessageConsumer.accept("invalid SYNTHETIC prop");
-          }
+      }
+      case ASYNC_FN -> {
+        if (!isFunction()) {
+          violationMessageConsumer.accept("invalid ASYNC_FN prop");
         }
-        case COLOR_FROM_CAST -> {
-          if (getColor() == null) {
-            violationMessageConsumer.accept("COLOR_FROM_CAST with no Color");
-          }
+      }
+      case SYNTHETIC -> {
+        if (!isBlock()) {
+          violationMessageConsumer.accept("invalid SYNTHETIC prop");
         }
-        case START_OF_OPT_CHAIN -> {
-          if (!(isOptChainCall() || isOptChainGetElem() || isOptChainGetProp())) {
-            violationMessageConsumer.accept("START_OF_OPT_CHAIN on non-optional Node");
-          }
+      }
+      case COLOR_FROM_CAST -> {
+        if (getColor() == null) {
+          violationMessageConsumer.accept("COLOR_FROM_CAST with no Color");
         }
-        case CONSTANT_VAR_FLAGS -> {
-          if (!(isName() || isImportStar())) {
-            violationMessageConsumer.accept("invalid CONST_VAR_FLAGS");
-          }
+      }
+      case START_OF_OPT_CHAIN -> {
+        if (!(isOptChainCall() || isOptChainGetElem() || isOptChainGetProp())) {
+          violationMessageConsumer.accept("START_OF_OPT_CHAIN on non-optional Node");
         }
-        case SYNTHESIZED_UNFULFILLED_NAME_DECLARATION -> {
-          // note: we could relax this restriction if VarCheck needed to generate other forms of
-          // synthetic externs
-          if (!isVar()) {
-            // TODO: this check used to also try and validate that the synthetic externs VAR's had
-            // names, but this doesn't work during deserialization because the name is a child node
-            // that we haven't even seen yet when we are validating properties.
-            // || !hasOneChild() || !getFirstChild().isName()) {
-            violationMessageConsumer.accept(
-                "Expected all synthetic unfulfilled declarations to be `var <name>`");
-          }
+      }
+      case CONSTANT_VAR_FLAGS -> {
+        if (!(isName() || isImportStar())) {
+          violationMessageConsumer.accept("invalid CONST_VAR_FLAGS");
         }
-        case CLOSURE_UNAWARE_SHADOW -> {
-          PropListItem shadowProp = lookupProperty(Prop.CLOSURE_UNAWARE_SHADOW);
-          if (!(shadowProp instanceof Node.ObjectPropListItem)
-              || !(shadowProp.getObjectValue() instanceof Node)) {
-            violationMessageConsumer.accept("CLOSURE_UNAWARE_SHADOW property must point to a Node");
-          }
+      }
+      case SYNTHESIZED_UNFULFILLED_NAME_DECLARATION -> {
+        // note: we could relax this restriction if VarCheck needed to generate other forms of
+        // synthetic externs
+        if (!isVar()) {
+          // TODO: this check used to also try and validate that the synthetic externs VAR's had
+          // names, but this doesn't work during deserialization because the name is a child node
+          // that we haven't even seen yet when we are validating properties.
+          // || !hasOneChild() || !getFirstChild().isName()) {
+          violationMessageConsumer.accept(
+              "Expected all synthetic unfulfilled declarations to be `var <name>`");
         }
-        default -> {
-          // No validation is currently done for other properties
+      }
+      case CLOSURE_UNAWARE_SHADOW -> {
+        PropListItem shadowProp = lookupProperty(Prop.CLOSURE_UNAWARE_SHADOW);
+        if (!(shadowProp instanceof Node.ObjectPropListItem)
+            || !(shadowProp.getObjectValue() instanceof Node)) {
+          violationMessageConsumer.accept("CLOSURE_UNAWARE_SHADOW property must point to a Node");
         }
       }
+      default -> {
+        // No validation is currently done for other properties
+      }
     }
   }
 
@@ -1183,6 +1230,7 @@ public class Node {
 
   @SuppressWarnings("EnumOrdinal") // performance tuning
   public final void putProp(Prop prop, @Nullable Object value) {
+    removeFlagProp(prop);
     this.propListHead = rebuildListWithoutProp(this.propListHead, prop);
     if (value != null) {
       this.propListHead = new ObjectPropListItem((byte) prop.ordinal(), value, this.propListHead);
@@ -1195,9 +1243,32 @@ public class Node {
 
   @SuppressWarnings("EnumOrdinal") // performance tuning
   public final void putIntProp(Prop prop, int value) {
+    removeFlagProp(prop);
     this.propListHead = rebuildListWithoutProp(this.propListHead, prop);
     if (value != 0) {
-      this.propListHead = new IntPropListItem((byte) prop.ordinal(), value, this.propListHead);
+      addIntProp(prop, value);
+    }
+  }
+
+  /**
+   * Adds a prop that is not yet present. A value of 1 is stored as a bit in {@link #flagProps}
+   * when the prop has one, which saves allocating a list item for the common boolean props.
+   */
+  @SuppressWarnings("EnumOrdinal") // performance tuning
+  private void addIntProp(Prop prop, int value) {
+    int propType = prop.ordinal();
+    if (value == 1 && propType < FLAG_PROP_COUNT) {
+      this.flagProps |= 1 << propType;
+    } else {
+      this.propListHead = new IntPropListItem((byte) propType, value, this.propListHead);
+    }
+  }
+
+  @SuppressWarnings("EnumOrdinal") // performance tuning
+  private void removeFlagProp(Prop prop) {
+    int propType = prop.ordinal();
+    if (propType < FLAG_PROP_COUNT) {
+      this.flagProps &= ~(1 << propType);
     }
   }
 
@@ -1223,39 +1294,46 @@ public class Node {
 
   public final long serializeProperties() {
     long propSet = 0;
+    for (int flags = this.flagProps; flags != 0; flags &= flags - 1) {
+      propSet = serializeProperty(propSet, flagPropItems[Integer.numberOfTrailingZeros(flags)]);
+    }
     for (PropListItem propListItem = this.propListHead;
         propListItem != null;
         propListItem = propListItem.next) {
-      Prop prop = propValues[propListItem.propType];
+      propSet = serializeProperty(propSet, propListItem);
+    }
+    return propSet;
+  }
 
-      switch (prop) {
-        case TYPE_BEFORE_CAST ->
-            propSet = setNodePropertyBit(propSet, NodeProperty.COLOR_FROM_CAST);
-        case CONSTANT_VAR_FLAGS -> {
-          int intVal = propListItem.getIntValue();
-          if (anyBitSet(intVal, ConstantVarFlags.INFERRED)) {
-            propSet = setNodePropertyBit(propSet, NodeProperty.IS_INFERRED_CONSTANT);
-          }
-          if (anyBitSet(intVal, ConstantVarFlags.DECLARED)) {
-            propSet = setNodePropertyBit(propSet, NodeProperty.IS_DECLARED_CONSTANT);
-          }
+  private long serializeProperty(long propSet, PropListItem propListItem) {
+    Prop prop = propValues[propListItem.propType];
+
+    switch (prop) {
+      case TYPE_BEFORE_CAST -> propSet = setNodePropertyBit(propSet, NodeProperty.COLOR_FROM_CAST);
+      case CONSTANT_VAR_FLAGS -> {
+        int intVal = propListItem.getIntValue();
+        if (anyBitSet(intVal, ConstantVarFlags.INFERRED)) {
+          propSet = setNodePropertyBit(propSet, NodeProperty.IS_INFERRED_CONSTANT);
         }
-        case SIDE_EFFECT_FLAGS ->
-            propSet = setNodePropertySideEffectFlags(propSet, propListItem.getIntValue());
-        case CLOSURE_UNAWARE_SHADOW ->
-            // This is a bit of an unusual case, because the CLOSURE_UNAWARE_SHADOW Prop is a Node
-            // pointer, not a boolean.
-            // However, it is treated as a boolean property in the TypedAST representation as a
-            // signal
-            // that the child ASTNode is shadowed code and not a normal child node.
-            // We check for this bit when building in ScriptNodeDeserializer.
-            propSet = setNodePropertyBit(propSet, NodeProperty.CLOSURE_UNAWARE_SHADOW);
-        default -> {
-          if (propListItem instanceof Node.IntPropListItem) {
-            NodeProperty nodeProperty = PropTranslator.serialize(prop);
-            if (nodeProperty != null) {
-              propSet = setNodePropertyBit(propSet, nodeProperty);
-            }
+        if (anyBitSet(intVal, ConstantVarFlags.DECLARED)) {
+          propSet = setNodePropertyBit(propSet, NodeProperty.IS_DECLARED_CONSTANT);
+        }
+      }
+      case SIDE_EFFECT_FLAGS ->
+          propSet = setNodePropertySideEffectFlags(propSet, propListItem.getIntValue());
+      case CLOSURE_UNAWARE_SHADOW ->
+          // This is a bit of an unusual case, because the CLOSURE_UNAWARE_SHADOW Prop is a Node
+          // pointer, not a boolean.
+          // However, it is treated as a boolean property in the TypedAST representation as a
+          // signal
+          // that the child ASTNode is shadowed code and not a normal child node.
+          // We check for this bit when building in ScriptNodeDeserializer.
+          propSet = setNodePropertyBit(propSet, NodeProperty.CLOSURE_UNAWARE_SHADOW);
+      default -> {
+        if (propListItem instanceof Node.IntPropListItem) {
+          NodeProperty nodeProperty = PropTranslator.serialize(prop);
+          if (nodeProperty != null) {
+            propSet = setNodePropertyBit(propSet, nodeProperty);
           }
         }
       }
@@ -1291,6 +1369,9 @@ public class Node {
   public final String getPropListDebugString() {
     PropListItem propListItem = this.propListHead;
     List<String> propListStrRepr = new ArrayList<>();
+    for (int flags = this.flagProps; flags != 0; flags &= flags - 1) {
+      propListStrRepr.add(propValues[Integer.numberOfTrailingZeros(flags)].name());
+    }
     while (propListItem != null) {
       propListStrRepr.add(Prop.values()[propListItem.propType].name());
       propListItem = propListItem.next;
@@ -1302,7 +1383,7 @@ public class Node {
   @SuppressWarnings("EnumOrdinal") // performance tuning
   public final void deserializeProperties(long propSet, boolean isInClosureUnawareSubtree) {
     if (this.isRoot()) {
-      checkState(this.propListHead == null, this.propListHead);
+      checkState(this.propListHead == null && this.flagProps == 0, this.propListHead);
     } else {
       checkState(
           this.validatePropListTailOrdering(isInClosureUnawareSubtree),
@@ -1338,22 +1419,18 @@ public class Node {
           if (prop == null) {
             throw new IllegalStateException("Can not translate " + nodeProperty + " to AST Prop");
           }
-          this.propListHead = new IntPropListItem((byte) prop.ordinal(), 1, this.propListHead);
+          addIntProp(prop, 1);
         }
       }
     }
 
     // Store the CONSTANT_VAR_FLAGS
     if (constantVarFlags != 0) {
-      this.propListHead =
-          new IntPropListItem(
-              (byte) Prop.CONSTANT_VAR_FLAGS.ordinal(), constantVarFlags, this.propListHead);
+      addIntProp(Prop.CONSTANT_VAR_FLAGS, constantVarFlags);
     }
 
     if (sideEffectFlags != 0) {
-      this.propListHead =
-          new IntPropListItem(
-              (byte) Prop.SIDE_EFFECT_FLAGS.ordinal(), sideEffectFlags, this.propListHead);
+      addIntProp(Prop.SIDE_EFFECT_FLAGS, sideEffectFlags);
     }
 
     // Make sure the deserialized properties are valid.
@@ -1408,7 +1485,7 @@ public class Node {
 
   // Gets all the property types, in sorted order.
   private byte[] getSortedPropTypes() {
-    int count = 0;
+    int count = Integer.bitCount(flagProps);
     for (PropListItem x = propListHead; x != null; x = x.next) {
       count++;
     }
@@ -1418,6 +1495,10 @@ public class Node {
       count--;
       keys[count] = x.propType;
     }
+    for (int flags = flagProps; flags != 0; flags &= flags - 1) {
+      count--;
+      keys[count] = (byte) Integer.numberOfTrailingZeros(flags);
+    }
 
     Arrays.sort(keys);
     return keys;
@@ -1703,6 +1784,15 @@ public class Node {
    */
   private transient @Nullable PropListItem propListHead;
 
+  /**
+   * Props with the value 1, one bit per {@link Prop} ordinal. Most props are booleans, so this
+   * keeps them out of {@link #propListHead}. Only the first {@link #FLAG_PROP_COUNT} props can be
+   * stored here, and a prop is never in both places.
+   *
+   * <p>With compressed oops this field fits in the padding at the end of a plain Node.
+   */
+  private transient int flagProps;
+
   // ==========================================================================
   // Source position management
 
@@ -2411,6 +2501,9 @@ public class Node {
     }
 
     EnumSet<Prop> propSet = EnumSet.noneOf(Prop.class);
+    for (int flags = this.flagProps | node.flagProps; flags != 0; flags &= flags - 1) {
+      propSet.add(propValues[Integer.numberOfTrailingZeros(flags)]);
+    }
     for (PropListItem propListItem = this.propListHead;
         propListItem != null;
         propListItem = propListItem.next) {
@@ -2469,6 +2562,47 @@ public class Node {
     return true;
   }
 
+  /**
+   * Returns a hash of what {@link #isEquivalentWithSideEffectsToShallow} compares, so that
+   * equivalent nodes have the same hash.
+   *
+   * <p>Like the comparison, this includes the number of children but not the children themselves.
+   * The hash has 64 bits so that it can stand in for a copy of the node when looking for changes.
+   */
+  public final long getShallowEquivalenceWithSideEffectsHash() {
+    long hash = token.ordinal() * HASH_PRIME + getChildCount();
+    hash = hash * HASH_PRIME + equivalenceValueHash();
+    Node dte = getDeclaredTypeExpression();
+    if (dte != null) {
+      hash = hash * HASH_PRIME + dte.getShallowEquivalenceWithSideEffectsHash();
+    }
+    // The getters return the same default whether or not a prop is set, like the comparison.
+    for (Function<Node, Object> getter : PROP_MAP_FOR_EQUALITY.values()) {
+      hash = hash * HASH_PRIME + Objects.hashCode(getter.apply(this));
+    }
+    hash = hash * HASH_PRIME + getSideEffectFlags();
+    hash = hash * HASH_PRIME + (isUnusedParameter() ? 1 : 0);
+    hash = hash * HASH_PRIME + (getClosureUnawareShadow() != null ? 1 : 0);
+    return hash;
+  }
+
+  /** Hashes the value that subclasses compare in their {@link #isEquivalentTo} override. */
+  long equivalenceValueHash() {
+    return 0;
+  }
+
+  /** The 64-bit FNV prime, which spreads small differences over all the bits of a hash. */
+  private static final long HASH_PRIME = 0x100000001b3L;
+
+  /** Hashes {@code s} into 64 bits, unlike {@link String#hashCode}, using FNV-1a. */
+  private static long hashString(String s) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < s.length(); i++) {
+      hash = (hash ^ s.charAt(i)) * HASH_PRIME;
+    }
+    return hash;
+  }
+
   /**
    * Accessors for {@link Node} properties that should also be compared when comparing nodes for
    * equality.
@@ -2755,6 +2889,7 @@ public class Node {
     dest.jstypeOrColor = source.jstypeOrColor;
     dest.originalName = source.originalName;
     dest.propListHead = source.propListHead;
+    dest.flagProps = source.flagProps;
 
     // TODO(johnlenz): Remove this once JSTypeExpression are immutable
     if (cloneTypeExprs) {
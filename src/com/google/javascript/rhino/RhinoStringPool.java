@@ -56,13 +56,27 @@ import java.util.stream.Stream;
  */
 public final class RhinoStringPool {
 
+  /**
+   * The number of independently locked segments of the pool.
+   *
+   * <p>Looking up a string that is already in the pool takes no lock, but adding a string, and
+   * clearing the entries of collected strings, locks the segment that the string hashes to. With
+   * the default of 4 segments, parsing on more than a handful of threads mostly waits on these
+   * locks. This many segments keeps them rarely contended with dozens of parsing threads, at the
+   * cost of a few empty tables.
+   */
+  private static final int CONCURRENCY_LEVEL = 64;
+
   /**
    * The threadsafe datastructure that backs this pool.
    *
    * <p>We use weak-refs, rather than strong-refs, to prevent a memory leak in server-like
-   * applications.
+   * applications. A pool with strong refs that is released after each compilation would not be
+   * safe either: interned strings are compared by identity, and ASTs may outlive a compilation,
+   * e.g. when cached externs are shared between compilations.
    */
-  private static final Interner<String> INTERNER = Interners.newWeakInterner();
+  private static final Interner<String> INTERNER =
+      Interners.newBuilder().weak().concurrencyLevel(CONCURRENCY_LEVEL).build();
 
   /**
    * Check if two strings are the same according to interning.
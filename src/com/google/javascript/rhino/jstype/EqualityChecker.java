@@ -122,7 +122,18 @@ final class EqualityChecker {
   boolean check(JSType left, JSType right) {
     this.checkHasNotRun();
     this.hasRun = true;
-    return this.areEqualCaching(left, right);
+
+    if (left == null || right == null) {
+      return this.areEqualCaching(left, right);
+    }
+    TypeRelationCache relationCache = left.registry.getTypeRelationCache();
+    @Nullable Boolean cached = relationCache.getEquality(left, right, this.eqMethod);
+    if (cached != null) {
+      return cached;
+    }
+    boolean result = this.areEqualCaching(left, right);
+    relationCache.putEquality(left, right, this.eqMethod, result);
+    return result;
   }
 
   /** Return whether the parameters (ignoring any other aspects) of the two types are equal. */
@@ -535,6 +535,7 @@ public class FunctionType extends PrototypeObjectType implements JSType.WithSour
     if (replacedPrototype) {
       clearCachedValues();
     }
+    registry.getTypeRelationCache().invalidate();
 
     return true;
   }
@@ -609,6 +610,7 @@ public class FunctionType extends PrototypeObjectType implements JSType.WithSour
     for (ObjectType type : implementedInterfaces) {
       typeOfThis.mergeSupertypeTemplateTypes(type);
     }
+    registry.getTypeRelationCache().invalidate();
   }
 
   /** Returns interfaces directly extended by an interface */
@@ -628,6 +630,7 @@ public class FunctionType extends PrototypeObjectType implements JSType.WithSour
     for (ObjectType extendedInterface : extendedInterfaces) {
       typeOfThis.mergeSupertypeTemplateTypes(extendedInterface);
     }
+    registry.getTypeRelationCache().invalidate();
   }
 
   @Override
@@ -1155,6 +1158,7 @@ public class FunctionType extends PrototypeObjectType implements JSType.WithSour
   public final void setImplicitMatch(boolean flag) {
     checkState(isInterface());
     isStructuralInterface = flag;
+    registry.getTypeRelationCache().invalidate();
   }
 
   @Override
@@ -278,6 +278,15 @@ public final class JSTypeRegistry {
 
   private final JSTypeResolver resolver;
 
+  private final TypeRelationCache typeRelationCache = new TypeRelationCache();
+
+  /**
+   * How often the subtype and equality checks found their result in the type relation cache.
+   *
+   * @param invalidations how often the cache was cleared because types were resolved or mutated
+   */
+  public record TypeRelationCacheStats(long hits, long misses, long invalidations) {}
+
   public JSTypeRegistry(ErrorReporter reporter) {
     this(reporter, ImmutableSet.<String>of());
   }
@@ -1768,6 +1777,22 @@ public final class JSTypeRegistry {
     return this.resolver;
   }
 
+  /**
+   * Sets how many results of subtype and equality checks between resolved types to remember
+   * across checks. 0, the default, disables the cache.
+   */
+  public void setTypeRelationCacheSize(int size) {
+    this.typeRelationCache.setMaxSize(size);
+  }
+
+  public TypeRelationCacheStats getTypeRelationCacheStats() {
+    return this.typeRelationCache.getStats();
+  }
+
+  TypeRelationCache getTypeRelationCache() {
+    return this.typeRelationCache;
+  }
+
   public JSType evaluateTypeExpressionInGlobalScope(JSTypeExpression expr) {
     return expr.evaluate(null, this);
   }
@@ -198,6 +198,9 @@ public final class JSTypeResolver {
             this.registry.getNativeObjectType(JSTypeNative.OBJECT_TYPE));
       }
     }
+
+    // Resolving named types may change the relations between the types that were already resolved.
+    this.registry.getTypeRelationCache().invalidate();
   }
 
   private void doResolve(JSType type) {
@@ -122,6 +122,7 @@ final class PropertyMap {
 
     this.parentSource = ownerType;
     this.incrementCachedKeySetCounter();
+    this.invalidateTypeRelations();
   }
 
   @VisibleForTesting
@@ -282,6 +283,7 @@ final class PropertyMap {
     }
 
     properties.put(name, newProp);
+    this.invalidateTypeRelations();
   }
 
   void putProperty(KnownSymbolType symbol, Property newProp) {
@@ -296,6 +298,14 @@ final class PropertyMap {
       knownSymbols = new LinkedHashMap<>();
     }
     knownSymbols.put(symbol, newProp);
+    this.invalidateTypeRelations();
+  }
+
+  /** Whether an object has a property may change whether its type is a subtype of another. */
+  private void invalidateTypeRelations() {
+    if (parentSource != null) {
+      parentSource.registry.getTypeRelationCache().invalidate();
+    }
   }
 
   void putProperty(Property.Key name, Property newProp) {
@@ -425,6 +425,7 @@ public class PrototypeObjectType extends ObjectType {
   final void setImplicitPrototype(ObjectType implicitPrototype) {
     checkState(!hasCachedValues());
     this.implicitPrototypeFallback = implicitPrototype;
+    registry.getTypeRelationCache().invalidate();
     if (implicitPrototype != null) {
       maybeLoosenTypecheckingDueToForwardReferencedSupertype(implicitPrototype);
     }
@@ -101,6 +101,7 @@ public class ProxyObjectType extends ObjectType {
   final void setReferencedType(JSType referencedType) {
     checkNotNull(referencedType);
     this.referencedType = referencedType;
+    registry.getTypeRelationCache().invalidate();
     if (referencedType instanceof ObjectType objectType) {
       this.referencedObjType = objectType;
     } else {
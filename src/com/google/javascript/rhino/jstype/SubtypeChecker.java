@@ -133,7 +133,25 @@ final class SubtypeChecker {
   boolean check() {
     checkHasNotRun();
     this.hasRun = true;
-    return this.isSubtypeCaching(this.initialSubtype, this.initialSupertype);
+
+    TypeRelationCache relationCache = this.registry.getTypeRelationCache();
+    @Nullable Boolean cached =
+        relationCache.getSubtype(
+            this.initialSubtype,
+            this.initialSupertype,
+            this.isUsingStructuralTyping,
+            this.subtypingMode);
+    if (cached != null) {
+      return cached;
+    }
+    boolean result = this.isSubtypeCaching(this.initialSubtype, this.initialSupertype);
+    relationCache.putSubtype(
+        this.initialSubtype,
+        this.initialSupertype,
+        this.isUsingStructuralTyping,
+        this.subtypingMode,
+        result);
+    return result;
   }
 
   /**
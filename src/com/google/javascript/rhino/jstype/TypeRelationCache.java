@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.rhino.jstype;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.javascript.jscomp.base.JSCompObjects.identical;
+
+import com.google.javascript.rhino.jstype.EqualityChecker.EqMethod;
+import com.google.javascript.rhino.jstype.JSType.SubtypingMode;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Remembers the results of subtype and equality checks between resolved types, across checks.
+ *
+ * <p>{@link SubtypeChecker} and {@link EqualityChecker} only cache the relations they compute
+ * within a single check. This cache is shared by all the checks of a registry, so that checking
+ * the same pair of types again, e.g. two record types or two unions in successive assignments, is
+ * a lookup.
+ *
+ * <p>The types are compared by identity. Only the result of the top-level check is remembered:
+ * the relations assumed while checking cyclic types are only valid within that check. The cache
+ * is cleared whenever types are resolved or a resolved type is mutated, e.g. when a property is
+ * added to it, since either may change the relations between existing types. It holds at most
+ * {@code maxSize} results, dropping the oldest ones first.
+ */
+final class TypeRelationCache {
+
+  private static final int STRUCTURAL_SUBTYPE_KIND = SubtypingMode.values().length;
+  private static final int EQUALITY_KIND = 2 * STRUCTURAL_SUBTYPE_KIND;
+
+  private static final class Key {
+    private final JSType left;
+    private final JSType right;
+    private final int kind;
+    private final int hashCode;
+
+    Key(JSType left, JSType right, int kind) {
+      this.left = left;
+      this.right = right;
+      this.kind = kind;
+      this.hashCode =
+          31 * (31 * System.identityHashCode(left) + System.identityHashCode(right)) + kind;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    @SuppressWarnings({"EqualsBrokenForNull", "EqualsUnsafeCast"})
+    public boolean equals(Object other) {
+      // Calling this with `null` or not a `Key` should never happen, so it's fine to crash.
+      Key that = (Key) other;
+      return identical(this.left, that.left)
+          && identical(this.right, that.right)
+          && this.kind == that.kind;
+    }
+  }
+
+  private int maxSize = 0;
+  private final LinkedHashMap<Key, Boolean> results =
+      new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Boolean> eldest) {
+          return size() > maxSize;
+        }
+      };
+
+  private long hits = 0;
+  private long misses = 0;
+  private long invalidations = 0;
+
+  /** Sets how many results to remember. 0 disables the cache. */
+  void setMaxSize(int maxSize) {
+    checkArgument(maxSize >= 0, maxSize);
+    this.maxSize = maxSize;
+    results.clear();
+  }
+
+  boolean isEnabled() {
+    return maxSize > 0;
+  }
+
+  /** Returns whether {@code subtype} is a subtype of {@code supertype}, or null if unknown. */
+  @Nullable Boolean getSubtype(
+      JSType subtype, JSType supertype, boolean structural, SubtypingMode mode) {
+    return get(subtype, supertype, subtypeKind(structural, mode));
+  }
+
+  void putSubtype(
+      JSType subtype, JSType supertype, boolean structural, SubtypingMode mode, boolean result) {
+    put(subtype, supertype, subtypeKind(structural, mode), result);
+  }
+
+  /** Returns whether {@code left} equals {@code right}, or null if unknown. */
+  @Nullable Boolean getEquality(JSType left, JSType right, EqMethod eqMethod) {
+    return get(left, right, EQUALITY_KIND + eqMethod.ordinal());
+  }
+
+  void putEquality(JSType left, JSType right, EqMethod eqMethod, boolean result) {
+    put(left, right, EQUALITY_KIND + eqMethod.ordinal(), result);
+  }
+
+  private static int subtypeKind(boolean structural, SubtypingMode mode) {
+    return (structural ? STRUCTURAL_SUBTYPE_KIND : 0) + mode.ordinal();
+  }
+
+  private static boolean isCacheable(JSType left, JSType right) {
+    // Relations of a type to itself are trivial to compute.
+    return !identical(left, right) && left.isResolved() && right.isResolved();
+  }
+
+  private @Nullable Boolean get(JSType left, JSType right, int kind) {
+    if (!isEnabled() || !isCacheable(left, right)) {
+      return null;
+    }
+    Boolean result = results.get(new Key(left, right, kind));
+    if (result == null) {
+      misses++;
+    } else {
+      hits++;
+    }
+    return result;
+  }
+
+  private void put(JSType left, JSType right, int kind, boolean result) {
+    if (isEnabled() && isCacheable(left, right)) {
+      results.put(new Key(left, right, kind), result);
+    }
+  }
+
+  /** Forgets all the results, because the relations between the types may have changed. */
+  void invalidate() {
+    if (!results.isEmpty()) {
+      results.clear();
+      invalidations++;
+    }
+  }
+
+  JSTypeRegistry.TypeRelationCacheStats getStats() {
+    return new JSTypeRegistry.TypeRelationCacheStats(hits, misses, invalidations);
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.debugging.sourcemap;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.debugging.sourcemap.proto.Mapping.OriginalMapping;
+import com.google.gson.Gson;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class IndexedSourceMapConsumerTest {
+
+  private static final Gson GSON = new Gson();
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  private final SourceMapConsumerV3 v3 = new SourceMapConsumerV3();
+  private String sourceMap;
+
+  @Before
+  public void setUp() throws Exception {
+    sourceMap =
+        GSON.toJson(
+            TestJsonBuilder.create()
+                .setVersion(3)
+                .setFile("testcode")
+                .setLineCount(4)
+                .setMappings("AAAAA,EAAC,CAAE;;AEAAC,IAAA,EDCA;C")
+                .setSources("a.js", "b.js", "a.js")
+                .setNames("foo", "bar")
+                .build());
+    v3.parse(sourceMap);
+  }
+
+  @Test
+  public void testParsedMapMatchesSourceMapConsumerV3() throws Exception {
+    IndexedSourceMapConsumer consumer = new IndexedSourceMapConsumer();
+    consumer.parse(sourceMap);
+
+    assertSameAsV3(consumer);
+  }
+
+  @Test
+  public void testIndexInBufferMatchesSourceMapConsumerV3() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    IndexedSourceMapConsumer.writeIndex(v3, out);
+
+    assertSameAsV3(IndexedSourceMapConsumer.fromIndex(ByteBuffer.wrap(out.toByteArray())));
+  }
+
+  @Test
+  public void testMemoryMappedIndexMatchesSourceMapConsumerV3() throws Exception {
+    File indexFile = folder.newFile("testcode.map.idx");
+    try (OutputStream out = Files.newOutputStream(indexFile.toPath())) {
+      IndexedSourceMapConsumer.writeIndex(v3, out);
+    }
+
+    assertSameAsV3(IndexedSourceMapConsumer.open(indexFile.toPath()));
+  }
+
+  @Test
+  public void testReverseMapping() throws Exception {
+    IndexedSourceMapConsumer consumer = new IndexedSourceMapConsumer();
+    consumer.parse(sourceMap);
+
+    assertThat(consumer.getReverseMapping("a.js", 0, 0))
+        .containsExactly(
+            OriginalMapping.newBuilder().setLineNumber(0).setColumnPosition(0).build(),
+            OriginalMapping.newBuilder().setLineNumber(0).setColumnPosition(2).build(),
+            OriginalMapping.newBuilder().setLineNumber(0).setColumnPosition(3).build(),
+            OriginalMapping.newBuilder().setLineNumber(2).setColumnPosition(0).build(),
+            OriginalMapping.newBuilder().setLineNumber(2).setColumnPosition(4).build())
+        .inOrder();
+    assertThat(consumer.getReverseMapping("c.js", 0, 0)).isEmpty();
+  }
+
+  @Test
+  public void testRejectsInvalidIndex() throws Exception {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> IndexedSourceMapConsumer.fromIndex(ByteBuffer.wrap(new byte[] {0, 1, 2, 3})));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    IndexedSourceMapConsumer.writeIndex(v3, out);
+    byte[] truncated = Arrays.copyOf(out.toByteArray(), out.size() - 4);
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> IndexedSourceMapConsumer.fromIndex(ByteBuffer.wrap(truncated)));
+  }
+
+  private void assertSameAsV3(IndexedSourceMapConsumer consumer) {
+    assertThat(consumer.getOriginalSources())
+        .containsExactlyElementsIn(v3.getOriginalSources())
+        .inOrder();
+    for (int line = 0; line <= 5; line++) {
+      for (int column = 0; column <= 8; column++) {
+        assertThat(consumer.getMappingForLine(line, column))
+            .isEqualTo(v3.getMappingForLine(line, column));
+      }
+    }
+    for (String source : v3.getOriginalSources()) {
+      for (int line = -1; line <= 3; line++) {
+        assertThat(consumer.getReverseMapping(source, line, 0))
+            .containsExactlyElementsIn(v3.getReverseMapping(source, line, 0))
+            .inOrder();
+      }
+    }
+  }
+}
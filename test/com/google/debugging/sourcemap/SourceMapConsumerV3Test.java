@@ -294,6 +294,31 @@ public final class SourceMapConsumerV3Test {
     assertThat(reverse).isNotEmpty();
   }
 
+  @Test
+  public void testReverseMappingKeepsGeneratedOrderAndMergesDuplicateSources() throws Exception {
+    consumer.parse(
+        GSON.toJson(
+            TestJsonBuilder.create()
+                .setVersion(3)
+                .setFile("testcode")
+                .setLineCount(2)
+                .setMappings("AAAA,EAAC;AEAA,EDCA")
+                .setSources("a.js", "b.js", "a.js")
+                .build()));
+
+    assertThat(consumer.getReverseMapping("a.js", 0, 0))
+        .containsExactly(
+            OriginalMapping.newBuilder().setLineNumber(0).setColumnPosition(0).build(),
+            OriginalMapping.newBuilder().setLineNumber(0).setColumnPosition(2).build(),
+            OriginalMapping.newBuilder().setLineNumber(1).setColumnPosition(0).build())
+        .inOrder();
+    assertThat(consumer.getReverseMapping("b.js", 1, 0))
+        .containsExactly(
+            OriginalMapping.newBuilder().setLineNumber(1).setColumnPosition(2).build());
+    assertThat(consumer.getReverseMapping("b.js", 0, 0)).isEmpty();
+    assertThat(consumer.getReverseMapping("c.js", 0, 0)).isEmpty();
+  }
+
   @Test
   public void testBinarySearchEdgeCases() throws Exception {
     // Test with different number of entries to verify binary search 'mid' calculation.
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.debugging.sourcemap;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.javascript.jscomp.SourceMap.Format;
+import java.io.IOException;
+import java.util.function.Consumer;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Checks that a streaming {@link SourceMapGeneratorV3} writes the same maps as a regular one. */
+@RunWith(JUnit4.class)
+public final class SourceMapGeneratorV3StreamingTest extends SourceMapTestCase {
+
+  private Format format = Format.V3_STREAMING;
+
+  @Override
+  protected SourceMapConsumer getSourceMapConsumer() {
+    return new SourceMapConsumerV3();
+  }
+
+  @Override
+  protected Format getSourceMapFormat() {
+    return format;
+  }
+
+  @Test
+  public void testCompiledCode() throws Exception {
+    compileAndCheck("function __BASIC__(__PARAM1__, __PARAM2__) { var __VAR__ = '__STR__'; }");
+    assertSameAsV3(
+        """
+        function __BASIC__(__PARAM1__, __PARAM2__) {
+        var __VAR__ = '__STR__';
+        var __ANO__ = "__STR2__";
+        }
+        """);
+  }
+
+  @Test
+  public void testEmptyMap() throws Exception {
+    assertSameAsV3(generator -> {}, "");
+    assertSameAsV3(generator -> {}, "prefix\n");
+  }
+
+  @Test
+  public void testNestedMappings() throws Exception {
+    Consumer<SourceMapGenerator> mappings =
+        generator -> {
+          addMapping(generator, "a", 0, 0, 2, 1);
+          addMapping(generator, "b", 0, 4, 0, 9);
+          addMapping(generator, "c", 1, 2, 1, 6);
+          addMapping(generator, "d", 3, 0, 3, 5);
+        };
+    assertSameAsV3(mappings, "");
+    assertSameAsV3(mappings, "abc");
+    assertSameAsV3(mappings, "abc\nde");
+  }
+
+  @Test
+  public void testMappingsAfterStartingPosition() throws Exception {
+    Consumer<SourceMapGenerator> mappings =
+        generator -> {
+          generator.setStartingPosition(2, 7);
+          addMapping(generator, "a", 0, 0, 1, 3);
+          addMapping(generator, "b", 1, 0, 1, 2);
+          generator.setStartingPosition(4, 1);
+          addMapping(generator, "c", 0, 2, 0, 4);
+        };
+    assertSameAsV3(mappings, "");
+    assertSameAsV3(mappings, "\n\n");
+  }
+
+  @Test
+  public void testEmptyMappingsAtTheStart() throws Exception {
+    Consumer<SourceMapGenerator> mappings =
+        generator -> {
+          addMapping(generator, "a", 0, 0, 0, 0);
+          addMapping(generator, "b", 0, 3, 0, 5);
+        };
+    assertSameAsV3(mappings, "");
+    assertSameAsV3(mappings, "xy");
+    assertSameAsV3(mappings, "\n");
+  }
+
+  @Test
+  public void testEmptyMappingsAfterTheLastLine() throws Exception {
+    Consumer<SourceMapGenerator> mappings =
+        generator -> {
+          addMapping(generator, "a", 0, 1, 0, 4);
+          addMapping(generator, "b", 2, 3, 2, 3);
+          addMapping(generator, "c", 5, 0, 5, 0);
+        };
+    assertSameAsV3(mappings, "");
+    assertSameAsV3(mappings, "x\n");
+  }
+
+  @Test
+  public void testMappingsCannotBeAddedAfterWriting() throws Exception {
+    SourceMapGenerator generator =
+        SourceMapGeneratorFactory.getInstance(SourceMapFormat.V3_STREAMING);
+    addMapping(generator, "a", 0, 0, 0, 1);
+    generator.appendTo(new StringBuilder(), "out.js");
+
+    assertThrows(IllegalStateException.class, () -> addMapping(generator, "b", 0, 2, 0, 3));
+
+    generator.reset();
+    addMapping(generator, "b", 0, 2, 0, 3);
+  }
+
+  private void assertSameAsV3(String js) {
+    String streaming = compile(js, "testcode").sourceMapFileContent;
+    format = Format.V3;
+    String v3 = compile(js, "testcode").sourceMapFileContent;
+    format = Format.V3_STREAMING;
+    assertThat(streaming).isEqualTo(v3);
+  }
+
+  private static void assertSameAsV3(Consumer<SourceMapGenerator> mappings, String prefix)
+      throws IOException {
+    assertThat(writeMap(SourceMapFormat.V3_STREAMING, mappings, prefix))
+        .isEqualTo(writeMap(SourceMapFormat.V3, mappings, prefix));
+  }
+
+  private static String writeMap(
+      SourceMapFormat format, Consumer<SourceMapGenerator> mappings, String prefix)
+      throws IOException {
+    SourceMapGenerator generator = SourceMapGeneratorFactory.getInstance(format);
+    mappings.accept(generator);
+    generator.setWrapperPrefix(prefix);
+    StringBuilder out = new StringBuilder();
+    generator.appendTo(out, "out.js");
+    return out.toString();
+  }
+
+  private static void addMapping(
+      SourceMapGenerator generator,
+      String name,
+      int startLine,
+      int startColumn,
+      int endLine,
+      int endColumn) {
+    generator.addMapping(
+        "in.js",
+        name,
+        new FilePosition(startLine + 1, startColumn),
+        new FilePosition(startLine, startColumn),
+        new FilePosition(endLine, endColumn));
+  }
+}
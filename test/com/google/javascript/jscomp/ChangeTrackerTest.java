@@ -148,4 +148,50 @@ public class ChangeTrackerTest {
     // 'FunctionInliner' request.
     assertThat(changeTracker.getChangedScopeNodesForPass("FunctionInliner")).isEmpty();
   }
+
+  @Test
+  public void testDeferChanges_recordsChangesWhenReplayed() {
+    ChangeTracker changeTracker = new ChangeTracker();
+    Node function1 = IR.function(IR.name("foo"), IR.paramList(), IR.block());
+    Node function2 = IR.function(IR.name("foo"), IR.paramList(), IR.block());
+    IR.root(IR.script(function1, function2));
+
+    // Mark original baseline.
+    var unused = changeTracker.getChangedScopeNodesForPass("FunctionInliner");
+
+    Runnable changes2 =
+        changeTracker.deferChanges(() -> changeTracker.reportChangeToChangeScope(function2));
+    Runnable changes1 =
+        changeTracker.deferChanges(() -> changeTracker.reportChangeToChangeScope(function1));
+
+    // Nothing is recorded until the changes are replayed.
+    assertThat(function2.getChangeTime()).isEqualTo(0);
+    assertThat(changeTracker.getChangeStamp()).isEqualTo(1);
+
+    changes1.run();
+    changes2.run();
+    assertThat(function1.getChangeTime()).isEqualTo(1);
+    assertThat(function2.getChangeTime()).isEqualTo(2);
+    assertThat(changeTracker.getChangedScopeNodesForPass("FunctionInliner"))
+        .containsExactly(function1, function2)
+        .inOrder();
+  }
+
+  @Test
+  public void testDeferChanges_deletionIsDeferred() {
+    ChangeTracker changeTracker = new ChangeTracker();
+    Node function1 = IR.function(IR.name("foo"), IR.paramList(), IR.block());
+    IR.root(IR.script(function1));
+
+    Runnable changes =
+        changeTracker.deferChanges(
+            () -> {
+              function1.detach();
+              changeTracker.reportFunctionDeleted(function1);
+            });
+    assertThat(function1.isDeleted()).isFalse();
+
+    changes.run();
+    assertThat(function1.isDeleted()).isTrue();
+  }
 }
@@ -30,12 +30,21 @@ public final class CoalesceVariableNamesTest extends CompilerTestCase {
   // picking out which variable names are merged.
 
   private boolean usePseudoName = false;
+  private int numParallelThreads = 1;
 
   @Override
   @Before
   public void setUp() throws Exception {
     super.setUp();
     usePseudoName = false;
+    numParallelThreads = 1;
+  }
+
+  @Override
+  protected CompilerOptions getOptions() {
+    CompilerOptions options = super.getOptions();
+    options.setNumParallelThreads(numParallelThreads);
+    return options;
   }
 
   @Override
@@ -82,6 +91,28 @@ public final class CoalesceVariableNamesTest extends CompilerTestCase {
     inFunction("var x; var y; y = y + 1, y, x = 1; x");
   }
 
+  @Test
+  public void testFunctionsCoalescedInParallel() {
+    numParallelThreads = 4;
+    test(
+        """
+        function f() { var x; var y; x=1; x; y=1; y; return y }
+        function g() {
+          var a=1; var b=a+1;
+          alert(function() { var c; var d; c=1; c; d=1; d });
+          return b;
+        }
+        """,
+        """
+        function f() { var x;        x=1; x; x=1; x; return x }
+        function g() {
+          var a=1;     a=a+1;
+          alert(function() { var c;        c=1; c; c=1; c });
+          return a;
+        }
+        """);
+  }
+
   @Test
   public void testCoaleseLetAndConst() {
     inFunction(
@@ -26,6 +26,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.Assert.assertThrows;
 
 import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
@@ -2665,6 +2666,65 @@ public final class CommandLineRunnerTest {
             """);
   }
 
+  @Test
+  public void testCompileServerAnswersEveryRequest() {
+    String inputString =
+        """
+        [{"src": "alert('foo');", "path":"foo.js"}]
+        [{"src": "alert(", "path":"broken.js"}]
+        [{"src": "alert('bar');", "path":"bar.js"}]
+        """;
+    args.add("--compile_server");
+    args.add("--json_streams=BOTH");
+    args.add("--js_output_file=out.js");
+
+    CommandLineRunner runner =
+        new CommandLineRunner(
+            args.toArray(new String[] {}),
+            new ByteArrayInputStream(inputString.getBytes(UTF_8)),
+            new PrintStream(outReader),
+            new PrintStream(errReader));
+    exitCodes.clear();
+    runner.setExitCodeReceiver(
+        (exitCode) -> {
+          exitCodes.add(exitCode);
+          return null;
+        });
+    runner.run();
+
+    // The broken request is answered with an empty array, and doesn't stop the server.
+    assertThat(exitCodes).containsExactly(1);
+    List<String> responses =
+        Splitter.on('\n').omitEmptyStrings().splitToList(outReader.toString(UTF_8));
+    assertThat(responses).hasSize(3);
+    assertThat(responses.get(0)).startsWith("[{\"src\":\"alert(\\\"foo\\\");\\n\"");
+    assertThat(responses.get(1)).isEqualTo("[]");
+    assertThat(responses.get(2)).startsWith("[{\"src\":\"alert(\\\"bar\\\");\\n\"");
+    assertThat(errReader.toString(UTF_8)).contains("broken.js");
+  }
+
+  @Test
+  public void testCompileServerRequiresJsonStreams() {
+    args.add("--compile_server");
+
+    CommandLineRunner runner =
+        new CommandLineRunner(
+            args.toArray(new String[] {}),
+            new ByteArrayInputStream(new byte[0]),
+            new PrintStream(outReader),
+            new PrintStream(errReader));
+    exitCodes.clear();
+    runner.setExitCodeReceiver(
+        (exitCode) -> {
+          exitCodes.add(exitCode);
+          return null;
+        });
+    runner.run();
+
+    assertThat(exitCodes).containsExactly(-1);
+    assertThat(errReader.toString(UTF_8)).contains("--compile_server requires --json_streams=BOTH");
+  }
+
   @Test
   public void testJsonStreamSourceMap() {
     String inputSourceMap =
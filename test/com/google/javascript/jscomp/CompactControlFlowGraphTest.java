@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.javascript.jscomp.ControlFlowGraph.Branch;
+import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class CompactControlFlowGraphTest {
+
+  @Test
+  public void testEdges() {
+    // a -> b -> c, a -> c, c -> implicit return
+    ControlFlowGraph<String> cfg = new ControlFlowGraph<>("a", true, true);
+    cfg.createNode("b");
+    cfg.createNode("c");
+    cfg.connect("a", Branch.ON_TRUE, "b");
+    cfg.connect("a", Branch.ON_FALSE, "c");
+    cfg.connect("b", Branch.UNCOND, "c");
+    cfg.connect("c", Branch.UNCOND, null);
+
+    CompactControlFlowGraph<String> graph = CompactControlFlowGraph.create(cfg, true);
+
+    assertThat(graph.hasNodeOrder()).isFalse();
+    assertThat(valuesById(graph)).containsExactly(null, "a", "b", "c").inOrder();
+    assertThat(graph.getValue(graph.getEntry())).isEqualTo("a");
+    assertThat(graph.getNode(graph.getImplicitReturn())).isSameInstanceAs(cfg.getImplicitReturn());
+    assertThat(graph.getId("d")).isEqualTo(-1);
+    assertThat(successors(graph, "a")).containsExactly("b", "c").inOrder();
+    assertThat(successors(graph, "c")).containsExactly((Object) null);
+    assertThat(predecessors(graph, "c")).containsExactly("a", "b").inOrder();
+    assertThat(predecessors(graph, "a")).isEmpty();
+
+    int a = graph.getId("a");
+    assertThat(graph.outBranch(graph.outStart(a))).isEqualTo(Branch.ON_TRUE);
+    assertThat(graph.outEdge(graph.outStart(a)).getValue()).isEqualTo(Branch.ON_TRUE);
+    assertThat(graph.hasOutEdge(a, Branch.ON_FALSE)).isTrue();
+    assertThat(graph.hasOutEdge(a, Branch.ON_EX)).isFalse();
+  }
+
+  @Test
+  public void testNodesAreRankedByComparator() {
+    ControlFlowGraph<String> cfg = new OrderedControlFlowGraph("a");
+    cfg.createNode("b");
+    cfg.createNode("c");
+    cfg.connect("a", Branch.UNCOND, "c");
+    cfg.connect("c", Branch.UNCOND, "b");
+    cfg.getImplicitReturn().setPriority(3);
+    cfg.getNode("a").setPriority(0);
+    cfg.getNode("c").setPriority(1);
+    cfg.getNode("b").setPriority(2);
+
+    CompactControlFlowGraph<String> forward = CompactControlFlowGraph.create(cfg, true);
+    assertThat(forward.hasNodeOrder()).isTrue();
+    assertThat(valuesById(forward)).containsExactly(null, "a", "b", "c").inOrder();
+    assertThat(valuesByRank(forward)).containsExactly("a", "c", "b", null).inOrder();
+    assertThat(forward.getRank(forward.getId("c"))).isEqualTo(1);
+
+    CompactControlFlowGraph<String> backward = CompactControlFlowGraph.create(cfg, false);
+    assertThat(valuesById(backward)).containsExactly(null, "a", "b", "c").inOrder();
+    assertThat(valuesByRank(backward)).containsExactly(null, "b", "c", "a").inOrder();
+    assertThat(successors(backward, "c")).containsExactly("b");
+  }
+
+  private static final class OrderedControlFlowGraph extends ControlFlowGraph<String> {
+    OrderedControlFlowGraph(String entry) {
+      super(entry, true, true);
+    }
+
+    @Override
+    public Comparator<DiGraphNode<String, Branch>> getOptionalNodeComparator(boolean isForward) {
+      Comparator<DiGraphNode<String, Branch>> comparator =
+          Comparator.comparingInt(DiGraphNode::getPriority);
+      return isForward ? comparator : comparator.reversed();
+    }
+  }
+
+  private static List<@Nullable String> valuesById(CompactControlFlowGraph<String> graph) {
+    List<@Nullable String> values = new ArrayList<>();
+    for (int i = 0; i < graph.getNodeCount(); i++) {
+      values.add(graph.getValue(i));
+    }
+    return values;
+  }
+
+  private static List<@Nullable String> valuesByRank(CompactControlFlowGraph<String> graph) {
+    List<@Nullable String> values = new ArrayList<>();
+    for (int rank = 0; rank < graph.getNodeCount(); rank++) {
+      values.add(graph.getValue(graph.getIdAtRank(rank)));
+    }
+    return values;
+  }
+
+  private static List<@Nullable String> successors(
+      CompactControlFlowGraph<String> graph, String value) {
+    int id = graph.getId(value);
+    List<@Nullable String> values = new ArrayList<>();
+    for (int i = graph.outStart(id); i < graph.outStart(id + 1); i++) {
+      values.add(graph.getValue(graph.outNode(i)));
+    }
+    return values;
+  }
+
+  private static List<@Nullable String> predecessors(
+      CompactControlFlowGraph<String> graph, String value) {
+    int id = graph.getId(value);
+    List<@Nullable String> values = new ArrayList<>();
+    for (int i = graph.inStart(id); i < graph.inStart(id + 1); i++) {
+      values.add(graph.getValue(graph.inNode(i)));
+    }
+    return values;
+  }
+}
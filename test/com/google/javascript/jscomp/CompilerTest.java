@@ -37,6 +37,7 @@ import com.google.debugging.sourcemap.SourceMapConsumerV3;
 import com.google.debugging.sourcemap.SourceMapGeneratorV3;
 import com.google.debugging.sourcemap.proto.Mapping.OriginalMapping;
 import com.google.debugging.sourcemap.proto.Mapping.OriginalMapping.Precision;
+import com.google.javascript.jscomp.Compiler.ChunkGraphAwareLicenseTracker;
 import com.google.javascript.jscomp.Compiler.ScriptNodeLicensesOnlyTracker;
 import com.google.javascript.jscomp.CompilerOptions.LanguageMode;
 import com.google.javascript.jscomp.CompilerOptions.SegmentOfCompilationToRun;
@@ -653,6 +654,70 @@ public final class CompilerTest {
     assertThat(compiler.getInput(new InputId("in3"))).isNotNull();
   }
 
+  @Test
+  public void testParallelChunkPrintingMatchesSerialPrinting() throws Exception {
+    assertThat(printChunksWithSourceMaps(/* numParallelThreads= */ 4))
+        .containsExactlyElementsIn(printChunksWithSourceMaps(/* numParallelThreads= */ 1))
+        .inOrder();
+  }
+
+  @Test
+  public void testParallelPrintingMatchesSerialPrinting() {
+    assertThat(compileChunksForPrinting(/* numParallelThreads= */ 4).toSource())
+        .isEqualTo(compileChunksForPrinting(/* numParallelThreads= */ 1).toSource());
+  }
+
+  /** Returns the code and the source map of each chunk, printed in dependency order. */
+  private static ImmutableList<String> printChunksWithSourceMaps(int numParallelThreads)
+      throws IOException {
+    Compiler compiler = compileChunksForPrinting(numParallelThreads);
+    compiler.printChunksInParallel(compiler.getChunkGraph().getAllChunks());
+    ChunkGraphAwareLicenseTracker licenseTracker = new ChunkGraphAwareLicenseTracker(compiler);
+    ImmutableList.Builder<String> outputs = ImmutableList.builder();
+    for (JSChunk chunk : compiler.getChunkGraph().getAllChunks()) {
+      compiler.resetAndIntitializeSourceMap();
+      licenseTracker.setCurrentChunkContext(chunk);
+      outputs.add(compiler.toSource(licenseTracker, chunk));
+      StringWriter sourceMap = new StringWriter();
+      compiler.getSourceMap().appendTo(sourceMap, chunk.getName() + ".js");
+      outputs.add(sourceMap.toString());
+    }
+    compiler.clearPreprintedScripts();
+    return outputs.build();
+  }
+
+  @Test
+  public void testPreprintedScriptsAreDroppedWhenTheAstChanges() {
+    Compiler compiler = compileChunksForPrinting(/* numParallelThreads= */ 4);
+    compiler.printChunksInParallel(compiler.getChunkGraph().getAllChunks());
+
+    Node name = compiler.getJsRoot().getFirstChild().getFirstFirstChild();
+    assertThat(name.getString()).isEqualTo("a");
+    name.setString("renamed");
+    compiler.reportChangeToEnclosingScope(name);
+
+    assertThat(compiler.toSource()).contains("var renamed");
+  }
+
+  private static Compiler compileChunksForPrinting(int numParallelThreads) {
+    JSChunk m1 = new JSChunk("m1");
+    m1.add(SourceFile.fromCode("a.js", "/** @license A */\nvar a = function(x) { return x; };"));
+    m1.add(SourceFile.fromCode("b.js", "/** @license B */\nvar b = a(1);\nalert(b);"));
+    JSChunk m2 = new JSChunk("m2");
+    m2.addDependency(m1);
+    m2.add(SourceFile.fromCode("c.js", "/** @license A */\nalert(a(2));"));
+    m2.add(SourceFile.fromCode("d.js", "/** @license D */\nalert(b + 3);"));
+
+    CompilerOptions options = new CompilerOptions();
+    options.setNumParallelThreads(numParallelThreads);
+    options.setSourceMapOutputPath("fake/source_map_path.js.map");
+    options.setPrintInputDelimiter(true);
+    Compiler compiler = new Compiler();
+    compiler.compileChunks(EMPTY_EXTERNS, ImmutableList.of(m1, m2), options);
+    assertThat(compiler.getErrors()).isEmpty();
+    return compiler;
+  }
+
   @Test
   public void testMalformedFunctionInExterns() {
     // Just verify that no exceptions are thrown (see bug 910619).
@@ -1485,6 +1550,48 @@ public final class CompilerTest {
     assertThat(source).isEqualTo("console.log(2);");
   }
 
+  @Test
+  public void testCheckSaveRestoreOptimize_parallelRestore() throws Exception {
+    Compiler compiler = new Compiler(new TestErrorManager());
+
+    CompilerOptions options = new CompilerOptions();
+    options.setLanguageIn(LanguageMode.ECMASCRIPT_2017);
+    options.setLanguageOut(LanguageMode.ECMASCRIPT5);
+    options.setCheckTypes(true);
+    options.setEmitUseStrict(false);
+
+    CompilationLevel.ADVANCED_OPTIMIZATIONS.setOptionsForCompilationLevel(options);
+    List<SourceFile> externs =
+        ImmutableList.of(
+            SourceFile.fromCode("externs1.js", "var console = {};"),
+            SourceFile.fromCode("externs2.js", "console.log = function() {};"));
+    List<SourceFile> code =
+        ImmutableList.of(
+            SourceFile.fromCode("a.js", "function f() { return 2; }"),
+            SourceFile.fromCode("b.js", "function g(x) { return f() + x; }"),
+            SourceFile.fromCode("c.js", "console.log(g(1));"));
+    compiler.init(externs, code, options);
+
+    compiler.parse();
+    compiler.check();
+
+    final byte[] stateAfterChecks = getSavedCompilerState(compiler);
+
+    compiler = new Compiler(new TestErrorManager());
+    compiler.init(externs, code, options);
+    restoreCompilerState(compiler, stateAfterChecks);
+    compiler.performTranspilationAndOptimizations(SegmentOfCompilationToRun.OPTIMIZATIONS);
+    String serialSource = compiler.toSource();
+
+    options.setNumParallelThreads(4);
+    compiler = new Compiler(new TestErrorManager());
+    compiler.init(externs, code, options);
+    restoreCompilerState(compiler, stateAfterChecks);
+    compiler.performTranspilationAndOptimizations(SegmentOfCompilationToRun.OPTIMIZATIONS);
+
+    assertThat(compiler.toSource()).isEqualTo(serialSource);
+  }
+
   @Test
   public void testCheckSaveRestore3Stages() throws Exception {
     Compiler compiler = new Compiler(new TestErrorManager());
@@ -1256,7 +1256,7 @@ public abstract class CompilerTestCase {
 
         ChangeVerifier changeVerifier = null;
         if (checkAstChangeMarking) {
-          changeVerifier = new ChangeVerifier(compiler);
+          changeVerifier = ChangeVerifier.create(compiler);
           changeVerifier.snapshot(mainRoot);
         }
 
@@ -25,10 +25,19 @@ import org.junit.runners.JUnit4;
 @RunWith(JUnit4.class)
 public final class DeadAssignmentsEliminationTest extends CompilerTestCase {
 
+  private int numParallelThreads = 1;
+
   public DeadAssignmentsEliminationTest() {
     super("var extern;");
   }
 
+  @Override
+  protected CompilerOptions getOptions() {
+    CompilerOptions options = super.getOptions();
+    options.setNumParallelThreads(numParallelThreads);
+    return options;
+  }
+
   @Before
   public void customSetUp() throws Exception {
     enableNormalize();
@@ -36,6 +45,9 @@ public final class DeadAssignmentsEliminationTest extends CompilerTestCase {
 
   @Override
   protected CompilerPass getProcessor(final Compiler compiler) {
+    if (numParallelThreads > 1) {
+      return new DeadAssignmentsElimination(compiler);
+    }
     return (externs, js) ->
         NodeTraversal.traverse(compiler, js, new DeadAssignmentsElimination(compiler));
   }
@@ -53,6 +65,14 @@ public final class DeadAssignmentsEliminationTest extends CompilerTestCase {
     inFunction("var a; a=function f(){}");
   }
 
+  @Test
+  public void testFunctionsProcessedInParallel() {
+    numParallelThreads = 4;
+    test(
+        "function f(a){ a=1; } function g(){ var b; b=foo(); } var h = function(c){ c=1+1; };",
+        "function f(a){ 1; } function g(){ var b; foo(); } var h = function(c){ 1+1; };");
+  }
+
   @Test
   public void testPropAssignmentNotRemoved() {
     // We only remove dead assignments when lhs is a name node.
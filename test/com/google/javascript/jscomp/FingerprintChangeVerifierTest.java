@@ -0,0 +1,200 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.javascript.rhino.IR;
+import com.google.javascript.rhino.Node;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link FingerprintChangeVerifier}, like those of {@link ChangeVerifierTest}. */
+@RunWith(JUnit4.class)
+public final class FingerprintChangeVerifierTest {
+  private Compiler compiler;
+
+  @Test
+  public void testReportedChange() {
+    Node script = parse("function A() {} if (0) { A(); }");
+    FingerprintChangeVerifier verifier = new FingerprintChangeVerifier(compiler).snapshot(script);
+
+    script.getLastChild().getLastChild().removeChildren();
+    compiler.reportChangeToChangeScope(script);
+
+    verifier.checkRecordedChanges("test", script);
+  }
+
+  @Test
+  public void testChangeNotReported() {
+    Node script = parse("function A() {} if (0) { A(); }");
+    FingerprintChangeVerifier verifier = new FingerprintChangeVerifier(compiler).snapshot(script);
+
+    // no change, no problem
+    verifier.checkRecordedChanges("test1", script);
+
+    NodeUtil.getConditionExpression(script.getLastChild()).replaceWith(IR.number(1));
+
+    IllegalStateException e =
+        assertThrows(
+            IllegalStateException.class, () -> verifier.checkRecordedChanges("test2", script));
+    assertThat(e)
+        .hasMessageThat()
+        .contains("test2: changed scope not marked as changed: SCRIPT: testcode.");
+    assertThat(e).hasMessageThat().contains("Diagnose this scope");
+  }
+
+  @Test
+  public void testChangeNotReported_diagnosedScope() {
+    Node script = parse("function A() {} if (0) { A(); }");
+    FingerprintChangeVerifier verifier =
+        new FingerprintChangeVerifier(compiler)
+            .diagnose(ImmutableSet.of("SCRIPT: testcode"))
+            .snapshot(script);
+
+    NodeUtil.getConditionExpression(script.getLastChild()).replaceWith(IR.number(1));
+
+    IllegalStateException e =
+        assertThrows(
+            IllegalStateException.class, () -> verifier.checkRecordedChanges("test", script));
+    assertThat(e)
+        .hasMessageThat()
+        .contains(
+            """
+            test: changed scope not marked as changed: SCRIPT: testcode.
+            shallow inequivalence
+            Before: NUMBER 0.0 1:20  [length: 1] [source_file: testcode]
+            After:  NUMBER 1.0 1:20  [length: 1] [source_file: testcode]
+            """);
+  }
+
+  @Test
+  public void testChangeInNestedFunctionOnlyChangesThatFunction() {
+    Node script = parse("function A() { return 1; }");
+    Node fnNode = script.getFirstChild();
+    FingerprintChangeVerifier verifier = new FingerprintChangeVerifier(compiler).snapshot(script);
+
+    fnNode.getLastChild().getFirstChild().getFirstChild().replaceWith(IR.number(2));
+    compiler.reportChangeToChangeScope(fnNode);
+
+    verifier.checkRecordedChanges("test", script);
+  }
+
+  @Test
+  public void testChangeToFunctionNameNotReported() {
+    Node script = parse("function A() {} if (0) { A(); }");
+    FingerprintChangeVerifier verifier = new FingerprintChangeVerifier(compiler).snapshot(script);
+
+    Node fnNode = script.getFirstChild();
+    fnNode.getFirstChild().replaceWith(IR.name("B"));
+    compiler.reportChangeToChangeScope(fnNode);
+
+    // The function declaration also changes the definitions of the script.
+    IllegalStateException e =
+        assertThrows(
+            IllegalStateException.class, () -> verifier.checkRecordedChanges("test", script));
+    assertThat(e)
+        .hasMessageThat()
+        .contains("changed scope not marked as changed: SCRIPT: testcode.");
+  }
+
+  @Test
+  public void testUnchangedScopeMarkedAsChanged() {
+    Node script = parse("function A() {}");
+    FingerprintChangeVerifier verifier = new FingerprintChangeVerifier(compiler).snapshot(script);
+
+    compiler.reportChangeToChangeScope(script.getFirstChild());
+
+    IllegalStateException e =
+        assertThrows(
+            IllegalStateException.class, () -> verifier.checkRecordedChanges("test", script));
+    assertThat(e)
+        .hasMessageThat()
+        .contains("unchanged scope marked as changed: FUNCTION: A in testcode");
+  }
+
+  @Test
+  public void testDeletedFunction() {
+    Node script = parse("function A() {}");
+    FingerprintChangeVerifier verifier = new FingerprintChangeVerifier(compiler).snapshot(script);
+
+    Node fnNode = script.getFirstChild();
+    fnNode.detach();
+    compiler.reportChangeToChangeScope(script);
+
+    IllegalStateException e =
+        assertThrows(
+            IllegalStateException.class, () -> verifier.checkRecordedChanges("test", script));
+    assertThat(e).hasMessageThat().contains("deleted scope was not reported");
+
+    compiler.reportFunctionDeleted(fnNode);
+    verifier.checkRecordedChanges("test", script);
+  }
+
+  @Test
+  public void testNotDeletedFunction() {
+    Node script = parse("function A() {}");
+    FingerprintChangeVerifier verifier = new FingerprintChangeVerifier(compiler).snapshot(script);
+
+    compiler.reportFunctionDeleted(script.getFirstChild());
+
+    IllegalStateException e =
+        assertThrows(
+            IllegalStateException.class, () -> verifier.checkRecordedChanges("test", script));
+    assertThat(e).hasMessageThat().contains("existing scope is improperly marked as deleted");
+  }
+
+  @Test
+  public void testNewFunction() {
+    Node script = parse("");
+    FingerprintChangeVerifier verifier = new FingerprintChangeVerifier(compiler).snapshot(script);
+
+    script.addChildToFront(IR.function(IR.name("A"), IR.paramList(), IR.block()));
+    compiler.reportChangeToChangeScope(script);
+
+    IllegalStateException e =
+        assertThrows(
+            IllegalStateException.class, () -> verifier.checkRecordedChanges("test", script));
+    assertThat(e).hasMessageThat().contains("new scope not explicitly marked as changed:");
+
+    compiler.reportChangeToChangeScope(script.getFirstChild());
+    verifier.checkRecordedChanges("test", script);
+  }
+
+  @Test
+  public void testCreateFollowsOptions() {
+    compiler = new Compiler();
+    CompilerOptions options = new CompilerOptions();
+    compiler.initOptions(options);
+    assertThat(ChangeVerifier.create(compiler)).isNotInstanceOf(FingerprintChangeVerifier.class);
+
+    options.setFingerprintChangeVerification(true);
+    assertThat(ChangeVerifier.create(compiler)).isInstanceOf(FingerprintChangeVerifier.class);
+  }
+
+  /** Initializes a new compiler, parses the script using it and returns the script node */
+  private Node parse(String js) {
+    compiler = new Compiler();
+    compiler.initCompilerOptionsIfTesting();
+    Node n = compiler.parseTestCode(js);
+    assertThat(compiler.getErrors()).isEmpty();
+    return n;
+  }
+}
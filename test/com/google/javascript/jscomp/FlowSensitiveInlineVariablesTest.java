@@ -25,6 +25,8 @@ import org.junit.runners.JUnit4;
 @RunWith(JUnit4.class)
 public final class FlowSensitiveInlineVariablesTest extends CompilerTestCase {
 
+  private int numParallelThreads = 1;
+
   public static final String EXTERN_FUNCTIONS =
       """
       var print;
@@ -41,6 +43,13 @@ public final class FlowSensitiveInlineVariablesTest extends CompilerTestCase {
     enableNormalizeExpectedOutput();
   }
 
+  @Override
+  protected CompilerOptions getOptions() {
+    CompilerOptions options = super.getOptions();
+    options.setNumParallelThreads(numParallelThreads);
+    return options;
+  }
+
   @Override
   protected int getNumRepetitions() {
     // Test repeatedly inline.
@@ -66,6 +75,15 @@ public final class FlowSensitiveInlineVariablesTest extends CompilerTestCase {
     inline("var x; x = 1; x = x + 1", "var x; x = 1 + 1");
   }
 
+  @Test
+  public void testFunctionsInlinedInParallel() {
+    numParallelThreads = 4;
+    test(
+        externs(EXTERN_FUNCTIONS),
+        srcs("function f() { var x; x = 1; print(x); } function g() { var y; y = 2; print(y); }"),
+        expected("function f() { var x; print(1); } function g() { var y; print(2); }"));
+  }
+
   @Test
   public void testSimpleVar() {
     inline("var x = 1; print(x)", "var x; print(1)");
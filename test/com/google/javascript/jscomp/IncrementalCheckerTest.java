@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.testing.TestExternsBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class IncrementalCheckerTest {
+
+  private static final SourceFile A =
+      SourceFile.fromCode("a.js", "goog.module('a'); /** @const {number} */ exports.x = 1;");
+  private static final SourceFile B =
+      SourceFile.fromCode(
+          "b.js",
+          """
+          goog.module('b');
+          const a = goog.require('a');
+          /** @const {number} */ exports.y = a.x;
+          """);
+  private static final SourceFile C =
+      SourceFile.fromCode("c.js", "goog.module('c'); /** @const {number} */ exports.z = 0;");
+  private static final SourceFile GLOBAL = SourceFile.fromCode("global.js", "var g = 0;");
+
+  private IncrementalChecker checker;
+
+  @Before
+  public void setUp() {
+    checker = new IncrementalChecker(createOptions(), createExterns());
+  }
+
+  @Test
+  public void testCheckAllChecksEveryInput() {
+    Result result = checker.checkAll(ImmutableList.of(A, B, C));
+
+    assertThat(result.success).isTrue();
+    assertThat(checker.getLastCheckedFiles()).containsExactly("a.js", "b.js", "c.js");
+  }
+
+  @Test
+  public void testEditedFileWithoutDependentsIsCheckedAlone() {
+    checker.checkAll(ImmutableList.of(A, B, C));
+
+    Result result =
+        checker.update(
+            ImmutableList.of(
+                SourceFile.fromCode(
+                    "c.js", "goog.module('c'); /** @const {number} */ exports.z = 'zero';")),
+            ImmutableList.of());
+
+    assertThat(checker.getLastCheckedFiles()).containsExactly("c.js");
+    assertThat(sourceNames(result.warnings)).containsExactly("c.js");
+    assertThat(result.warnings.get(0).type()).isEqualTo(TypeValidator.TYPE_MISMATCH_WARNING);
+  }
+
+  @Test
+  public void testDependentsOfEditedFileAreChecked() {
+    checker.checkAll(ImmutableList.of(A, B, C));
+
+    Result result =
+        checker.update(
+            ImmutableList.of(
+                SourceFile.fromCode(
+                    "a.js", "goog.module('a'); /** @const {string} */ exports.x = 'one';")),
+            ImmutableList.of());
+
+    assertThat(checker.getLastCheckedFiles()).containsExactly("a.js", "b.js");
+    assertThat(sourceNames(result.warnings)).containsExactly("b.js");
+  }
+
+  @Test
+  public void testDiagnosticsOfUncheckedFilesAreKept() {
+    SourceFile badC =
+        SourceFile.fromCode("c.js", "goog.module('c'); /** @const {number} */ exports.z = 'zero';");
+    checker.checkAll(ImmutableList.of(A, B, badC));
+
+    Result result = checker.update(ImmutableList.of(A), ImmutableList.of());
+
+    assertThat(checker.getLastCheckedFiles()).doesNotContain("c.js");
+    assertThat(sourceNames(result.warnings)).containsExactly("c.js");
+  }
+
+  @Test
+  public void testRemovedFilesLoseTheirDiagnosticsAndRecheckDependents() {
+    SourceFile badC =
+        SourceFile.fromCode("c.js", "goog.module('c'); /** @const {number} */ exports.z = 'zero';");
+    checker.checkAll(ImmutableList.of(A, B, badC));
+
+    Result result = checker.update(ImmutableList.of(), ImmutableList.of("c.js", "a.js"));
+
+    assertThat(checker.getLastCheckedFiles()).containsExactly("b.js");
+    assertThat(sourceNames(result.warnings)).doesNotContain("c.js");
+  }
+
+  @Test
+  public void testGlobalScriptsAreAlwaysCompiled() {
+    checker.checkAll(ImmutableList.of(GLOBAL, A, B, C));
+
+    checker.update(ImmutableList.of(C), ImmutableList.of());
+    assertThat(checker.getLastCheckedFiles()).containsExactly("global.js", "c.js");
+
+    checker.update(
+        ImmutableList.of(SourceFile.fromCode("global.js", "var g = 1;")), ImmutableList.of());
+    assertThat(checker.getLastCheckedFiles())
+        .containsExactly("global.js", "a.js", "b.js", "c.js");
+  }
+
+  @Test
+  public void testUpdateMatchesFullCheck() {
+    checker.checkAll(ImmutableList.of(A, B, C));
+    ImmutableList<SourceFile> edits =
+        ImmutableList.of(
+            SourceFile.fromCode(
+                "a.js", "goog.module('a'); /** @const {string} */ exports.x = 'one';"),
+            SourceFile.fromCode(
+                "c.js", "goog.module('c'); /** @const {number} */ exports.z = 'zero';"));
+
+    Result incremental = checker.update(edits, ImmutableList.of());
+    Result full =
+        new IncrementalChecker(createOptions(), createExterns())
+            .checkAll(ImmutableList.of(edits.get(0), B, edits.get(1)));
+
+    assertThat(sourceNames(incremental.errors)).isEqualTo(sourceNames(full.errors));
+    assertThat(sourceNames(incremental.warnings)).isEqualTo(sourceNames(full.warnings));
+  }
+
+  private static ImmutableList<String> sourceNames(ImmutableList<JSError> diagnostics) {
+    return diagnostics.stream().map(JSError::sourceName).collect(toImmutableList());
+  }
+
+  private static CompilerOptions createOptions() {
+    CompilerOptions options = new CompilerOptions();
+    options.setChecksOnly(true);
+    options.setCheckTypes(true);
+    options.setClosurePass(true);
+    return options;
+  }
+
+  private static ImmutableList<SourceFile> createExterns() {
+    return ImmutableList.of(new TestExternsBuilder().buildExternsFile("externs.js"));
+  }
+}
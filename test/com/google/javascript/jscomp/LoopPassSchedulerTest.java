@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class LoopPassSchedulerTest {
+
+  private final LoopPassScheduler<String> scheduler =
+      new LoopPassScheduler<>(ImmutableList.of("inline", "peephole", "removeUnused"));
+
+  @Test
+  public void testPassThatNeverRanIsNotSkipped() {
+    assertThat(scheduler.shouldSkip("inline")).isFalse();
+  }
+
+  @Test
+  public void testPassIsSkippedWhenNothingChangedSinceItRan() {
+    scheduler.recordRun("inline", false);
+
+    assertThat(scheduler.shouldSkip("inline")).isTrue();
+  }
+
+  @Test
+  public void testPassIsSkippedAfterUnproductiveRuns() {
+    scheduler.recordRun("removeUnused", false);
+    for (int i = 0; i < LoopPassScheduler.MIN_UNPRODUCTIVE_RUNS; i++) {
+      scheduler.recordRun("peephole", true);
+      assertThat(scheduler.shouldSkip("removeUnused")).isFalse();
+      scheduler.recordRun("removeUnused", false);
+    }
+
+    scheduler.recordRun("peephole", true);
+    assertThat(scheduler.shouldSkip("removeUnused")).isTrue();
+
+    // A change by a pass that wasn't seen yet makes it run again.
+    scheduler.recordRun("inline", true);
+    assertThat(scheduler.shouldSkip("removeUnused")).isFalse();
+  }
+
+  @Test
+  public void testPassIsNotSkippedAfterChangesByItsEnablers() {
+    scheduler.recordRun("removeUnused", false);
+    scheduler.recordRun("inline", true);
+    scheduler.recordRun("removeUnused", true);
+    for (int i = 0; i < LoopPassScheduler.MIN_UNPRODUCTIVE_RUNS; i++) {
+      scheduler.recordRun("inline", true);
+      scheduler.recordRun("removeUnused", false);
+    }
+
+    scheduler.recordRun("inline", true);
+    assertThat(scheduler.shouldSkip("removeUnused")).isFalse();
+  }
+
+  @Test
+  public void testOwnChangesCount() {
+    scheduler.recordRun("peephole", true);
+    scheduler.recordRun("peephole", false);
+    scheduler.recordRun("peephole", true);
+    assertThat(scheduler.shouldSkip("peephole")).isFalse();
+    scheduler.recordRun("peephole", false);
+
+    scheduler.recordRun("peephole", true);
+    assertThat(scheduler.shouldSkip("peephole")).isTrue();
+  }
+}
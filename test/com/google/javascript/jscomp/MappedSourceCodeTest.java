@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_16;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertThrows;
+
+import com.google.javascript.jscomp.parsing.parser.SourceFile;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class MappedSourceCodeTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testAsciiFile() throws IOException {
+    String code = "var a = 1;\nvar b = 'a long enough string to check 8 bytes at a time';\n";
+    Path path = write(code.getBytes(UTF_8));
+
+    MappedSourceCode mapped = MappedSourceCode.map(path, UTF_8);
+
+    assertThat(mapped).isNotNull();
+    assertThat(mapped.length()).isEqualTo(code.length());
+    assertThat(mapped.charAt(4)).isEqualTo('a');
+    assertThat(mapped.toString()).isEqualTo(code);
+    assertThat(mapped.subSequence(4, 9).toString()).isEqualTo("a = 1");
+    assertThat(mapped.subSequence(4, 9).subSequence(4, 5).toString()).isEqualTo("1");
+    assertThat(mapped.substring(4, 9)).isEqualTo("a = 1");
+    assertThat(((MappedSourceCode) mapped.subSequence(4, 9)).substring(4, 5)).isEqualTo("1");
+    assertThrows(IndexOutOfBoundsException.class, () -> mapped.charAt(code.length()));
+    assertThrows(IndexOutOfBoundsException.class, () -> mapped.subSequence(4, 3));
+    assertThrows(IndexOutOfBoundsException.class, () -> mapped.substring(4, 3));
+  }
+
+  @Test
+  public void testNonAsciiUtf8FileIsNotMapped() throws IOException {
+    // The non-ASCII char is in the middle of the file, and then at the end, after the last 8 bytes.
+    Path middle = write("var a = 'caf\u00e9';\nvar b = 'some more ASCII text';\n".getBytes(UTF_8));
+    Path end = write("var a = 'some ASCII text'; // caf\u00e9".getBytes(UTF_8));
+
+    assertThat(MappedSourceCode.map(middle, UTF_8)).isNull();
+    assertThat(MappedSourceCode.map(end, UTF_8)).isNull();
+  }
+
+  @Test
+  public void testLatin1FileIsMapped() throws IOException {
+    String code = "var a = 'caf\u00e9';";
+    Path path = write(code.getBytes(ISO_8859_1));
+
+    MappedSourceCode mapped = MappedSourceCode.map(path, ISO_8859_1);
+
+    assertThat(mapped).isNotNull();
+    assertThat(mapped.toString()).isEqualTo(code);
+    assertThat(mapped.charAt(code.length() - 3)).isEqualTo('\u00e9');
+  }
+
+  @Test
+  public void testOtherCharsetIsNotMapped() throws IOException {
+    Path path = write("var a;".getBytes(UTF_16));
+
+    assertThat(MappedSourceCode.map(path, UTF_16)).isNull();
+  }
+
+  @Test
+  public void testEmptyFile() throws IOException {
+    MappedSourceCode mapped = MappedSourceCode.map(write(new byte[0]), UTF_8);
+
+    assertThat(mapped).isNotNull();
+    assertThat(mapped.length()).isEqualTo(0);
+    assertThat(mapped.toString()).isEmpty();
+  }
+
+  @Test
+  public void testParserSourceFileIsSerializedWithStringContents() throws Exception {
+    String code = "var a = 1;";
+    MappedSourceCode mapped = MappedSourceCode.map(write(code.getBytes(UTF_8)), UTF_8);
+    SourceFile file = new SourceFile("a.js", mapped);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(file);
+    }
+    SourceFile copy;
+    try (ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      copy = (SourceFile) in.readObject();
+    }
+
+    assertThat(copy.name).isEqualTo("a.js");
+    assertThat(copy.contents).isEqualTo(code);
+  }
+
+  private Path write(byte[] bytes) throws IOException {
+    Path path = folder.newFile().toPath();
+    Files.write(path, bytes);
+    return path;
+  }
+}
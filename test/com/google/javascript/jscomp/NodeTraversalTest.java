@@ -28,9 +28,11 @@ import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.Token;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -1044,6 +1046,66 @@ public final class NodeTraversalTest {
     }
   }
 
+  @Test
+  public void testTraverseFunctionsInParallel() {
+    Compiler compiler = new Compiler();
+    CompilerOptions options = new CompilerOptions();
+    options.setNumParallelThreads(2);
+    compiler.initOptions(options);
+
+    String code =
+        """
+        var x = 0;
+        function f() { return function g() { return x; }; }
+        if (x) { var h = () => x; }
+        """;
+    Node script = parse(compiler, code);
+    Node f = script.getSecondChild();
+    Node g = f.getLastChild().getFirstFirstChild();
+    Node arrow = script.getLastChild().getLastChild().getFirstFirstChild();
+    assertNode(g).hasToken(Token.FUNCTION);
+    assertNode(arrow).hasToken(Token.FUNCTION);
+
+    List<List<Node>> enteredScopeRoots = Collections.synchronizedList(new ArrayList<>());
+    Set<Var> referencedVars = ConcurrentHashMap.newKeySet();
+    NodeTraversal.traverseFunctionsInParallel(
+        compiler,
+        script.getParent(),
+        () -> {
+          List<Node> entered = new ArrayList<>();
+          enteredScopeRoots.add(entered);
+          return NodeTraversal.builder()
+              .setCompiler(compiler)
+              .setCallback(
+                  new AbstractScopedCallback() {
+                    @Override
+                    public void enterScope(NodeTraversal t) {
+                      entered.add(t.getScopeRoot());
+                    }
+
+                    @Override
+                    public void visit(NodeTraversal t, Node n, Node parent) {
+                      if (n.isName() && n.getString().equals("x")) {
+                        referencedVars.add(t.getScope().getVar("x"));
+                        t.reportCodeChange(n);
+                      }
+                    }
+                  });
+        });
+
+    // Each outermost function has its own traversal, which starts inside the enclosing scopes.
+    assertThat(enteredScopeRoots).hasSize(2);
+    assertThat(enteredScopeRoots)
+        .containsExactly(
+            ImmutableList.of(f, f.getLastChild(), g, g.getLastChild()),
+            ImmutableList.of(arrow));
+    // The global scope is shared, and the global `var x = 0` is not visited.
+    assertThat(referencedVars).hasSize(1);
+    // Changes are recorded in AST order.
+    assertThat(g.getChangeTime()).isGreaterThan(0);
+    assertThat(arrow.getChangeTime()).isGreaterThan(g.getChangeTime());
+  }
+
   private static Node parse(Compiler compiler, String js) {
     Node n = compiler.parseTestCode(js);
     assertThat(compiler.getErrors()).isEmpty();
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.javascript.jscomp.CodePrinter.LicenseTracker;
+import com.google.javascript.jscomp.CodePrinter.SourceAndMappings;
+import com.google.javascript.jscomp.ParallelScriptPrinter.PrintedScript;
+import com.google.javascript.jscomp.ParallelScriptPrinter.ScriptToPrint;
+import com.google.javascript.rhino.IR;
+import com.google.javascript.rhino.Node;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class ParallelScriptPrinterTest {
+
+  @Test
+  public void testLicensesAreEmittedWhenReplayedInScriptOrder() {
+    List<ScriptToPrint> scripts = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      scripts.add(new ScriptToPrint(IR.script(IR.exprResult(IR.name("x" + i))), i == 0));
+    }
+    ParallelTaskExecutor executor = new ParallelTaskExecutor(4);
+    ParallelScriptPrinter printer =
+        new ParallelScriptPrinter(
+            (Node script, boolean firstOutput, LicenseTracker licenseTracker) -> {
+              licenseTracker.trackLicensesForNode(script);
+              // Licenses are only emitted once the script is stitched into the output.
+              assertThat(licenseTracker.emitLicenses()).isEmpty();
+              licenseTracker.trackLicensesForNode(script.getFirstChild());
+              SourceAndMappings sourceAndMappings = new SourceAndMappings();
+              sourceAndMappings.source = "";
+              return sourceAndMappings;
+            },
+            executor);
+
+    ImmutableList<PrintedScript> printed = printer.printAll(scripts);
+    executor.shutdown();
+
+    List<Node> replayed = new ArrayList<>();
+    LicenseTracker realTracker =
+        new LicenseTracker() {
+          @Override
+          public void trackLicensesForNode(Node node) {
+            replayed.add(node);
+          }
+
+          @Override
+          public ImmutableSet<String> emitLicenses() {
+            return ImmutableSet.of();
+          }
+        };
+    for (PrintedScript script : printed) {
+      script.replayLicenses(realTracker);
+    }
+    List<Node> expected = new ArrayList<>();
+    for (ScriptToPrint script : scripts) {
+      expected.add(script.script());
+      expected.add(script.script().getFirstChild());
+    }
+    assertThat(replayed).containsExactlyElementsIn(expected).inOrder();
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class ParallelTaskExecutorTest {
+
+  private final ParallelTaskExecutor executor = new ParallelTaskExecutor(2);
+
+  @After
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  public void testResultsAreInTaskOrder() {
+    CountDownLatch firstMayFinish = new CountDownLatch(1);
+    ImmutableList<Callable<String>> tasks =
+        ImmutableList.of(
+            () -> {
+              // The second task runs at the same time, and finishes first.
+              firstMayFinish.await();
+              return "first";
+            },
+            () -> {
+              firstMayFinish.countDown();
+              return "second";
+            });
+
+    assertThat(executor.invokeAll(tasks)).containsExactly("first", "second").inOrder();
+  }
+
+  @Test
+  public void testFirstFailingTaskIsRethrown() {
+    CountDownLatch secondFailed = new CountDownLatch(1);
+    ImmutableList<Callable<String>> tasks =
+        ImmutableList.of(
+            () -> {
+              secondFailed.await();
+              throw new IllegalStateException("first");
+            },
+            () -> {
+              try {
+                throw new IllegalArgumentException("second");
+              } finally {
+                secondFailed.countDown();
+              }
+            });
+
+    IllegalStateException e =
+        assertThrows(IllegalStateException.class, () -> executor.invokeAll(tasks));
+    assertThat(e).hasMessageThat().isEqualTo("first");
+  }
+
+  @Test
+  public void testRunningTasksAreWaitedForOnFailure() {
+    CountDownLatch secondStarted = new CountDownLatch(1);
+    AtomicBoolean secondFinished = new AtomicBoolean();
+    ImmutableList<Callable<String>> tasks =
+        ImmutableList.of(
+            () -> {
+              secondStarted.await();
+              throw new IllegalStateException("first");
+            },
+            () -> {
+              secondStarted.countDown();
+              Thread.sleep(100);
+              secondFinished.set(true);
+              return "second";
+            });
+
+    assertThrows(IllegalStateException.class, () -> executor.invokeAll(tasks));
+    assertThat(secondFinished.get()).isTrue();
+  }
+
+  @Test
+  public void testTasksOfTasksRunOnTheirThread() {
+    List<Runnable> tasks = new ArrayList<>();
+    List<List<Thread>> innerThreads = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      List<Thread> threads = new ArrayList<>();
+      innerThreads.add(threads);
+      tasks.add(
+          () ->
+              executor.runAll(
+                  ImmutableList.of(
+                      () -> threads.add(Thread.currentThread()),
+                      () -> threads.add(Thread.currentThread()))));
+    }
+
+    // Both threads are busy with the outer tasks, so the inner ones would never run otherwise.
+    executor.runAll(tasks);
+
+    for (List<Thread> threads : innerThreads) {
+      assertThat(threads).hasSize(2);
+      assertThat(threads.get(0)).isSameInstanceAs(threads.get(1));
+      assertThat(threads.get(0)).isNotSameInstanceAs(Thread.currentThread());
+    }
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.javascript.jscomp.base.JSCompObjects.identical;
+import static com.google.javascript.rhino.testing.NodeSubject.assertNode;
+
+import com.google.javascript.rhino.Node;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class ParseCacheTest {
+
+  private ParseCache parseCache;
+
+  @Before
+  public void setUp() {
+    parseCache = new ParseCache();
+  }
+
+  @Test
+  public void testUnchangedFileIsParsedOnce() {
+    Node first = parse(SourceFile.fromCode("a.js", "/** @const */ var a = 1;"));
+    assertThat(parseCache.size()).isEqualTo(1);
+
+    SourceFile secondFile = SourceFile.fromCode("a.js", "/** @const */ var a = 1;");
+    Node second = parse(secondFile);
+
+    assertThat(parseCache.size()).isEqualTo(1);
+    assertNode(second).isEqualIncludingJsDocTo(first);
+    assertThat(second).isNotSameInstanceAs(first);
+    NodeUtil.visitPreOrder(
+        second, (Node n) -> assertThat(identical(n.getStaticSourceFile(), secondFile)).isTrue());
+  }
+
+  @Test
+  public void testChangesToTheAstAreNotCached() {
+    Node first = parse(SourceFile.fromCode("a.js", "var a = 1;"));
+    first.removeChildren();
+
+    Node second = parse(SourceFile.fromCode("a.js", "var a = 1;"));
+
+    assertThat(second.hasOneChild()).isTrue();
+  }
+
+  @Test
+  public void testChangedFileIsParsedAgain() {
+    parse(SourceFile.fromCode("a.js", "var a = 1;"));
+    Node second = parse(SourceFile.fromCode("a.js", "var a = 2;"));
+
+    assertThat(parseCache.size()).isEqualTo(2);
+    assertThat(second.getFirstFirstChild().getFirstChild().getDouble()).isEqualTo(2.0);
+  }
+
+  @Test
+  public void testFilesWithParseErrorsAreNotCached() {
+    Compiler compiler = createCompiler();
+    new CompilerInput(SourceFile.fromCode("a.js", "var a = ;")).getAstRoot(compiler);
+
+    assertThat(compiler.getErrors()).isNotEmpty();
+    assertThat(parseCache.size()).isEqualTo(0);
+  }
+
+  private Node parse(SourceFile file) {
+    return new CompilerInput(file).getAstRoot(createCompiler());
+  }
+
+  private Compiler createCompiler() {
+    Compiler compiler = new Compiler();
+    compiler.initCompilerOptionsIfTesting();
+    compiler.setParseCache(parseCache);
+    return compiler;
+  }
+}
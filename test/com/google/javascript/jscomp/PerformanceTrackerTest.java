@@ -21,6 +21,9 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import com.google.javascript.jscomp.CompilerOptions.TracerMode;
 import com.google.javascript.jscomp.PerformanceTracker.Stats;
 import com.google.javascript.rhino.IR;
@@ -28,8 +31,11 @@ import com.google.javascript.rhino.InputId;
 import com.google.javascript.rhino.JSDocInfo;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.Token;
+import com.google.javascript.rhino.jstype.JSTypeRegistry.TypeRelationCacheStats;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.io.StringWriter;
 import java.util.regex.Pattern;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -106,6 +112,153 @@ public final class PerformanceTrackerTest {
     assertThat(st.changes).isEqualTo(0);
   }
 
+  @Test
+  public void testResourceUsage() {
+    ChangeTracker changeTracker = new ChangeTracker();
+    PerformanceTracker tracker =
+        new PerformanceTracker(emptyExternRoot, emptyJsRoot, TracerMode.TIMING_ONLY, changeTracker);
+    Node script = IR.script();
+    Node function = IR.function(IR.name("f"), IR.paramList(), IR.block());
+
+    tracker.recordPassStart("outer", true);
+    changeTracker.reportChangeToChangeScope(script);
+    tracker.recordPassStart("inner", true);
+    changeTracker.reportChangeToChangeScope(function);
+    changeTracker.reportChangeToChangeScope(function);
+    long[] allocated = new long[1 << 16];
+    tracker.recordPassStop("inner", 0);
+    tracker.recordPassStop("outer", 0);
+
+    ImmutableMap<String, Stats> stats = tracker.getStats();
+    assertThat(stats.get("inner").changedScopes).isEqualTo(1);
+    assertThat(stats.get("outer").changedScopes).isEqualTo(2);
+    assertThat(stats.get("inner").gcTime).isAtLeast(0);
+    if (stats.get("inner").allocBytes != -1) {
+      assertThat(stats.get("inner").allocBytes).isAtLeast((long) allocated.length * Long.BYTES);
+      assertThat(stats.get("outer").allocBytes).isAtLeast(stats.get("inner").allocBytes);
+    }
+  }
+
+  @Test
+  public void testResourceUsageWithoutChangeTracker() {
+    PerformanceTracker tracker =
+        new PerformanceTracker(emptyExternRoot, emptyJsRoot, TracerMode.TIMING_ONLY);
+
+    tracker.recordPassStart("pass", true);
+    tracker.recordPassStop("pass", 0);
+
+    assertThat(tracker.getStats().get("pass").changedScopes).isEqualTo(-1);
+  }
+
+  @Test
+  public void testJsonReport() throws IOException {
+    ChangeTracker changeTracker = new ChangeTracker();
+    PerformanceTracker tracker =
+        new PerformanceTracker(emptyExternRoot, emptyJsRoot, TracerMode.TIMING_ONLY, changeTracker);
+    tracker.recordPassStart("pass", true);
+    changeTracker.reportChangeToChangeScope(IR.script());
+    tracker.recordPassStop("pass", 5);
+    tracker.recordPassStart("pass", true);
+    tracker.recordPassStop("pass", 7);
+
+    StringWriter output = new StringWriter();
+    tracker.outputJsonReport(output);
+
+    JsonObject report = JsonParser.parseString(output.toString()).getAsJsonObject();
+    assertThat(report.get("passesRuntimeMs").getAsInt()).isEqualTo(12);
+    JsonArray summary = report.getAsJsonArray("summary");
+    assertThat(summary.size()).isEqualTo(1);
+    JsonObject passSummary = summary.get(0).getAsJsonObject();
+    assertThat(passSummary.get("pass").getAsString()).isEqualTo("pass");
+    assertThat(passSummary.get("runs").getAsInt()).isEqualTo(2);
+    assertThat(passSummary.get("runtimeMs").getAsInt()).isEqualTo(12);
+    assertThat(passSummary.get("changedScopes").getAsInt()).isEqualTo(1);
+    assertThat(passSummary.has("cpuTimeMs")).isTrue();
+    assertThat(passSummary.has("allocatedBytes")).isTrue();
+    assertThat(passSummary.has("gcTimeMs")).isTrue();
+    JsonArray log = report.getAsJsonArray("log");
+    assertThat(log.size()).isEqualTo(2);
+    assertThat(log.get(0).getAsJsonObject().get("changedScopes").getAsInt()).isEqualTo(1);
+    assertThat(log.get(1).getAsJsonObject().get("changedScopes").getAsInt()).isEqualTo(0);
+  }
+
+  @Test
+  public void testSkippedLoopRuns() throws IOException {
+    PerformanceTracker tracker =
+        new PerformanceTracker(emptyExternRoot, emptyJsRoot, TracerMode.TIMING_ONLY);
+    tracker.recordSkippedPass("peephole");
+    tracker.recordSkippedPass("removeUnused");
+    tracker.recordSkippedPass("peephole");
+
+    StringWriter jsonOutput = new StringWriter();
+    tracker.outputJsonReport(jsonOutput);
+    JsonObject skipped =
+        JsonParser.parseString(jsonOutput.toString())
+            .getAsJsonObject()
+            .getAsJsonObject("skippedLoopRuns");
+    assertThat(skipped.get("peephole").getAsInt()).isEqualTo(2);
+    assertThat(skipped.get("removeUnused").getAsInt()).isEqualTo(1);
+
+    ByteArrayOutputStream textOutput = new ByteArrayOutputStream();
+    try (PrintStream out = new PrintStream(textOutput, true, UTF_8)) {
+      tracker.outputTracerReport(out);
+    }
+    assertThat(textOutput.toString(UTF_8))
+        .contains("Skipped loop runs:\npass,skippedRuns\npeephole,2\nremoveUnused,1\n");
+  }
+
+  @Test
+  public void testTypeRelationCacheStats() throws IOException {
+    PerformanceTracker tracker =
+        new PerformanceTracker(emptyExternRoot, emptyJsRoot, TracerMode.TIMING_ONLY);
+    tracker.recordTypeRelationCacheStats(new TypeRelationCacheStats(3, 2, 1));
+
+    StringWriter jsonOutput = new StringWriter();
+    tracker.outputJsonReport(jsonOutput);
+    JsonObject cache =
+        JsonParser.parseString(jsonOutput.toString())
+            .getAsJsonObject()
+            .getAsJsonObject("typeRelationCache");
+    assertThat(cache.get("hits").getAsLong()).isEqualTo(3);
+    assertThat(cache.get("misses").getAsLong()).isEqualTo(2);
+    assertThat(cache.get("invalidations").getAsLong()).isEqualTo(1);
+
+    ByteArrayOutputStream textOutput = new ByteArrayOutputStream();
+    try (PrintStream out = new PrintStream(textOutput, true, UTF_8)) {
+      tracker.outputTracerReport(out);
+    }
+    assertThat(textOutput.toString(UTF_8))
+        .contains("Type relation cache:\nHits: 3\nMisses: 2\nInvalidations: 1\n");
+  }
+
+  @Test
+  public void testTraceEvents() throws IOException {
+    PerformanceTracker tracker =
+        new PerformanceTracker(emptyExternRoot, emptyJsRoot, TracerMode.TIMING_ONLY);
+    TraceEventRecorder traceEvents = new TraceEventRecorder();
+    tracker.setTraceEventRecorder(traceEvents);
+    tracker.recordPassStart("outer", true);
+    tracker.recordPassStart("inner", false);
+    tracker.recordPassStop("inner", 1);
+    tracker.recordPassStop("outer", 2);
+
+    StringWriter output = new StringWriter();
+    traceEvents.writeTo(output);
+
+    JsonArray events =
+        JsonParser.parseString(output.toString()).getAsJsonObject().getAsJsonArray("traceEvents");
+    ImmutableList.Builder<String> spans = ImmutableList.builder();
+    for (int i = 0; i < events.size(); i++) {
+      JsonObject event = events.get(i).getAsJsonObject();
+      if (event.get("ph").getAsString().equals("X")) {
+        spans.add(event.get("name").getAsString());
+        assertThat(event.getAsJsonObject("args").get("inLoop").getAsBoolean())
+            .isEqualTo(event.get("name").getAsString().equals("inner"));
+      }
+    }
+    assertThat(spans.build()).containsExactly("outer", "inner").inOrder();
+  }
+
   @Test
   public void testAstSummaryAndFormat() {
     // Given
@@ -18,6 +18,7 @@ package com.google.javascript.jscomp;
 
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth.assertWithMessage;
+import static java.util.stream.Collectors.toList;
 import static org.junit.Assert.assertThrows;
 
 import com.google.common.collect.ImmutableList;
@@ -27,7 +28,9 @@ import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.Token;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -36,6 +39,9 @@ import org.junit.runners.JUnit4;
 /** Tests for {@link PhaseOptimizer}. */
 @RunWith(JUnit4.class)
 public final class PhaseOptimizerTest {
+  private static final DiagnosticType TEST_WARNING = DiagnosticType.warning("TEST_WARNING", "{0}");
+  private static final DiagnosticType TEST_ERROR = DiagnosticType.error("TEST_ERROR", "{0}");
+
   private final List<String> passesRun = new ArrayList<>();
   private Node dummyRoot;
   Node dummyScript;
@@ -206,6 +212,191 @@ public final class PhaseOptimizerTest {
     assertThat(ex).hasMessageThat().isEqualTo("Precondition for pass myPass failed: message");
   }
 
+  @Test
+  public void perScriptPass_runsOnEachScriptAndReportsInScriptOrder() {
+    DiagnosticType perScriptWarning = DiagnosticType.warning("JSC_TEST_PER_SCRIPT", "saw {0}");
+    compiler.getOptions().setNumParallelThreads(4);
+    Node externs = IR.root(IR.script(IR.exprResult(IR.name("extern0"))));
+    Node root = IR.root();
+    for (int i = 0; i < 20; i++) {
+      root.addChildToBack(IR.script(IR.exprResult(IR.name("name" + i))));
+    }
+    List<String> seenThreads = Collections.synchronizedList(new ArrayList<>());
+    PassFactory passFactory =
+        PassFactory.builder()
+            .setName("perScript")
+            .setPerScriptAndSideEffectFree(true)
+            .setInternalFactory(
+                (compiler) ->
+                    (CompilerPass)
+                        (externsRoot, jsRoot) -> {
+                          seenThreads.add(Thread.currentThread().getName());
+                          for (Node script : ImmutableList.of(externsRoot, jsRoot)) {
+                            for (Node n = script.getFirstChild(); n != null; n = n.getNext()) {
+                              String name = n.getFirstChild().getString();
+                              compiler.report(JSError.make(n, perScriptWarning, name));
+                            }
+                          }
+                        })
+            .build();
+    optimizer.addOneTimePass(passFactory);
+
+    optimizer.process(externs, root);
+
+    assertThat(seenThreads).hasSize(21);
+    assertThat(seenThreads).doesNotContain(Thread.currentThread().getName());
+    List<String> expected = new ArrayList<>();
+    expected.add("saw extern0");
+    for (int i = 0; i < 20; i++) {
+      expected.add("saw name" + i);
+    }
+    assertThat(compiler.getWarnings().stream().map(JSError::getDescription).collect(toList()))
+        .containsExactlyElementsIn(expected)
+        .inOrder();
+  }
+
+  @Test
+  public void perScriptPass_reportsToErrorHandlerOnCompilerThreadInScriptOrder() {
+    DiagnosticType perScriptWarning = DiagnosticType.warning("JSC_TEST_PER_SCRIPT", "saw {0}");
+    compiler.getOptions().setNumParallelThreads(4);
+    Thread compilerThread = Thread.currentThread();
+    List<String> handled = new ArrayList<>();
+    compiler
+        .getOptions()
+        .setErrorHandler(
+            (level, error) -> {
+              assertThat(Thread.currentThread()).isSameInstanceAs(compilerThread);
+              handled.add(error.getDescription());
+            });
+    Node root = IR.root();
+    for (int i = 0; i < 20; i++) {
+      root.addChildToBack(IR.script(IR.exprResult(IR.name("name" + i))));
+    }
+    PassFactory passFactory =
+        PassFactory.builder()
+            .setName("perScript")
+            .setPerScriptAndSideEffectFree(true)
+            .setInternalFactory(
+                (compiler) ->
+                    (CompilerPass)
+                        (externsRoot, jsRoot) -> {
+                          for (Node n = jsRoot.getFirstChild(); n != null; n = n.getNext()) {
+                            String name = n.getFirstChild().getString();
+                            compiler.report(JSError.make(n, perScriptWarning, name));
+                          }
+                        })
+            .build();
+    optimizer.addOneTimePass(passFactory);
+    ErrorHandler errorHandler = compiler.getOptions().getErrorHandler();
+
+    optimizer.process(IR.root(), root);
+
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      expected.add("saw name" + i);
+    }
+    assertThat(handled).containsExactlyElementsIn(expected).inOrder();
+    assertThat(compiler.getOptions().getErrorHandler()).isSameInstanceAs(errorHandler);
+  }
+
+  @Test
+  public void perScriptPass_runsSeriallyWithoutParallelThreads() {
+    Node externs = IR.root(IR.script());
+    Node root = IR.root(IR.script(), IR.script());
+    List<Node> seenRoots = new ArrayList<>();
+    PassFactory passFactory =
+        PassFactory.builder()
+            .setName("perScript")
+            .setPerScriptAndSideEffectFree(true)
+            .setInternalFactory(
+                (compiler) -> (CompilerPass) (externsRoot, jsRoot) -> seenRoots.add(jsRoot))
+            .build();
+    optimizer.addOneTimePass(passFactory);
+
+    optimizer.process(externs, root);
+
+    assertThat(seenRoots).containsExactly(root);
+  }
+
+  @Test
+  public void readOnlyPasses_shareOneTraversal() {
+    Node root = IR.root(IR.script());
+    List<String> visits = new ArrayList<>();
+    optimizer.addOneTimePass(createReadOnlyPassFactory("a", visits));
+    optimizer.addOneTimePass(createReadOnlyPassFactory("b", visits));
+
+    optimizer.process(null, root);
+
+    assertThat(visits).containsExactly("a SCRIPT", "b SCRIPT", "a ROOT", "b ROOT").inOrder();
+    assertThat(tracker.getStats().keySet())
+        .containsExactly("a", "b", PhaseOptimizer.FUSED_TRAVERSAL);
+    assertThat(tracker.getStats().get("a").runs).isEqualTo(1);
+  }
+
+  @Test
+  public void readOnlyPasses_areNotFusedAcrossOtherPasses() {
+    Node root = IR.root(IR.script());
+    List<String> visits = new ArrayList<>();
+    optimizer.addOneTimePass(createReadOnlyPassFactory("a", visits));
+    addOneTimePass("x");
+    optimizer.addOneTimePass(createReadOnlyPassFactory("b", visits));
+
+    optimizer.process(null, root);
+
+    assertThat(visits).containsExactly("a SCRIPT", "a ROOT", "b SCRIPT", "b ROOT").inOrder();
+    assertThat(passesRun).containsExactly("x");
+    assertThat(tracker.getStats().keySet()).containsExactly("a", "x", "b").inOrder();
+  }
+
+  @Test
+  public void readOnlyPerScriptPasses_areNotFusedWithParallelThreads() {
+    compiler.getOptions().setNumParallelThreads(4);
+    Node root = IR.root(IR.script());
+    List<String> visits = Collections.synchronizedList(new ArrayList<>());
+    optimizer.addOneTimePass(createReadOnlyPassFactory("a", visits));
+    optimizer.addOneTimePass(
+        createReadOnlyPassFactory("b", visits).toBuilder()
+            .setPerScriptAndSideEffectFree(true)
+            .build());
+
+    optimizer.process(null, root);
+
+    assertThat(tracker.getStats().keySet()).containsExactly("a", "b").inOrder();
+  }
+
+  @Test
+  public void readOnlyPasses_reportTheSameDiagnosticsWhenFused_withHaltingErrors() {
+    ImmutableList<String> unfused = runReportingPasses(/* fused= */ false);
+    ImmutableList<String> fused = runReportingPasses(/* fused= */ true);
+
+    assertThat(unfused)
+        .containsExactly("WARNING a SCRIPT", "WARNING a SCRIPT", "WARNING a ROOT", "ERROR b SCRIPT")
+        .inOrder();
+    assertThat(fused).isEqualTo(unfused);
+  }
+
+  /**
+   * Runs a pass reporting a warning for every node, then a pass that stops at its first error,
+   * then another pass reporting warnings, and returns the diagnostics in the order reported.
+   */
+  private static ImmutableList<String> runReportingPasses(boolean fused) {
+    Compiler compiler = new Compiler();
+    compiler.initCompilerOptionsIfTesting();
+    List<String> diagnostics = new ArrayList<>();
+    compiler
+        .getOptions()
+        .setErrorHandler((level, error) -> diagnostics.add(level + " " + error.description()));
+    PhaseOptimizer optimizer = new PhaseOptimizer(compiler, null);
+    optimizer.addOneTimePass(createReportingPassFactory("a", TEST_WARNING, false, fused));
+    optimizer.addOneTimePass(createReportingPassFactory("b", TEST_ERROR, true, fused));
+    optimizer.addOneTimePass(createReportingPassFactory("c", TEST_WARNING, false, fused));
+
+    optimizer.process(null, IR.root(IR.script(), IR.script()));
+
+    assertThat(compiler.hasHaltingErrors()).isTrue();
+    return ImmutableList.copyOf(diagnostics);
+  }
+
   public void assertPasses(String... names) {
     optimizer.process(null, dummyRoot);
     assertThat(passesRun).isEqualTo(ImmutableList.copyOf(names));
@@ -231,6 +422,50 @@ public final class PhaseOptimizerTest {
         .build();
   }
 
+  /** Creates a read-only pass that records the nodes it visits as "name TOKEN". */
+  private static PassFactory createReadOnlyPassFactory(String name, List<String> visits) {
+    return PassFactory.builder()
+        .setName(name)
+        .setReadOnlyCallback(
+            (compiler) ->
+                new NodeTraversal.AbstractPostOrderCallback() {
+                  @Override
+                  public void visit(NodeTraversal t, Node n, Node parent) {
+                    visits.add(name + " " + n.getToken());
+                  }
+                })
+        .build();
+  }
+
+  /**
+   * Creates a pass that reports a diagnostic "name TOKEN" for every node it visits, optionally
+   * stopping at halting errors like the passes built on {@link CombinedCompilerPass}.
+   */
+  private static PassFactory createReportingPassFactory(
+      String name, DiagnosticType type, boolean stopAtHaltingErrors, boolean readOnly) {
+    Function<AbstractCompiler, NodeTraversal.Callback> callbackFactory =
+        (compiler) -> {
+          NodeTraversal.Callback callback =
+              new NodeTraversal.AbstractPostOrderCallback() {
+                @Override
+                public void visit(NodeTraversal t, Node n, Node parent) {
+                  compiler.report(JSError.make(n, type, name + " " + n.getToken()));
+                }
+              };
+          return stopAtHaltingErrors ? new CombinedCompilerPass(compiler, callback) : callback;
+        };
+    PassFactory.Builder builder = PassFactory.builder().setName(name);
+    if (readOnly) {
+      builder.setReadOnlyCallback(callbackFactory);
+    } else {
+      builder.setInternalFactory(
+          (compiler) ->
+              (externs, root) ->
+                  NodeTraversal.traverse(compiler, root, callbackFactory.apply(compiler)));
+    }
+    return builder.build();
+  }
+
   private CompilerPass createPass(final String name, int numChanges) {
     final PhaseOptimizerTest self = this;
     final int[] numChangesClosure = new int[] {numChanges};
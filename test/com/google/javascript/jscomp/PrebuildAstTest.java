@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class PrebuildAstTest {
+
+  private Compiler compiler;
+
+  @Before
+  public void setUp() {
+    compiler = new Compiler();
+    compiler.initOptions(new CompilerOptions());
+  }
+
+  @After
+  public void tearDown() {
+    compiler.shutdownParallelTaskExecutor();
+  }
+
+  @Test
+  public void testPrebuildParsesAllInputs() {
+    ImmutableList<CompilerInput> inputs =
+        ImmutableList.of(input("a.js", "var a = 1;"), input("b.js", "var b = 2;"));
+    compiler.getOptions().setNumParallelThreads(2);
+
+    PrebuildAst prebuildAst = new PrebuildAst(compiler);
+    assertThat(prebuildAst.prebuild(inputs)).isTrue();
+    // The same threads can be used again.
+    assertThat(prebuildAst.prebuild(ImmutableList.of(input("c.js", "var c = 3;")))).isTrue();
+    assertThat(compiler.getErrors()).isEmpty();
+  }
+
+  @Test
+  public void testLargestInputIsParsedFirstAndHaltsTheRest() {
+    ImmutableList<CompilerInput> inputs =
+        ImmutableList.of(
+            input("small.js", "var ;"),
+            input("large.js", "var a = 1, b = 2, c = 3, d = 4; var ;"),
+            input("medium.js", "var a = 1; var ;"));
+
+    assertThat(new PrebuildAst(compiler).prebuild(inputs)).isFalse();
+    assertThat(compiler.getErrors()).hasSize(1);
+    assertThat(compiler.getErrors().get(0).sourceName()).isEqualTo("large.js");
+  }
+
+  private static CompilerInput input(String name, String code) {
+    return new CompilerInput(SourceFile.fromCode(name, code));
+  }
+}
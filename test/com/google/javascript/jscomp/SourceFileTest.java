@@ -316,6 +316,42 @@ public final class SourceFileTest {
     assertThat(newFile.getName()).isEqualTo("original_test.js");
   }
 
+  @Test
+  public void testLargeAsciiDiskFileIsMapped() throws IOException {
+    String line = "var a = 'some text';\n";
+    String code = line.repeat((1 << 20) / line.length() + 1);
+    Path tempFile = folder.newFile("large.js").toPath();
+    MoreFiles.asCharSink(tempFile, UTF_8).write(code);
+    SourceFile file = SourceFile.fromPath(tempFile, UTF_8);
+
+    CharSequence text = file.getCodeCharSequence();
+
+    assertThat(text).isInstanceOf(MappedSourceCode.class);
+    assertThat(text.toString()).isEqualTo(code);
+    assertThat(file.hasSourceInMemory()).isFalse();
+    assertThat(file.getNumBytes()).isEqualTo(code.length());
+    assertThat(file.getNumLines()).isEqualTo(code.split("\n").length + 1);
+    // The String is only created when it is asked for.
+    assertThat(file.getLine(2)).isEqualTo("var a = 'some text';");
+    assertThat(file.hasSourceInMemory()).isTrue();
+    assertThat(file.getCodeCharSequence()).isSameInstanceAs(file.getCode());
+  }
+
+  @Test
+  public void testLargeNonAsciiDiskFileIsReadIntoString() throws IOException {
+    String line = "var a = 'caf\u00e9';\n";
+    String code = line.repeat((1 << 20) / line.length() + 1);
+    Path tempFile = folder.newFile("large.js").toPath();
+    MoreFiles.asCharSink(tempFile, UTF_8).write(code);
+    SourceFile file = SourceFile.fromPath(tempFile, UTF_8);
+
+    CharSequence text = file.getCodeCharSequence();
+
+    assertThat(text).isInstanceOf(String.class);
+    assertThat(text.toString()).isEqualTo(code);
+    assertThat(file.hasSourceInMemory()).isTrue();
+  }
+
   @Test
   public void testGetLines() {
     SourceFile sourceFile =
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class TraceEventRecorderTest {
+
+  private final TraceEventRecorder recorder = new TraceEventRecorder();
+
+  @Test
+  public void testNestedSpans() throws IOException {
+    long outerStart = recorder.now();
+    long innerStart = recorder.now();
+    recorder.recordSpan("inner", TraceEventRecorder.PASS, innerStart);
+    recorder.recordSpan(
+        "outer", TraceEventRecorder.PASS, outerStart, ImmutableMap.of("codeChanged", true));
+
+    List<JsonObject> events = eventsWithPhase(write(), "X");
+    assertThat(events).hasSize(2);
+    // The enclosing span comes first, although it was recorded last.
+    JsonObject outer = events.get(0);
+    JsonObject inner = events.get(1);
+    assertThat(outer.get("name").getAsString()).isEqualTo("outer");
+    assertThat(outer.get("cat").getAsString()).isEqualTo("pass");
+    assertThat(outer.getAsJsonObject("args").get("codeChanged").getAsBoolean()).isTrue();
+    assertThat(inner.get("name").getAsString()).isEqualTo("inner");
+    assertThat(inner.has("args")).isFalse();
+    assertThat(inner.get("tid").getAsInt()).isEqualTo(outer.get("tid").getAsInt());
+    assertThat(inner.get("ts").getAsDouble()).isAtLeast(outer.get("ts").getAsDouble());
+    assertThat(inner.get("dur").getAsDouble()).isAtMost(outer.get("dur").getAsDouble());
+  }
+
+  @Test
+  public void testEachThreadHasItsOwnTrack() throws Exception {
+    recorder.recordSpan("main", TraceEventRecorder.PASS, recorder.now());
+    Thread worker =
+        new Thread(
+            () -> recorder.recordSpan("a.js", TraceEventRecorder.PARSE, recorder.now()),
+            "jscompiler-PrebuildAst");
+    worker.start();
+    worker.join();
+
+    JsonObject trace = write();
+    Map<Integer, String> threadNames = new LinkedHashMap<>();
+    for (JsonObject metadata : eventsWithPhase(trace, "M")) {
+      if (metadata.get("name").getAsString().equals("thread_name")) {
+        threadNames.put(
+            metadata.get("tid").getAsInt(),
+            metadata.getAsJsonObject("args").get("name").getAsString());
+      }
+    }
+    assertThat(threadNames.values())
+        .containsExactly(Thread.currentThread().getName(), "jscompiler-PrebuildAst")
+        .inOrder();
+
+    for (JsonObject span : eventsWithPhase(trace, "X")) {
+      String expectedThread =
+          span.get("name").getAsString().equals("a.js")
+              ? "jscompiler-PrebuildAst"
+              : Thread.currentThread().getName();
+      assertThat(threadNames.get(span.get("tid").getAsInt())).isEqualTo(expectedThread);
+    }
+  }
+
+  @Test
+  public void testInstant() throws IOException {
+    recorder.recordInstant(
+        "Loop iteration 1", TraceEventRecorder.LOOP, ImmutableMap.of("astSize", 42));
+
+    List<JsonObject> instants = eventsWithPhase(write(), "i");
+    assertThat(instants).hasSize(1);
+    JsonObject instant = instants.get(0);
+    assertThat(instant.get("name").getAsString()).isEqualTo("Loop iteration 1");
+    assertThat(instant.get("cat").getAsString()).isEqualTo("loop");
+    assertThat(instant.get("s").getAsString()).isEqualTo("t");
+    assertThat(instant.has("dur")).isFalse();
+    assertThat(instant.getAsJsonObject("args").get("astSize").getAsInt()).isEqualTo(42);
+  }
+
+  private JsonObject write() throws IOException {
+    StringWriter output = new StringWriter();
+    recorder.writeTo(output);
+    return JsonParser.parseString(output.toString()).getAsJsonObject();
+  }
+
+  private static List<JsonObject> eventsWithPhase(JsonObject trace, String phase) {
+    JsonArray traceEvents = trace.getAsJsonArray("traceEvents");
+    List<JsonObject> events = new ArrayList<>();
+    for (JsonElement element : traceEvents) {
+      JsonObject event = element.getAsJsonObject();
+      if (event.get("ph").getAsString().equals(phase)) {
+        events.add(event);
+      }
+    }
+    return events;
+  }
+}
@@ -81,6 +81,7 @@ public final class TypedScopeCreatorTest extends CompilerTestCase {
   private TypedScope lastLocalScope;
   private TypedScope lastFunctionScope;
   private boolean processClosurePrimitives = false;
+  private int numParallelThreads = 1;
 
   /**
    * Maps a label name to information about the labeled statement.
@@ -170,6 +171,7 @@ public final class TypedScopeCreatorTest extends CompilerTestCase {
   protected CompilerOptions getOptions() {
     CompilerOptions options = super.getOptions();
     options.setClosurePass(processClosurePrimitives);
+    options.setNumParallelThreads(numParallelThreads);
     return options;
   }
 
@@ -1720,6 +1722,37 @@ public final class TypedScopeCreatorTest extends CompilerTestCase {
     assertThat(f).isInstanceOf(EnumType.class);
   }
 
+  @Test
+  public void testEnumAliasesInFunctions() {
+    testEnumAliasesInFunctions_isNonNullable();
+  }
+
+  @Test
+  public void testEnumAliasesInFunctions_inParallel() {
+    numParallelThreads = 2;
+    testEnumAliasesInFunctions_isNonNullable();
+  }
+
+  private void testEnumAliasesInFunctions_isNonNullable() {
+    testSame(
+        """
+        /** @enum {number} */ const Foo = {BAR: 1};
+        function f() {
+          const FooAlias = Foo;
+          const LaterAlias = Later;
+          IN_F: FooAlias;
+        }
+        /** @enum {number} */ const Later = {BAZ: 1};
+        const GlobalAlias = Later;
+        """);
+
+    TypedScope fScope = getLabeledStatement("IN_F").enclosingScope;
+    assertThat(registry.isNonNullableName(fScope, "FooAlias")).isTrue();
+    // The alias comes before the enum in the AST.
+    assertThat(registry.isNonNullableName(fScope, "LaterAlias")).isFalse();
+    assertThat(registry.isNonNullableName(globalScope, "GlobalAlias")).isTrue();
+  }
+
   @Test
   public void testNamespacesEnumAlias() {
     testSame(
@@ -60,6 +60,7 @@ public final class DisambiguatePropertiesTest extends CompilerTestCase {
       """;
 
   private ImmutableSet<String> propertiesThatMustDisambiguate = ImmutableSet.of();
+  private int numParallelThreads = 1;
 
   public DisambiguatePropertiesTest() {
     super("");
@@ -77,7 +78,8 @@ public final class DisambiguatePropertiesTest extends CompilerTestCase {
 
   @Override
   protected CompilerPass getProcessor(final Compiler compiler) {
-    return new DisambiguateProperties(compiler, propertiesThatMustDisambiguate);
+    return new DisambiguateProperties(
+        compiler, propertiesThatMustDisambiguate, numParallelThreads);
   }
 
   @Override
@@ -113,7 +115,56 @@ public final class DisambiguatePropertiesTest extends CompilerTestCase {
             """
             /** @interface */
             class IFoo {
-              JSC$3_x() { }
+              JSC$1_x() { }
+            }
+
+            /**
+             * @interface
+             * @extends {IFoo}
+             */
+            class IFoo2 {
+              JSC$1_x() { }
+            }
+
+            class Other {
+              JSC$5_x() { }
+            }
+            """));
+  }
+
+  @Test
+  public void propertiesAreConflated_byExtends_inParallel() {
+    this.numParallelThreads = 4;
+
+    test(
+        srcs(
+            """
+            /** @interface */
+            class IFoo {
+              x() { }
+              y() { }
+            }
+
+            /**
+             * @interface
+             * @extends {IFoo}
+             */
+            class IFoo2 {
+              x() { }
+              y() { }
+            }
+
+            class Other {
+              x() { }
+              y() { }
+            }
+            """),
+        expected(
+            """
+            /** @interface */
+            class IFoo {
+              JSC$1_x() { }
+              JSC$1_y() { }
             }
 
             /**
@@ -121,15 +172,68 @@ public final class DisambiguatePropertiesTest extends CompilerTestCase {
              * @extends {IFoo}
              */
             class IFoo2 {
-              JSC$3_x() { }
+              JSC$1_x() { }
+              JSC$1_y() { }
             }
 
             class Other {
               JSC$5_x() { }
+              JSC$5_y() { }
             }
             """));
   }
 
+  @Test
+  public void clusterNames_doNotDependOnNumberOfThreads() {
+    String src =
+        """
+        /** @interface */
+        class IFoo0 {
+          b() { }
+          c() { }
+        }
+
+        /** @interface */
+        class IFoo1 {
+          b() { }
+          d() { }
+        }
+
+        /**
+         * @implements {IFoo0}
+         * @implements {IFoo1}
+         */
+        class Foo {
+          b() { }
+          e() { }
+        }
+
+        class Bar {
+          e() { }
+        }
+
+        function mix(/** (!Foo|!Bar) */ x) {
+          x.e();
+        }
+
+        class Other {
+          b() { }
+          c() { }
+          d() { }
+          e() { }
+        }
+        """;
+
+    testNoWarning(srcs(src));
+    String serialOutput = this.getLastCompiler().toSource();
+    assertThat(serialOutput).contains("JSC$1_b");
+
+    this.numParallelThreads = 4;
+    testNoWarning(srcs(src));
+
+    assertThat(this.getLastCompiler().toSource()).isEqualTo(serialOutput);
+  }
+
   @Test
   public void propertiesAreConflated_byExtends_fromClass() {
     test(
@@ -223,12 +327,12 @@ public final class DisambiguatePropertiesTest extends CompilerTestCase {
             """
             /** @interface */
             class IFoo {
-              JSC$3_a() { }
+              JSC$1_a() { }
             }
 
             /** @implements {IFoo} */
             class Foo {
-              JSC$3_a() { }
+              JSC$1_a() { }
             }
 
             class Other {
@@ -272,13 +376,13 @@ public final class DisambiguatePropertiesTest extends CompilerTestCase {
             """
             /** @interface */
             class IFoo0 {
-              JSC$5_b() { }
+              JSC$1_b() { }
               JSC$1_c() { }
             }
 
             /** @interface */
             class IFoo1 {
-              JSC$5_b() { }
+              JSC$1_b() { }
               JSC$3_d() { }
             }
 
@@ -287,7 +391,7 @@ public final class DisambiguatePropertiesTest extends CompilerTestCase {
              * @implements {IFoo1}
              */
             class Foo {
-              JSC$5_b() { }
+              JSC$1_b() { }
             }
 
             class Other {
@@ -368,17 +472,17 @@ public final class DisambiguatePropertiesTest extends CompilerTestCase {
         expected(
             """
             class Foo0 {
-              JSC$5_a() { }
+              JSC$1_a() { }
               JSC$1_b() { }
             }
 
             class Foo1 {
-              JSC$5_a() { }
+              JSC$1_a() { }
               JSC$3_b() { }
             }
 
             function mix(/** (!Foo0|!Foo1) */ x) {
-              x.JSC$5_a();
+              x.JSC$1_a();
             }
 
             class Other {
@@ -567,10 +671,10 @@ public final class DisambiguatePropertiesTest extends CompilerTestCase {
             """
             /** @interface */
             class IFoo {
-              JSC$3_t() { }
+              JSC$1_t() { }
             }
             class Foo {
-              JSC$3_t() { }
+              JSC$1_t() { }
             }
             /** @implements {IFoo} */
             class SubFoo extends Foo { }
@@ -844,7 +948,7 @@ public final class DisambiguatePropertiesTest extends CompilerTestCase {
         expected(
             """
             class Foo {
-              JSC$4_x() { }
+              JSC$1_x() { }
               y() { }
               JSC$1_z() { }
             }
@@ -853,7 +957,7 @@ public final class DisambiguatePropertiesTest extends CompilerTestCase {
             function mix(/** (!Foo|!Bar) */ fooBar, /** !Bar */ bar) {
             // x is disambiguated while w and y are invalidated.
               fooBar.w();
-              fooBar.JSC$4_x();
+              fooBar.JSC$1_x();
               bar.y();
             }
 
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.disambiguate;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.ParallelTaskExecutor;
+import com.google.javascript.jscomp.colors.Color;
+import com.google.javascript.jscomp.colors.StandardColors;
+import com.google.javascript.jscomp.disambiguate.ColorGraphNode.PropAssociation;
+import com.google.javascript.jscomp.graph.LinkedDirectedGraph;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class ParallelClusterPropagatorTest {
+
+  private final ParallelTaskExecutor executor = new ParallelTaskExecutor(2);
+  private final LinkedDirectedGraph<ColorGraphNode, Object> graph = LinkedDirectedGraph.create();
+
+  private final ColorGraphNode top = createNode(StandardColors.TOP_OBJECT, -1);
+  private final ColorGraphNode a = createNode(StandardColors.UNKNOWN, -2);
+  private final ColorGraphNode b = createNode(StandardColors.UNKNOWN, -3);
+  private final ColorGraphNode c = createNode(StandardColors.UNKNOWN, -4);
+  private final ColorGraphNode d = createNode(StandardColors.UNKNOWN, -5);
+
+  private final PropertyClustering onA = new PropertyClustering("onA");
+  private final PropertyClustering onD = new PropertyClustering("onD");
+  private final PropertyClustering onAAndD = new PropertyClustering("onAAndD");
+  private final PropertyClustering invalidated = new PropertyClustering("invalidated");
+  private final PropertyClustering onTop = new PropertyClustering("onTop");
+
+  @After
+  public void shutdownExecutor() {
+    this.executor.shutdown();
+  }
+
+  @Test
+  public void propagation_matchesClusterPropagator() {
+    // Given
+    // top -> a -> b -> c <- d
+    this.graph.connect(this.top, null, this.a);
+    this.graph.connect(this.a, null, this.b);
+    this.graph.connect(this.b, null, this.c);
+    this.graph.connect(this.d, null, this.c);
+
+    associate(this.onA, this.a);
+    associate(this.onD, this.d);
+    associate(this.onAAndD, this.a);
+    associate(this.onAAndD, this.d);
+    associate(this.invalidated, this.a);
+    this.invalidated.invalidate(Invalidation.wellKnownProperty());
+    associate(this.onTop, this.top);
+
+    // When
+    new ParallelClusterPropagator(this.executor, 3)
+        .propagate(
+            this.graph,
+            ImmutableList.of(this.onA, this.onD, this.onAAndD, this.invalidated, this.onTop));
+
+    // Then
+    assertThat(this.b.getAssociatedProps())
+        .containsExactly(
+            this.onA, PropAssociation.SUPERTYPE, this.onAAndD, PropAssociation.SUPERTYPE);
+    assertThat(this.c.getAssociatedProps().keySet())
+        .containsExactly(this.onA, this.onD, this.onAAndD);
+    assertThat(this.a.getAssociatedProps().get(this.onA)).isEqualTo(PropAssociation.AST);
+
+    assertThat(this.onA.getClusters().areEquivalent(this.a, this.c)).isTrue();
+    assertThat(this.onD.getClusters().areEquivalent(this.d, this.c)).isTrue();
+    assertThat(this.onAAndD.getClusters().areEquivalent(this.a, this.d)).isTrue();
+    assertThat(this.invalidated.getClusters().elements()).containsExactly(this.a);
+    assertThat(this.onTop.getClusters().elements()).containsExactly(this.top);
+  }
+
+  @Test
+  public void propagation_terminates_onCycles() {
+    // Given
+    this.graph.connect(this.a, null, this.b);
+    this.graph.connect(this.b, null, this.a);
+    this.graph.connect(this.b, null, this.b);
+    associate(this.onA, this.a);
+    associate(this.onD, this.b);
+
+    // When
+    new ParallelClusterPropagator(this.executor, 2)
+        .propagate(this.graph, ImmutableList.of(this.onA, this.onD));
+
+    // Then
+    assertThat(this.a.getAssociatedProps().keySet()).containsExactly(this.onA, this.onD);
+    assertThat(this.b.getAssociatedProps().keySet()).containsExactly(this.onA, this.onD);
+    assertThat(this.onA.getClusters().areEquivalent(this.a, this.b)).isTrue();
+    assertThat(this.onD.getClusters().areEquivalent(this.a, this.b)).isTrue();
+  }
+
+  private ColorGraphNode createNode(Color color, int index) {
+    ColorGraphNode node = ColorGraphNode.createForTesting(color, index);
+    this.graph.createNode(node);
+    return node;
+  }
+
+  private static void associate(PropertyClustering prop, ColorGraphNode node) {
+    node.getAssociatedProps().put(prop, PropAssociation.AST);
+    prop.getClusters().add(node);
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.graph;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.Comparator.naturalOrder;
+
+import com.google.javascript.jscomp.graph.GraphColoring.Color;
+import com.google.javascript.jscomp.graph.GraphColoring.GreedyGraphColoring;
+import java.util.BitSet;
+import java.util.Random;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link GreedyIntColoring} and {@link IntSetRows}. */
+@RunWith(JUnit4.class)
+public final class GreedyIntColoringTest {
+
+  @Test
+  public void testIntSetRows_denseAndSparseRows() {
+    BitSet sparse = new BitSet();
+    sparse.set(3);
+    sparse.set(200);
+    BitSet dense = new BitSet();
+    dense.set(0, 10);
+    IntSetRows rows = IntSetRows.builder().add(sparse).add(dense).add(new BitSet()).build();
+
+    assertThat(rows.size()).isEqualTo(3);
+    assertThat(rows.getUniverseSize()).isEqualTo(201);
+    assertThat(rows.contains(0, 200)).isTrue();
+    assertThat(rows.contains(0, 4)).isFalse();
+    assertThat(rows.contains(1, 9)).isTrue();
+    assertThat(rows.contains(1, 10)).isFalse();
+    assertThat(rows.contains(1, 500)).isFalse();
+    assertThat(rows.contains(2, 0)).isFalse();
+
+    long[] set = rows.newEmptySet();
+    assertThat(rows.intersects(0, set)).isFalse();
+    rows.addTo(1, set);
+    assertThat(rows.intersects(0, set)).isTrue();
+    assertThat(rows.intersects(2, set)).isFalse();
+  }
+
+  @Test
+  public void testColorByNeighbors() {
+    // A - C - B - D
+    BitSet[] neighbors = {bits(2), bits(2, 3), bits(0, 1), bits(1)};
+    int[] order =
+        GreedyIntColoring.sortByDescendingWeight(new int[] {0, 1, 2, 3}, new int[] {1, 2, 2, 1});
+
+    assertThat(order).asList().containsExactly(1, 2, 0, 3).inOrder();
+    int[] colors = GreedyIntColoring.colorByNeighbors(order, rowsOf(neighbors));
+    assertThat(colors).asList().containsExactly(0, 0, 1, 1).inOrder();
+    assertThat(GreedyIntColoring.getColorCount(colors)).isEqualTo(2);
+  }
+
+  @Test
+  public void testColorByNeighbors_nodesMissingFromOrderAreNotColored() {
+    BitSet[] neighbors = {bits(1), bits(0), new BitSet()};
+    int[] colors = GreedyIntColoring.colorByNeighbors(new int[] {2, 0}, rowsOf(neighbors));
+    assertThat(colors).asList().containsExactly(0, -1, 0).inOrder();
+  }
+
+  @Test
+  public void testColorByKeys() {
+    // Nodes 0 and 1 share key 5, node 2 shares nothing.
+    BitSet[] keys = {bits(1, 5), bits(5, 64), bits(2)};
+    int[] colors = GreedyIntColoring.colorByKeys(new int[] {0, 1, 2}, rowsOf(keys));
+    assertThat(colors).asList().containsExactly(0, 1, 0).inOrder();
+  }
+
+  @Test
+  public void testColorByKeys_empty() {
+    int[] colors = GreedyIntColoring.colorByKeys(new int[0], IntSetRows.builder().build());
+    assertThat(colors).isEmpty();
+    assertThat(GreedyIntColoring.getColorCount(colors)).isEqualTo(0);
+  }
+
+  @Test
+  public void testColorByNeighbors_matchesGreedyGraphColoring() {
+    Random random = new Random(42);
+    for (int trial = 0; trial < 50; trial++) {
+      int nodeCount = 1 + random.nextInt(150);
+      Graph<Integer, String> graph = LinkedUndirectedGraph.create();
+      BitSet[] neighbors = new BitSet[nodeCount];
+      int[] degrees = new int[nodeCount];
+      int[] nodes = new int[nodeCount];
+      for (int i = 0; i < nodeCount; i++) {
+        graph.createNode(i);
+        neighbors[i] = new BitSet();
+        nodes[i] = i;
+      }
+      for (int i = 0; i < nodeCount; i++) {
+        for (int j = i + 1; j < nodeCount; j++) {
+          if (random.nextInt(10) == 0) {
+            graph.connect(i, "--", j);
+            neighbors[i].set(j);
+            neighbors[j].set(i);
+            degrees[i]++;
+            degrees[j]++;
+          }
+        }
+      }
+
+      GraphColoring<Integer, String> expected = new GreedyGraphColoring<>(graph, naturalOrder());
+      int expectedCount = expected.color();
+      int[] colors =
+          GreedyIntColoring.colorByNeighbors(
+              GreedyIntColoring.sortByDescendingWeight(nodes, degrees), rowsOf(neighbors));
+
+      assertThat(GreedyIntColoring.getColorCount(colors)).isEqualTo(expectedCount);
+      for (int i = 0; i < nodeCount; i++) {
+        Color color = graph.getNode(i).getAnnotation();
+        assertThat(colors[i]).isEqualTo(color.value);
+      }
+    }
+  }
+
+  private static IntSetRows rowsOf(BitSet... rows) {
+    IntSetRows.Builder builder = IntSetRows.builder();
+    for (BitSet row : rows) {
+      builder.add(row);
+    }
+    return builder.build();
+  }
+
+  private static BitSet bits(int... values) {
+    BitSet bits = new BitSet();
+    for (int value : values) {
+      bits.set(value);
+    }
+    return bits;
+  }
+}
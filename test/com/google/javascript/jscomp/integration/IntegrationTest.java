@@ -4320,6 +4320,24 @@ public final class IntegrationTest extends IntegrationTestCase {
     assertThat(lastCompiler.getWarnings().get(0).description()).contains("Unnecessary escape");
   }
 
+  @Test
+  public void testLintChecksSeeClassesOfOtherFiles_withParallelThreads() {
+    CompilerOptions options = createCompilerOptions();
+    options.setWarningLevel(DiagnosticGroups.LINT_CHECKS, CheckLevel.WARNING);
+    options.setNumParallelThreads(4);
+
+    compile(
+        options,
+        new String[] {
+          "/** @constructor */ function A() {}", //
+          "/** @private */ A.x = 1;"
+        });
+    assertThat(lastCompiler.getWarnings().stream().map((w) -> w.description()))
+        .containsAtLeast(
+            "Private property x is never modified, use the @const annotation",
+            "Private property x is never read");
+  }
+
   // NOTE(dimvar): the jsdocs are ignored in the comparison of the before/after ASTs. It'd be nice
   // to test the jsdocs as well, but AFAICT we can only do that in CompilerTestCase, not here.
   @Test
@@ -22,6 +22,7 @@ import static com.google.javascript.jscomp.testing.ColorSubject.assertThat;
 import static com.google.javascript.rhino.testing.NodeSubject.assertNode;
 import static java.nio.charset.StandardCharsets.UTF_16;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertThrows;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -45,7 +46,9 @@ import com.google.javascript.rhino.InputId;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.StaticSourceFile;
 import com.google.javascript.rhino.Token;
+import com.google.protobuf.CodedOutputStream;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -53,6 +56,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.FileTime;
 import java.time.Instant;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
@@ -75,6 +79,7 @@ import org.junit.runners.JUnit4;
 public final class SerializeAndDeserializeAstTest extends CompilerTestCase {
 
   private @Nullable Consumer<TypedAst> consumer = null;
+  private @Nullable ByteArrayOutputStream streamedOutput = null;
   private boolean includeTypes;
   private boolean resolveSourceMapAnnotations;
   private boolean parseInlineSourceMaps;
@@ -83,13 +88,15 @@ public final class SerializeAndDeserializeAstTest extends CompilerTestCase {
 
   @Override
   protected CompilerPass getProcessor(Compiler compiler) {
-    return new SerializeTypedAstPass(
-        compiler,
-        consumer,
+    SerializationOptions options =
         SerializationOptions.builder()
             .setIncludeDebugInfo(false)
             .setRuntimeLibraries(this.runtimeLibraries)
-            .build());
+            .build();
+    if (streamedOutput != null) {
+      return SerializeTypedAstPass.createFromOutputStream(compiler, streamedOutput, options);
+    }
+    return new SerializeTypedAstPass(compiler, consumer, options);
   }
 
   @Override
@@ -106,6 +113,80 @@ public final class SerializeAndDeserializeAstTest extends CompilerTestCase {
     this.runtimeLibraries = ImmutableList.of();
   }
 
+  @Test
+  public void testStreamedShards() throws IOException {
+    streamedOutput = new ByteArrayOutputStream();
+    Externs externs = externs("var ext;");
+    Sources code = srcs("const x = 1;", "const y = x + 1;");
+    super.testSame(externs, code);
+
+    // Each SCRIPT is written in its own entry, followed by one entry with the pools.
+    TypedAst.List shards = TypedAst.List.parseFrom(streamedOutput.toByteArray());
+    assertThat(shards.getShardedFormatVersion())
+        .isEqualTo(SerializeTypedAstPass.SHARDED_FORMAT_VERSION);
+    int numScripts =
+        getLastCompiler().getRoot().getFirstChild().getChildCount()
+            + getLastCompiler().getRoot().getSecondChild().getChildCount();
+    assertThat(shards.getTypedAstsCount()).isEqualTo(numScripts + 1);
+    for (TypedAst shard : shards.getTypedAstsList().subList(0, numScripts)) {
+      assertThat(shard.hasStringPool()).isFalse();
+      assertThat(shard.getExternAstCount() + shard.getCodeAstCount()).isEqualTo(1);
+    }
+    TypedAst pools = shards.getTypedAsts(numScripts);
+    assertThat(pools.hasStringPool()).isTrue();
+    assertThat(pools.getExternAstCount() + pools.getCodeAstCount()).isEqualTo(0);
+
+    Node expectedRoot = getLastCompiler().getRoot().getSecondChild();
+    Result result = run(externs, code, new ByteArrayInputStream(streamedOutput.toByteArray()));
+    assertNode(result.sourceRoot).isEqualTo(expectedRoot);
+  }
+
+  @Test
+  public void testStreamedShardsWithUnsupportedVersionAreRejected() throws IOException {
+    streamedOutput = new ByteArrayOutputStream();
+    Externs externs = externs("var ext;");
+    Sources code = srcs("const x = 1;");
+    super.testSame(externs, code);
+
+    TypedAst.List shards = TypedAst.List.parseFrom(streamedOutput.toByteArray());
+    byte[] serialized =
+        writeShards(SerializeTypedAstPass.SHARDED_FORMAT_VERSION + 1, shards.getTypedAstsList());
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> run(externs, code, new ByteArrayInputStream(serialized)));
+  }
+
+  @Test
+  public void testStreamedShardsWithoutPoolsAreRejected() throws IOException {
+    streamedOutput = new ByteArrayOutputStream();
+    Externs externs = externs("var ext;");
+    Sources code = srcs("const x = 1;");
+    super.testSame(externs, code);
+
+    List<TypedAst> shards =
+        TypedAst.List.parseFrom(streamedOutput.toByteArray()).getTypedAstsList();
+    byte[] serialized =
+        writeShards(
+            SerializeTypedAstPass.SHARDED_FORMAT_VERSION, shards.subList(0, shards.size() - 1));
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> run(externs, code, new ByteArrayInputStream(serialized)));
+  }
+
+  /** Writes a sharded TypedAst.List of the given version, as SerializeTypedAstPass does. */
+  private static byte[] writeShards(int version, List<TypedAst> shards) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    CodedOutputStream codedOut = CodedOutputStream.newInstance(out);
+    codedOut.writeUInt32(TypedAst.List.SHARDED_FORMAT_VERSION_FIELD_NUMBER, version);
+    for (TypedAst shard : shards) {
+      codedOut.writeMessage(TypedAst.List.TYPED_ASTS_FIELD_NUMBER, shard);
+    }
+    codedOut.flush();
+    return out.toByteArray();
+  }
+
   @Test
   public void testConstNumberDeclaration() {
     testSame("const x = 7;");
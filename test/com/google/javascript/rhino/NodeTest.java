@@ -409,6 +409,34 @@ public class NodeTest {
     assertThat(Node.newString("1").isEquivalentTo(Node.newString("2"))).isFalse();
   }
 
+  @Test
+  public void testShallowEquivalenceWithSideEffectsHash() {
+    Node call1 = IR.call(IR.name("f"));
+    Node call2 = IR.call(IR.name("g"));
+    assertThat(call1.getShallowEquivalenceWithSideEffectsHash())
+        .isEqualTo(call2.getShallowEquivalenceWithSideEffectsHash());
+
+    // Setting a prop to its default is still equivalent.
+    call2.putBooleanProp(Node.FREE_CALL, false);
+    assertThat(call1.getShallowEquivalenceWithSideEffectsHash())
+        .isEqualTo(call2.getShallowEquivalenceWithSideEffectsHash());
+
+    call2.putBooleanProp(Node.FREE_CALL, true);
+    assertThat(call1.getShallowEquivalenceWithSideEffectsHash())
+        .isNotEqualTo(call2.getShallowEquivalenceWithSideEffectsHash());
+
+    call1.setSideEffectFlags(SideEffectFlags.NO_SIDE_EFFECTS);
+    assertThat(call1.isEquivalentWithSideEffectsToShallow(IR.call(IR.name("f")))).isFalse();
+    assertThat(call1.getShallowEquivalenceWithSideEffectsHash())
+        .isNotEqualTo(IR.call(IR.name("f")).getShallowEquivalenceWithSideEffectsHash());
+
+    // String#hashCode() is the same for these.
+    assertThat(IR.name("Aa").getShallowEquivalenceWithSideEffectsHash())
+        .isNotEqualTo(IR.name("BB").getShallowEquivalenceWithSideEffectsHash());
+    assertThat(Node.newNumber(1).getShallowEquivalenceWithSideEffectsHash())
+        .isNotEqualTo(Node.newNumber(2).getShallowEquivalenceWithSideEffectsHash());
+  }
+
   @Test
   public void testCheckTreeTypeAwareEqualsSame() {
     TestErrorReporter testErrorReporter = new TestErrorReporter();
@@ -762,6 +790,45 @@ public class NodeTest {
     assertThat(n.getBooleanProp(Node.IS_CONSTANT_NAME)).isFalse();
   }
 
+  @Test
+  public void testIntPropSwitchesBetweenFlagAndListStorage() {
+    Node n = getCall("A");
+
+    n.setSideEffectFlags(1);
+    assertThat(n.getSideEffectFlags()).isEqualTo(1);
+    assertThat(n.getPropListHeadForTesting()).isNull();
+
+    n.setSideEffectFlags(5);
+    assertThat(n.getSideEffectFlags()).isEqualTo(5);
+    assertThat(n.getPropListHeadForTesting()).isNotNull();
+
+    n.setSideEffectFlags(1);
+    assertThat(n.getSideEffectFlags()).isEqualTo(1);
+    assertThat(n.getPropListHeadForTesting()).isNull();
+
+    n.setSideEffectFlags(0);
+    assertThat(n.getSideEffectFlags()).isEqualTo(0);
+    assertThat(n.lookupProperty(Node.Prop.SIDE_EFFECT_FLAGS)).isNull();
+  }
+
+  @Test
+  public void testFlagPropsAreClonedAndCompared() {
+    Node n = getCall("A");
+    n.putBooleanProp(Node.FREE_CALL, true);
+    Node m = getCall("A");
+    assertThat(n.isEquivalentTo(m)).isFalse();
+
+    m.clonePropsFrom(n);
+    assertThat(m.getBooleanProp(Node.FREE_CALL)).isTrue();
+    assertThat(n.isEquivalentTo(m)).isTrue();
+    assertThat(n.cloneNode().getBooleanProp(Node.FREE_CALL)).isTrue();
+    assertThat(n.getPropListDebugString()).isEqualTo("FREE_CALL");
+
+    m.putBooleanProp(Node.FREE_CALL, false);
+    assertThat(n.getBooleanProp(Node.FREE_CALL)).isTrue();
+    assertThat(n.isEquivalentTo(m)).isFalse();
+  }
+
   // Verify that annotations on cloned nodes are properly handled.
   @Test
   public void testCloneAnnontations2() {
@@ -45,6 +45,8 @@ import com.google.common.collect.ImmutableList;
 import com.google.javascript.rhino.RhinoStringPool.LazyInternedStringList;
 import com.google.javascript.rhino.RhinoStringPool.WriteOnlyBitset;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
@@ -72,6 +74,44 @@ public final class RhinoStringPoolTest {
     }
   }
 
+  @Test
+  public void concurrentCallsReturnSameInstance() throws Exception {
+    int numThreads = 16;
+    int numStrings = 2000;
+    String[][] interned = new String[numThreads][numStrings];
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < numThreads; t++) {
+      String[] results = interned[t];
+      Thread thread =
+          new Thread(
+              () -> {
+                try {
+                  start.await();
+                } catch (InterruptedException e) {
+                  throw new AssertionError(e);
+                }
+                for (int i = 0; i < numStrings; i++) {
+                  // use new keyword to ensure different objects
+                  results[i] = RhinoStringPool.addOrGet(new String("concurrent" + i));
+                }
+              });
+      thread.start();
+      threads.add(thread);
+    }
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    for (int i = 0; i < numStrings; i++) {
+      assertThat(interned[0][i]).isEqualTo("concurrent" + i);
+      for (int t = 1; t < numThreads; t++) {
+        assertThat(interned[t][i]).isSameInstanceAs(interned[0][i]);
+      }
+    }
+  }
+
   @Test
   public void lazyInternedStringList_outOfBounds_throwsException() {
     LazyInternedStringList list = new LazyInternedStringList(ImmutableList.of("foo"));
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.rhino.jstype;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.javascript.rhino.jstype.JSTypeRegistry.TypeRelationCacheStats;
+import com.google.javascript.rhino.testing.BaseJSTypeTestCase;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class TypeRelationCacheTest extends BaseJSTypeTestCase {
+
+  @Before
+  public void enableCache() {
+    registry.setTypeRelationCacheSize(100);
+  }
+
+  @Test
+  public void testRepeatedSubtypeCheckHitsTheCache() {
+    JSType sub = registry.createRecordType(ImmutableMap.of("a", NUMBER_TYPE, "b", STRING_TYPE));
+    JSType sup = registry.createRecordType(ImmutableMap.of("a", NUMBER_TYPE));
+
+    assertThat(sub.isSubtypeOf(sup)).isTrue();
+    TypeRelationCacheStats before = registry.getTypeRelationCacheStats();
+
+    assertThat(sub.isSubtypeOf(sup)).isTrue();
+    TypeRelationCacheStats after = registry.getTypeRelationCacheStats();
+    assertThat(after.hits()).isEqualTo(before.hits() + 1);
+    assertThat(after.misses()).isEqualTo(before.misses());
+
+    // The reverse relation and the non-structural one are different checks.
+    assertThat(sup.isSubtypeOf(sub)).isFalse();
+    assertThat(sub.isSubtypeWithoutStructuralTyping(sup)).isFalse();
+    assertThat(registry.getTypeRelationCacheStats().hits()).isEqualTo(after.hits());
+  }
+
+  @Test
+  public void testRepeatedEqualityCheckHitsTheCache() {
+    JSType left = registry.createRecordType(ImmutableMap.of("a", NUMBER_TYPE));
+    JSType right = registry.createRecordType(ImmutableMap.of("a", NUMBER_TYPE));
+
+    assertThat(left.equals(right)).isTrue();
+    long hits = registry.getTypeRelationCacheStats().hits();
+
+    assertThat(left.equals(right)).isTrue();
+    assertThat(left.differsFrom(right)).isFalse();
+    assertThat(registry.getTypeRelationCacheStats().hits()).isEqualTo(hits + 1);
+  }
+
+  @Test
+  public void testAddingAPropertyInvalidatesTheCache() {
+    ObjectType obj = registry.createAnonymousObjectType(null);
+    obj.defineDeclaredProperty("a", NUMBER_TYPE, null);
+    JSType sup = registry.createRecordType(ImmutableMap.of("a", NUMBER_TYPE, "b", STRING_TYPE));
+    assertThat(obj.isSubtypeOf(sup)).isFalse();
+
+    obj.defineDeclaredProperty("b", STRING_TYPE, null);
+
+    assertThat(obj.isSubtypeOf(sup)).isTrue();
+    assertThat(registry.getTypeRelationCacheStats().invalidations()).isAtLeast(1);
+  }
+
+  @Test
+  public void testDisabledCacheRecordsNothing() {
+    registry.setTypeRelationCacheSize(0);
+    JSType sub = registry.createRecordType(ImmutableMap.of("a", NUMBER_TYPE, "b", STRING_TYPE));
+    JSType sup = registry.createRecordType(ImmutableMap.of("a", NUMBER_TYPE));
+
+    assertThat(sub.isSubtypeOf(sup)).isTrue();
+    assertThat(sub.isSubtypeOf(sup)).isTrue();
+
+    TypeRelationCacheStats stats = registry.getTypeRelationCacheStats();
+    assertThat(stats.hits()).isEqualTo(0);
+    assertThat(stats.misses()).isEqualTo(0);
+  }
+}